@@ -12,6 +12,7 @@ public class Keys {
 
     // Methods
     public static final String SOAP_METHOD_APPEARANCE = "getAppearanceCriminal";
+    public static final String SOAP_METHOD_APPEARANCE_BATCH = "getAppearanceCriminalBatch";
     public static final String SOAP_METHOD_APPEARANCE_SECURE = "getAppearanceCriminalSecure";
     public static final String SOAP_METHOD_APPEARANCE_APPR_METHOD =
             "getAppearanceCriminalApprMethod";
@@ -25,6 +26,7 @@ public class Keys {
     public static final String SOAP_METHOD_SET_APPEARANCE_METHOD = "setAppearanceMethodCriminal";
     public static final String SOAP_METHOD_FILE_CLOSED = "getClosedFile";
     public static final String SOAP_METHOD_FILE_DETAIL = "getFileDetailCriminal";
+    public static final String SOAP_METHOD_FILE_DOSSIER = "getFileDossierCriminal";
     public static final String SOAP_METHOD_FILE_DETAIL_SECURE = "getFileDetailCriminalSecure";
     public static final String SOAP_METHOD_SET_FILE_NOTE = "setFileNote";
     public static final String SOAP_METHOD_HEARING_RESTRICTION_CRIMINAL =
@@ -0,0 +1,81 @@
+package ca.bc.gov.open.pcsscriminalapplication.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+/** A fully buffered ORDS response that can be replayed any number of times. */
+@Getter
+public class CachedOrdsResponse {
+
+    private final HttpStatusCode statusCode;
+    private final String statusText;
+    private final HttpHeaders headers;
+    private final byte[] body;
+
+    public CachedOrdsResponse(
+            HttpStatusCode statusCode, String statusText, HttpHeaders headers, byte[] body) {
+        this.statusCode = statusCode;
+        this.statusText = statusText;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = body;
+    }
+
+    /** Reads and closes the upstream response. */
+    public static CachedOrdsResponse of(ClientHttpResponse response) throws IOException {
+        try (response) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+            return new CachedOrdsResponse(
+                    response.getStatusCode(),
+                    response.getStatusText(),
+                    headers,
+                    StreamUtils.copyToByteArray(response.getBody()));
+        }
+    }
+
+    /** @return a fresh response reading from the buffered body */
+    public ClientHttpResponse toClientHttpResponse() {
+        return new ClientHttpResponse() {
+            @Override
+            public HttpStatusCode getStatusCode() {
+                return statusCode;
+            }
+
+            @Override
+            @Deprecated
+            public int getRawStatusCode() {
+                return statusCode.value();
+            }
+
+            @Override
+            public String getStatusText() {
+                return statusText;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(body);
+            }
+
+            @Override
+            public void close() {
+                // nothing to release
+            }
+        };
+    }
+
+    int weight() {
+        return body.length + headers.size() * 64;
+    }
+}
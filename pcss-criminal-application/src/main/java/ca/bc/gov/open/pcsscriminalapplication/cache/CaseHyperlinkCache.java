@@ -0,0 +1,99 @@
+package ca.bc.gov.open.pcsscriminalapplication.cache;
+
+import ca.bc.gov.open.pcsscriminalapplication.controller.DemsCasesController;
+import ca.bc.gov.open.pcsscriminalapplication.model.CaseHyperLinkerLookupResponse;
+import ca.bc.gov.open.pcsscriminalapplication.properties.CaseLookupProperties;
+import ca.bc.gov.open.pcsscriminalapplication.properties.HyperlinkCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * rccId to DEMS case hyperlink mappings returned by the ISL case lookup service. Found hyperlinks
+ * are kept for {@code ttl}; rcc ids ISL did not resolve are cached as "" for the shorter {@code
+ * negativeTtl}. {@link DemsCasesController#INVALID_RCC_ID} always resolves to "" without a lookup.
+ * Published as cache.* meters tagged cache=isl.caseHyperlink.
+ */
+@Component
+@EnableConfigurationProperties(CaseLookupProperties.class)
+public class CaseHyperlinkCache implements MeterBinder {
+
+    public static final String NOT_FOUND = "";
+
+    private final Cache<String, String> cache;
+
+    public CaseHyperlinkCache(CaseLookupProperties caseLookupProperties) {
+        HyperlinkCacheProperties properties = caseLookupProperties.getHyperlinkCache();
+        long ttl = properties.getTtl().toNanos();
+        long negativeTtl = properties.getNegativeTtl().toNanos();
+        this.cache =
+                Caffeine.newBuilder()
+                        .maximumSize(properties.isEnabled() ? properties.getMaxSize() : 0)
+                        .expireAfter(
+                                new Expiry<String, String>() {
+                                    @Override
+                                    public long expireAfterCreate(
+                                            String rccId, String hyperlink, long currentTime) {
+                                        return NOT_FOUND.equals(hyperlink) ? negativeTtl : ttl;
+                                    }
+
+                                    @Override
+                                    public long expireAfterUpdate(
+                                            String rccId,
+                                            String hyperlink,
+                                            long currentTime,
+                                            long currentDuration) {
+                                        return expireAfterCreate(rccId, hyperlink, currentTime);
+                                    }
+
+                                    @Override
+                                    public long expireAfterRead(
+                                            String rccId,
+                                            String hyperlink,
+                                            long currentTime,
+                                            long currentDuration) {
+                                        return currentDuration;
+                                    }
+                                })
+                        .recordStats()
+                        .build();
+    }
+
+    /** @return the cached hyperlink, {@link #NOT_FOUND} for a cached miss, or null */
+    public String get(String rccId) {
+        if (DemsCasesController.INVALID_RCC_ID.equals(rccId)) {
+            return NOT_FOUND;
+        }
+        return cache.getIfPresent(rccId);
+    }
+
+    /** Records the ISL answer for every rcc id that was asked for. */
+    public void putAll(Collection<String> requested, CaseHyperLinkerLookupResponse response) {
+        Map<String, String> found = new HashMap<>();
+        if (response != null && response.getCase_hyperlinks() != null) {
+            response.getCase_hyperlinks()
+                    .forEach(
+                            link -> {
+                                if (link.getRcc_id() != null
+                                        && link.getHyperlink() != null
+                                        && !link.getHyperlink().isBlank()) {
+                                    found.put(link.getRcc_id(), link.getHyperlink());
+                                }
+                            });
+        }
+        requested.forEach(rccId -> cache.put(rccId, found.getOrDefault(rccId, NOT_FOUND)));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "isl.caseHyperlink");
+    }
+}
@@ -0,0 +1,59 @@
+package ca.bc.gov.open.pcsscriminalapplication.cache;
+
+import ca.bc.gov.open.pcsscriminalapplication.Keys;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Which cached reads each write operation can change. A successful (or failed, since ORDS may have
+ * committed before timing out) write evicts the listed reads for the same justinNo / appearance id,
+ * see {@link OrdsWriteScope}.
+ */
+public class OrdsCacheDependencies {
+
+    private static final List<String> APPEARANCE_READS =
+            List.of(
+                    Keys.SOAP_METHOD_APPEARANCE,
+                    Keys.SOAP_METHOD_APPEARANCE_SECURE,
+                    Keys.SOAP_METHOD_APPEARANCE_APPR_METHOD,
+                    Keys.SOAP_METHOD_APPEARANCE_APPR_METHOD_SECURE);
+
+    private static final List<String> FILE_DETAIL_READS =
+            List.of(Keys.SOAP_METHOD_FILE_DETAIL, Keys.SOAP_METHOD_FILE_DETAIL_SECURE);
+
+    private static final Map<String, List<String>> INVALIDATES =
+            Map.of(
+                    Keys.SOAP_METHOD_SET_APPEARANCE,
+                    APPEARANCE_READS,
+                    Keys.SOAP_METHOD_SET_APPEARANCE_METHOD,
+                    APPEARANCE_READS,
+                    Keys.SOAP_METHOD_HEARING_RESTRICTION_CRIMINAL,
+                    List.of(
+                            Keys.SOAP_METHOD_FILE_DETAIL,
+                            Keys.SOAP_METHOD_FILE_DETAIL_SECURE,
+                            Keys.SOAP_METHOD_APPEARANCE,
+                            Keys.SOAP_METHOD_APPEARANCE_SECURE),
+                    Keys.SOAP_METHOD_SET_FILE_NOTE,
+                    FILE_DETAIL_READS,
+                    Keys.SOAP_METHOD_SET_CROWN_ASSIGNMENT,
+                    List.of(
+                            Keys.SOAP_METHOD_CROWN_ASSIGNMENT,
+                            Keys.SOAP_METHOD_FILE_DETAIL,
+                            Keys.SOAP_METHOD_FILE_DETAIL_SECURE),
+                    Keys.SOAP_METHOD_CROWN_FILE_DETAIL,
+                    List.of(
+                            Keys.SOAP_METHOD_FILE_DETAIL,
+                            Keys.SOAP_METHOD_FILE_DETAIL_SECURE,
+                            Keys.SOAP_METHOD_CROWN_ASSIGNMENT));
+
+    private OrdsCacheDependencies() {
+        // empty constructor
+    }
+
+    /** @return the read operations a write operation invalidates, empty when none */
+    public static List<String> invalidatedBy(String writeOperation) {
+        return writeOperation == null
+                ? List.of()
+                : INVALIDATES.getOrDefault(writeOperation, List.of());
+    }
+}
@@ -0,0 +1,65 @@
+package ca.bc.gov.open.pcsscriminalapplication.cache;
+
+import ca.bc.gov.open.pcsscriminalapplication.utils.OrdsEndpoints;
+import java.io.IOException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serves GETs for cached ORDS endpoints from {@link OrdsResponseCache} and stores successful
+ * responses on a miss. Writes evict the cached reads they affect, see {@link
+ * OrdsCacheDependencies}. Everything else passes straight through.
+ */
+@Slf4j
+@Component
+public class OrdsCacheInterceptor implements ClientHttpRequestInterceptor {
+
+    private final OrdsResponseCache cache;
+
+    public OrdsCacheInterceptor(OrdsResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(
+            HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String endpoint = OrdsEndpoints.resolve(request.getURI());
+        if (!HttpMethod.GET.equals(request.getMethod())) {
+            String writeOperation = OrdsEndpoints.writeOperation(endpoint);
+            if (!cache.isInvalidatedBy(writeOperation)) {
+                return execution.execute(request, body);
+            }
+            try {
+                return execution.execute(request, body);
+            } finally {
+                // also on failure: ORDS may have committed before the call timed out
+                cache.invalidate(writeOperation, OrdsWriteScope.of(body));
+            }
+        }
+        if (!cache.isCached(endpoint)) {
+            return execution.execute(request, body);
+        }
+
+        OrdsCacheKey key = cache.key(endpoint, request.getURI());
+        CachedOrdsResponse cached = cache.get(key);
+        if (cached != null) {
+            log.debug("ORDS cache hit for {}", endpoint);
+            return cached.toClientHttpResponse();
+        }
+
+        long generation = cache.generation(key);
+        ClientHttpResponse response = execution.execute(request, body);
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return response;
+        }
+        CachedOrdsResponse buffered = CachedOrdsResponse.of(response);
+        cache.put(key, buffered, generation);
+        return buffered.toClientHttpResponse();
+    }
+}
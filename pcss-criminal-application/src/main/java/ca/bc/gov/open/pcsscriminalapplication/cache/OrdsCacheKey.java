@@ -0,0 +1,67 @@
+package ca.bc.gov.open.pcsscriminalapplication.cache;
+
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import lombok.Value;
+
+/**
+ * Identifies one ORDS GET by endpoint and normalised query. Parameter names are lower cased and
+ * sorted so the order the controller adds them in does not matter, and volatile parameters such as
+ * the request timestamp are dropped.
+ */
+@Value
+public class OrdsCacheKey {
+
+    String endpoint;
+    SortedMap<String, List<String>> params;
+
+    public static OrdsCacheKey of(String endpoint, URI uri, Collection<String> ignoredParams) {
+        SortedMap<String, List<String>> params = new TreeMap<>();
+        String query = uri.getRawQuery();
+        if (query != null && !query.isEmpty()) {
+            for (String pair : query.split("&")) {
+                if (pair.isEmpty()) {
+                    continue;
+                }
+                int eq = pair.indexOf('=');
+                String name =
+                        decode(eq < 0 ? pair : pair.substring(0, eq)).toLowerCase(Locale.ROOT);
+                if (ignoredParams.contains(name)) {
+                    continue;
+                }
+                String value = eq < 0 ? "" : decode(pair.substring(eq + 1));
+                params.computeIfAbsent(name, k -> new ArrayList<>()).add(value);
+            }
+        }
+        return new OrdsCacheKey(endpoint, params);
+    }
+
+    /** @return the first value of a query parameter, or null when the request did not carry it */
+    public String param(String name) {
+        List<String> values = params.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    /** Rough heap footprint used when weighing entries against the cache budget. */
+    int weight() {
+        int weight = endpoint.length();
+        for (var entry : params.entrySet()) {
+            weight += entry.getKey().length();
+            for (String value : entry.getValue()) {
+                weight += value.length();
+            }
+        }
+        return weight * 2;
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+}
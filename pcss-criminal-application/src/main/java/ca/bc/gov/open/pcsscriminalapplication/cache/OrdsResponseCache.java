@@ -0,0 +1,165 @@
+package ca.bc.gov.open.pcsscriminalapplication.cache;
+
+import ca.bc.gov.open.pcsscriminalapplication.properties.OrdsCacheProperties;
+import ca.bc.gov.open.pcsscriminalapplication.utils.OrdsEndpoints;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-through cache of ORDS GET responses for slow changing reference lookups. One size bounded
+ * Caffeine cache (W-TinyLFU admission) is kept per configured SOAP operation so a burst on one
+ * lookup cannot evict another's working set. Hit, miss and eviction counts are published as cache.*
+ * meters tagged cache=ords.{operation}.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(OrdsCacheProperties.class)
+public class OrdsResponseCache implements MeterBinder {
+
+    private final Map<String, OperationCache> byEndpoint = new HashMap<>();
+    private final Map<String, OperationCache> byOperation = new HashMap<>();
+
+    public OrdsResponseCache(OrdsCacheProperties properties) {
+        if (!properties.isEnabled()) {
+            log.info("ORDS response cache disabled");
+            return;
+        }
+        properties
+                .getOperations()
+                .forEach(
+                        (operation, settings) -> {
+                            if (!settings.isEnabled()) {
+                                return;
+                            }
+                            String endpoint = OrdsEndpoints.readEndpoint(operation);
+                            if (endpoint == null) {
+                                throw new IllegalArgumentException(
+                                        "ords-cache: " + operation + " is not a read operation");
+                            }
+                            OperationCache cache =
+                                    new OperationCache(operation, endpoint, settings);
+                            byEndpoint.put(endpoint, cache);
+                            byOperation.put(operation, cache);
+                        });
+    }
+
+    /** @return true when GETs against the ORDS endpoint are cached */
+    public boolean isCached(String endpoint) {
+        return endpoint != null && byEndpoint.containsKey(endpoint);
+    }
+
+    public OrdsCacheKey key(String endpoint, URI uri) {
+        return OrdsCacheKey.of(endpoint, uri, byEndpoint.get(endpoint).ignoredParams);
+    }
+
+    public CachedOrdsResponse get(OrdsCacheKey key) {
+        OperationCache cache = byEndpoint.get(key.getEndpoint());
+        return cache == null ? null : cache.cache.getIfPresent(key);
+    }
+
+    /**
+     * @return the invalidation generation of the key's operation, to be handed back to {@link #put}
+     *     once the upstream call completes
+     */
+    public long generation(OrdsCacheKey key) {
+        OperationCache cache = byEndpoint.get(key.getEndpoint());
+        return cache == null ? 0 : cache.generation.get();
+    }
+
+    /**
+     * Stores a response unless a write invalidated the operation since {@code generation} was read,
+     * which would otherwise let a read that raced the write cache the pre-write state.
+     */
+    public void put(OrdsCacheKey key, CachedOrdsResponse response, long generation) {
+        OperationCache cache = byEndpoint.get(key.getEndpoint());
+        if (cache == null) {
+            return;
+        }
+        cache.cache.put(key, response);
+        if (cache.generation.get() != generation) {
+            cache.cache.invalidate(key);
+        }
+    }
+
+    /** Evicts the cached reads a write operation may have changed. */
+    public void invalidate(String writeOperation, OrdsWriteScope scope) {
+        for (String readOperation : OrdsCacheDependencies.invalidatedBy(writeOperation)) {
+            OperationCache cache = byOperation.get(readOperation);
+            if (cache == null) {
+                continue;
+            }
+            cache.generation.incrementAndGet();
+            cache.cache.asMap().keySet().removeIf(scope::affects);
+            cache.invalidations.incrementAndGet();
+            log.debug("ORDS cache {} invalidated by {}", readOperation, writeOperation);
+        }
+    }
+
+    /** @return true when any read affected by the write operation is cached */
+    public boolean isInvalidatedBy(String writeOperation) {
+        return OrdsCacheDependencies.invalidatedBy(writeOperation).stream()
+                .anyMatch(byOperation::containsKey);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        byEndpoint
+                .values()
+                .forEach(
+                        operationCache -> {
+                            String name = "ords." + operationCache.operation;
+                            CaffeineCacheMetrics.monitor(
+                                    registry,
+                                    operationCache.cache,
+                                    name,
+                                    Tags.of("endpoint", operationCache.endpoint));
+                            FunctionCounter.builder(
+                                            "ords.cache.invalidations",
+                                            operationCache.invalidations,
+                                            AtomicLong::get)
+                                    .description("Write-through invalidations of the cache")
+                                    .tags("cache", name)
+                                    .register(registry);
+                        });
+    }
+
+    private static class OperationCache {
+
+        private final String operation;
+        private final String endpoint;
+        private final Set<String> ignoredParams = new HashSet<>();
+        private final Cache<OrdsCacheKey, CachedOrdsResponse> cache;
+        private final AtomicLong generation = new AtomicLong();
+        private final AtomicLong invalidations = new AtomicLong();
+
+        OperationCache(String operation, String endpoint, OrdsCacheProperties.Operation settings) {
+            this.operation = operation;
+            this.endpoint = endpoint;
+            settings.getIgnoredParams()
+                    .forEach(param -> ignoredParams.add(param.toLowerCase(Locale.ROOT)));
+            this.cache =
+                    Caffeine.newBuilder()
+                            .expireAfterWrite(settings.getTtl())
+                            .maximumWeight(settings.getMaxWeight().toBytes())
+                            .<OrdsCacheKey, CachedOrdsResponse>weigher(
+                                    (key, value) -> key.weight() + value.weight())
+                            .recordStats()
+                            .build();
+        }
+    }
+}
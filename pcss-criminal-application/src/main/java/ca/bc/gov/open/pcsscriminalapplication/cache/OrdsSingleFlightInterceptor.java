@@ -0,0 +1,191 @@
+package ca.bc.gov.open.pcsscriminalapplication.cache;
+
+import ca.bc.gov.open.pcsscriminalapplication.Keys;
+import ca.bc.gov.open.pcsscriminalapplication.exception.DeadlineExceededException;
+import ca.bc.gov.open.pcsscriminalapplication.properties.OrdsCoalescingProperties;
+import ca.bc.gov.open.pcsscriminalapplication.resilience.RequestDeadline;
+import ca.bc.gov.open.pcsscriminalapplication.utils.OrdsEndpoints;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesces identical concurrent ORDS GETs. The first caller for an endpoint and normalised query
+ * goes to ORDS, callers arriving while it is in flight wait for and replay the same buffered
+ * response (or failure), for no longer than their own {@link RequestDeadline}. Nothing is kept once
+ * the call completes; that is the job of {@link OrdsCacheInterceptor}.
+ *
+ * <p>The leader's call is bounded by the leader's own deadline. When it fails after that deadline
+ * has passed, the failure says nothing about ORDS, so followers with time left do not share it and
+ * instead try again, one of them as the new leader. Each caller is counted once, in the role that
+ * answered it.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(OrdsCoalescingProperties.class)
+public class OrdsSingleFlightInterceptor implements ClientHttpRequestInterceptor {
+
+    /** Endpoints where requestdtm is the start of the sync window, not when the call was made. */
+    private static final Set<String> WINDOWED_ENDPOINTS =
+            Set.of(Keys.ORDS_SYNC_APPEARANCE, Keys.ORDS_SYNC_HEARING);
+
+    /** Tag of paths that are not a known ORDS endpoint, so they cannot grow the metric. */
+    private static final String OTHER_ENDPOINT = "other";
+
+    private final boolean enabled;
+    private final Set<String> ignoredParams = new HashSet<>();
+    private final ConcurrentMap<OrdsCacheKey, CompletableFuture<CachedOrdsResponse>> inFlight =
+            new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final MeterRegistry registry;
+
+    public OrdsSingleFlightInterceptor(
+            OrdsCoalescingProperties properties, MeterRegistry registry) {
+        this.enabled = properties.isEnabled();
+        properties
+                .getIgnoredParams()
+                .forEach(param -> ignoredParams.add(param.toLowerCase(Locale.ROOT)));
+        this.registry = registry;
+        Gauge.builder("ords.requests.inflight.coalescing", inFlight, ConcurrentMap::size)
+                .description("Distinct ORDS GETs currently shared by coalesced callers")
+                .register(registry);
+        Gauge.builder("ords.requests.coalescing.waiting", waiting, AtomicInteger::get)
+                .description("Callers currently waiting for an ORDS GET another caller made")
+                .register(registry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(
+            HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!enabled || !HttpMethod.GET.equals(request.getMethod())) {
+            return execution.execute(request, body);
+        }
+        String resolved = OrdsEndpoints.resolve(request.getURI());
+        String endpoint = resolved != null ? resolved : OTHER_ENDPOINT;
+        OrdsCacheKey key =
+                OrdsCacheKey.of(
+                        resolved != null ? resolved : request.getURI().getPath(),
+                        request.getURI(),
+                        WINDOWED_ENDPOINTS.contains(endpoint) ? Set.of() : ignoredParams);
+
+        while (true) {
+            CompletableFuture<CachedOrdsResponse> call = new CompletableFuture<>();
+            CompletableFuture<CachedOrdsResponse> leader = inFlight.putIfAbsent(key, call);
+            if (leader == null) {
+                return lead(key, call, endpoint, request, body, execution);
+            }
+            log.debug("Coalesced ORDS GET for {}", endpoint);
+            boolean retry = false;
+            waiting.incrementAndGet();
+            try {
+                return await(leader).toClientHttpResponse();
+            } catch (LeaderDeadlineException e) {
+                if (RequestDeadline.isExpired()) {
+                    throw e.getCause();
+                }
+                retry = true;
+                log.debug("Coalesced ORDS GET for {} outlived its leader's deadline", endpoint);
+            } finally {
+                waiting.decrementAndGet();
+                if (!retry) {
+                    counter(endpoint, "follower").increment();
+                }
+            }
+        }
+    }
+
+    private ClientHttpResponse lead(
+            OrdsCacheKey key,
+            CompletableFuture<CachedOrdsResponse> call,
+            String endpoint,
+            HttpRequest request,
+            byte[] body,
+            ClientHttpRequestExecution execution)
+            throws IOException {
+        counter(endpoint, "leader").increment();
+        try {
+            CachedOrdsResponse response = CachedOrdsResponse.of(execution.execute(request, body));
+            call.complete(response);
+            return response.toClientHttpResponse();
+        } catch (IOException e) {
+            call.completeExceptionally(
+                    RequestDeadline.isExpired() ? new LeaderDeadlineException(e) : e);
+            throw e;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private CachedOrdsResponse await(CompletableFuture<CachedOrdsResponse> leader)
+            throws IOException {
+        try {
+            Optional<Duration> remaining = RequestDeadline.remaining();
+            if (remaining.isEmpty()) {
+                return leader.get();
+            }
+            return leader.get(Math.max(0, remaining.get().toNanos()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException(
+                    "Caller deadline passed waiting for a coalesced ORDS call");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for a coalesced ORDS call");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private Counter counter(String endpoint, String role) {
+        return Counter.builder("ords.requests.coalesced")
+                .description(
+                        "ORDS GETs by whether they went upstream (leader) or shared an in-flight"
+                                + " call (follower)")
+                .tags("endpoint", endpoint, "role", role)
+                .register(registry);
+    }
+
+    /** The leader's call failed once the leader's own deadline had passed. */
+    private static class LeaderDeadlineException extends IOException {
+
+        LeaderDeadlineException(IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }
+    }
+}
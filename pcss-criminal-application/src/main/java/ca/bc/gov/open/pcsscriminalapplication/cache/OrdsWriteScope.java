@@ -0,0 +1,75 @@
+package ca.bc.gov.open.pcsscriminalapplication.cache;
+
+import ca.bc.gov.open.pcsscriminalapplication.Keys;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import lombok.Getter;
+
+/**
+ * The justinNo and appearance ids a write touches, read from the JSON body posted to ORDS. An entry
+ * is kept only when it can be shown to belong to a different file or appearance; when the write and
+ * the cached read share no identifier (e.g. an appearance method change by apprId against an
+ * appearance list read by justinNo) the entry is evicted to stay safe.
+ */
+@Getter
+public class OrdsWriteScope {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Set<String> justinNos = new HashSet<>();
+    private final Set<String> appearanceIds = new HashSet<>();
+
+    public static OrdsWriteScope of(byte[] body) {
+        OrdsWriteScope scope = new OrdsWriteScope();
+        if (body == null || body.length == 0) {
+            return scope;
+        }
+        try {
+            scope.collect(MAPPER.readTree(body));
+        } catch (IOException e) {
+            // unknown scope, every entry of the dependent reads is evicted
+        }
+        return scope;
+    }
+
+    /** @return true when the cached read may have been changed by this write */
+    public boolean affects(OrdsCacheKey key) {
+        String justinNo = key.param(Keys.QUERY_JUSTIN_NO);
+        String appearanceId = key.param(Keys.QUERY_APPEARANCE_ID);
+        if (justinNo != null && justinNos.contains(justinNo)) {
+            return true;
+        }
+        if (appearanceId != null && appearanceIds.contains(appearanceId)) {
+            return true;
+        }
+        boolean comparableJustinNo = justinNo != null && !justinNos.isEmpty();
+        boolean comparableAppearanceId = appearanceId != null && !appearanceIds.isEmpty();
+        return !comparableJustinNo && !comparableAppearanceId;
+    }
+
+    private void collect(JsonNode node) {
+        if (node.isArray()) {
+            node.forEach(this::collect);
+            return;
+        }
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            if (value.isValueNode() && !value.isNull()) {
+                if ("justinNo".equalsIgnoreCase(field.getKey())) {
+                    justinNos.add(value.asText());
+                } else if ("apprId".equalsIgnoreCase(field.getKey())) {
+                    appearanceIds.add(value.asText());
+                }
+            } else {
+                collect(value);
+            }
+        }
+    }
+}
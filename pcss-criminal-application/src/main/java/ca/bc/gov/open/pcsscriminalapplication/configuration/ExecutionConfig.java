@@ -0,0 +1,58 @@
+package ca.bc.gov.open.pcsscriminalapplication.configuration;
+
+import ca.bc.gov.open.pcsscriminalapplication.properties.ExecutionProperties;
+import ca.bc.gov.open.pcsscriminalapplication.utils.VirtualThreads;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(ExecutionProperties.class)
+public class ExecutionConfig {
+
+    /**
+     * Replaces the Tomcat worker pool so that every request, and therefore every SOAP dispatch
+     * through the MessageDispatcherServlet and its blocking ORDS call, runs on a virtual thread.
+     * Concurrency towards ORDS is then bounded by the upstream connection pools instead of the
+     * container thread count.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "execution", name = "mode", havingValue = "virtual")
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler>
+            virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor();
+        log.info("SOAP dispatch running on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    /**
+     * Runs the parallel upstream calls a single SOAP request fans out to. Work is handed straight
+     * to an idle thread and rejected once all threads are busy, so the pool never queues. Running
+     * it on the caller instead would make a saturated pool send the calls one by one on the request
+     * thread, where no deadline can abandon them.
+     */
+    @Bean(name = "fanOutExecutor", destroyMethod = "shutdown")
+    public ExecutorService fanOutExecutor(ExecutionProperties executionProperties) {
+        if (executionProperties.getMode() == ExecutionProperties.Mode.VIRTUAL) {
+            return VirtualThreads.newThreadPerTaskExecutor();
+        }
+        return new ThreadPoolExecutor(
+                0,
+                executionProperties.getFanOutThreads(),
+                60,
+                TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                new CustomizableThreadFactory("fan-out-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -36,7 +36,12 @@ public class SecurityConfig {
                         authorizeRequests
                                 .requestMatchers(new AntPathRequestMatcher("/error"))
                                 .permitAll()
-                                .requestMatchers(new AntPathRequestMatcher("/actuator/**"))
+                                // probes; metrics and resilience state need credentials
+                                .requestMatchers(new AntPathRequestMatcher("/actuator/health"))
+                                .permitAll()
+                                .requestMatchers(new AntPathRequestMatcher("/actuator/health/**"))
+                                .permitAll()
+                                .requestMatchers(new AntPathRequestMatcher("/actuator/info"))
                                 .permitAll()
                                 .anyRequest()
                                 .authenticated());
@@ -1,25 +1,58 @@
 package ca.bc.gov.open.pcsscriminalapplication.configuration;
 
+import ca.bc.gov.open.pcsscriminalapplication.cache.OrdsCacheInterceptor;
+import ca.bc.gov.open.pcsscriminalapplication.cache.OrdsSingleFlightInterceptor;
 import ca.bc.gov.open.pcsscriminalapplication.exception.DetailSoapFaultDefinitionExceptionResolver;
+import ca.bc.gov.open.pcsscriminalapplication.exception.InvalidRequestException;
 import ca.bc.gov.open.pcsscriminalapplication.exception.ServiceFaultException;
+import ca.bc.gov.open.pcsscriminalapplication.metrics.OrdsMetricsInterceptor;
+import ca.bc.gov.open.pcsscriminalapplication.metrics.SoapMetricsInterceptor;
 import ca.bc.gov.open.pcsscriminalapplication.properties.CaseLookupProperties;
 import ca.bc.gov.open.pcsscriminalapplication.properties.DemsProperties;
 import ca.bc.gov.open.pcsscriminalapplication.properties.IslProperties;
+import ca.bc.gov.open.pcsscriminalapplication.properties.LoadSheddingProperties;
 import ca.bc.gov.open.pcsscriminalapplication.properties.PcssProperties;
+import ca.bc.gov.open.pcsscriminalapplication.properties.PoolProperties;
+import ca.bc.gov.open.pcsscriminalapplication.properties.SoapStreamingProperties;
+import ca.bc.gov.open.pcsscriminalapplication.resilience.AdaptiveConcurrencyFilter;
+import ca.bc.gov.open.pcsscriminalapplication.resilience.DeadlineRequestFactory;
+import ca.bc.gov.open.pcsscriminalapplication.resilience.OrdsCircuitBreakerInterceptor;
+import ca.bc.gov.open.pcsscriminalapplication.resilience.OrdsDeadlineInterceptor;
+import ca.bc.gov.open.pcsscriminalapplication.resilience.SoapBulkheadInterceptor;
+import ca.bc.gov.open.pcsscriminalapplication.resilience.SoapDeadlineInterceptor;
+import ca.bc.gov.open.pcsscriminalapplication.streaming.StreamingSoapMessageFactory;
+import ca.bc.gov.open.pcsscriminalapplication.wsdl.CachingWsdlDefinitionHandlerAdapter;
+import ca.bc.gov.open.pcsscriminalapplication.wsdl.CachingXsdSchemaHandlerAdapter;
 import ca.bc.gov.open.pcsscriminalcommon.serializer.InstantDeserializer;
 import ca.bc.gov.open.pcsscriminalcommon.serializer.InstantSerializer;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
 import jakarta.xml.soap.SOAPMessage;
 import java.io.IOException;
-import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.boot.web.servlet.ServletRegistrationBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -34,11 +67,14 @@ import org.springframework.http.converter.json.MappingJackson2HttpMessageConvert
 import org.springframework.web.client.RestTemplate;
 import org.springframework.ws.config.annotation.EnableWs;
 import org.springframework.ws.config.annotation.WsConfigurerAdapter;
+import org.springframework.ws.server.EndpointInterceptor;
 import org.springframework.ws.soap.SoapVersion;
 import org.springframework.ws.soap.saaj.SaajSoapMessageFactory;
 import org.springframework.ws.soap.server.endpoint.SoapFaultDefinition;
 import org.springframework.ws.soap.server.endpoint.SoapFaultMappingExceptionResolver;
 import org.springframework.ws.transport.http.MessageDispatcherServlet;
+import org.springframework.ws.transport.http.WsdlDefinitionHandlerAdapter;
+import org.springframework.ws.transport.http.XsdSchemaHandlerAdapter;
 import org.springframework.ws.wsdl.wsdl11.DefaultWsdl11Definition;
 import org.springframework.ws.wsdl.wsdl11.SimpleWsdl11Definition;
 import org.springframework.ws.wsdl.wsdl11.Wsdl11Definition;
@@ -51,7 +87,9 @@ import org.springframework.xml.xsd.XsdSchema;
     DemsProperties.class,
     PcssProperties.class,
     IslProperties.class,
-    CaseLookupProperties.class
+    CaseLookupProperties.class,
+    LoadSheddingProperties.class,
+    SoapStreamingProperties.class
 })
 public class SoapConfig extends WsConfigurerAdapter {
 
@@ -59,6 +97,18 @@ public class SoapConfig extends WsConfigurerAdapter {
     @Autowired private DemsProperties demsProperties;
     @Autowired private IslProperties islProperties;
     @Autowired private CaseLookupProperties caseLookupProperties;
+    @Autowired private SoapMetricsInterceptor soapMetricsInterceptor;
+    @Autowired private SoapDeadlineInterceptor soapDeadlineInterceptor;
+    @Autowired private SoapBulkheadInterceptor soapBulkheadInterceptor;
+
+    @Override
+    public void addInterceptors(List<EndpointInterceptor> interceptors) {
+        // metrics first so requests refused by a bulkhead are timed as faults
+        interceptors.add(soapMetricsInterceptor);
+        // before the bulkhead so time spent waiting for a permit counts against the deadline
+        interceptors.add(soapDeadlineInterceptor);
+        interceptors.add(soapBulkheadInterceptor);
+    }
 
     @Bean
     public SoapFaultMappingExceptionResolver exceptionResolver() {
@@ -73,6 +123,8 @@ public class SoapConfig extends WsConfigurerAdapter {
         errorMappings.setProperty(Exception.class.getName(), SoapFaultDefinition.SERVER.toString());
         errorMappings.setProperty(
                 ServiceFaultException.class.getName(), SoapFaultDefinition.SERVER.toString());
+        errorMappings.setProperty(
+                InvalidRequestException.class.getName(), SoapFaultDefinition.CLIENT.toString());
         exceptionResolver.setExceptionMappings(errorMappings);
         exceptionResolver.setOrder(1);
         return exceptionResolver;
@@ -87,45 +139,197 @@ public class SoapConfig extends WsConfigurerAdapter {
         return new ServletRegistrationBean<>(servlet, "/criminal/*");
     }
 
+    @Bean(name = MessageDispatcherServlet.DEFAULT_WSDL_DEFINITION_HANDLER_ADAPTER_BEAN_NAME)
+    public WsdlDefinitionHandlerAdapter wsdlDefinitionHandlerAdapter() {
+        // the servlet's transformWsdlLocations only applies to the adapter it creates itself
+        CachingWsdlDefinitionHandlerAdapter adapter = new CachingWsdlDefinitionHandlerAdapter();
+        adapter.setTransformLocations(true);
+        return adapter;
+    }
+
+    @Bean(name = MessageDispatcherServlet.DEFAULT_XSD_SCHEMA_HANDLER_ADAPTER_BEAN_NAME)
+    public XsdSchemaHandlerAdapter xsdSchemaHandlerAdapter() {
+        return new CachingXsdSchemaHandlerAdapter();
+    }
+
+    @Bean
+    @ConditionalOnProperty(
+            prefix = "load-shedding",
+            name = "enabled",
+            havingValue = "true",
+            matchIfMissing = true)
+    public FilterRegistrationBean<AdaptiveConcurrencyFilter> adaptiveConcurrencyFilter(
+            LoadSheddingProperties loadSheddingProperties, MeterRegistry meterRegistry) {
+        // after Spring Security, so unauthenticated requests never take a slot
+        FilterRegistrationBean<AdaptiveConcurrencyFilter> registration =
+                new FilterRegistrationBean<>(
+                        new AdaptiveConcurrencyFilter(loadSheddingProperties, meterRegistry));
+        registration.addUrlPatterns("/criminal/*");
+        return registration;
+    }
+
+    @Bean(name = "pcssConnectionManager")
+    public PoolingHttpClientConnectionManager pcssConnectionManager() {
+        return createConnectionManager(
+                pcssProperties.getPool(), pcssProperties.getOrdsReadTimeout());
+    }
+
+    @Bean(name = "demsConnectionManager")
+    public PoolingHttpClientConnectionManager demsConnectionManager() {
+        return createConnectionManager(
+                demsProperties.getPool(), demsProperties.getOrdsReadTimeout());
+    }
+
+    @Bean(name = "caseLookupConnectionManager")
+    public PoolingHttpClientConnectionManager caseLookupConnectionManager() {
+        return createConnectionManager(
+                caseLookupProperties.getPool(), caseLookupProperties.getOrdsReadTimeout());
+    }
+
+    @Bean(name = "pcssHttpClient")
+    public CloseableHttpClient pcssHttpClient(
+            @Qualifier("pcssConnectionManager") PoolingHttpClientConnectionManager manager) {
+        return createHttpClient(
+                manager, pcssProperties.getPool(), pcssProperties.getOrdsReadTimeout());
+    }
+
+    @Bean(name = "demsHttpClient")
+    public CloseableHttpClient demsHttpClient(
+            @Qualifier("demsConnectionManager") PoolingHttpClientConnectionManager manager) {
+        return createHttpClient(
+                manager, demsProperties.getPool(), demsProperties.getOrdsReadTimeout());
+    }
+
+    @Bean(name = "caseLookupHttpClient")
+    public CloseableHttpClient caseLookupHttpClient(
+            @Qualifier("caseLookupConnectionManager") PoolingHttpClientConnectionManager manager) {
+        return createHttpClient(
+                manager, caseLookupProperties.getPool(), caseLookupProperties.getOrdsReadTimeout());
+    }
+
+    @Bean
+    public MeterBinder httpClientPoolMetrics(
+            @Qualifier("pcssConnectionManager") PoolingHttpClientConnectionManager pcss,
+            @Qualifier("demsConnectionManager") PoolingHttpClientConnectionManager dems,
+            @Qualifier("caseLookupConnectionManager")
+                    PoolingHttpClientConnectionManager caseLookup) {
+        return registry -> {
+            new PoolingHttpClientConnectionManagerMetricsBinder(pcss, "pcss").bindTo(registry);
+            new PoolingHttpClientConnectionManagerMetricsBinder(dems, "dems").bindTo(registry);
+            new PoolingHttpClientConnectionManagerMetricsBinder(caseLookup, "caselookup")
+                    .bindTo(registry);
+        };
+    }
+
     @Bean
     @Primary
-    public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder) {
+    public RestTemplate restTemplate(
+            RestTemplateBuilder restTemplateBuilder,
+            @Qualifier("pcssHttpClient") CloseableHttpClient httpClient,
+            OrdsCacheInterceptor ordsCacheInterceptor,
+            OrdsSingleFlightInterceptor ordsSingleFlightInterceptor,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            MeterRegistry meterRegistry) {
+        var restTemplate = createPcssRestTemplate(restTemplateBuilder, httpClient);
+        // first so nothing is done for callers that have given up
+        restTemplate.getInterceptors().add(new OrdsDeadlineInterceptor("pcss", meterRegistry));
+        // cache first so only misses are coalesced
+        restTemplate.getInterceptors().add(ordsCacheInterceptor);
+        restTemplate.getInterceptors().add(ordsSingleFlightInterceptor);
+        // after the cache so hits do not count towards the failure rate
+        restTemplate
+                .getInterceptors()
+                .add(
+                        new OrdsCircuitBreakerInterceptor(
+                                circuitBreakerRegistry.circuitBreaker("pcss")));
+        // last so only calls that reach ORDS are timed
+        restTemplate.getInterceptors().add(new OrdsMetricsInterceptor("pcss", meterRegistry));
+        return restTemplate;
+    }
+
+    /**
+     * PCSS ORDS template for responses that are read as a stream. It leaves out the cache and
+     * coalescing interceptors, which buffer every body in full, and shares the pool, circuit
+     * breaker and metrics of the main template.
+     */
+    @Bean(name = "restTemplateStreaming")
+    public RestTemplate restTemplateStreaming(
+            RestTemplateBuilder restTemplateBuilder,
+            @Qualifier("pcssHttpClient") CloseableHttpClient httpClient,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            MeterRegistry meterRegistry) {
+        var restTemplate = createPcssRestTemplate(restTemplateBuilder, httpClient);
+        restTemplate.getInterceptors().add(new OrdsDeadlineInterceptor("pcss", meterRegistry));
+        restTemplate
+                .getInterceptors()
+                .add(
+                        new OrdsCircuitBreakerInterceptor(
+                                circuitBreakerRegistry.circuitBreaker("pcss")));
+        restTemplate.getInterceptors().add(new OrdsMetricsInterceptor("pcss", meterRegistry));
+        return restTemplate;
+    }
+
+    private RestTemplate createPcssRestTemplate(
+            RestTemplateBuilder restTemplateBuilder, CloseableHttpClient httpClient) {
         var restTemplate =
                 restTemplateBuilder
+                        .requestFactory(
+                                () ->
+                                        new DeadlineRequestFactory(
+                                                httpClient,
+                                                pcssProperties.getPool().getConnectTimeout()))
                         .basicAuthentication(
                                 pcssProperties.getUserName(), pcssProperties.getPassword())
-                        .setReadTimeout(
-                                Duration.ofSeconds(
-                                        Integer.parseInt(pcssProperties.getOrdsReadTimeout())))
                         .build();
         restTemplate.getMessageConverters().add(0, createMappingJacksonHttpMessageConverter());
         return restTemplate;
     }
 
     @Bean(name = "restTemplateDEMS")
-    public RestTemplate restTemplateDEMS(RestTemplateBuilder restTemplateBuilder) {
+    public RestTemplate restTemplateDEMS(
+            RestTemplateBuilder restTemplateBuilder,
+            @Qualifier("demsHttpClient") CloseableHttpClient httpClient,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            MeterRegistry meterRegistry) {
         var restTemplate =
                 restTemplateBuilder
+                        .requestFactory(
+                                () ->
+                                        new DeadlineRequestFactory(
+                                                httpClient,
+                                                demsProperties.getPool().getConnectTimeout()))
                         .basicAuthentication(
                                 demsProperties.getUserName(), demsProperties.getPassword())
-                        .setReadTimeout(
-                                Duration.ofSeconds(
-                                        Integer.parseInt(demsProperties.getOrdsReadTimeout())))
                         .build();
         restTemplate.getMessageConverters().add(0, createMappingJacksonHttpMessageConverter());
+        restTemplate.getInterceptors().add(new OrdsDeadlineInterceptor("dems", meterRegistry));
+        restTemplate
+                .getInterceptors()
+                .add(
+                        new OrdsCircuitBreakerInterceptor(
+                                circuitBreakerRegistry.circuitBreaker("dems")));
+        restTemplate.getInterceptors().add(new OrdsMetricsInterceptor("dems", meterRegistry));
         return restTemplate;
     }
 
     @Bean(name = "restTemplateCaseLookup")
-    public RestTemplate restTemplateCaseLookup(RestTemplateBuilder restTemplateBuilder) {
+    public RestTemplate restTemplateCaseLookup(
+            RestTemplateBuilder restTemplateBuilder,
+            @Qualifier("caseLookupHttpClient") CloseableHttpClient httpClient,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            MeterRegistry meterRegistry) {
         var restTemplate =
                 restTemplateBuilder
-                        .setReadTimeout(
-                                Duration.ofSeconds(
-                                        Integer.parseInt(
-                                                caseLookupProperties.getOrdsReadTimeout())))
+                        .requestFactory(
+                                () ->
+                                        new DeadlineRequestFactory(
+                                                httpClient,
+                                                caseLookupProperties.getPool().getConnectTimeout()))
                         .build();
         restTemplate.getMessageConverters().add(0, createMappingJacksonHttpMessageConverter());
+        restTemplate
+                .getInterceptors()
+                .add(new OrdsDeadlineInterceptor("caselookup", meterRegistry));
         restTemplate
                 .getInterceptors()
                 .add(
@@ -145,9 +349,55 @@ public class SoapConfig extends WsConfigurerAdapter {
                                 return execution.execute(request, body);
                             }
                         });
+        restTemplate
+                .getInterceptors()
+                .add(
+                        new OrdsCircuitBreakerInterceptor(
+                                circuitBreakerRegistry.circuitBreaker("caselookup")));
+        restTemplate.getInterceptors().add(new OrdsMetricsInterceptor("caselookup", meterRegistry));
         return restTemplate;
     }
 
+    /**
+     * Keep-alive connection pool for a single upstream. The read timeout is applied as the socket
+     * timeout so pooled connections honour the same limit the previous default factory used.
+     */
+    private PoolingHttpClientConnectionManager createConnectionManager(
+            PoolProperties pool, String ordsReadTimeout) {
+        Timeout readTimeout = Timeout.ofSeconds(Integer.parseInt(ordsReadTimeout));
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(pool.getMaxTotal())
+                .setMaxConnPerRoute(pool.getMaxPerRoute())
+                .setDefaultSocketConfig(SocketConfig.custom().setSoTimeout(readTimeout).build())
+                .setDefaultConnectionConfig(
+                        ConnectionConfig.custom()
+                                .setConnectTimeout(Timeout.of(pool.getConnectTimeout()))
+                                .setSocketTimeout(readTimeout)
+                                .setTimeToLive(TimeValue.of(pool.getTimeToLive()))
+                                .setValidateAfterInactivity(
+                                        TimeValue.of(pool.getValidateAfterInactivity()))
+                                .build())
+                .build();
+    }
+
+    private CloseableHttpClient createHttpClient(
+            PoolingHttpClientConnectionManager manager,
+            PoolProperties pool,
+            String ordsReadTimeout) {
+        return HttpClients.custom()
+                .setConnectionManager(manager)
+                .setDefaultRequestConfig(
+                        RequestConfig.custom()
+                                .setConnectionRequestTimeout(
+                                        Timeout.of(pool.getConnectionRequestTimeout()))
+                                .setResponseTimeout(
+                                        Timeout.ofSeconds(Integer.parseInt(ordsReadTimeout)))
+                                .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(pool.getIdleTimeout()))
+                .build();
+    }
+
     private MappingJackson2HttpMessageConverter createMappingJacksonHttpMessageConverter() {
         MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter();
 
@@ -171,10 +421,14 @@ public class SoapConfig extends WsConfigurerAdapter {
     }
 
     @Bean
-    public SaajSoapMessageFactory messageFactory() {
+    public SaajSoapMessageFactory messageFactory(SoapStreamingProperties soapStreamingProperties) {
         Map<String, Object> props = new HashMap<>();
         props.put(SOAPMessage.WRITE_XML_DECLARATION, "true");
-        SaajSoapMessageFactory messageFactory = new SaajSoapMessageFactory();
+        SaajSoapMessageFactory messageFactory =
+                soapStreamingProperties.getMessageFactory()
+                                == SoapStreamingProperties.MessageFactoryType.STREAMING
+                        ? new StreamingSoapMessageFactory()
+                        : new SaajSoapMessageFactory();
         messageFactory.setMessageProperties(props);
         messageFactory.setSoapVersion(SoapVersion.SOAP_12);
         return messageFactory;
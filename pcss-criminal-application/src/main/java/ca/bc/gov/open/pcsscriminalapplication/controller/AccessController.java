@@ -8,7 +8,6 @@ import ca.bc.gov.open.wsdl.pcss.one.GetFileAccessRequest;
 import ca.bc.gov.open.wsdl.pcss.one.GetFileAccessResponse;
 import ca.bc.gov.open.wsdl.pcss.two.GetFileAccess;
 import ca.bc.gov.open.wsdl.pcss.two.GetFileAccessResponse2;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.http.HttpEntity;
@@ -40,7 +39,7 @@ public class AccessController {
     @PayloadRoot(namespace = Keys.SOAP_NAMESPACE, localPart = Keys.SOAP_METHOD_FILE_ACCESS)
     @ResponsePayload
     public ca.bc.gov.open.wsdl.pcss.two.GetFileAccessResponse getFileAccess(
-            @RequestPayload GetFileAccess getFileAccess) throws JsonProcessingException {
+            @RequestPayload GetFileAccess getFileAccess) {
         log.info(Keys.LOG_RECEIVED, Keys.SOAP_METHOD_FILE_ACCESS);
 
         ca.bc.gov.open.wsdl.pcss.one.GetFileAccessRequest getFileAccessRequest =
@@ -72,7 +71,8 @@ public class AccessController {
             return getFileAccessResponse;
         } catch (Exception ex) {
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             Keys.ORDS_ERROR_MESSAGE,
                             Keys.SOAP_METHOD_FILE_ACCESS,
                             getFileAccessRequest,
@@ -3,14 +3,19 @@ package ca.bc.gov.open.pcsscriminalapplication.controller;
 import ca.bc.gov.open.pcsscriminalapplication.Keys;
 import ca.bc.gov.open.pcsscriminalapplication.exception.ORDSException;
 import ca.bc.gov.open.pcsscriminalapplication.properties.PcssProperties;
+import ca.bc.gov.open.pcsscriminalapplication.streaming.OrdsResponseStreamer;
+import ca.bc.gov.open.pcsscriminalapplication.utils.ChunkedFanOut;
 import ca.bc.gov.open.pcsscriminalapplication.utils.DateUtils;
 import ca.bc.gov.open.pcsscriminalapplication.utils.LogBuilder;
+import ca.bc.gov.open.pcsscriminalapplication.utils.OrdsUris;
 import ca.bc.gov.open.wsdl.pcss.secure.two.*;
 import ca.bc.gov.open.wsdl.pcss.two.*;
 import ca.bc.gov.open.wsdl.pcss.two.GetAppearanceCriminalApprMethodResponse;
 import ca.bc.gov.open.wsdl.pcss.two.GetAppearanceCriminalCountResponse;
 import ca.bc.gov.open.wsdl.pcss.two.GetAppearanceCriminalResponse;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import java.net.URI;
+import java.util.List;
+import java.util.stream.IntStream;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.http.HttpEntity;
@@ -18,6 +23,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.ws.context.MessageContext;
 import org.springframework.ws.server.endpoint.annotation.Endpoint;
 import org.springframework.ws.server.endpoint.annotation.PayloadRoot;
 import org.springframework.ws.server.endpoint.annotation.RequestPayload;
@@ -28,22 +34,33 @@ import org.springframework.ws.server.endpoint.annotation.ResponsePayload;
 @EnableConfigurationProperties(PcssProperties.class)
 public class AppearanceController {
 
+    /** The SOAP 1.1 fault code an ORDSException is sent with. */
+    private static final String ITEM_FAULT_CODE = "Server";
+
     private final RestTemplate restTemplate;
     private final PcssProperties pcssProperties;
     private final LogBuilder logBuilder;
+    private final OrdsResponseStreamer ordsResponseStreamer;
+    private final ChunkedFanOut fanOut;
 
     public AppearanceController(
-            RestTemplate restTemplate, PcssProperties pcssProperties, LogBuilder logBuilder) {
+            RestTemplate restTemplate,
+            PcssProperties pcssProperties,
+            LogBuilder logBuilder,
+            OrdsResponseStreamer ordsResponseStreamer,
+            ChunkedFanOut fanOut) {
         this.restTemplate = restTemplate;
         this.pcssProperties = pcssProperties;
         this.logBuilder = logBuilder;
+        this.ordsResponseStreamer = ordsResponseStreamer;
+        this.fanOut = fanOut;
     }
 
     @PayloadRoot(namespace = Keys.SOAP_NAMESPACE, localPart = Keys.SOAP_METHOD_APPEARANCE)
     @ResponsePayload
     public GetAppearanceCriminalResponse getAppearanceCriminal(
-            @RequestPayload GetAppearanceCriminal getAppearanceCriminal)
-            throws JsonProcessingException {
+            @RequestPayload GetAppearanceCriminal getAppearanceCriminal,
+            MessageContext messageContext) {
 
         log.info(Keys.LOG_RECEIVED, Keys.SOAP_METHOD_APPEARANCE);
 
@@ -58,29 +75,26 @@ public class AppearanceController {
                                 .getGetAppearanceCriminalRequest()
                         : new ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalRequest();
 
-        UriComponentsBuilder builder =
-                UriComponentsBuilder.fromHttpUrl(pcssProperties.getHost() + Keys.ORDS_APPEARANCE)
-                        .queryParam(
-                                Keys.QUERY_APPEARANCE_ID,
-                                getAppearanceCriminalRequest.getAppearanceId())
-                        .queryParam(
-                                Keys.QUERY_APPLICATION_CD,
-                                getAppearanceCriminalRequest.getApplicationCd())
-                        .queryParam(
-                                Keys.QUERY_JUSTIN_NO, getAppearanceCriminalRequest.getJustinNo())
-                        .queryParam(
-                                Keys.QUERY_FUTURE_FLAG, getAppearanceCriminalRequest.getFutureYN())
-                        .queryParam(
-                                Keys.QUERY_HISTORY_FLAG,
-                                getAppearanceCriminalRequest.getHistoryYN());
+        URI uri = OrdsUris.appearance(pcssProperties.getHost(), getAppearanceCriminalRequest);
 
         try {
 
             log.debug(Keys.LOG_ORDS, Keys.SOAP_METHOD_APPEARANCE);
 
+            if (ordsResponseStreamer.stream(
+                    Keys.SOAP_METHOD_APPEARANCE,
+                    uri,
+                    GetAppearanceCriminalResponse.class,
+                    ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalResponse.class,
+                    messageContext)) {
+                log.info(Keys.LOG_SUCCESS, Keys.SOAP_METHOD_APPEARANCE);
+                // the streamer has written or set the response payload
+                return null;
+            }
+
             HttpEntity<ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalResponse> response =
                     restTemplate.exchange(
-                            builder.build().toUri(),
+                            uri,
                             HttpMethod.GET,
                             new HttpEntity<>(new HttpHeaders()),
                             ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalResponse.class);
@@ -95,7 +109,8 @@ public class AppearanceController {
         } catch (Exception ex) {
 
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             Keys.ORDS_ERROR_MESSAGE,
                             Keys.SOAP_METHOD_APPEARANCE,
                             getAppearanceCriminalRequest,
@@ -104,6 +119,82 @@ public class AppearanceController {
         }
     }
 
+    @PayloadRoot(namespace = Keys.SOAP_NAMESPACE, localPart = Keys.SOAP_METHOD_APPEARANCE_BATCH)
+    @ResponsePayload
+    public GetAppearanceCriminalBatchResponse getAppearanceCriminalBatch(
+            @RequestPayload GetAppearanceCriminalBatch getAppearanceCriminalBatch) {
+
+        log.info(Keys.LOG_RECEIVED, Keys.SOAP_METHOD_APPEARANCE_BATCH);
+
+        List<ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalRequest> requests =
+                getAppearanceCriminalBatch.getGetAppearanceCriminalRequest().stream()
+                        .map(
+                                item ->
+                                        item != null
+                                                        && item.getGetAppearanceCriminalRequest()
+                                                                != null
+                                                ? item.getGetAppearanceCriminalRequest()
+                                                : new ca.bc.gov.open.wsdl.pcss.one
+                                                        .GetAppearanceCriminalRequest())
+                        .toList();
+        int maxItems = pcssProperties.getBatch().getMaxItems();
+        if (requests.size() > maxItems) {
+            throw new IllegalArgumentException(
+                    "A batch holds at most " + maxItems + " requests, found " + requests.size());
+        }
+
+        log.debug(Keys.LOG_ORDS, Keys.SOAP_METHOD_APPEARANCE_BATCH);
+
+        // every item answers for itself, so one failed lookup never fails the batch
+        List<GetAppearanceCriminalBatchResult> results =
+                fanOut.map(
+                        Keys.SOAP_METHOD_APPEARANCE_BATCH,
+                        ChunkedFanOut.partition(
+                                IntStream.range(0, requests.size()).boxed().toList(), 1),
+                        pcssProperties.getBatch().getParallelism(),
+                        chunk -> batchResult(chunk.get(0), requests.get(chunk.get(0))));
+
+        GetAppearanceCriminalBatchResponse getAppearanceCriminalBatchResponse =
+                new GetAppearanceCriminalBatchResponse();
+        getAppearanceCriminalBatchResponse.getGetAppearanceCriminalBatchResult().addAll(results);
+
+        log.info(Keys.LOG_SUCCESS, Keys.SOAP_METHOD_APPEARANCE_BATCH);
+
+        return getAppearanceCriminalBatchResponse;
+    }
+
+    private GetAppearanceCriminalBatchResult batchResult(
+            int index,
+            ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalRequest
+                    getAppearanceCriminalRequest) {
+
+        GetAppearanceCriminalBatchResult result = new GetAppearanceCriminalBatchResult();
+        result.setIndex(index);
+        try {
+            HttpEntity<ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalResponse> response =
+                    restTemplate.exchange(
+                            OrdsUris.appearance(
+                                    pcssProperties.getHost(), getAppearanceCriminalRequest),
+                            HttpMethod.GET,
+                            new HttpEntity<>(new HttpHeaders()),
+                            ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalResponse.class);
+            result.setGetAppearanceCriminalResponse(response.getBody());
+        } catch (Exception ex) {
+            log.error(
+                    "{}",
+                    logBuilder.logMessage(
+                            Keys.ORDS_ERROR_MESSAGE,
+                            Keys.SOAP_METHOD_APPEARANCE_BATCH,
+                            getAppearanceCriminalRequest,
+                            ex.getMessage()));
+            BatchItemFault fault = new BatchItemFault();
+            fault.setFaultcode(ITEM_FAULT_CODE);
+            fault.setFaultstring(new ORDSException().getMessage());
+            result.setFault(fault);
+        }
+        return result;
+    }
+
     private GetAppearanceCriminalResponse buildAppearanceResponse(
             ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalResponse
                     getAppearanceCriminalResponseInner) {
@@ -125,8 +216,7 @@ public class AppearanceController {
             localPart = Keys.SOAP_METHOD_APPEARANCE_APPR_METHOD)
     @ResponsePayload
     public GetAppearanceCriminalApprMethodResponse getAppearanceCriminalApprMethod(
-            @RequestPayload GetAppearanceCriminalApprMethod getAppearanceCriminalApprMethod)
-            throws JsonProcessingException {
+            @RequestPayload GetAppearanceCriminalApprMethod getAppearanceCriminalApprMethod) {
 
         log.info(Keys.LOG_RECEIVED, Keys.SOAP_METHOD_APPEARANCE_APPR_METHOD);
 
@@ -174,7 +264,8 @@ public class AppearanceController {
         } catch (Exception ex) {
 
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             Keys.ORDS_ERROR_MESSAGE,
                             Keys.SOAP_METHOD_APPEARANCE_APPR_METHOD,
                             getAppearanceCriminalApprMethodRequest,
@@ -205,8 +296,7 @@ public class AppearanceController {
     @ResponsePayload
     public GetAppearanceCriminalApprMethodSecureResponse getAppearanceCriminalApprMethodSecure(
             @RequestPayload
-                    GetAppearanceCriminalApprMethodSecure getAppearanceCriminalApprMethodSecure)
-            throws JsonProcessingException {
+                    GetAppearanceCriminalApprMethodSecure getAppearanceCriminalApprMethodSecure) {
 
         log.info(Keys.LOG_RECEIVED, Keys.SOAP_METHOD_APPEARANCE_APPR_METHOD_SECURE);
 
@@ -271,7 +361,8 @@ public class AppearanceController {
         } catch (Exception ex) {
 
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             Keys.ORDS_ERROR_MESSAGE,
                             Keys.SOAP_METHOD_APPEARANCE_APPR_METHOD_SECURE,
                             getAppearanceCriminalApprMethodSecureRequest,
@@ -303,8 +394,7 @@ public class AppearanceController {
     @PayloadRoot(namespace = Keys.SOAP_NAMESPACE, localPart = Keys.SOAP_METHOD_APPEARANCE_COUNT)
     @ResponsePayload
     public GetAppearanceCriminalCountResponse getAppearanceCriminalCount(
-            @RequestPayload GetAppearanceCriminalCount getAppearanceCriminalCount)
-            throws JsonProcessingException {
+            @RequestPayload GetAppearanceCriminalCount getAppearanceCriminalCount) {
 
         log.info(Keys.LOG_RECEIVED, Keys.SOAP_METHOD_APPEARANCE_COUNT);
 
@@ -321,12 +411,9 @@ public class AppearanceController {
                                 : new ca.bc.gov.open.wsdl.pcss.one
                                         .GetAppearanceCriminalCountRequest();
 
-        UriComponentsBuilder builder =
-                UriComponentsBuilder.fromHttpUrl(
-                                pcssProperties.getHost() + Keys.ORDS_APPEARANCE_COUNT)
-                        .queryParam(
-                                Keys.QUERY_APPEARANCE_ID,
-                                getAppearanceCriminalCountRequest.getAppearanceId());
+        URI uri =
+                OrdsUris.appearanceCount(
+                        pcssProperties.getHost(), getAppearanceCriminalCountRequest);
 
         try {
 
@@ -334,7 +421,7 @@ public class AppearanceController {
 
             HttpEntity<ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalCountResponse> response =
                     restTemplate.exchange(
-                            builder.build().toUri(),
+                            uri,
                             HttpMethod.GET,
                             new HttpEntity<>(new HttpHeaders()),
                             ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalCountResponse.class);
@@ -349,7 +436,8 @@ public class AppearanceController {
         } catch (Exception ex) {
 
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             Keys.ORDS_ERROR_MESSAGE,
                             Keys.SOAP_METHOD_APPEARANCE_COUNT,
                             getAppearanceCriminalCountRequest,
@@ -380,8 +468,7 @@ public class AppearanceController {
             localPart = Keys.SOAP_METHOD_APPEARANCE_COUNT_SECURE)
     @ResponsePayload
     public GetAppearanceCriminalCountSecureResponse getAppearanceCriminalCountSecure(
-            @RequestPayload GetAppearanceCriminalCountSecure getAppearanceCriminalCountSecure)
-            throws JsonProcessingException {
+            @RequestPayload GetAppearanceCriminalCountSecure getAppearanceCriminalCountSecure) {
 
         log.info(Keys.LOG_RECEIVED, Keys.SOAP_METHOD_APPEARANCE_COUNT_SECURE);
 
@@ -444,7 +531,8 @@ public class AppearanceController {
         } catch (Exception ex) {
 
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             Keys.ORDS_ERROR_MESSAGE,
                             Keys.SOAP_METHOD_APPEARANCE_COUNT_SECURE,
                             getAppearanceCriminalCountSecureRequest,
@@ -474,8 +562,7 @@ public class AppearanceController {
     @PayloadRoot(namespace = Keys.SOAP_NAMESPACE, localPart = Keys.SOAP_METHOD_APPEARANCE_RESOURCE)
     @ResponsePayload
     public GetAppearanceCriminalResourceResponse getAppearanceCriminalResource(
-            @RequestPayload GetAppearanceCriminalResource getAppearanceCriminalResource)
-            throws JsonProcessingException {
+            @RequestPayload GetAppearanceCriminalResource getAppearanceCriminalResource) {
 
         log.info(Keys.LOG_RECEIVED, Keys.SOAP_METHOD_APPEARANCE_RESOURCE);
 
@@ -523,7 +610,8 @@ public class AppearanceController {
         } catch (Exception ex) {
 
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             Keys.ORDS_ERROR_MESSAGE,
                             Keys.SOAP_METHOD_APPEARANCE_RESOURCE,
                             getAppearanceCriminalResourceRequest,
@@ -552,8 +640,7 @@ public class AppearanceController {
     @PayloadRoot(namespace = Keys.SOAP_NAMESPACE, localPart = Keys.SOAP_METHOD_APPEARANCE_SECURE)
     @ResponsePayload
     public GetAppearanceCriminalSecureResponse getAppearanceCriminalSecure(
-            @RequestPayload GetAppearanceCriminalSecure getAppearanceCriminalSecure)
-            throws JsonProcessingException {
+            @RequestPayload GetAppearanceCriminalSecure getAppearanceCriminalSecure) {
 
         log.info(Keys.LOG_RECEIVED, Keys.SOAP_METHOD_APPEARANCE_SECURE);
 
@@ -621,7 +708,8 @@ public class AppearanceController {
         } catch (Exception ex) {
 
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             Keys.ORDS_ERROR_MESSAGE,
                             Keys.SOAP_METHOD_APPEARANCE_SECURE,
                             getAppearanceCriminalSecureRequest,
@@ -650,8 +738,7 @@ public class AppearanceController {
     @PayloadRoot(namespace = Keys.SOAP_NAMESPACE, localPart = Keys.SOAP_METHOD_SET_APPEARANCE)
     @ResponsePayload
     public SetAppearanceCriminalResponse setAppearanceCriminal(
-            @RequestPayload SetAppearanceCriminal setAppearanceCriminal)
-            throws JsonProcessingException {
+            @RequestPayload SetAppearanceCriminal setAppearanceCriminal) {
 
         log.info(Keys.LOG_RECEIVED, Keys.SOAP_METHOD_SET_APPEARANCE);
 
@@ -692,7 +779,8 @@ public class AppearanceController {
         } catch (Exception ex) {
 
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             Keys.ORDS_ERROR_MESSAGE,
                             Keys.SOAP_METHOD_SET_APPEARANCE,
                             setAppearanceCriminalRequest,
@@ -722,8 +810,7 @@ public class AppearanceController {
             localPart = Keys.SOAP_METHOD_SET_APPEARANCE_METHOD)
     @ResponsePayload
     public SetAppearanceMethodCriminalResponse setAppearanceMethodCriminal(
-            @RequestPayload SetAppearanceMethodCriminal setAppearanceMethodCriminal)
-            throws JsonProcessingException {
+            @RequestPayload SetAppearanceMethodCriminal setAppearanceMethodCriminal) {
 
         log.info(Keys.LOG_RECEIVED, Keys.SOAP_METHOD_SET_APPEARANCE_METHOD);
 
@@ -767,7 +854,8 @@ public class AppearanceController {
         } catch (Exception ex) {
 
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             Keys.ORDS_ERROR_MESSAGE,
                             Keys.SOAP_METHOD_SET_APPEARANCE_METHOD,
                             setAppearanceMethodCriminalRequest,
@@ -4,6 +4,7 @@ import ca.bc.gov.open.pcsscriminalapplication.Keys;
 import ca.bc.gov.open.pcsscriminalapplication.exception.ORDSException;
 import ca.bc.gov.open.pcsscriminalapplication.properties.PcssProperties;
 import ca.bc.gov.open.pcsscriminalapplication.utils.LogBuilder;
+import ca.bc.gov.open.pcsscriminalapplication.utils.OrdsUris;
 import ca.bc.gov.open.wsdl.pcss.one.*;
 import ca.bc.gov.open.wsdl.pcss.two.GetCrownAssignment;
 import ca.bc.gov.open.wsdl.pcss.two.GetCrownAssignmentResponse;
@@ -17,7 +18,7 @@ import ca.bc.gov.open.wsdl.pcss.two.SetCrownAssignmentResponse2;
 import ca.bc.gov.open.wsdl.pcss.two.SetCrownFileDetail;
 import ca.bc.gov.open.wsdl.pcss.two.SetCrownFileDetailResponse;
 import ca.bc.gov.open.wsdl.pcss.two.SetCrownFileDetailResponse2;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import java.net.URI;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.http.HttpEntity;
@@ -49,7 +50,7 @@ public class CrownController {
     @PayloadRoot(namespace = Keys.SOAP_NAMESPACE, localPart = Keys.SOAP_METHOD_CROWN_ASSIGNMENT)
     @ResponsePayload
     public GetCrownAssignmentResponse getCrownAssignment(
-            @RequestPayload GetCrownAssignment getCrownAssignment) throws JsonProcessingException {
+            @RequestPayload GetCrownAssignment getCrownAssignment) {
 
         log.info(Keys.LOG_RECEIVED, Keys.SOAP_METHOD_CROWN_ASSIGNMENT);
 
@@ -64,18 +65,7 @@ public class CrownController {
                                 .getGetCrownAssignmentRequest()
                         : new GetCrownAssignmentRequest();
 
-        UriComponentsBuilder builder =
-                UriComponentsBuilder.fromHttpUrl(
-                                pcssProperties.getHost() + Keys.ORDS_CROWN_ASSIGNMENT)
-                        .queryParam(
-                                Keys.QUERY_PART_ID, getCrownAssignmentRequest.getRequestPartId())
-                        .queryParam(
-                                Keys.QUERY_REQUEST_DATE, getCrownAssignmentRequest.getRequestDtm())
-                        .queryParam(
-                                Keys.QUERY_AGENT_ID,
-                                getCrownAssignmentRequest.getRequestAgencyIdentifierId())
-                        .queryParam(Keys.QUERY_JUSTIN_NO, getCrownAssignmentRequest.getJustinNo())
-                        .queryParam(Keys.QUERY_SINCE_DATE, getCrownAssignmentRequest.getSinceDt());
+        URI uri = OrdsUris.crownAssignment(pcssProperties.getHost(), getCrownAssignmentRequest);
 
         try {
 
@@ -83,7 +73,7 @@ public class CrownController {
 
             HttpEntity<ca.bc.gov.open.wsdl.pcss.one.GetCrownAssignmentResponse> response =
                     restTemplate.exchange(
-                            builder.build().toUri(),
+                            uri,
                             HttpMethod.GET,
                             new HttpEntity<>(new HttpHeaders()),
                             ca.bc.gov.open.wsdl.pcss.one.GetCrownAssignmentResponse.class);
@@ -95,7 +85,8 @@ public class CrownController {
         } catch (Exception ex) {
 
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             Keys.ORDS_ERROR_MESSAGE,
                             Keys.SOAP_METHOD_CROWN_ASSIGNMENT,
                             getCrownAssignment,
@@ -120,8 +111,7 @@ public class CrownController {
             localPart = Keys.SOAP_METHOD_COUNSEL_DETAIL_CRIMINAL)
     @ResponsePayload
     public SetCounselDetailCriminalResponse setCounselDetailCriminal(
-            @RequestPayload SetCounselDetailCriminal setCounselDetailCriminal)
-            throws JsonProcessingException {
+            @RequestPayload SetCounselDetailCriminal setCounselDetailCriminal) {
 
         log.info(Keys.LOG_RECEIVED, Keys.SOAP_METHOD_COUNSEL_DETAIL_CRIMINAL);
 
@@ -161,7 +151,8 @@ public class CrownController {
         } catch (Exception ex) {
 
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             Keys.ORDS_ERROR_MESSAGE,
                             Keys.ORDS_COUNSEL_DETAIL_CRIMINAL,
                             setCounselDetailCriminal,
@@ -187,7 +178,7 @@ public class CrownController {
     @PayloadRoot(namespace = Keys.SOAP_NAMESPACE, localPart = Keys.SOAP_METHOD_SET_CROWN_ASSIGNMENT)
     @ResponsePayload
     public SetCrownAssignmentResponse setCrownAssignment(
-            @RequestPayload SetCrownAssignment setCrownAssignment) throws JsonProcessingException {
+            @RequestPayload SetCrownAssignment setCrownAssignment) {
 
         log.info(Keys.LOG_RECEIVED, Keys.SOAP_METHOD_SET_CROWN_ASSIGNMENT);
 
@@ -229,7 +220,8 @@ public class CrownController {
         } catch (Exception ex) {
 
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             Keys.ORDS_ERROR_MESSAGE,
                             Keys.SOAP_METHOD_SET_CROWN_ASSIGNMENT,
                             setCrownAssignment,
@@ -252,7 +244,7 @@ public class CrownController {
     @PayloadRoot(namespace = Keys.SOAP_NAMESPACE, localPart = Keys.SOAP_METHOD_CROWN_FILE_DETAIL)
     @ResponsePayload
     public SetCrownFileDetailResponse setCrownFileDetail(
-            @RequestPayload SetCrownFileDetail setCrownFileDetail) throws JsonProcessingException {
+            @RequestPayload SetCrownFileDetail setCrownFileDetail) {
 
         log.info(Keys.LOG_RECEIVED, Keys.SOAP_METHOD_CROWN_FILE_DETAIL);
 
@@ -293,7 +285,8 @@ public class CrownController {
 
         } catch (Exception ex) {
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             Keys.ORDS_ERROR_MESSAGE,
                             Keys.SOAP_METHOD_CROWN_FILE_DETAIL,
                             setCrownFileDetailRequest,
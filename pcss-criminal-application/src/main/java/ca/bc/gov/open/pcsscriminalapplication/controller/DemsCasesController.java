@@ -3,16 +3,17 @@ package ca.bc.gov.open.pcsscriminalapplication.controller;
 import static ca.bc.gov.open.pcsscriminalapplication.exception.ServiceFaultException.handleError;
 
 import ca.bc.gov.open.pcsscriminalapplication.Keys;
+import ca.bc.gov.open.pcsscriminalapplication.cache.CaseHyperlinkCache;
 import ca.bc.gov.open.pcsscriminalapplication.model.*;
 import ca.bc.gov.open.pcsscriminalapplication.properties.CaseLookupProperties;
 import ca.bc.gov.open.pcsscriminalapplication.properties.DemsProperties;
 import ca.bc.gov.open.pcsscriminalapplication.properties.IslProperties;
+import ca.bc.gov.open.pcsscriminalapplication.utils.ChunkedFanOut;
 import ca.bc.gov.open.pcsscriminalapplication.utils.DateUtils;
 import ca.bc.gov.open.pcsscriminalapplication.utils.LogBuilder;
 import ca.bc.gov.open.wsdl.pcss.demsCaseUrl.DemsCaseType;
 import ca.bc.gov.open.wsdl.pcss.demsCaseUrl.GetDemsCasesRequest;
 import ca.bc.gov.open.wsdl.pcss.demsCaseUrl.GetDemsCasesResponse;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import java.util.*;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
@@ -41,6 +42,8 @@ public class DemsCasesController {
     private final DemsProperties demsProperties;
     private final CaseLookupProperties caseLookupProperties;
     private final LogBuilder logBuilder;
+    private final ChunkedFanOut fanOut;
+    private final CaseHyperlinkCache hyperlinkCache;
     public static final String INVALID_RCC_ID = "0";
 
     public DemsCasesController(
@@ -48,50 +51,52 @@ public class DemsCasesController {
             @Qualifier("restTemplateCaseLookup") RestTemplate restTemplateCaseLookup,
             DemsProperties demsProperties,
             CaseLookupProperties caseLookupProperties,
-            LogBuilder logBuilder)
-            throws JsonProcessingException {
+            LogBuilder logBuilder,
+            ChunkedFanOut fanOut,
+            CaseHyperlinkCache hyperlinkCache) {
         this.restTemplate = restTemplate;
         this.restTemplateCaseLookup = restTemplateCaseLookup;
         this.demsProperties = demsProperties;
         this.caseLookupProperties = caseLookupProperties;
         this.logBuilder = logBuilder;
+        this.fanOut = fanOut;
+        this.hyperlinkCache = hyperlinkCache;
     }
 
-    private JustinRCCs getJustinRCCs(GetDemsCasesRequest getDemsCasesRequest)
-            throws JsonProcessingException {
+    private JustinRCCs getJustinRCCs(GetDemsCasesRequest getDemsCasesRequest) {
         try {
-            UriComponentsBuilder builder =
-                    UriComponentsBuilder.fromHttpUrl(demsProperties.getHost() + "rccids")
-                            .queryParam(
-                                    "requestAgencyIdentifierId",
-                                    getDemsCasesRequest.getRequestAgencyIdentifierId())
-                            .queryParam("requestPartId", getDemsCasesRequest.getRequestPartId())
-                            .queryParam(
-                                    "requestDtm",
-                                    DateUtils.formatORDSDate(getDemsCasesRequest.getRequestDtm()))
-                            .queryParam("applicationCd", getDemsCasesRequest.getApplicationCd())
-                            .queryParam(
-                                    "justinNo",
-                                    String.join(
-                                            ",",
-                                            getDemsCasesRequest.getJustinNo().stream()
-                                                    .distinct()
-                                                    .collect(Collectors.toList())));
-
-            HttpEntity<JustinRCCs> response =
-                    restTemplate.exchange(
-                            builder.build().toUri(),
-                            HttpMethod.GET,
-                            new HttpEntity<>(new HttpHeaders()),
-                            JustinRCCs.class);
+            List<String> justinNos =
+                    getDemsCasesRequest.getJustinNo().stream()
+                            .distinct()
+                            .collect(Collectors.toList());
+            // an empty list is still sent once, as ORDS decides how to answer it
+            List<List<String>> chunks =
+                    justinNos.isEmpty()
+                            ? List.of(justinNos)
+                            : ChunkedFanOut.partition(
+                                    justinNos, demsProperties.getFanOut().getChunkSize());
+
+            JustinRCCs justinRccs = new JustinRCCs();
+            fanOut.map(
+                            "getJustinRCCs",
+                            chunks,
+                            demsProperties.getFanOut().getParallelism(),
+                            chunk -> getJustinRCCs(getDemsCasesRequest, chunk))
+                    .forEach(
+                            chunk -> {
+                                if (chunk != null) {
+                                    justinRccs.getJustins().addAll(chunk.getJustins());
+                                }
+                            });
 
             log.info("Request success from ORDS: Dems rccid");
 
-            return response.getBody();
+            return justinRccs;
         } catch (Exception ex) {
 
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             "Error occurred while receiving from ORDS",
                             "getJustinRCCs",
                             getDemsCasesRequest,
@@ -101,24 +106,51 @@ public class DemsCasesController {
         }
     }
 
+    private JustinRCCs getJustinRCCs(GetDemsCasesRequest getDemsCasesRequest, List<String> chunk) {
+        UriComponentsBuilder builder =
+                UriComponentsBuilder.fromHttpUrl(demsProperties.getHost() + "rccids")
+                        .queryParam(
+                                "requestAgencyIdentifierId",
+                                getDemsCasesRequest.getRequestAgencyIdentifierId())
+                        .queryParam("requestPartId", getDemsCasesRequest.getRequestPartId())
+                        .queryParam(
+                                "requestDtm",
+                                DateUtils.formatORDSDate(getDemsCasesRequest.getRequestDtm()))
+                        .queryParam("applicationCd", getDemsCasesRequest.getApplicationCd())
+                        .queryParam("justinNo", String.join(",", chunk));
+
+        HttpEntity<JustinRCCs> response =
+                restTemplate.exchange(
+                        builder.build().toUri(),
+                        HttpMethod.GET,
+                        new HttpEntity<>(new HttpHeaders()),
+                        JustinRCCs.class);
+
+        return response.getBody();
+    }
+
     private GetDemsCasesResponse getCaseListHyperlink(
-            GetDemsCasesRequest getDemsCasesRequest, JustinRCCs justinRccs)
-            throws JsonProcessingException {
+            GetDemsCasesRequest getDemsCasesRequest, JustinRCCs justinRccs) {
 
-        HttpEntity<CaseHyperLinkerLookupRequest> body = null;
+        CaseHyperLinkerLookupRequest rccIds = new CaseHyperLinkerLookupRequest();
         try {
             GetDemsCasesResponse response = new GetDemsCasesResponse();
 
-            // create <JustinNo, RCCId> pairs - justinRccIdMap
-            HashMap<String, String> justinRccIdMap =
-                    (HashMap<String, String>)
-                            justinRccs.getJustins().stream()
-                                    .collect(
-                                            Collectors.toMap(
-                                                    JustinRcc::getJustinNo, JustinRcc::getRccId));
+            // create <JustinNo, RCCId> pairs - justinRccIdMap, in the order ORDS returned them
+            Map<String, String> justinRccIdMap =
+                    justinRccs.getJustins().stream()
+                            .collect(
+                                    Collectors.toMap(
+                                            JustinRcc::getJustinNo,
+                                            JustinRcc::getRccId,
+                                            (first, second) -> {
+                                                throw new IllegalStateException(
+                                                        "Duplicate justinNo in ORDS response");
+                                            },
+                                            LinkedHashMap::new));
 
             // create <RCCId, hyperlink> pairs - rccIdToDemsURLMap
-            HashMap<String, String> rccIdToDemsURLMap = new HashMap<>();
+            Map<String, String> rccIdToDemsURLMap = new LinkedHashMap<>();
             justinRccs.getJustins().stream()
                     .forEach(
                             justinRCC -> {
@@ -126,61 +158,75 @@ public class DemsCasesController {
                                     rccIdToDemsURLMap.put(justinRCC.getRccId(), "");
                             });
 
-            // create all rccids' hpyerlink lookup request:  { "rcc_ids": [  "1xxxx2.xxxx",
-            // "1xxxx3.xxxx"] }
-            CaseHyperLinkerLookupRequest rccIds = new CaseHyperLinkerLookupRequest();
-            rccIdToDemsURLMap.forEach((rccId, url) -> rccIds.add(rccId));
+            // create the hyperlink lookup request for the rccids not cached yet:  { "rcc_ids": [
+            // "1xxxx2.xxxx", "1xxxx3.xxxx"] }
+            rccIdToDemsURLMap.replaceAll(
+                    (rccId, url) -> {
+                        String cached = hyperlinkCache.get(rccId);
+                        if (cached == null) {
+                            rccIds.add(rccId);
+                            return url;
+                        }
+                        return cached;
+                    });
 
             if (rccIds.getRcc_ids().size() > 0) {
-                body = new HttpEntity<>(rccIds, new HttpHeaders());
-
-                UriComponentsBuilder islBuilder =
-                        UriComponentsBuilder.fromHttpUrl(caseLookupProperties.getHost());
-
-                HttpEntity<CaseHyperLinkerLookupResponse> resp =
-                        restTemplateCaseLookup.exchange(
-                                islBuilder.build().toUri(),
-                                HttpMethod.POST,
-                                body,
-                                CaseHyperLinkerLookupResponse.class);
-
-                // fill <RCCId, hyperlink> mapping
-                CaseHyperLinkerLookupResponse list = resp.getBody();
-                if (list != null && list.getCase_hyperlinks() != null) {
-                    list.getCase_hyperlinks()
-                            .forEach(
-                                    link -> {
-                                        rccIdToDemsURLMap.put(
-                                                link.getRcc_id(), link.getHyperlink());
-                                    });
-                }
+                // fill <RCCId, hyperlink> mapping, one ISL lookup per chunk of rcc ids
+                fanOut.map(
+                                "getCaseListHyperlink",
+                                ChunkedFanOut.partition(
+                                        rccIds.getRcc_ids(),
+                                        caseLookupProperties.getFanOut().getChunkSize()),
+                                caseLookupProperties.getFanOut().getParallelism(),
+                                this::getCaseHyperlinks)
+                        .forEach(
+                                list -> {
+                                    if (list != null && list.getCase_hyperlinks() != null) {
+                                        list.getCase_hyperlinks()
+                                                .forEach(
+                                                        link ->
+                                                                rccIdToDemsURLMap.put(
+                                                                        link.getRcc_id(),
+                                                                        link.getHyperlink()));
+                                    }
+                                });
             }
-            // iterate <JustinNo, RCCId> map, find RCCID's hyperlink and then add <JustinNo,
-            // hyperlink> pairs to demsCase
-            justinRccIdMap.forEach(
-                    (justinNo, rccid) -> {
-                        DemsCaseType demsCaseType = new DemsCaseType();
-                        demsCaseType.setJustinNo(justinNo);
-                        demsCaseType.setDemsUrl(
-                                rccIdToDemsURLMap.get(rccid) != null
-                                        ? rccIdToDemsURLMap.get(rccid)
-                                        : "");
-                        response.getDemsCase().add(demsCaseType);
-                    });
+
+            // add <JustinNo, hyperlink> pairs to demsCase in the order the justinNos were
+            // requested
+            List<String> order = new ArrayList<>(getDemsCasesRequest.getJustinNo());
+            order.addAll(justinRccIdMap.keySet());
+            new LinkedHashSet<>(order)
+                    .forEach(
+                            justinNo -> {
+                                if (!justinRccIdMap.containsKey(justinNo)) {
+                                    return;
+                                }
+                                String rccid = justinRccIdMap.get(justinNo);
+                                DemsCaseType demsCaseType = new DemsCaseType();
+                                demsCaseType.setJustinNo(justinNo);
+                                demsCaseType.setDemsUrl(
+                                        rccIdToDemsURLMap.get(rccid) != null
+                                                ? rccIdToDemsURLMap.get(rccid)
+                                                : "");
+                                response.getDemsCase().add(demsCaseType);
+                            });
             log.info("Request success from the ISL caseHyperlink web service");
             return response;
         } catch (Exception ex) {
-            if (body != null && body.getBody() != null) {
+            if (!rccIds.getRcc_ids().isEmpty()) {
                 log.error(
-                        logBuilder.writeLogMessage(
+                        "{}",
+                        logBuilder.logMessage(
                                 "Error occurred while fetching data from the ISL caseHyperlink web service",
                                 "getCaseListHyperlink",
-                                body.getBody(),
+                                rccIds,
                                 ex.getMessage()));
             }
 
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             "Error occurred while fetching data from the ISL caseHyperlink web service",
                             "getDemsCasesRequest",
                             getDemsCasesRequest,
@@ -190,13 +236,31 @@ public class DemsCasesController {
         }
     }
 
+    private CaseHyperLinkerLookupResponse getCaseHyperlinks(List<String> chunk) {
+        CaseHyperLinkerLookupRequest rccIds = new CaseHyperLinkerLookupRequest();
+        rccIds.setRcc_ids(new ArrayList<>(chunk));
+        HttpEntity<CaseHyperLinkerLookupRequest> body = new HttpEntity<>(rccIds, new HttpHeaders());
+
+        UriComponentsBuilder islBuilder =
+                UriComponentsBuilder.fromHttpUrl(caseLookupProperties.getHost());
+
+        HttpEntity<CaseHyperLinkerLookupResponse> resp =
+                restTemplateCaseLookup.exchange(
+                        islBuilder.build().toUri(),
+                        HttpMethod.POST,
+                        body,
+                        CaseHyperLinkerLookupResponse.class);
+
+        hyperlinkCache.putAll(chunk, resp.getBody());
+        return resp.getBody();
+    }
+
     @PayloadRoot(
             namespace = Keys.SOAP_DEMSCASEURL_NAMESPACE,
             localPart = Keys.SOAP_METHOD_DEMSCASE_REQUEST)
     @ResponsePayload
     public GetDemsCasesResponse getDemsCaseMapping(
-            @RequestPayload GetDemsCasesRequest getDemsCasesRequest)
-            throws JsonProcessingException {
+            @RequestPayload GetDemsCasesRequest getDemsCasesRequest) {
 
         JustinRCCs justinRccs = getJustinRCCs(getDemsCasesRequest);
         return getCaseListHyperlink(getDemsCasesRequest, justinRccs);
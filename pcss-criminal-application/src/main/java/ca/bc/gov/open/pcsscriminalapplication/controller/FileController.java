@@ -3,13 +3,14 @@ package ca.bc.gov.open.pcsscriminalapplication.controller;
 import ca.bc.gov.open.pcsscriminalapplication.Keys;
 import ca.bc.gov.open.pcsscriminalapplication.exception.ORDSException;
 import ca.bc.gov.open.pcsscriminalapplication.properties.PcssProperties;
+import ca.bc.gov.open.pcsscriminalapplication.streaming.OrdsResponseStreamer;
 import ca.bc.gov.open.pcsscriminalapplication.utils.DateUtils;
 import ca.bc.gov.open.pcsscriminalapplication.utils.LogBuilder;
-import ca.bc.gov.open.pcsscriminalcommon.serializer.InstantSerializer;
+import ca.bc.gov.open.pcsscriminalapplication.utils.OrdsUris;
 import ca.bc.gov.open.wsdl.pcss.secure.two.GetFileDetailCriminalSecure;
 import ca.bc.gov.open.wsdl.pcss.secure.two.GetFileDetailCriminalSecureResponse;
 import ca.bc.gov.open.wsdl.pcss.two.*;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import java.net.URI;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.http.HttpEntity;
@@ -17,6 +18,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.ws.context.MessageContext;
 import org.springframework.ws.server.endpoint.annotation.Endpoint;
 import org.springframework.ws.server.endpoint.annotation.PayloadRoot;
 import org.springframework.ws.server.endpoint.annotation.RequestPayload;
@@ -30,18 +32,22 @@ public class FileController {
     private final RestTemplate restTemplate;
     private final PcssProperties pcssProperties;
     private final LogBuilder logBuilder;
+    private final OrdsResponseStreamer ordsResponseStreamer;
 
     public FileController(
-            RestTemplate restTemplate, PcssProperties pcssProperties, LogBuilder logBuilder) {
+            RestTemplate restTemplate,
+            PcssProperties pcssProperties,
+            LogBuilder logBuilder,
+            OrdsResponseStreamer ordsResponseStreamer) {
         this.restTemplate = restTemplate;
         this.pcssProperties = pcssProperties;
         this.logBuilder = logBuilder;
+        this.ordsResponseStreamer = ordsResponseStreamer;
     }
 
     @PayloadRoot(namespace = Keys.SOAP_NAMESPACE, localPart = Keys.SOAP_METHOD_FILE_CLOSED)
     @ResponsePayload
-    public GetClosedFileResponse getClosedFile(@RequestPayload GetClosedFile getClosedFile)
-            throws JsonProcessingException {
+    public GetClosedFileResponse getClosedFile(@RequestPayload GetClosedFile getClosedFile) {
 
         log.info(Keys.LOG_RECEIVED, Keys.SOAP_METHOD_FILE_CLOSED);
 
@@ -85,7 +91,8 @@ public class FileController {
         } catch (Exception ex) {
 
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             Keys.ORDS_ERROR_MESSAGE,
                             Keys.SOAP_METHOD_FILE_CLOSED,
                             getClosedFileRequest,
@@ -108,8 +115,8 @@ public class FileController {
     @PayloadRoot(namespace = Keys.SOAP_NAMESPACE, localPart = Keys.SOAP_METHOD_FILE_DETAIL)
     @ResponsePayload
     public GetFileDetailCriminalResponse getFileDetailCriminal(
-            @RequestPayload GetFileDetailCriminal getFileDetailCriminal)
-            throws JsonProcessingException {
+            @RequestPayload GetFileDetailCriminal getFileDetailCriminal,
+            MessageContext messageContext) {
 
         log.info(Keys.LOG_RECEIVED, Keys.SOAP_METHOD_FILE_DETAIL);
 
@@ -124,30 +131,26 @@ public class FileController {
                                 .getGetFileDetailCriminalRequest()
                         : new ca.bc.gov.open.wsdl.pcss.one.GetFileDetailCriminalRequest();
 
-        UriComponentsBuilder builder =
-                UriComponentsBuilder.fromHttpUrl(pcssProperties.getHost() + Keys.ORDS_FILE_DETAIL)
-                        .queryParam(
-                                Keys.QUERY_AGENCY_IDENTIFIER,
-                                getFileDetailCriminalRequest.getRequestAgencyIdentifierId())
-                        .queryParam(
-                                Keys.QUERY_PART_ID, getFileDetailCriminalRequest.getRequestPartId())
-                        .queryParam(
-                                Keys.QUERY_REQUEST_DATE,
-                                InstantSerializer.convert(
-                                        getFileDetailCriminalRequest.getRequestDtm()))
-                        .queryParam(
-                                Keys.QUERY_JUSTIN_NO, getFileDetailCriminalRequest.getJustinNo())
-                        .queryParam(
-                                Keys.QUERY_APPLICATION_CD,
-                                getFileDetailCriminalRequest.getApplicationCd());
+        URI uri = OrdsUris.fileDetail(pcssProperties.getHost(), getFileDetailCriminalRequest);
 
         try {
 
             log.debug(Keys.LOG_ORDS, Keys.SOAP_METHOD_FILE_DETAIL);
 
+            if (ordsResponseStreamer.stream(
+                    Keys.SOAP_METHOD_FILE_DETAIL,
+                    uri,
+                    GetFileDetailCriminalResponse.class,
+                    ca.bc.gov.open.wsdl.pcss.one.GetFileDetailCriminalResponse.class,
+                    messageContext)) {
+                log.info(Keys.LOG_SUCCESS, Keys.SOAP_METHOD_FILE_DETAIL);
+                // the streamer has written or set the response payload
+                return null;
+            }
+
             HttpEntity<ca.bc.gov.open.wsdl.pcss.one.GetFileDetailCriminalResponse> response =
                     restTemplate.exchange(
-                            builder.build().toUri(),
+                            uri,
                             HttpMethod.GET,
                             new HttpEntity<>(new HttpHeaders()),
                             ca.bc.gov.open.wsdl.pcss.one.GetFileDetailCriminalResponse.class);
@@ -161,7 +164,8 @@ public class FileController {
 
         } catch (Exception ex) {
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             Keys.ORDS_ERROR_MESSAGE,
                             Keys.SOAP_METHOD_FILE_DETAIL,
                             getFileDetailCriminalRequest,
@@ -189,8 +193,7 @@ public class FileController {
     @PayloadRoot(namespace = Keys.SOAP_NAMESPACE, localPart = Keys.SOAP_METHOD_FILE_DETAIL_SECURE)
     @ResponsePayload
     public GetFileDetailCriminalSecureResponse getFileDetailCriminalSecure(
-            @RequestPayload GetFileDetailCriminalSecure getFileDetailCriminalSecure)
-            throws JsonProcessingException {
+            @RequestPayload GetFileDetailCriminalSecure getFileDetailCriminalSecure) {
 
         log.info(Keys.LOG_RECEIVED, Keys.SOAP_METHOD_FILE_DETAIL_SECURE);
 
@@ -246,7 +249,8 @@ public class FileController {
 
         } catch (Exception ex) {
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             Keys.ORDS_ERROR_MESSAGE,
                             Keys.SOAP_METHOD_FILE_DETAIL_SECURE,
                             getFileDetailCriminalRequest,
@@ -274,8 +278,7 @@ public class FileController {
 
     @PayloadRoot(namespace = Keys.SOAP_NAMESPACE, localPart = Keys.SOAP_METHOD_SET_FILE_NOTE)
     @ResponsePayload
-    public SetFileNoteResponse setFileNote(@RequestPayload SetFileNote setFileNote)
-            throws JsonProcessingException {
+    public SetFileNoteResponse setFileNote(@RequestPayload SetFileNote setFileNote) {
 
         log.info(Keys.LOG_RECEIVED, Keys.SOAP_METHOD_SET_FILE_NOTE);
 
@@ -311,7 +314,8 @@ public class FileController {
         } catch (Exception ex) {
 
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             Keys.ORDS_ERROR_MESSAGE,
                             Keys.SOAP_METHOD_SET_FILE_NOTE,
                             setFileNoteRequest,
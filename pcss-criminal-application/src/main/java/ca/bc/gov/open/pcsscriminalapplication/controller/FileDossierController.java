@@ -0,0 +1,259 @@
+package ca.bc.gov.open.pcsscriminalapplication.controller;
+
+import ca.bc.gov.open.pcsscriminalapplication.Keys;
+import ca.bc.gov.open.pcsscriminalapplication.exception.InvalidRequestException;
+import ca.bc.gov.open.pcsscriminalapplication.exception.ORDSException;
+import ca.bc.gov.open.pcsscriminalapplication.properties.PcssProperties;
+import ca.bc.gov.open.pcsscriminalapplication.resilience.RequestDeadline;
+import ca.bc.gov.open.pcsscriminalapplication.utils.LogBuilder;
+import ca.bc.gov.open.pcsscriminalapplication.utils.OrdsUris;
+import ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalCountResponse;
+import ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalResponse;
+import ca.bc.gov.open.wsdl.pcss.one.GetCrownAssignmentResponse;
+import ca.bc.gov.open.wsdl.pcss.one.GetFileDetailCriminalResponse;
+import ca.bc.gov.open.wsdl.pcss.two.FileDossierFault;
+import ca.bc.gov.open.wsdl.pcss.two.GetFileDossierCriminal;
+import ca.bc.gov.open.wsdl.pcss.two.GetFileDossierCriminalResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.ws.server.endpoint.annotation.Endpoint;
+import org.springframework.ws.server.endpoint.annotation.PayloadRoot;
+import org.springframework.ws.server.endpoint.annotation.RequestPayload;
+import org.springframework.ws.server.endpoint.annotation.ResponsePayload;
+
+/**
+ * Answers getFileDetailCriminal, getAppearanceCriminal, getAppearanceCriminalCount and
+ * getCrownAssignment for one file in a single call. The ORDS calls run in parallel on the shared
+ * fan-out executor and share one deadline, the dossier deadline or the caller's {@link
+ * RequestDeadline} if that is sooner. The response waits for every part up to that deadline, so it
+ * is never faster than the slowest part. A part that fails, is refused by a full fan-out executor
+ * or is still running at the deadline is left out of the response and reported as a Fault naming
+ * its operation; the other parts are still returned.
+ *
+ * <p>The parts' ORDS calls take about as long as when they are sent alone: the "file" bulkhead and
+ * the fan-out executor have room for many dossiers and a part starts within a few milliseconds.
+ * What a dossier adds is its response, which holds all four parts and is marshalled and written on
+ * the request thread. With the SAAJ message factory it is built as a DOM first, and under load that
+ * is most of the time a dossier takes beyond its slowest part; the STREAMING factory writes it
+ * straight to the wire.
+ *
+ * <p>Each part runs under the shared deadline, so its connect and response timeouts end there too
+ * and an abandoned call gives its fan-out thread and ORDS connection back about when it is
+ * abandoned.
+ */
+@Slf4j
+@Endpoint
+@EnableConfigurationProperties(PcssProperties.class)
+public class FileDossierController {
+
+    public static final String TIMEOUT_METRIC_NAME = "dossier.part.timeouts";
+
+    private static final String PART_FAULT_CODE = "Server";
+
+    private final RestTemplate restTemplate;
+    private final PcssProperties pcssProperties;
+    private final LogBuilder logBuilder;
+    private final ExecutorService executor;
+    private final MeterRegistry meterRegistry;
+
+    public FileDossierController(
+            RestTemplate restTemplate,
+            PcssProperties pcssProperties,
+            LogBuilder logBuilder,
+            @Qualifier("fanOutExecutor") ExecutorService executor,
+            MeterRegistry meterRegistry) {
+        this.restTemplate = restTemplate;
+        this.pcssProperties = pcssProperties;
+        this.logBuilder = logBuilder;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PayloadRoot(namespace = Keys.SOAP_NAMESPACE, localPart = Keys.SOAP_METHOD_FILE_DOSSIER)
+    @ResponsePayload
+    public GetFileDossierCriminalResponse getFileDossierCriminal(
+            @RequestPayload GetFileDossierCriminal getFileDossierCriminal) {
+
+        log.info(Keys.LOG_RECEIVED, Keys.SOAP_METHOD_FILE_DOSSIER);
+
+        Duration deadline = pcssProperties.getDossier().getDeadline();
+        Optional<Duration> remaining = RequestDeadline.remaining();
+        if (remaining.isPresent() && remaining.get().compareTo(deadline) < 0) {
+            // the caller stops waiting first
+            deadline = remaining.get();
+        }
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        String host = pcssProperties.getHost();
+        GetFileDossierCriminalResponse getFileDossierCriminalResponse =
+                new GetFileDossierCriminalResponse();
+        List<Part<?>> parts = new ArrayList<>(4);
+        if (getFileDossierCriminal.getGetFileDetailCriminalRequest() != null) {
+            parts.add(
+                    send(
+                            Keys.SOAP_METHOD_FILE_DETAIL,
+                            getFileDossierCriminal.getGetFileDetailCriminalRequest(),
+                            OrdsUris.fileDetail(
+                                    host, getFileDossierCriminal.getGetFileDetailCriminalRequest()),
+                            GetFileDetailCriminalResponse.class,
+                            getFileDossierCriminalResponse::setGetFileDetailCriminalResponse,
+                            deadline));
+        }
+        if (getFileDossierCriminal.getGetAppearanceCriminalRequest() != null) {
+            parts.add(
+                    send(
+                            Keys.SOAP_METHOD_APPEARANCE,
+                            getFileDossierCriminal.getGetAppearanceCriminalRequest(),
+                            OrdsUris.appearance(
+                                    host, getFileDossierCriminal.getGetAppearanceCriminalRequest()),
+                            GetAppearanceCriminalResponse.class,
+                            getFileDossierCriminalResponse::setGetAppearanceCriminalResponse,
+                            deadline));
+        }
+        if (getFileDossierCriminal.getGetAppearanceCriminalCountRequest() != null) {
+            parts.add(
+                    send(
+                            Keys.SOAP_METHOD_APPEARANCE_COUNT,
+                            getFileDossierCriminal.getGetAppearanceCriminalCountRequest(),
+                            OrdsUris.appearanceCount(
+                                    host,
+                                    getFileDossierCriminal.getGetAppearanceCriminalCountRequest()),
+                            GetAppearanceCriminalCountResponse.class,
+                            getFileDossierCriminalResponse::setGetAppearanceCriminalCountResponse,
+                            deadline));
+        }
+        if (getFileDossierCriminal.getGetCrownAssignmentRequest() != null) {
+            parts.add(
+                    send(
+                            Keys.SOAP_METHOD_CROWN_ASSIGNMENT,
+                            getFileDossierCriminal.getGetCrownAssignmentRequest(),
+                            OrdsUris.crownAssignment(
+                                    host, getFileDossierCriminal.getGetCrownAssignmentRequest()),
+                            GetCrownAssignmentResponse.class,
+                            getFileDossierCriminalResponse::setGetCrownAssignmentResponse,
+                            deadline));
+        }
+        if (parts.isEmpty()) {
+            InvalidRequestException ex =
+                    new InvalidRequestException("A file dossier needs at least one request");
+            log.warn(
+                    "{}",
+                    logBuilder.logMessage(
+                            Keys.VALIDATION_ERROR_MESSAGE,
+                            Keys.SOAP_METHOD_FILE_DOSSIER,
+                            getFileDossierCriminal,
+                            ex.getMessage()));
+            throw ex;
+        }
+
+        for (Part<?> part : parts) {
+            FileDossierFault fault = collect(part, deadline, deadlineNanos);
+            if (fault != null) {
+                getFileDossierCriminalResponse.getFault().add(fault);
+            }
+        }
+
+        log.info(Keys.LOG_SUCCESS, Keys.SOAP_METHOD_FILE_DOSSIER);
+
+        return getFileDossierCriminalResponse;
+    }
+
+    private <T> Part<T> send(
+            String operation,
+            Object request,
+            URI uri,
+            Class<T> responseType,
+            Consumer<T> setter,
+            Duration deadline) {
+        log.debug(Keys.LOG_ORDS, operation);
+        Supplier<T> call =
+                RequestDeadline.propagate(
+                        deadline,
+                        () ->
+                                restTemplate
+                                        .exchange(
+                                                uri,
+                                                HttpMethod.GET,
+                                                new HttpEntity<>(new HttpHeaders()),
+                                                responseType)
+                                        .getBody());
+        Future<T> future;
+        try {
+            // a FutureTask, unlike a CompletableFuture, interrupts the part when it is cancelled
+            future = executor.submit(call::get);
+        } catch (RejectedExecutionException ex) {
+            future = CompletableFuture.failedFuture(ex);
+        }
+        return new Part<>(operation, request, future, setter);
+    }
+
+    /** Waits for one part until the shared deadline; the fault to report when it has no result. */
+    private <T> FileDossierFault collect(Part<T> part, Duration deadline, long deadlineNanos) {
+        try {
+            part.setter()
+                    .accept(
+                            part.future()
+                                    .get(
+                                            Math.max(0, deadlineNanos - System.nanoTime()),
+                                            TimeUnit.NANOSECONDS));
+            return null;
+        } catch (TimeoutException ex) {
+            part.future().cancel(true);
+            Counter.builder(TIMEOUT_METRIC_NAME)
+                    .description("File dossier parts left out because they missed the deadline")
+                    .tag("operation", part.operation())
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("{} missed the file dossier deadline of {}", part.operation(), deadline);
+            return fault(part.operation(), "Deadline of " + deadline + " exceeded");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            part.future().cancel(true);
+            return fault(part.operation(), new ORDSException().getMessage());
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RejectedExecutionException) {
+                log.warn("{} refused, the fan-out executor is full", part.operation());
+                return fault(part.operation(), "Refused, the service is overloaded");
+            }
+            log.error(
+                    "{}",
+                    logBuilder.logMessage(
+                            Keys.ORDS_ERROR_MESSAGE,
+                            Keys.SOAP_METHOD_FILE_DOSSIER,
+                            part.request(),
+                            ex.getCause().getMessage()));
+            return fault(part.operation(), new ORDSException().getMessage());
+        }
+    }
+
+    private static FileDossierFault fault(String operation, String faultstring) {
+        FileDossierFault fault = new FileDossierFault();
+        fault.setPart(operation);
+        fault.setFaultcode(PART_FAULT_CODE);
+        fault.setFaultstring(faultstring);
+        return fault;
+    }
+
+    private record Part<T>(
+            String operation, Object request, Future<T> future, Consumer<T> setter) {}
+}
@@ -10,7 +10,6 @@ import ca.bc.gov.open.wsdl.pcss.two.GetHealth;
 import ca.bc.gov.open.wsdl.pcss.two.GetHealthResponse;
 import ca.bc.gov.open.wsdl.pcss.two.GetPing;
 import ca.bc.gov.open.wsdl.pcss.two.GetPingResponse;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.http.HttpEntity;
@@ -41,8 +40,7 @@ public class HealthController {
 
     @PayloadRoot(namespace = Keys.SOAP_NAMESPACE, localPart = Keys.SOAP_METHOD_HEALTH)
     @ResponsePayload
-    public GetHealthResponse getHealth(@RequestPayload GetHealth getHealth)
-            throws JsonProcessingException, ORDSException {
+    public GetHealthResponse getHealth(@RequestPayload GetHealth getHealth) throws ORDSException {
         UriComponentsBuilder builder =
                 UriComponentsBuilder.fromHttpUrl(pcssProperties.getHost() + ORDS_HEALTH);
 
@@ -57,7 +55,8 @@ public class HealthController {
             return resp.getBody();
         } catch (Exception ex) {
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             Keys.ORDS_ERROR_MESSAGE,
                             SOAP_METHOD_HEALTH,
                             getHealth,
@@ -68,7 +67,7 @@ public class HealthController {
 
     @PayloadRoot(namespace = Keys.SOAP_NAMESPACE, localPart = Keys.SOAP_METHOD_PING)
     @ResponsePayload
-    public GetPingResponse getPing(@RequestPayload GetPing getPing) throws JsonProcessingException {
+    public GetPingResponse getPing(@RequestPayload GetPing getPing) {
         UriComponentsBuilder builder =
                 UriComponentsBuilder.fromHttpUrl(pcssProperties.getHost() + Keys.ORDS_PING);
         try {
@@ -82,7 +81,8 @@ public class HealthController {
             return resp.getBody();
         } catch (Exception ex) {
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             Keys.ORDS_ERROR_MESSAGE,
                             Keys.SOAP_METHOD_PING,
                             getPing,
@@ -8,7 +8,6 @@ import ca.bc.gov.open.wsdl.pcss.one.SetHearingRestrictionCriminalRequest;
 import ca.bc.gov.open.wsdl.pcss.two.SetHearingRestrictionCriminal;
 import ca.bc.gov.open.wsdl.pcss.two.SetHearingRestrictionCriminalResponse;
 import ca.bc.gov.open.wsdl.pcss.two.SetHearingRestrictionCriminalResponse2;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.http.HttpEntity;
@@ -42,8 +41,7 @@ public class HearingController {
             localPart = Keys.SOAP_METHOD_HEARING_RESTRICTION_CRIMINAL)
     @ResponsePayload
     public SetHearingRestrictionCriminalResponse setHearingRestrictionCriminal(
-            @RequestPayload SetHearingRestrictionCriminal setHearingRestrictionCriminal)
-            throws JsonProcessingException {
+            @RequestPayload SetHearingRestrictionCriminal setHearingRestrictionCriminal) {
 
         log.info(Keys.LOG_RECEIVED, Keys.SOAP_METHOD_HEARING_RESTRICTION_CRIMINAL);
 
@@ -83,7 +81,8 @@ public class HearingController {
 
         } catch (Exception ex) {
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             Keys.ORDS_ERROR_MESSAGE,
                             Keys.SOAP_METHOD_HEARING_RESTRICTION_CRIMINAL,
                             setHearingRestrictionCriminalRequest,
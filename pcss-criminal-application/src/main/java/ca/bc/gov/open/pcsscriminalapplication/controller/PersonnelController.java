@@ -6,7 +6,6 @@ import ca.bc.gov.open.pcsscriminalapplication.properties.PcssProperties;
 import ca.bc.gov.open.pcsscriminalapplication.utils.LogBuilder;
 import ca.bc.gov.open.pcsscriminalcommon.serializer.InstantSerializer;
 import ca.bc.gov.open.wsdl.pcss.two.*;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.http.HttpEntity;
@@ -40,8 +39,7 @@ public class PersonnelController {
             localPart = Keys.SOAP_METHOD_PERSONNEL_AVAILABILITY)
     @ResponsePayload
     public GetPersonnelAvailabilityResponse getPersonnelAvailability(
-            @RequestPayload GetPersonnelAvailability getPersonnelAvailability)
-            throws JsonProcessingException {
+            @RequestPayload GetPersonnelAvailability getPersonnelAvailability) {
 
         log.info(Keys.LOG_RECEIVED, Keys.SOAP_METHOD_PERSONNEL_AVAILABILITY);
 
@@ -106,7 +104,8 @@ public class PersonnelController {
         } catch (Exception ex) {
 
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             Keys.ORDS_ERROR_MESSAGE,
                             Keys.SOAP_METHOD_PERSONNEL_AVAILABILITY,
                             getPersonnelAvailabilityRequest,
@@ -134,8 +133,7 @@ public class PersonnelController {
     @PayloadRoot(namespace = Keys.SOAP_NAMESPACE, localPart = Keys.SOAP_METHOD_PERSONNEL_DETAIL)
     @ResponsePayload
     public GetPersonnelAvailDetailResponse getPersonnelAvailDetail(
-            @RequestPayload GetPersonnelAvailDetail getPersonnelAvailDetail)
-            throws JsonProcessingException {
+            @RequestPayload GetPersonnelAvailDetail getPersonnelAvailDetail) {
 
         log.info(Keys.LOG_RECEIVED, Keys.SOAP_METHOD_PERSONNEL_DETAIL);
 
@@ -193,7 +191,8 @@ public class PersonnelController {
         } catch (Exception ex) {
 
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             Keys.ORDS_ERROR_MESSAGE,
                             Keys.SOAP_METHOD_PERSONNEL_DETAIL,
                             getPersonnelAvailDetailRequest,
@@ -221,7 +220,7 @@ public class PersonnelController {
     @PayloadRoot(namespace = Keys.SOAP_NAMESPACE, localPart = Keys.SOAP_METHOD_PERSONNEL_SEARCH)
     @ResponsePayload
     public GetPersonnelSearchResponse getPersonnelSearch(
-            @RequestPayload GetPersonnelSearch getPersonnelSearch) throws JsonProcessingException {
+            @RequestPayload GetPersonnelSearch getPersonnelSearch) {
 
         log.info(Keys.LOG_RECEIVED, Keys.SOAP_METHOD_PERSONNEL_SEARCH);
 
@@ -276,7 +275,8 @@ public class PersonnelController {
         } catch (Exception ex) {
 
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             Keys.ORDS_ERROR_MESSAGE,
                             Keys.SOAP_METHOD_PERSONNEL_SEARCH,
                             getPersonnelSearchRequest,
@@ -1,19 +1,24 @@
 package ca.bc.gov.open.pcsscriminalapplication.controller;
 
 import ca.bc.gov.open.pcsscriminalapplication.Keys;
+import ca.bc.gov.open.pcsscriminalapplication.exception.InvalidRequestException;
 import ca.bc.gov.open.pcsscriminalapplication.exception.ORDSException;
 import ca.bc.gov.open.pcsscriminalapplication.properties.PcssProperties;
+import ca.bc.gov.open.pcsscriminalapplication.sync.SyncCursor;
+import ca.bc.gov.open.pcsscriminalapplication.sync.SyncFeed;
+import ca.bc.gov.open.pcsscriminalapplication.sync.SyncPage;
+import ca.bc.gov.open.pcsscriminalapplication.sync.SyncPager;
 import ca.bc.gov.open.pcsscriminalapplication.utils.LogBuilder;
 import ca.bc.gov.open.pcsscriminalcommon.serializer.InstantSerializer;
 import ca.bc.gov.open.wsdl.pcss.two.*;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import java.net.URI;
+import java.time.Instant;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 import org.springframework.ws.server.endpoint.annotation.Endpoint;
 import org.springframework.ws.server.endpoint.annotation.PayloadRoot;
@@ -25,22 +30,31 @@ import org.springframework.ws.server.endpoint.annotation.ResponsePayload;
 @EnableConfigurationProperties(PcssProperties.class)
 public class SyncController {
 
+    /** The JSON arrays ORDS returns the sync records in. */
+    private static final String APPEARANCE_FIELD = "appearance";
+
+    private static final String HEARING_RESTRICTION_FIELD = "hearingRestriction";
+
     private final RestTemplate restTemplate;
     private final PcssProperties pcssProperties;
     private final LogBuilder logBuilder;
+    private final SyncPager syncPager;
 
     public SyncController(
-            RestTemplate restTemplate, PcssProperties pcssProperties, LogBuilder logBuilder) {
+            RestTemplate restTemplate,
+            PcssProperties pcssProperties,
+            LogBuilder logBuilder,
+            SyncPager syncPager) {
         this.restTemplate = restTemplate;
         this.pcssProperties = pcssProperties;
         this.logBuilder = logBuilder;
+        this.syncPager = syncPager;
     }
 
     @PayloadRoot(namespace = Keys.SOAP_NAMESPACE, localPart = Keys.SOAP_METHOD_SYNC_APPEARANCE)
     @ResponsePayload
     public GetSyncCriminalAppearanceResponse getSyncCriminalAppearance(
-            @RequestPayload GetSyncCriminalAppearance getSyncCriminalAppearance)
-            throws JsonProcessingException {
+            @RequestPayload GetSyncCriminalAppearance getSyncCriminalAppearance) {
 
         log.info(Keys.LOG_RECEIVED, Keys.SOAP_METHOD_SYNC_APPEARANCE);
 
@@ -57,32 +71,62 @@ public class SyncController {
                                 : new ca.bc.gov.open.wsdl.pcss.one
                                         .GetSyncCriminalAppearanceRequest();
 
-        UriComponents uriComponents =
-                UriComponentsBuilder.fromHttpUrl(
-                                pcssProperties.getHost() + Keys.ORDS_SYNC_APPEARANCE)
-                        .queryParam(
-                                Keys.QUERY_AGENT_ID,
-                                getSyncCriminalAppearanceRequest.getRequestAgencyIdentifierId())
-                        .queryParam(
-                                Keys.QUERY_PART_ID,
-                                getSyncCriminalAppearanceRequest.getRequestAgencyIdentifierId())
-                        .queryParam(
-                                Keys.QUERY_REQUEST_DATE,
-                                InstantSerializer.convert(
-                                        getSyncCriminalAppearanceRequest.getRequestDtm()))
-                        .queryParam(
-                                Keys.QUERY_SYNC_TO_DATE,
-                                InstantSerializer.convert(
-                                        getSyncCriminalAppearanceRequest.getProcessUpToDtm()))
-                        .build();
-
+        boolean paged =
+                syncPager.isPaged(
+                        getSyncCriminalAppearanceRequest.getPageSize(),
+                        getSyncCriminalAppearanceRequest.getCursor());
         try {
 
+            SyncCursor cursor =
+                    cursor(
+                            paged,
+                            getSyncCriminalAppearanceRequest.getRequestAgencyIdentifierId(),
+                            getSyncCriminalAppearanceRequest.getRequestPartId(),
+                            getSyncCriminalAppearanceRequest.getRequestDtm(),
+                            getSyncCriminalAppearanceRequest.getProcessUpToDtm(),
+                            getSyncCriminalAppearanceRequest.getCursor());
+
             log.debug(Keys.LOG_ORDS, Keys.SOAP_METHOD_SYNC_APPEARANCE);
 
+            if (cursor != null) {
+                SyncFeed<ca.bc.gov.open.wsdl.pcss.one.Appearance> feed =
+                        new SyncFeed<>(
+                                Keys.ORDS_SYNC_APPEARANCE,
+                                (from, upTo) ->
+                                        appearanceUri(getSyncCriminalAppearanceRequest, from, upTo),
+                                APPEARANCE_FIELD,
+                                ca.bc.gov.open.wsdl.pcss.one.Appearance.class,
+                                ca.bc.gov.open.wsdl.pcss.one.Appearance::getTransactionDtm);
+                SyncPage<ca.bc.gov.open.wsdl.pcss.one.Appearance> page =
+                        paged
+                                ? syncPager.page(
+                                        feed,
+                                        cursor,
+                                        syncPager.pageSize(
+                                                getSyncCriminalAppearanceRequest.getPageSize()))
+                                : syncPager.window(feed, cursor);
+
+                ca.bc.gov.open.wsdl.pcss.one.GetSyncCriminalAppearanceResponse
+                        getSyncCriminalAppearanceResponseInner =
+                                new ca.bc.gov.open.wsdl.pcss.one
+                                        .GetSyncCriminalAppearanceResponse();
+                getSyncCriminalAppearanceResponseInner.setResponseCd(page.responseCd());
+                getSyncCriminalAppearanceResponseInner.setResponseMessageTxt(
+                        page.responseMessageTxt());
+                getSyncCriminalAppearanceResponseInner.getAppearance().addAll(page.records());
+                getSyncCriminalAppearanceResponseInner.setNextCursor(page.nextCursor());
+
+                log.info(Keys.LOG_SUCCESS, Keys.SOAP_METHOD_SYNC_APPEARANCE);
+
+                return buildAppearanceResponse(getSyncCriminalAppearanceResponseInner);
+            }
+
             HttpEntity<ca.bc.gov.open.wsdl.pcss.one.GetSyncCriminalAppearanceResponse> response =
                     restTemplate.exchange(
-                            uriComponents.toUri(),
+                            appearanceUri(
+                                    getSyncCriminalAppearanceRequest,
+                                    getSyncCriminalAppearanceRequest.getRequestDtm(),
+                                    getSyncCriminalAppearanceRequest.getProcessUpToDtm()),
                             HttpMethod.GET,
                             new HttpEntity<>(new HttpHeaders()),
                             ca.bc.gov.open.wsdl.pcss.one.GetSyncCriminalAppearanceResponse.class);
@@ -94,9 +138,19 @@ public class SyncController {
 
             return getSyncCriminalAppearanceResponse;
 
+        } catch (InvalidRequestException ex) {
+            log.warn(
+                    "{}",
+                    logBuilder.logMessage(
+                            Keys.VALIDATION_ERROR_MESSAGE,
+                            Keys.SOAP_METHOD_SYNC_APPEARANCE,
+                            getSyncCriminalAppearanceRequest,
+                            ex.getMessage()));
+            throw ex;
         } catch (Exception ex) {
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             Keys.ORDS_ERROR_MESSAGE,
                             Keys.SOAP_METHOD_SYNC_APPEARANCE,
                             getSyncCriminalAppearanceRequest,
@@ -105,6 +159,46 @@ public class SyncController {
         }
     }
 
+    /**
+     * Where a paged or journaled request starts, or null for a single-shot window sent to ORDS as
+     * is. Single-shot windows are answered through the journal as well when it is enabled.
+     */
+    private SyncCursor cursor(
+            boolean paged,
+            String agencyId,
+            String partId,
+            Instant requestDtm,
+            Instant processUpToDtm,
+            String cursor) {
+        if (!paged && !(syncPager.isJournaled() && requestDtm != null && processUpToDtm != null)) {
+            return null;
+        }
+        try {
+            return syncPager.resume(agencyId, partId, requestDtm, processUpToDtm, cursor);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException(e.getMessage());
+        }
+    }
+
+    private URI appearanceUri(
+            ca.bc.gov.open.wsdl.pcss.one.GetSyncCriminalAppearanceRequest
+                    getSyncCriminalAppearanceRequest,
+            Instant requestDtm,
+            Instant processUpToDtm) {
+        return UriComponentsBuilder.fromHttpUrl(
+                        pcssProperties.getHost() + Keys.ORDS_SYNC_APPEARANCE)
+                .queryParam(
+                        Keys.QUERY_AGENT_ID,
+                        getSyncCriminalAppearanceRequest.getRequestAgencyIdentifierId())
+                .queryParam(
+                        Keys.QUERY_PART_ID,
+                        getSyncCriminalAppearanceRequest.getRequestAgencyIdentifierId())
+                .queryParam(Keys.QUERY_REQUEST_DATE, InstantSerializer.convert(requestDtm))
+                .queryParam(Keys.QUERY_SYNC_TO_DATE, InstantSerializer.convert(processUpToDtm))
+                .build()
+                .toUri();
+    }
+
     private ca.bc.gov.open.wsdl.pcss.two.GetSyncCriminalAppearanceResponse buildAppearanceResponse(
             ca.bc.gov.open.wsdl.pcss.one.GetSyncCriminalAppearanceResponse
                     getSyncCriminalAppearanceResponseInner) {
@@ -125,8 +219,7 @@ public class SyncController {
     @PayloadRoot(namespace = Keys.SOAP_NAMESPACE, localPart = Keys.SOAP_METHOD_SYNC_HEARING)
     @ResponsePayload
     public GetSyncCriminalHearingRestrictionResponse getSyncCriminalHearingRestriction(
-            @RequestPayload GetSyncCriminalHearingRestriction getSyncCriminalHearingRestriction)
-            throws JsonProcessingException {
+            @RequestPayload GetSyncCriminalHearingRestriction getSyncCriminalHearingRestriction) {
 
         log.info(Keys.LOG_RECEIVED, Keys.SOAP_METHOD_SYNC_HEARING);
 
@@ -145,35 +238,71 @@ public class SyncController {
                                 : new ca.bc.gov.open.wsdl.pcss.one
                                         .GetSyncCriminalHearingRestrictionRequest();
 
-        UriComponents uriComponents =
-                UriComponentsBuilder.fromHttpUrl(pcssProperties.getHost() + Keys.ORDS_SYNC_HEARING)
-                        .queryParam(
-                                Keys.QUERY_AGENT_ID,
-                                getSyncCriminalHearingRestrictionRequest
-                                        .getRequestAgencyIdentifierId())
-                        .queryParam(
-                                Keys.QUERY_PART_ID,
-                                getSyncCriminalHearingRestrictionRequest
-                                        .getRequestAgencyIdentifierId())
-                        .queryParam(
-                                Keys.QUERY_REQUEST_DATE,
-                                InstantSerializer.convert(
-                                        getSyncCriminalHearingRestrictionRequest.getRequestDtm()))
-                        .queryParam(
-                                Keys.QUERY_SYNC_TO_DATE,
-                                InstantSerializer.convert(
-                                        getSyncCriminalHearingRestrictionRequest
-                                                .getProcessUpToDtm()))
-                        .build();
-
+        boolean paged =
+                syncPager.isPaged(
+                        getSyncCriminalHearingRestrictionRequest.getPageSize(),
+                        getSyncCriminalHearingRestrictionRequest.getCursor());
         try {
 
+            SyncCursor cursor =
+                    cursor(
+                            paged,
+                            getSyncCriminalHearingRestrictionRequest.getRequestAgencyIdentifierId(),
+                            getSyncCriminalHearingRestrictionRequest.getRequestPartId(),
+                            getSyncCriminalHearingRestrictionRequest.getRequestDtm(),
+                            getSyncCriminalHearingRestrictionRequest.getProcessUpToDtm(),
+                            getSyncCriminalHearingRestrictionRequest.getCursor());
+
             log.debug(Keys.LOG_ORDS, Keys.SOAP_METHOD_SYNC_HEARING);
 
+            if (cursor != null) {
+                SyncFeed<ca.bc.gov.open.wsdl.pcss.one.HearingRestriction> feed =
+                        new SyncFeed<>(
+                                Keys.ORDS_SYNC_HEARING,
+                                (from, upTo) ->
+                                        hearingUri(
+                                                getSyncCriminalHearingRestrictionRequest,
+                                                from,
+                                                upTo),
+                                HEARING_RESTRICTION_FIELD,
+                                ca.bc.gov.open.wsdl.pcss.one.HearingRestriction.class,
+                                ca.bc.gov.open.wsdl.pcss.one.HearingRestriction::getTransactionDtm);
+                SyncPage<ca.bc.gov.open.wsdl.pcss.one.HearingRestriction> page =
+                        paged
+                                ? syncPager.page(
+                                        feed,
+                                        cursor,
+                                        syncPager.pageSize(
+                                                getSyncCriminalHearingRestrictionRequest
+                                                        .getPageSize()))
+                                : syncPager.window(feed, cursor);
+
+                ca.bc.gov.open.wsdl.pcss.one.GetSyncCriminalHearingRestrictionResponse
+                        getSyncCriminalHearingRestrictionResponseInner =
+                                new ca.bc.gov.open.wsdl.pcss.one
+                                        .GetSyncCriminalHearingRestrictionResponse();
+                getSyncCriminalHearingRestrictionResponseInner.setResponseCd(page.responseCd());
+                getSyncCriminalHearingRestrictionResponseInner.setResponseMessageTxt(
+                        page.responseMessageTxt());
+                getSyncCriminalHearingRestrictionResponseInner
+                        .getHearingRestriction()
+                        .addAll(page.records());
+                getSyncCriminalHearingRestrictionResponseInner.setNextCursor(page.nextCursor());
+
+                log.info(Keys.LOG_SUCCESS, Keys.SOAP_METHOD_SYNC_HEARING);
+
+                return buildHearingResponse(getSyncCriminalHearingRestrictionResponseInner);
+            }
+
             HttpEntity<ca.bc.gov.open.wsdl.pcss.one.GetSyncCriminalHearingRestrictionResponse>
                     response =
                             restTemplate.exchange(
-                                    uriComponents.toUri(),
+                                    hearingUri(
+                                            getSyncCriminalHearingRestrictionRequest,
+                                            getSyncCriminalHearingRestrictionRequest
+                                                    .getRequestDtm(),
+                                            getSyncCriminalHearingRestrictionRequest
+                                                    .getProcessUpToDtm()),
                                     HttpMethod.GET,
                                     new HttpEntity<>(new HttpHeaders()),
                                     ca.bc.gov.open.wsdl.pcss.one
@@ -187,9 +316,19 @@ public class SyncController {
 
             return getSyncCriminalHearingRestrictionResponse;
 
+        } catch (InvalidRequestException ex) {
+            log.warn(
+                    "{}",
+                    logBuilder.logMessage(
+                            Keys.VALIDATION_ERROR_MESSAGE,
+                            Keys.SOAP_METHOD_SYNC_HEARING,
+                            getSyncCriminalHearingRestrictionRequest,
+                            ex.getMessage()));
+            throw ex;
         } catch (Exception ex) {
             log.error(
-                    logBuilder.writeLogMessage(
+                    "{}",
+                    logBuilder.logMessage(
                             Keys.ORDS_ERROR_MESSAGE,
                             Keys.SOAP_METHOD_SYNC_HEARING,
                             getSyncCriminalHearingRestrictionRequest,
@@ -198,6 +337,24 @@ public class SyncController {
         }
     }
 
+    private URI hearingUri(
+            ca.bc.gov.open.wsdl.pcss.one.GetSyncCriminalHearingRestrictionRequest
+                    getSyncCriminalHearingRestrictionRequest,
+            Instant requestDtm,
+            Instant processUpToDtm) {
+        return UriComponentsBuilder.fromHttpUrl(pcssProperties.getHost() + Keys.ORDS_SYNC_HEARING)
+                .queryParam(
+                        Keys.QUERY_AGENT_ID,
+                        getSyncCriminalHearingRestrictionRequest.getRequestAgencyIdentifierId())
+                .queryParam(
+                        Keys.QUERY_PART_ID,
+                        getSyncCriminalHearingRestrictionRequest.getRequestAgencyIdentifierId())
+                .queryParam(Keys.QUERY_REQUEST_DATE, InstantSerializer.convert(requestDtm))
+                .queryParam(Keys.QUERY_SYNC_TO_DATE, InstantSerializer.convert(processUpToDtm))
+                .build()
+                .toUri();
+    }
+
     private ca.bc.gov.open.wsdl.pcss.two.GetSyncCriminalHearingRestrictionResponse
             buildHearingResponse(
                     ca.bc.gov.open.wsdl.pcss.one.GetSyncCriminalHearingRestrictionResponse
@@ -0,0 +1,15 @@
+package ca.bc.gov.open.pcsscriminalapplication.exception;
+
+import java.io.IOException;
+
+/** The SOAP caller's deadline passed before, or while, an upstream call was made for it. */
+public class DeadlineExceededException extends IOException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
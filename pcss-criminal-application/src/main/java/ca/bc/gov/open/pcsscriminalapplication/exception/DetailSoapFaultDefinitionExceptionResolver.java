@@ -1,6 +1,5 @@
 package ca.bc.gov.open.pcsscriminalapplication.exception;
 
-import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
 import javax.xml.namespace.QName;
 import javax.xml.transform.Result;
@@ -12,6 +11,16 @@ import org.springframework.ws.soap.server.endpoint.SoapFaultMappingExceptionReso
 @Slf4j
 public class DetailSoapFaultDefinitionExceptionResolver extends SoapFaultMappingExceptionResolver {
 
+    private final FaultMarshaller faultMarshaller = new FaultMarshaller();
+
+    public DetailSoapFaultDefinitionExceptionResolver() {
+        try {
+            faultMarshaller.warmUp(ca.bc.gov.open.wsdl.pcss.demsCaseUrl.Error.class);
+        } catch (JAXBException e) {
+            log.warn("SoapFault exception: " + e.getMessage());
+        }
+    }
+
     @Override
     protected void customizeFault(Object endpoint, Exception ex, SoapFault fault) {
 
@@ -21,12 +30,17 @@ public class DetailSoapFaultDefinitionExceptionResolver extends SoapFaultMapping
         QName CLIENT_FAULT_NAME = new QName(ENVELOPE_NAMESPACE_URI);
         soapFaultDefinition.setFaultCode(CLIENT_FAULT_NAME);
         setDefaultFault(soapFaultDefinition);
+
+        // only service faults carry a detail to marshal
+        if (!(ex instanceof ServiceFaultException serviceFault)
+                || serviceFault.getError() == null) {
+            return;
+        }
         Result result = fault.addFaultDetail().getResult();
 
         // marshal
         try {
-            var error = ((ServiceFaultException) ex).getError();
-            JAXBContext.newInstance(error.getClass()).createMarshaller().marshal(error, result);
+            faultMarshaller.marshal(serviceFault.getError(), result);
         } catch (JAXBException e) {
             log.warn("SoapFault exception: " + e.getMessage());
         }
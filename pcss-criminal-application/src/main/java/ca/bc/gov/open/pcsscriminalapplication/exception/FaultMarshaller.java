@@ -0,0 +1,81 @@
+package ca.bc.gov.open.pcsscriminalapplication.exception;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.xml.transform.Result;
+
+/**
+ * Marshals SOAP fault details with one JAXBContext per fault class, created once, and a small pool
+ * of Marshallers per class. Contexts are thread safe and expensive to build; marshallers are cheap
+ * but not thread safe, so they are borrowed for a single marshal call.
+ */
+public class FaultMarshaller {
+
+    private static final int MAX_POOLED_MARSHALLERS = 16;
+
+    private final ConcurrentMap<Class<?>, MarshallerPool> pools = new ConcurrentHashMap<>();
+
+    /** Builds the contexts up front so the first fault under load does not pay for them. */
+    public void warmUp(Class<?>... faultClasses) throws JAXBException {
+        for (Class<?> faultClass : faultClasses) {
+            pool(faultClass);
+        }
+    }
+
+    public void marshal(Object fault, Result result) throws JAXBException {
+        MarshallerPool pool = pool(fault.getClass());
+        Marshaller marshaller = pool.borrow();
+        try {
+            marshaller.marshal(fault, result);
+        } finally {
+            pool.release(marshaller);
+        }
+    }
+
+    private MarshallerPool pool(Class<?> faultClass) throws JAXBException {
+        MarshallerPool pool = pools.get(faultClass);
+        if (pool == null) {
+            // build outside computeIfAbsent so a failing class is retried, not cached
+            MarshallerPool created = new MarshallerPool(JAXBContext.newInstance(faultClass));
+            pool = pools.putIfAbsent(faultClass, created);
+            if (pool == null) {
+                pool = created;
+            }
+        }
+        return pool;
+    }
+
+    private static class MarshallerPool {
+
+        private final JAXBContext context;
+        private final Queue<Marshaller> idle = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger idleCount = new AtomicInteger();
+
+        MarshallerPool(JAXBContext context) {
+            this.context = context;
+        }
+
+        Marshaller borrow() throws JAXBException {
+            Marshaller marshaller = idle.poll();
+            if (marshaller == null) {
+                return context.createMarshaller();
+            }
+            idleCount.decrementAndGet();
+            return marshaller;
+        }
+
+        void release(Marshaller marshaller) {
+            if (idleCount.incrementAndGet() <= MAX_POOLED_MARSHALLERS) {
+                idle.offer(marshaller);
+            } else {
+                idleCount.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package ca.bc.gov.open.pcsscriminalapplication.exception;
+
+import org.springframework.ws.soap.server.endpoint.annotation.FaultCode;
+import org.springframework.ws.soap.server.endpoint.annotation.SoapFault;
+
+/** The request itself is invalid, such as a malformed sync cursor; answered with a client fault. */
+@SoapFault(faultCode = FaultCode.CLIENT)
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,46 @@
+package ca.bc.gov.open.pcsscriminalapplication.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AsyncAppender} that never blocks the logging thread and counts what it drops. Once the
+ * queue is past the discarding threshold INFO and lower events are discarded, once it is full every
+ * event is dropped. A slow or unreachable downstream appender therefore costs the caller a queue
+ * offer at most. Drops are counted when the queue is seen full, so the counts are exact for a
+ * single producer and close under contention.
+ */
+public class BoundedAsyncAppender extends AsyncAppender {
+
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+
+    public BoundedAsyncAppender() {
+        setNeverBlock(true);
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remaining = getRemainingCapacity();
+        if (remaining < getDiscardingThreshold() && isDiscardable(event)) {
+            discarded.increment();
+            return;
+        }
+        if (remaining == 0) {
+            overflowed.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    /** @return events below WARN dropped because the queue was past the discarding threshold */
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    /** @return events of any level dropped because the queue was full */
+    public long getOverflowCount() {
+        return overflowed.sum();
+    }
+}
@@ -0,0 +1,54 @@
+package ca.bc.gov.open.pcsscriminalapplication.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Iterator;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the queue depth and drop counts of every {@link BoundedAsyncAppender} on the root
+ * logger, tagged by appender name.
+ */
+@Component
+public class LogPipelineMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        for (Iterator<Appender<ILoggingEvent>> it = root.iteratorForAppenders(); it.hasNext(); ) {
+            if (it.next() instanceof BoundedAsyncAppender appender) {
+                bind(registry, appender);
+            }
+        }
+    }
+
+    static void bind(MeterRegistry registry, BoundedAsyncAppender appender) {
+        Gauge.builder(
+                        "logging.async.queue",
+                        appender,
+                        BoundedAsyncAppender::getNumberOfElementsInQueue)
+                .description("Log events waiting for the downstream appender")
+                .tag("appender", appender.getName())
+                .register(registry);
+        FunctionCounter.builder(
+                        "logging.async.dropped", appender, BoundedAsyncAppender::getDiscardedCount)
+                .description("Log events dropped by the async appender")
+                .tags("appender", appender.getName(), "reason", "discarded")
+                .register(registry);
+        FunctionCounter.builder(
+                        "logging.async.dropped", appender, BoundedAsyncAppender::getOverflowCount)
+                .description("Log events dropped by the async appender")
+                .tags("appender", appender.getName(), "reason", "overflow")
+                .register(registry);
+    }
+}
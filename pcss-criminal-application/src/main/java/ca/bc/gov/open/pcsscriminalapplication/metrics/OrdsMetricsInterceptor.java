@@ -0,0 +1,90 @@
+package ca.bc.gov.open.pcsscriminalapplication.metrics;
+
+import ca.bc.gov.open.pcsscriminalapplication.utils.OrdsEndpoints;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Times every call a RestTemplate makes to its upstream, tagged by upstream, Keys.ORDS_* endpoint,
+ * method, status and exception. Calls that fail without a response are tagged status IO_ERROR and
+ * outcome UNKNOWN. Registered last so cache hits and coalesced followers are not counted as
+ * upstream calls.
+ *
+ * <p>Boot's http.client.requests observes the whole RestTemplate exchange instead, so it also times
+ * cache hits, coalesced waits and circuit breaker refusals. The controllers pass built URIs rather
+ * than templates, so its uri tag is "none" and it cannot be split by endpoint.
+ */
+public class OrdsMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    public static final String METRIC_NAME = "ords.client.requests";
+
+    /** Status of calls that got no response: timeouts, refused or reset connections. */
+    public static final String IO_ERROR = "IO_ERROR";
+
+    private final String upstream;
+    private final MeterRegistry registry;
+
+    public OrdsMetricsInterceptor(String upstream, MeterRegistry registry) {
+        this.upstream = upstream;
+        this.registry = registry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(
+            HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Timer.Sample sample = Timer.start(registry);
+        String status = IO_ERROR;
+        String exception = "none";
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            status = String.valueOf(response.getStatusCode().value());
+            return response;
+        } catch (IOException | RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(
+                    Timer.builder(METRIC_NAME)
+                            .description("Calls to the ORDS, DEMS and ISL upstreams")
+                            .tags(
+                                    "upstream",
+                                    upstream,
+                                    "endpoint",
+                                    endpoint(request),
+                                    "method",
+                                    request.getMethod().name(),
+                                    "status",
+                                    status,
+                                    "outcome",
+                                    outcome(status),
+                                    "exception",
+                                    exception)
+                            .register(registry));
+        }
+    }
+
+    private String endpoint(HttpRequest request) {
+        String endpoint = OrdsEndpoints.resolve(request.getURI());
+        // the ISL lookup has no ORDS path of its own
+        return endpoint == null ? upstream : endpoint;
+    }
+
+    private static String outcome(String status) {
+        if (IO_ERROR.equals(status)) {
+            return "UNKNOWN";
+        }
+        return switch (status.charAt(0)) {
+            case '2' -> "SUCCESS";
+            case '3' -> "REDIRECTION";
+            case '4' -> "CLIENT_ERROR";
+            case '5' -> "SERVER_ERROR";
+            default -> "UNKNOWN";
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package ca.bc.gov.open.pcsscriminalapplication.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+import org.springframework.ws.WebServiceMessage;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.server.EndpointInterceptor;
+import org.springframework.ws.server.endpoint.MethodEndpoint;
+import org.springframework.ws.server.endpoint.annotation.PayloadRoot;
+import org.springframework.ws.soap.SoapMessage;
+
+/**
+ * Times every SOAP operation from endpoint lookup to the response being written, tagged by the
+ * {@code @PayloadRoot} local part (the Keys.SOAP_METHOD_* name), outcome and exception.
+ */
+@Component
+public class SoapMetricsInterceptor implements EndpointInterceptor {
+
+    public static final String METRIC_NAME = "soap.operations";
+
+    private static final String SAMPLE = SoapMetricsInterceptor.class.getName() + ".sample";
+
+    private final MeterRegistry registry;
+    private final Map<Method, String> operations = new ConcurrentHashMap<>();
+
+    public SoapMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean handleRequest(MessageContext messageContext, Object endpoint) {
+        messageContext.setProperty(SAMPLE, Timer.start(registry));
+        return true;
+    }
+
+    @Override
+    public boolean handleResponse(MessageContext messageContext, Object endpoint) {
+        return true;
+    }
+
+    @Override
+    public boolean handleFault(MessageContext messageContext, Object endpoint) {
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(MessageContext messageContext, Object endpoint, Exception ex) {
+        if (!(messageContext.getProperty(SAMPLE) instanceof Timer.Sample sample)) {
+            return;
+        }
+        messageContext.removeProperty(SAMPLE);
+        sample.stop(
+                Timer.builder(METRIC_NAME)
+                        .description("SOAP operations handled by the service")
+                        .tags(
+                                "operation",
+                                operation(endpoint),
+                                "outcome",
+                                ex == null && !isFault(messageContext) ? "SUCCESS" : "FAULT",
+                                "exception",
+                                ex == null ? "none" : ex.getClass().getSimpleName())
+                        .register(registry));
+    }
+
+    private String operation(Object endpoint) {
+        if (!(endpoint instanceof MethodEndpoint methodEndpoint)) {
+            return "unknown";
+        }
+        return operations.computeIfAbsent(
+                methodEndpoint.getMethod(),
+                method -> {
+                    PayloadRoot payloadRoot = method.getAnnotation(PayloadRoot.class);
+                    return payloadRoot != null ? payloadRoot.localPart() : method.getName();
+                });
+    }
+
+    private static boolean isFault(MessageContext messageContext) {
+        if (!messageContext.hasResponse()) {
+            return false;
+        }
+        WebServiceMessage response = messageContext.getResponse();
+        return response instanceof SoapMessage soapMessage && soapMessage.getSoapBody().hasFault();
+    }
+}
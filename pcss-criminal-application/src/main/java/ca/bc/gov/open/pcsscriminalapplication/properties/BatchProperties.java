@@ -0,0 +1,13 @@
+package ca.bc.gov.open.pcsscriminalapplication.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/** How many items a batch operation accepts and how many of them are sent to ORDS at once. */
+@Getter
+@Setter
+public class BatchProperties {
+
+    private int maxItems = 500;
+    private int parallelism = 8;
+}
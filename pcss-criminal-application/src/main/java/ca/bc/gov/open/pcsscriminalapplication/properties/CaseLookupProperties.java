@@ -11,4 +11,7 @@ public class CaseLookupProperties {
     private String host;
     private String token;
     private String ordsReadTimeout;
+    private PoolProperties pool = new PoolProperties();
+    private FanOutProperties fanOut = new FanOutProperties();
+    private HyperlinkCacheProperties hyperlinkCache = new HyperlinkCacheProperties();
 }
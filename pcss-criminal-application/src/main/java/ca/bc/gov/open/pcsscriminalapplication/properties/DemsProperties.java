@@ -14,4 +14,6 @@ public class DemsProperties {
     private String userName;
     private String password;
     private String ordsReadTimeout;
+    private PoolProperties pool = new PoolProperties();
+    private FanOutProperties fanOut = new FanOutProperties();
 }
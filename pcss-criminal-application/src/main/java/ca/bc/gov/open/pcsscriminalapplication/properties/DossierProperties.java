@@ -0,0 +1,13 @@
+package ca.bc.gov.open.pcsscriminalapplication.properties;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+
+/** How long getFileDossierCriminal waits for its ORDS calls before answering without them. */
+@Getter
+@Setter
+public class DossierProperties {
+
+    private Duration deadline = Duration.ofSeconds(10);
+}
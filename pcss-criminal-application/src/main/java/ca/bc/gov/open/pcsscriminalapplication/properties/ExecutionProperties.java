@@ -0,0 +1,29 @@
+package ca.bc.gov.open.pcsscriminalapplication.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "execution")
+@Getter
+@Setter
+public class ExecutionProperties {
+
+    /**
+     * PLATFORM runs SOAP dispatch on the servlet container's thread pool. VIRTUAL runs every
+     * request on its own virtual thread and requires a Java 21 runtime.
+     */
+    private Mode mode = Mode.PLATFORM;
+
+    /**
+     * Upper bound of platform threads used to fan out upstream calls within one SOAP request. When
+     * all are busy further work is refused and fails the call that needed it. Unused in VIRTUAL
+     * mode.
+     */
+    private int fanOutThreads = 64;
+
+    public enum Mode {
+        PLATFORM,
+        VIRTUAL
+    }
+}
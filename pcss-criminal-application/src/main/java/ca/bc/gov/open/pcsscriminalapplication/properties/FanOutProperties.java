@@ -0,0 +1,13 @@
+package ca.bc.gov.open.pcsscriminalapplication.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/** How a list lookup is split into chunks and dispatched in parallel to one upstream. */
+@Getter
+@Setter
+public class FanOutProperties {
+
+    private int chunkSize = 50;
+    private int parallelism = 4;
+}
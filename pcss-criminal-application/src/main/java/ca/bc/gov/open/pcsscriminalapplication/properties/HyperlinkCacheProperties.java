@@ -0,0 +1,20 @@
+package ca.bc.gov.open.pcsscriminalapplication.properties;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+
+/** Lifetime and size of the rccId to DEMS case hyperlink cache. */
+@Getter
+@Setter
+public class HyperlinkCacheProperties {
+
+    private boolean enabled = true;
+    private long maxSize = 100_000;
+
+    /** Issued hyperlinks do not change, so they are kept for a long time. */
+    private Duration ttl = Duration.ofHours(24);
+
+    /** Cases not found in DEMS yet may be created at any time. */
+    private Duration negativeTtl = Duration.ofMinutes(10);
+}
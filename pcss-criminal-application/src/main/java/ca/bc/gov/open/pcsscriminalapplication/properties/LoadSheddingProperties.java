@@ -0,0 +1,37 @@
+package ca.bc.gov.open.pcsscriminalapplication.properties;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "load-shedding")
+@Getter
+@Setter
+public class LoadSheddingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * GRADIENT lowers the limit as request latency rises above its long term average. AIMD adds one
+     * while requests complete within {@link #aimdTimeout} and backs off when they do not.
+     */
+    private Algorithm algorithm = Algorithm.GRADIENT;
+
+    private int initialLimit = 50;
+    private int minLimit = 10;
+    private int maxLimit = 200;
+
+    /** Share of the limit only set* operations may use, so reads are shed before writes. */
+    private double writeReserve = 0.2;
+
+    private Duration aimdTimeout = Duration.ofSeconds(10);
+
+    /** Bytes of the request read ahead of dispatch to find the operation name. */
+    private int peekBytes = 4096;
+
+    public enum Algorithm {
+        GRADIENT,
+        AIMD
+    }
+}
@@ -0,0 +1,37 @@
+package ca.bc.gov.open.pcsscriminalapplication.properties;
+
+import ca.bc.gov.open.pcsscriminalapplication.Keys;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "ords-cache")
+@Getter
+@Setter
+public class OrdsCacheProperties {
+
+    private boolean enabled = true;
+
+    /** Cache settings keyed by SOAP operation name (Keys.SOAP_METHOD_*). */
+    private Map<String, Operation> operations = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Operation {
+
+        /** Off leaves the operation's entry in place without caching it. */
+        private boolean enabled = true;
+
+        private Duration ttl = Duration.ofMinutes(5);
+        private DataSize maxWeight = DataSize.ofMegabytes(16);
+
+        /** Query parameters left out of the cache key, such as the request timestamp. */
+        private List<String> ignoredParams = new ArrayList<>(List.of(Keys.QUERY_REQUEST_DATE));
+    }
+}
@@ -0,0 +1,19 @@
+package ca.bc.gov.open.pcsscriminalapplication.properties;
+
+import ca.bc.gov.open.pcsscriminalapplication.Keys;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "ords-coalescing")
+@Getter
+@Setter
+public class OrdsCoalescingProperties {
+
+    private boolean enabled = true;
+
+    /** Query parameters that do not make two concurrent GETs different. */
+    private List<String> ignoredParams = new ArrayList<>(List.of(Keys.QUERY_REQUEST_DATE));
+}
@@ -14,4 +14,7 @@ public class PcssProperties {
     private String userName;
     private String password;
     private String ordsReadTimeout;
+    private PoolProperties pool = new PoolProperties();
+    private BatchProperties batch = new BatchProperties();
+    private DossierProperties dossier = new DossierProperties();
 }
@@ -0,0 +1,19 @@
+package ca.bc.gov.open.pcsscriminalapplication.properties;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+
+/** Connection pool settings for one upstream (PCSS ORDS, DEMS ORDS or ISL case lookup). */
+@Getter
+@Setter
+public class PoolProperties {
+
+    private int maxTotal = 50;
+    private int maxPerRoute = 50;
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration connectionRequestTimeout = Duration.ofSeconds(5);
+    private Duration idleTimeout = Duration.ofSeconds(30);
+    private Duration timeToLive = Duration.ofMinutes(5);
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+}
@@ -0,0 +1,25 @@
+package ca.bc.gov.open.pcsscriminalapplication.properties;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Which resilience4j bulkhead guards which SOAP operations. The limits themselves are set under
+ * {@code resilience4j.bulkhead.instances}.
+ */
+@ConfigurationProperties(prefix = "soap-bulkhead")
+@Getter
+@Setter
+public class SoapBulkheadProperties {
+
+    private boolean enabled = true;
+
+    /** Bulkhead name keyed by controller simple name, e.g. PersonnelController: personnel. */
+    private Map<String, String> controllers = new HashMap<>();
+
+    /** Bulkhead name keyed by SOAP operation name (Keys.SOAP_METHOD_*), wins over controllers. */
+    private Map<String, String> operations = new HashMap<>();
+}
@@ -0,0 +1,28 @@
+package ca.bc.gov.open.pcsscriminalapplication.properties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * How long each SOAP request may spend on upstream calls. A caller can ask for less than its
+ * operation's default with the {@link #header}, never for more.
+ */
+@ConfigurationProperties(prefix = "soap-deadline")
+@Getter
+@Setter
+public class SoapDeadlineProperties {
+
+    private boolean enabled = true;
+
+    /** HTTP header with how long the caller waits, in milliseconds or as a duration such as 5s. */
+    private String header = "X-Request-Timeout";
+
+    private Duration defaultTimeout = Duration.ofSeconds(120);
+
+    /** Default timeout keyed by SOAP operation name (Keys.SOAP_METHOD_*), wins over the default. */
+    private Map<String, Duration> operations = new HashMap<>();
+}
@@ -0,0 +1,38 @@
+package ca.bc.gov.open.pcsscriminalapplication.properties;
+
+import java.util.HashSet;
+import java.util.Set;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Operations whose ORDS JSON is transcoded straight into the SOAP body instead of being bound to
+ * the pcss.one model and marshalled, off unless enabled, and the message factory that writes the
+ * responses.
+ */
+@ConfigurationProperties(prefix = "soap-streaming")
+@Getter
+@Setter
+public class SoapStreamingProperties {
+
+    private boolean enabled = false;
+
+    /** SOAP operation names (Keys.SOAP_METHOD_*) that are streamed when enabled. */
+    private Set<String> operations = new HashSet<>();
+
+    /**
+     * Bytes of a streamed response kept in memory to bind it from when it cannot be transcoded into
+     * a SAAJ message. The rest of a longer response is kept in a temporary file.
+     */
+    private DataSize replayLimit = DataSize.ofMegabytes(1);
+
+    /** STREAMING marshals responses straight to the wire instead of into a SAAJ DOM. */
+    private MessageFactoryType messageFactory = MessageFactoryType.SAAJ;
+
+    public enum MessageFactoryType {
+        SAAJ,
+        STREAMING
+    }
+}
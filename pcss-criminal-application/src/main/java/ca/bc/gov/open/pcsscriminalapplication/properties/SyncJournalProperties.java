@@ -0,0 +1,39 @@
+package ca.bc.gov.open.pcsscriminalapplication.properties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "sync-journal")
+@Getter
+@Setter
+public class SyncJournalProperties {
+
+    private boolean enabled = false;
+
+    /** Where the journal segments are kept; one service instance per directory. */
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "pcss-sync-journal");
+
+    /** Size of each memory-mapped segment file, and so of the largest record. */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /** How far back in process time results are kept. */
+    private Duration retention = Duration.ofDays(7);
+
+    /** How long ORDS is given to settle a process-time window before it is journaled. */
+    private Duration settle = Duration.ofMinutes(5);
+
+    /** How often expired results are dropped and sparse segments rewritten. */
+    private Duration compactionInterval = Duration.ofMinutes(10);
+
+    /** Segments with less than this fraction of live bytes are rewritten at compaction. */
+    private double compactionThreshold = 0.5;
+
+    /** ORDS response codes whose results may be journaled. */
+    private List<String> responseCodes = new ArrayList<>(List.of("0"));
+}
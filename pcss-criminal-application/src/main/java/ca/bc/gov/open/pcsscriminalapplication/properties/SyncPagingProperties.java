@@ -0,0 +1,24 @@
+package ca.bc.gov.open.pcsscriminalapplication.properties;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "sync-paging")
+@Getter
+@Setter
+public class SyncPagingProperties {
+
+    /** Records per page when the caller sends a cursor without a PageSize. */
+    private int defaultPageSize = 500;
+
+    /** Upper bound on the PageSize a caller can ask for. */
+    private int maxPageSize = 2000;
+
+    /** Width of the process-time window asked of ORDS in one call. */
+    private Duration slice = Duration.ofHours(1);
+
+    /** ORDS calls one page may make before it is returned short with a cursor. */
+    private int maxCallsPerPage = 24;
+}
@@ -0,0 +1,238 @@
+package ca.bc.gov.open.pcsscriminalapplication.resilience;
+
+import ca.bc.gov.open.pcsscriminalapplication.properties.LoadSheddingProperties;
+import com.netflix.concurrency.limits.Limit;
+import com.netflix.concurrency.limits.Limiter;
+import com.netflix.concurrency.limits.limit.AIMDLimit;
+import com.netflix.concurrency.limits.limit.Gradient2Limit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Adaptive concurrency limit in front of the MessageDispatcherServlet. The limit follows request
+ * latency, which is dominated by the ORDS calls behind each operation, and backs off on faults
+ * other than {@link LocalRefusal}s. Requests over the limit are answered at once with a
+ * pre-serialized SOAP fault instead of being dispatched. set* operations may use the whole limit,
+ * everything else only the part not reserved for writes, so reads are shed first.
+ *
+ * <p>The operation is read from the first element of the SOAP Body in the first {@code peekBytes}
+ * of the request. Requests where it is not found there are treated as reads.
+ */
+public class AdaptiveConcurrencyFilter extends OncePerRequestFilter {
+
+    public static final String SHED_METRIC_NAME = "soap.requests.shed";
+
+    static final byte[] OVERLOADED_FAULT =
+            ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                            + "<env:Envelope xmlns:env=\"http://www.w3.org/2003/05/soap-envelope\">"
+                            + "<env:Body><env:Fault>"
+                            + "<env:Code><env:Value>env:Receiver</env:Value></env:Code>"
+                            + "<env:Reason><env:Text xml:lang=\"en\">"
+                            + "Service is overloaded, please retry later"
+                            + "</env:Text></env:Reason>"
+                            + "</env:Fault></env:Body></env:Envelope>")
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private static final Pattern OPERATION =
+            Pattern.compile(
+                    "<(?:[A-Za-z_][\\w.-]*:)?Body\\b[^>]*>\\s*<(?:[A-Za-z_][\\w.-]*:)?([A-Za-z_][\\w.-]*)");
+
+    private final PriorityLimiter limiter;
+    private final int peekBytes;
+    private final Counter shedReads;
+    private final Counter shedWrites;
+
+    public AdaptiveConcurrencyFilter(LoadSheddingProperties properties, MeterRegistry registry) {
+        this.limiter =
+                PriorityLimiter.newBuilder()
+                        .named("soap")
+                        .limit(limit(properties))
+                        .writeReserve(properties.getWriteReserve())
+                        .build();
+        this.peekBytes = properties.getPeekBytes();
+        Gauge.builder("soap.concurrency.limit", limiter, PriorityLimiter::getLimit)
+                .description("Concurrent SOAP requests currently admitted")
+                .register(registry);
+        Gauge.builder("soap.concurrency.inflight", limiter, PriorityLimiter::getInflight)
+                .description("SOAP requests in flight")
+                .register(registry);
+        this.shedReads = shedCounter(registry, "read");
+        this.shedWrites = shedCounter(registry, "write");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // WSDL and XSD downloads are not SOAP calls
+        if (!"POST".equals(request.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        PeekedRequest peeked = new PeekedRequest(request, peekBytes);
+        boolean write = isWrite(peeked.prefix);
+        Optional<Limiter.Listener> listener = limiter.acquire(write);
+        if (listener.isEmpty()) {
+            (write ? shedWrites : shedReads).increment();
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            response.setHeader("Retry-After", "1");
+            response.setContentType("application/soap+xml;charset=UTF-8");
+            response.setContentLength(OVERLOADED_FAULT.length);
+            response.getOutputStream().write(OVERLOADED_FAULT);
+            return;
+        }
+        try {
+            chain.doFilter(peeked, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            failed(request, listener.get());
+            throw e;
+        }
+        if (response.getStatus() < HttpServletResponse.SC_INTERNAL_SERVER_ERROR) {
+            listener.get().onSuccess();
+        } else {
+            failed(request, listener.get());
+        }
+    }
+
+    /**
+     * A fault is usually an ORDS timeout or error, the very signal the limit should back off on, so
+     * it is sampled as a drop. Fast local refusals say nothing about the latency at the current
+     * concurrency and are ignored.
+     */
+    private static void failed(HttpServletRequest request, Limiter.Listener listener) {
+        if (LocalRefusal.isMarked(request)) {
+            listener.onIgnore();
+        } else {
+            listener.onDropped();
+        }
+    }
+
+    int getLimit() {
+        return limiter.getLimit();
+    }
+
+    static boolean isWrite(String prefix) {
+        Matcher matcher = OPERATION.matcher(prefix);
+        return matcher.find() && matcher.group(1).startsWith("set");
+    }
+
+    private static Limit limit(LoadSheddingProperties properties) {
+        return switch (properties.getAlgorithm()) {
+            case AIMD -> AIMDLimit.newBuilder()
+                    .initialLimit(properties.getInitialLimit())
+                    .minLimit(properties.getMinLimit())
+                    .maxLimit(properties.getMaxLimit())
+                    .timeout(properties.getAimdTimeout().toNanos(), TimeUnit.NANOSECONDS)
+                    .build();
+            case GRADIENT -> Gradient2Limit.newBuilder()
+                    .initialLimit(properties.getInitialLimit())
+                    .minLimit(properties.getMinLimit())
+                    .maxConcurrency(properties.getMaxLimit())
+                    .build();
+        };
+    }
+
+    private static Counter shedCounter(MeterRegistry registry, String priority) {
+        return Counter.builder(SHED_METRIC_NAME)
+                .description("SOAP requests refused by the adaptive concurrency limit")
+                .tag("priority", priority)
+                .register(registry);
+    }
+
+    /** Request whose body can be read again after its first bytes were inspected. */
+    private static class PeekedRequest extends HttpServletRequestWrapper {
+
+        private final String prefix;
+        private final ServletInputStream body;
+
+        PeekedRequest(HttpServletRequest request, int peekBytes) throws IOException {
+            super(request);
+            ServletInputStream in = request.getInputStream();
+            byte[] head = in.readNBytes(peekBytes);
+            // element names are ASCII, a single byte charset avoids decoding errors on a cut
+            this.prefix = new String(head, StandardCharsets.ISO_8859_1);
+            this.body = new ReplayInputStream(new ByteArrayInputStream(head), in);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return body;
+        }
+    }
+
+    private static class ReplayInputStream extends ServletInputStream {
+
+        private final ByteArrayInputStream head;
+        private final ServletInputStream rest;
+        private final InputStream all;
+
+        ReplayInputStream(ByteArrayInputStream head, ServletInputStream rest) {
+            this.head = head;
+            this.rest = rest;
+            this.all = new SequenceInputStream(head, rest);
+        }
+
+        @Override
+        public int read() throws IOException {
+            return all.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return all.read(b, off, len);
+        }
+
+        @Override
+        public boolean isFinished() {
+            return head.available() == 0 && rest.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return head.available() > 0 || rest.isReady();
+        }
+
+        /** The container drives the listener; the peeked bytes are handed over before the end. */
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            rest.setReadListener(
+                    new ReadListener() {
+                        @Override
+                        public void onDataAvailable() throws IOException {
+                            readListener.onDataAvailable();
+                        }
+
+                        @Override
+                        public void onAllDataRead() throws IOException {
+                            if (head.available() > 0) {
+                                readListener.onDataAvailable();
+                            }
+                            readListener.onAllDataRead();
+                        }
+
+                        @Override
+                        public void onError(Throwable t) {
+                            readListener.onError(t);
+                        }
+                    });
+        }
+    }
+}
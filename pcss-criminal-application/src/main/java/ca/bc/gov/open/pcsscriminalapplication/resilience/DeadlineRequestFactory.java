@@ -0,0 +1,64 @@
+package ca.bc.gov.open.pcsscriminalapplication.resilience;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+/**
+ * Caps the pool acquire, connect and response timeouts of each request at the time left before the
+ * SOAP caller's {@link RequestDeadline}. Requests made without a deadline keep the client's
+ * configured timeouts.
+ */
+public class DeadlineRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+    private final Timeout connectTimeout;
+
+    /**
+     * @param connectTimeout the pool's connect timeout, which the client's request config does not
+     *     carry
+     */
+    public DeadlineRequestFactory(HttpClient httpClient, Duration connectTimeout) {
+        super(httpClient);
+        this.connectTimeout = Timeout.of(connectTimeout);
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    protected RequestConfig mergeRequestConfig(RequestConfig clientConfig) {
+        RequestConfig config = super.mergeRequestConfig(clientConfig);
+        Optional<Duration> remaining = RequestDeadline.remaining();
+        if (remaining.isEmpty()) {
+            return config;
+        }
+        Timeout budget = budget(remaining.get());
+        // the request config is the only per-request connect timeout in this client version
+        return RequestConfig.copy(config)
+                .setConnectionRequestTimeout(min(config.getConnectionRequestTimeout(), budget))
+                .setConnectTimeout(min(connectTimeout, budget))
+                .setResponseTimeout(min(config.getResponseTimeout(), budget))
+                .build();
+    }
+
+    /** @return the connect timeout a request made now on this thread is given */
+    Timeout connectTimeout() {
+        return RequestDeadline.remaining()
+                .map(remaining -> min(connectTimeout, budget(remaining)))
+                .orElse(connectTimeout);
+    }
+
+    private static Timeout budget(Duration remaining) {
+        // at least a millisecond, as a zero timeout means none; expired calls never get here
+        return Timeout.of(Math.max(1, remaining.toMillis()), TimeUnit.MILLISECONDS);
+    }
+
+    private static Timeout min(Timeout configured, Timeout budget) {
+        if (configured == null || configured.isDisabled()) {
+            return budget;
+        }
+        return configured.toMilliseconds() <= budget.toMilliseconds() ? configured : budget;
+    }
+}
@@ -0,0 +1,33 @@
+package ca.bc.gov.open.pcsscriminalapplication.resilience;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.ws.transport.context.TransportContext;
+import org.springframework.ws.transport.context.TransportContextHolder;
+import org.springframework.ws.transport.http.HttpServletConnection;
+
+/**
+ * Marks the SOAP request being dispatched on this thread as refused locally, by a full bulkhead or
+ * fan-out executor, an open circuit or a deadline that had already passed. {@link
+ * AdaptiveConcurrencyFilter} ignores the fault of such a request, as its latency says nothing about
+ * the upstream. Refusals on fan-out threads are not marked and count as upstream failures.
+ */
+public final class LocalRefusal {
+
+    static final String ATTRIBUTE = LocalRefusal.class.getName();
+
+    private LocalRefusal() {
+        // empty constructor
+    }
+
+    public static void mark() {
+        TransportContext transportContext = TransportContextHolder.getTransportContext();
+        if (transportContext != null
+                && transportContext.getConnection() instanceof HttpServletConnection connection) {
+            connection.getHttpServletRequest().setAttribute(ATTRIBUTE, Boolean.TRUE);
+        }
+    }
+
+    public static boolean isMarked(HttpServletRequest request) {
+        return request.getAttribute(ATTRIBUTE) != null;
+    }
+}
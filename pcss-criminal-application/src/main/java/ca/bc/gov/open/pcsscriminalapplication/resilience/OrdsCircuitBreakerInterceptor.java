@@ -0,0 +1,79 @@
+package ca.bc.gov.open.pcsscriminalapplication.resilience;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import java.io.IOException;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Guards one upstream with a circuit breaker. Exceptions and 5xx responses count as failures, 4xx
+ * responses are the caller's fault and count as successes. While the circuit is open the call is
+ * refused with a {@link CallNotPermittedException} before a connection is borrowed, so the
+ * controller answers with a SOAP fault at once instead of waiting out the read timeout. Calls that
+ * fail after the SOAP caller's {@link RequestDeadline} has passed are not recorded.
+ */
+public class OrdsCircuitBreakerInterceptor implements ClientHttpRequestInterceptor {
+
+    private final CircuitBreaker circuitBreaker;
+
+    public OrdsCircuitBreakerInterceptor(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(
+            HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        try {
+            circuitBreaker.acquirePermission();
+        } catch (CallNotPermittedException e) {
+            LocalRefusal.mark();
+            throw e;
+        }
+        long start = circuitBreaker.getCurrentTimestamp();
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            int status = response.getStatusCode().value();
+            if (status >= 500) {
+                circuitBreaker.onError(
+                        elapsed(start),
+                        circuitBreaker.getTimestampUnit(),
+                        new UpstreamServerError(status));
+            } else {
+                circuitBreaker.onSuccess(elapsed(start), circuitBreaker.getTimestampUnit());
+            }
+            return response;
+        } catch (IOException | RuntimeException e) {
+            if (RequestDeadline.isExpired()) {
+                // cut short by the caller's deadline, not a sign the upstream is failing
+                circuitBreaker.releasePermission();
+            } else {
+                circuitBreaker.onError(elapsed(start), circuitBreaker.getTimestampUnit(), e);
+            }
+            throw e;
+        } catch (Error e) {
+            circuitBreaker.releasePermission();
+            throw e;
+        }
+    }
+
+    private long elapsed(long start) {
+        return circuitBreaker.getCurrentTimestamp() - start;
+    }
+
+    /** Recorded for a 5xx response, which RestTemplate only turns into an exception later. */
+    static final class UpstreamServerError extends IOException {
+
+        UpstreamServerError(int status) {
+            super("Upstream answered " + status);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package ca.bc.gov.open.pcsscriminalapplication.resilience;
+
+import ca.bc.gov.open.pcsscriminalapplication.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Abandons upstream calls made for a SOAP caller that has already given up. A call whose {@link
+ * RequestDeadline} has passed is refused before a connection is borrowed, and a call that fails
+ * once it has passed, typically on the timeout {@link DeadlineRequestFactory} cut short, is
+ * reported as a {@link DeadlineExceededException}. Both are counted as
+ * ords.deadline.abandoned{upstream, stage}. Calls made without a deadline pass straight through.
+ */
+public class OrdsDeadlineInterceptor implements ClientHttpRequestInterceptor {
+
+    public static final String METRIC_NAME = "ords.deadline.abandoned";
+
+    private final Counter before;
+    private final Counter inFlight;
+
+    public OrdsDeadlineInterceptor(String upstream, MeterRegistry registry) {
+        this.before = counter(upstream, "before", registry);
+        this.inFlight = counter(upstream, "in_flight", registry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(
+            HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Optional<Duration> remaining = RequestDeadline.remaining();
+        if (remaining.isEmpty()) {
+            return execution.execute(request, body);
+        }
+        if (remaining.get().compareTo(Duration.ZERO) <= 0) {
+            before.increment();
+            throw new DeadlineExceededException(
+                    "Caller deadline passed before calling " + request.getURI().getPath());
+        }
+        try {
+            return execution.execute(request, body);
+        } catch (IOException e) {
+            if (!RequestDeadline.isExpired()) {
+                throw e;
+            }
+            inFlight.increment();
+            throw e instanceof DeadlineExceededException
+                    ? e
+                    : new DeadlineExceededException(
+                            "Caller deadline passed calling " + request.getURI().getPath(), e);
+        }
+    }
+
+    private static Counter counter(String upstream, String stage, MeterRegistry registry) {
+        return Counter.builder(METRIC_NAME)
+                .description("Upstream calls abandoned because the SOAP caller's deadline passed")
+                .tags("upstream", upstream, "stage", stage)
+                .register(registry);
+    }
+}
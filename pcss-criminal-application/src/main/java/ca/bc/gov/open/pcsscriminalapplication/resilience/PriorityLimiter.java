@@ -0,0 +1,58 @@
+package ca.bc.gov.open.pcsscriminalapplication.resilience;
+
+import com.netflix.concurrency.limits.Limiter;
+import com.netflix.concurrency.limits.limiter.AbstractLimiter;
+import java.util.Optional;
+
+/**
+ * Concurrency limiter with two priority classes. Reads are admitted while fewer than {@code (1 -
+ * writeReserve)} of the current limit are in flight, writes up to the full limit, so reads are shed
+ * first as the limit falls. Like the library's SimpleLimiter the check and the increment are not
+ * atomic, the limit may be overshot by the number of racing callers.
+ */
+class PriorityLimiter extends AbstractLimiter<Boolean> {
+
+    private final double writeReserve;
+
+    private PriorityLimiter(Builder builder) {
+        super(builder);
+        this.writeReserve = builder.writeReserve;
+    }
+
+    static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /** @param write whether the request is a set* operation */
+    @Override
+    public Optional<Limiter.Listener> acquire(Boolean write) {
+        if (getInflight() >= admitted(write)) {
+            return createRejectedListener();
+        }
+        return Optional.of(createListener());
+    }
+
+    private int admitted(boolean write) {
+        int limit = getLimit();
+        return write ? limit : Math.max(1, (int) (limit * (1 - writeReserve)));
+    }
+
+    static class Builder extends AbstractLimiter.Builder<Builder> {
+
+        private double writeReserve;
+
+        Builder writeReserve(double writeReserve) {
+            this.writeReserve = writeReserve;
+            return this;
+        }
+
+        PriorityLimiter build() {
+            return new PriorityLimiter(this);
+        }
+
+        @Override
+        protected Builder self() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package ca.bc.gov.open.pcsscriminalapplication.resilience;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * The point in time the SOAP caller stops waiting, bound to the thread handling its request by
+ * {@link SoapDeadlineInterceptor}. Upstream calls made on that thread, or on a fan-out thread the
+ * deadline was handed to with {@link #propagate}, are given only the time that is left.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {
+        // empty constructor
+    }
+
+    public static void set(Duration timeout) {
+        DEADLINE.set(System.nanoTime() + timeout.toNanos());
+    }
+
+    public static void clear() {
+        DEADLINE.remove();
+    }
+
+    /** @return the time left, negative once the deadline has passed, or empty without a deadline */
+    public static Optional<Duration> remaining() {
+        Long deadline = DEADLINE.get();
+        return deadline == null
+                ? Optional.empty()
+                : Optional.of(Duration.ofNanos(deadline - System.nanoTime()));
+    }
+
+    public static boolean isExpired() {
+        return remaining().map(remaining -> remaining.compareTo(Duration.ZERO) <= 0).orElse(false);
+    }
+
+    /** Runs the task under the deadline of the calling thread, wherever it is executed. */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        Long deadline = DEADLINE.get();
+        return deadline == null ? task : bind(deadline, task);
+    }
+
+    /**
+     * Runs the task under a deadline {@code timeout} from now, or under the deadline of the calling
+     * thread if that comes first, wherever it is executed.
+     */
+    public static <T> Supplier<T> propagate(Duration timeout, Supplier<T> task) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Long caller = DEADLINE.get();
+        return bind(caller != null && caller - deadline < 0 ? caller : deadline, task);
+    }
+
+    private static <T> Supplier<T> bind(long deadline, Supplier<T> task) {
+        return () -> {
+            Long previous = DEADLINE.get();
+            DEADLINE.set(deadline);
+            try {
+                return task.get();
+            } finally {
+                if (previous == null) {
+                    DEADLINE.remove();
+                } else {
+                    DEADLINE.set(previous);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,110 @@
+package ca.bc.gov.open.pcsscriminalapplication.resilience;
+
+import ca.bc.gov.open.pcsscriminalapplication.properties.SoapBulkheadProperties;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.server.EndpointInterceptor;
+import org.springframework.ws.server.endpoint.MethodEndpoint;
+import org.springframework.ws.server.endpoint.annotation.PayloadRoot;
+
+/**
+ * Caps how many requests of one operation family (appearance, file, personnel, sync, crown, DEMS)
+ * run at once, so a burst of slow calls in one family cannot take every servlet thread. A request
+ * that finds its bulkhead full waits up to the bulkhead's maxWaitDuration and is then refused with
+ * a {@link BulkheadFullException}, which the exception resolver turns into a SOAP fault. Operations
+ * without a bulkhead, such as getPing and getFileAccess, are never limited.
+ */
+@Component
+@EnableConfigurationProperties(SoapBulkheadProperties.class)
+public class SoapBulkheadInterceptor implements EndpointInterceptor {
+
+    public static final String REJECTED_METRIC_NAME = "soap.bulkhead.rejected";
+
+    private static final String PERMIT = SoapBulkheadInterceptor.class.getName() + ".permit";
+
+    private final SoapBulkheadProperties properties;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Optional<Bulkhead>> bulkheads = new ConcurrentHashMap<>();
+
+    public SoapBulkheadInterceptor(
+            SoapBulkheadProperties properties,
+            BulkheadRegistry bulkheadRegistry,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean handleRequest(MessageContext messageContext, Object endpoint) {
+        if (!properties.isEnabled() || !(endpoint instanceof MethodEndpoint methodEndpoint)) {
+            return true;
+        }
+        Optional<Bulkhead> bulkhead =
+                bulkheads.computeIfAbsent(methodEndpoint.getMethod(), this::bulkhead);
+        if (bulkhead.isEmpty()) {
+            return true;
+        }
+        try {
+            bulkhead.get().acquirePermission();
+        } catch (BulkheadFullException e) {
+            LocalRefusal.mark();
+            Counter.builder(REJECTED_METRIC_NAME)
+                    .description("SOAP requests refused because their bulkhead was full")
+                    .tags(
+                            "bulkhead",
+                            bulkhead.get().getName(),
+                            "operation",
+                            operation(methodEndpoint.getMethod()))
+                    .register(meterRegistry)
+                    .increment();
+            throw e;
+        }
+        messageContext.setProperty(PERMIT, bulkhead.get());
+        return true;
+    }
+
+    @Override
+    public boolean handleResponse(MessageContext messageContext, Object endpoint) {
+        return true;
+    }
+
+    @Override
+    public boolean handleFault(MessageContext messageContext, Object endpoint) {
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(MessageContext messageContext, Object endpoint, Exception ex) {
+        if (messageContext.getProperty(PERMIT) instanceof Bulkhead bulkhead) {
+            messageContext.removeProperty(PERMIT);
+            bulkhead.onComplete();
+        }
+    }
+
+    private Optional<Bulkhead> bulkhead(Method method) {
+        String name = properties.getOperations().get(operation(method));
+        if (name == null) {
+            name = properties.getControllers().get(method.getDeclaringClass().getSimpleName());
+        }
+        return name == null || name.isEmpty()
+                ? Optional.empty()
+                : Optional.of(bulkheadRegistry.bulkhead(name));
+    }
+
+    private static String operation(Method method) {
+        PayloadRoot payloadRoot = method.getAnnotation(PayloadRoot.class);
+        return payloadRoot != null ? payloadRoot.localPart() : method.getName();
+    }
+}
@@ -0,0 +1,131 @@
+package ca.bc.gov.open.pcsscriminalapplication.resilience;
+
+import ca.bc.gov.open.pcsscriminalapplication.exception.DeadlineExceededException;
+import ca.bc.gov.open.pcsscriminalapplication.properties.SoapDeadlineProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.server.EndpointInterceptor;
+import org.springframework.ws.server.endpoint.MethodEndpoint;
+import org.springframework.ws.server.endpoint.annotation.PayloadRoot;
+import org.springframework.ws.transport.context.TransportContext;
+import org.springframework.ws.transport.context.TransportContextHolder;
+import org.springframework.ws.transport.http.HttpServletConnection;
+
+/**
+ * Binds the caller's deadline to the thread dispatching its SOAP request: the time the caller sent
+ * in the deadline header, capped at the operation's default, or that default. Every ORDS, DEMS and
+ * ISL call made for the request then gets only the time that is left, see {@link
+ * DeadlineRequestFactory} and {@link OrdsDeadlineInterceptor}. Requests that arrive with no time
+ * left are refused before the endpoint runs; requests still running when their caller gave up are
+ * counted as soap.deadline.exceeded.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(SoapDeadlineProperties.class)
+public class SoapDeadlineInterceptor implements EndpointInterceptor {
+
+    public static final String EXCEEDED_METRIC_NAME = "soap.deadline.exceeded";
+
+    private static final String BOUND = SoapDeadlineInterceptor.class.getName() + ".bound";
+
+    private final SoapDeadlineProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public SoapDeadlineInterceptor(SoapDeadlineProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean handleRequest(MessageContext messageContext, Object endpoint)
+            throws DeadlineExceededException {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        String operation = operation(endpoint);
+        Duration timeout = properties.getOperations().get(operation);
+        if (timeout == null) {
+            timeout = properties.getDefaultTimeout();
+        }
+        Duration requested = requested();
+        if (requested != null && requested.compareTo(timeout) < 0) {
+            timeout = requested;
+        }
+        if (timeout.compareTo(Duration.ZERO) <= 0) {
+            exceeded(operation, "refused");
+            LocalRefusal.mark();
+            throw new DeadlineExceededException(operation + " arrived after its deadline");
+        }
+        RequestDeadline.set(timeout);
+        messageContext.setProperty(BOUND, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public boolean handleResponse(MessageContext messageContext, Object endpoint) {
+        return true;
+    }
+
+    @Override
+    public boolean handleFault(MessageContext messageContext, Object endpoint) {
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(MessageContext messageContext, Object endpoint, Exception ex) {
+        if (messageContext.getProperty(BOUND) == null) {
+            return;
+        }
+        messageContext.removeProperty(BOUND);
+        if (RequestDeadline.isExpired()) {
+            exceeded(operation(endpoint), "completed");
+        }
+        RequestDeadline.clear();
+    }
+
+    /** @return the timeout the caller sent, or null when there is none or it cannot be read */
+    private Duration requested() {
+        TransportContext transportContext = TransportContextHolder.getTransportContext();
+        if (transportContext == null
+                || !(transportContext.getConnection()
+                        instanceof HttpServletConnection connection)) {
+            return null;
+        }
+        String value = connection.getHttpServletRequest().getHeader(properties.getHeader());
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        try {
+            return DurationStyle.detectAndParse(value.trim(), ChronoUnit.MILLIS);
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring {} header {}", properties.getHeader(), value);
+            return null;
+        }
+    }
+
+    private void exceeded(String operation, String stage) {
+        Counter.builder(EXCEEDED_METRIC_NAME)
+                .description("SOAP requests whose caller's deadline passed before they completed")
+                .tags("operation", operation, "stage", stage)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String operation(Object endpoint) {
+        if (!(endpoint instanceof MethodEndpoint methodEndpoint)) {
+            return "unknown";
+        }
+        Method method = methodEndpoint.getMethod();
+        PayloadRoot payloadRoot = method.getAnnotation(PayloadRoot.class);
+        return payloadRoot != null ? payloadRoot.localPart() : method.getName();
+    }
+}
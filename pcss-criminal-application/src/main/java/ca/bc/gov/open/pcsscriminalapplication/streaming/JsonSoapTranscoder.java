@@ -0,0 +1,477 @@
+package ca.bc.gov.open.pcsscriminalapplication.streaming;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.MarshalException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlEnum;
+import jakarta.xml.bind.annotation.XmlEnumValue;
+import jakarta.xml.bind.annotation.XmlNsForm;
+import jakarta.xml.bind.annotation.XmlSchema;
+import jakarta.xml.bind.annotation.XmlType;
+import jakarta.xml.bind.annotation.XmlValue;
+import jakarta.xml.bind.annotation.adapters.XmlAdapter;
+import jakarta.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.Result;
+import javax.xml.transform.dom.DOMResult;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Writes an ORDS JSON response as the SOAP payload JAXB produces for the same data, without binding
+ * it to the pcss.one model first. JAXB still marshals the wrapper elements, around an empty ORDS
+ * object, so prefixes and namespace declarations are exactly those of the bound path. The content
+ * of the ORDS element is then written from the JSON token stream: element names, order and value
+ * formats come from the JAXB annotations of the model classes, values are read with the
+ * RestTemplates' ObjectMapper so coercions and date parsing are the same.
+ *
+ * <p>Only one JSON value is held at a time, except for scalars that arrive before an element that
+ * precedes them in the schema; those wait for their turn. A value that arrives after a later
+ * sibling was already written cannot be placed any more and an {@link OutOfOrderException} is
+ * thrown, the caller then falls back to the bound model, see {@link #writeBound}.
+ */
+public class JsonSoapTranscoder {
+
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    private final ObjectMapper objectMapper;
+    private final JAXBContext context;
+    private final Object skeleton;
+    private final Object ordsSkeleton;
+    private final QName name;
+    private final List<Field> wrappers = new ArrayList<>();
+    private final int depth;
+    private final Set<String> namespaces = new HashSet<>();
+    private final Map<Class<?>, Mapping> mappings = new HashMap<>();
+    private final Mapping root;
+
+    /**
+     * @param responseType the @XmlRootElement class the endpoint returns
+     * @param ordsType the pcss.one class ORDS answers with, nested in responseType through single
+     *     property wrappers
+     */
+    public JsonSoapTranscoder(Class<?> responseType, Class<?> ordsType, ObjectMapper objectMapper)
+            throws Exception {
+        this.objectMapper = objectMapper;
+        this.context = JAXBContext.newInstance(responseType);
+        this.skeleton = responseType.getDeclaredConstructor().newInstance();
+        int levels = 1;
+        Object current = skeleton;
+        while (current.getClass() != ordsType) {
+            String[] propOrder = current.getClass().getAnnotation(XmlType.class).propOrder();
+            if (propOrder.length != 1) {
+                throw new IllegalArgumentException(current.getClass() + " is not a wrapper");
+            }
+            Field field = current.getClass().getDeclaredField(propOrder[0]);
+            Object child = field.getType().getDeclaredConstructor().newInstance();
+            field.setAccessible(true);
+            field.set(current, child);
+            wrappers.add(field);
+            current = child;
+            levels++;
+        }
+        this.ordsSkeleton = current;
+        this.name = context.createJAXBIntrospector().getElementName(skeleton);
+        this.depth = levels;
+        this.root = mapping(ordsType);
+    }
+
+    /**
+     * Writes the payload for the JSON object the parser is positioned on into the result, which
+     * must be the DOM payload result of a SOAP message, consuming the object up to its closing
+     * brace.
+     */
+    public void write(JsonParser parser, Result result)
+            throws IOException, XMLStreamException, JAXBException {
+        if (!(result instanceof DOMResult domResult)) {
+            throw new IllegalArgumentException("Cannot stream into " + result.getClass());
+        }
+        Node parent = domResult.getNode();
+        Node previous = parent.getLastChild();
+        context.createMarshaller().marshal(skeleton, domResult);
+
+        Node node = previous == null ? parent.getFirstChild() : previous.getNextSibling();
+        for (int i = 1; i < depth; i++) {
+            node = node.getFirstChild();
+            while (!(node instanceof Element)) {
+                node = node.getNextSibling();
+            }
+        }
+        Map<String, String> prefixes = new HashMap<>();
+        for (String namespace : namespaces) {
+            String prefix = node.lookupPrefix(namespace);
+            if (prefix == null) {
+                throw new IllegalStateException("No prefix in scope for " + namespace);
+            }
+            prefixes.put(namespace, prefix);
+        }
+
+        XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(new DOMResult(node));
+        writeContent(parser, new Output(writer, prefixes), root);
+        writer.flush();
+    }
+
+    /**
+     * Writes the payload for the JSON object the parser is positioned on to the writer, consuming
+     * the object up to its closing brace. The content is written while JAXB marshals the wrapper
+     * elements, right after the start tag of the ORDS element, so nothing is held but the current
+     * JSON value.
+     */
+    public void write(JsonParser parser, XMLStreamWriter writer)
+            throws IOException, XMLStreamException, JAXBException {
+        Marshaller marshaller = context.createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+        marshaller.setListener(
+                new Marshaller.Listener() {
+                    @Override
+                    public void afterMarshal(Object source) {
+                        if (source != ordsSkeleton) {
+                            return;
+                        }
+                        try {
+                            Map<String, String> prefixes = new HashMap<>();
+                            for (String namespace : namespaces) {
+                                String prefix = writer.getNamespaceContext().getPrefix(namespace);
+                                if (prefix == null) {
+                                    throw new IllegalStateException(
+                                            "No prefix in scope for " + namespace);
+                                }
+                                prefixes.put(namespace, prefix);
+                            }
+                            writeContent(parser, new Output(writer, prefixes), root);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        } catch (XMLStreamException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    }
+                });
+        try {
+            marshaller.marshal(skeleton, writer);
+        } catch (MarshalException e) {
+            // JAXB wraps what the listener throws
+            Throwable cause = e.getCause() != null ? e.getCause() : e.getLinkedException();
+            if (cause instanceof OutOfOrderException outOfOrder) {
+                throw outOfOrder;
+            }
+            if (cause instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /** @return the name of the payload root element */
+    public QName getName() {
+        return name;
+    }
+
+    /**
+     * Marshals an ORDS object that was bound to the pcss.one model into the result, inside the same
+     * wrapper elements, for responses that could not be transcoded.
+     */
+    public void writeBound(Object ords, Result result)
+            throws ReflectiveOperationException, JAXBException {
+        if (wrappers.isEmpty()) {
+            context.createMarshaller().marshal(ords, result);
+            return;
+        }
+        Object response = skeleton.getClass().getDeclaredConstructor().newInstance();
+        Object current = response;
+        for (int i = 0; i < wrappers.size(); i++) {
+            Field field = wrappers.get(i);
+            Object child =
+                    i == wrappers.size() - 1
+                            ? ords
+                            : field.getType().getDeclaredConstructor().newInstance();
+            field.set(current, child);
+            current = child;
+        }
+        context.createMarshaller().marshal(response, result);
+    }
+
+    private void writeContent(JsonParser parser, Output output, Mapping mapping)
+            throws IOException, XMLStreamException {
+        Object[] pending = null;
+        int written = -1;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            Property property = mapping.byName.get(parser.currentName().toLowerCase(Locale.ROOT));
+            JsonToken token = parser.nextToken();
+            if (property == null) {
+                parser.skipChildren();
+                continue;
+            }
+            if (property.mapping == null && !property.list) {
+                if (property.index <= written) {
+                    throw new OutOfOrderException(property.localName);
+                }
+                if (pending == null) {
+                    pending = new Object[mapping.properties.length];
+                }
+                pending[property.index] = property.reader.readValue(parser);
+                continue;
+            }
+            // a repeated list continues where it stopped, Jackson appends to the bound list too
+            if (property.index < written || (property.index == written && !property.list)) {
+                throw new OutOfOrderException(property.localName);
+            }
+            if (token == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            flush(output, mapping, pending, property.index);
+            written = property.index;
+            if (!property.list) {
+                writeValue(parser, output, property);
+                continue;
+            }
+            if (token != JsonToken.START_ARRAY) {
+                throw MismatchedInputException.from(
+                        parser, List.class, "Expected an array for " + property.localName);
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                writeValue(parser, output, property);
+            }
+        }
+        flush(output, mapping, pending, mapping.properties.length);
+    }
+
+    private void writeValue(JsonParser parser, Output output, Property property)
+            throws IOException, XMLStreamException {
+        if (property.mapping == null) {
+            writeScalar(output, property, property.reader.readValue(parser));
+            return;
+        }
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return;
+        }
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw MismatchedInputException.from(
+                    parser, property.mapping.type, "Expected an object for " + property.localName);
+        }
+        startElement(output, property);
+        writeContent(parser, output, property.mapping);
+        output.stream.writeEndElement();
+    }
+
+    private void flush(Output output, Mapping mapping, Object[] pending, int before)
+            throws XMLStreamException {
+        if (pending == null) {
+            return;
+        }
+        for (int i = 0; i < before; i++) {
+            if (pending[i] != null) {
+                writeScalar(output, mapping.properties[i], pending[i]);
+                pending[i] = null;
+            }
+        }
+    }
+
+    private void writeScalar(Output output, Property property, Object value)
+            throws XMLStreamException {
+        if (value == null) {
+            return;
+        }
+        String text = property.print(value);
+        startElement(output, property);
+        // JAXB leaves an empty string element without a text node
+        if (!text.isEmpty()) {
+            output.stream.writeCharacters(text);
+        }
+        output.stream.writeEndElement();
+    }
+
+    private static void startElement(Output output, Property property) throws XMLStreamException {
+        if (property.namespace.isEmpty()) {
+            output.stream.writeStartElement(property.localName);
+        } else {
+            output.stream.writeStartElement(
+                    output.prefixes.get(property.namespace),
+                    property.localName,
+                    property.namespace);
+        }
+    }
+
+    private Mapping mapping(Class<?> type) {
+        Mapping mapping = mappings.get(type);
+        if (mapping != null) {
+            return mapping;
+        }
+        if (type.getSuperclass() != Object.class) {
+            throw new IllegalArgumentException("Cannot stream subclass " + type);
+        }
+        String[] propOrder = type.getAnnotation(XmlType.class).propOrder();
+        mapping = new Mapping(type, new Property[propOrder.length]);
+        mappings.put(type, mapping);
+        for (int i = 0; i < propOrder.length; i++) {
+            Property property;
+            try {
+                property = property(i, type.getDeclaredField(propOrder[i]));
+            } catch (NoSuchFieldException e) {
+                throw new IllegalArgumentException("Cannot stream " + type, e);
+            }
+            mapping.properties[i] = property;
+            mapping.byName.put(propOrder[i].toLowerCase(Locale.ROOT), property);
+        }
+        return mapping;
+    }
+
+    private Property property(int index, Field field) {
+        XmlElement element = field.getAnnotation(XmlElement.class);
+        if ((element != null && element.nillable())
+                || field.isAnnotationPresent(XmlAttribute.class)
+                || field.isAnnotationPresent(XmlValue.class)) {
+            throw new IllegalArgumentException("Cannot stream " + field);
+        }
+        String localName =
+                element == null || "##default".equals(element.name())
+                        ? field.getName()
+                        : element.name();
+        String namespace = element == null ? "##default" : element.namespace();
+        if ("##default".equals(namespace)) {
+            XmlSchema schema =
+                    field.getDeclaringClass().getPackage().getAnnotation(XmlSchema.class);
+            namespace =
+                    schema != null && schema.elementFormDefault() == XmlNsForm.QUALIFIED
+                            ? schema.namespace()
+                            : "";
+        }
+        if (!namespace.isEmpty()) {
+            namespaces.add(namespace);
+        }
+
+        boolean list = List.class.isAssignableFrom(field.getType());
+        Class<?> itemType =
+                list
+                        ? (Class<?>)
+                                ((ParameterizedType) field.getGenericType())
+                                        .getActualTypeArguments()[0]
+                        : field.getType();
+
+        Property property = new Property(index, localName, namespace, list);
+        XmlJavaTypeAdapter adapter = field.getAnnotation(XmlJavaTypeAdapter.class);
+        if (adapter != null) {
+            property.adapter = newAdapter(adapter.value());
+        } else if (itemType.isEnum() && itemType.isAnnotationPresent(XmlEnum.class)) {
+            property.enumValues = enumValues(itemType);
+        } else if (itemType.isAnnotationPresent(XmlType.class) && !itemType.isEnum()) {
+            property.mapping = mapping(itemType);
+            return property;
+        } else if (itemType != String.class) {
+            throw new IllegalArgumentException("Cannot stream " + field);
+        }
+        property.reader = objectMapper.readerFor(itemType);
+        return property;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static XmlAdapter<Object, Object> newAdapter(Class<?> type) {
+        try {
+            return (XmlAdapter<Object, Object>) type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot create " + type, e);
+        }
+    }
+
+    private static Map<Object, String> enumValues(Class<?> type) {
+        Map<Object, String> values = new HashMap<>();
+        for (Object constant : type.getEnumConstants()) {
+            String name = ((Enum<?>) constant).name();
+            try {
+                XmlEnumValue value = type.getField(name).getAnnotation(XmlEnumValue.class);
+                values.put(constant, value != null ? value.value() : name);
+            } catch (NoSuchFieldException e) {
+                throw new IllegalArgumentException("Cannot stream " + type, e);
+            }
+        }
+        return values;
+    }
+
+    /** The writer for the ORDS element's content and the prefixes in scope there. */
+    private static final class Output {
+
+        private final XMLStreamWriter stream;
+        private final Map<String, String> prefixes;
+
+        Output(XMLStreamWriter stream, Map<String, String> prefixes) {
+            this.stream = stream;
+            this.prefixes = prefixes;
+        }
+    }
+
+    private static final class Mapping {
+
+        private final Class<?> type;
+        private final Property[] properties;
+        private final Map<String, Property> byName = new HashMap<>();
+
+        Mapping(Class<?> type, Property[] properties) {
+            this.type = type;
+            this.properties = properties;
+        }
+    }
+
+    private static final class Property {
+
+        private final int index;
+        private final String localName;
+        private final String namespace;
+        private final boolean list;
+        private Mapping mapping;
+        private ObjectReader reader;
+        private XmlAdapter<Object, Object> adapter;
+        private Map<Object, String> enumValues;
+
+        Property(int index, String localName, String namespace, boolean list) {
+            this.index = index;
+            this.localName = localName;
+            this.namespace = namespace;
+            this.list = list;
+        }
+
+        String print(Object value) {
+            if (adapter != null) {
+                try {
+                    return (String) adapter.marshal(value);
+                } catch (Exception e) {
+                    throw new IllegalStateException("Cannot print " + localName, e);
+                }
+            }
+            return enumValues != null ? enumValues.get(value) : (String) value;
+        }
+    }
+
+    /** Thrown when a JSON value can no longer be written in schema order. */
+    public static final class OutOfOrderException extends RuntimeException {
+
+        OutOfOrderException(String element) {
+            super(element);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
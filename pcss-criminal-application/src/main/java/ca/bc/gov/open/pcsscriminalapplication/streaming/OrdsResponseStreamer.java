@@ -0,0 +1,441 @@
+package ca.bc.gov.open.pcsscriminalapplication.streaming;
+
+import ca.bc.gov.open.pcsscriminalapplication.properties.SoapStreamingProperties;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.xml.bind.JAXBException;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.ws.WebServiceMessage;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.stream.StreamingPayload;
+import org.springframework.ws.stream.StreamingWebServiceMessage;
+
+/**
+ * Answers a GET operation by transcoding the ORDS response body straight into the SOAP response
+ * payload with a {@link JsonSoapTranscoder}. The call goes through the restTemplateStreaming
+ * template, which has the deadline, circuit breaker and metrics interceptors but not the cache and
+ * coalescing ones, as those read the whole body into memory; streamed operations are therefore
+ * never cached or coalesced.
+ *
+ * <p>When the response is a {@link StreamingWebServiceMessage}, as with the streaming message
+ * factory, it is given a payload that reads the ORDS body while the SOAP response is written, so
+ * only the current JSON value is held. The ORDS response stays open until then. Nothing can be
+ * taken back once written: a body that fails, or whose fields arrive out of schema order, cuts the
+ * SOAP response short. That is counted as soap.streaming.aborted, and after an out of order body
+ * the response type is no longer streamed.
+ *
+ * <p>With the SAAJ factory the payload is written into the SAAJ DOM while the endpoint runs, so the
+ * whole SOAP body is held until it is sent; only the bound pcss.one model is saved. The bytes read
+ * are kept, up to {@code replayLimit} in memory and beyond that in a temporary file, and a response
+ * whose fields arrive out of schema order is bound from them and the rest of the body and
+ * marshalled instead, without a second call.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(SoapStreamingProperties.class)
+public class OrdsResponseStreamer {
+
+    public static final String FALLBACK_METRIC_NAME = "soap.streaming.fallbacks";
+    public static final String ABORTED_METRIC_NAME = "soap.streaming.aborted";
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final SoapStreamingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, Optional<JsonSoapTranscoder>> transcoders =
+            new ConcurrentHashMap<>();
+
+    public OrdsResponseStreamer(
+            @Qualifier("restTemplateStreaming") RestTemplate restTemplate,
+            ObjectMapper objectMapper,
+            SoapStreamingProperties properties,
+            MeterRegistry meterRegistry) {
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param operation the SOAP operation name, one of Keys.SOAP_METHOD_*
+     * @param uri the ORDS resource
+     * @param responseType the class the endpoint returns on the bound path
+     * @param ordsType the pcss.one class the ORDS JSON binds to
+     * @return true when the response payload was written or set
+     */
+    public boolean stream(
+            String operation,
+            URI uri,
+            Class<?> responseType,
+            Class<?> ordsType,
+            MessageContext messageContext) {
+        if (!properties.isEnabled() || !properties.getOperations().contains(operation)) {
+            return false;
+        }
+        Optional<JsonSoapTranscoder> transcoder =
+                transcoders.computeIfAbsent(responseType, type -> transcoder(type, ordsType));
+        if (transcoder.isEmpty()) {
+            return false;
+        }
+        WebServiceMessage response = messageContext.getResponse();
+        if (response instanceof StreamingWebServiceMessage streamingMessage) {
+            return defer(
+                    operation,
+                    uri,
+                    responseType,
+                    ordsType,
+                    transcoder.get(),
+                    streamingMessage,
+                    messageContext);
+        }
+        try {
+            return Boolean.TRUE.equals(
+                    restTemplate.execute(
+                            uri,
+                            HttpMethod.GET,
+                            restTemplate.acceptHeaderRequestCallback(ordsType),
+                            ordsResponse ->
+                                    transcode(
+                                            operation,
+                                            transcoder.get(),
+                                            ordsType,
+                                            ordsResponse,
+                                            messageContext)));
+        } catch (RuntimeException e) {
+            messageContext.clearResponse();
+            throw e;
+        }
+    }
+
+    /**
+     * Sends the call through the template's interceptors and hands the open body to a payload that
+     * transcodes it when the message is written.
+     */
+    private boolean defer(
+            String operation,
+            URI uri,
+            Class<?> responseType,
+            Class<?> ordsType,
+            JsonSoapTranscoder transcoder,
+            StreamingWebServiceMessage streamingMessage,
+            MessageContext messageContext) {
+        ClientHttpResponse ordsResponse = null;
+        try {
+            ClientHttpRequest request =
+                    restTemplate.getRequestFactory().createRequest(uri, HttpMethod.GET);
+            restTemplate.acceptHeaderRequestCallback(ordsType).doWithRequest(request);
+            ordsResponse = request.execute();
+            ResponseErrorHandler errorHandler = restTemplate.getErrorHandler();
+            if (errorHandler.hasError(ordsResponse)) {
+                errorHandler.handleError(uri, HttpMethod.GET, ordsResponse);
+            }
+            ReplayableInputStream body =
+                    new ReplayableInputStream(
+                            ordsResponse.getBody(), (int) properties.getReplayLimit().toBytes());
+            JsonParser parser = objectMapper.createParser(body);
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                parser.close();
+                try {
+                    return bind(
+                            operation,
+                            "not a JSON object",
+                            transcoder,
+                            ordsType,
+                            body,
+                            messageContext);
+                } finally {
+                    body.discard();
+                }
+            }
+            body.stopRecording();
+            streamingMessage.setStreamingPayload(
+                    new TranscodedPayload(
+                            operation, responseType, transcoder, parser, ordsResponse));
+            // the payload closes the ORDS response once it is written
+            ordsResponse = null;
+            return true;
+        } catch (IOException e) {
+            throw new ResourceAccessException(
+                    "I/O error on GET request for \"" + uri + "\": " + e.getMessage(), e);
+        } finally {
+            if (ordsResponse != null) {
+                ordsResponse.close();
+            }
+        }
+    }
+
+    private boolean transcode(
+            String operation,
+            JsonSoapTranscoder transcoder,
+            Class<?> ordsType,
+            ClientHttpResponse response,
+            MessageContext messageContext)
+            throws IOException {
+        ReplayableInputStream body =
+                new ReplayableInputStream(
+                        response.getBody(), (int) properties.getReplayLimit().toBytes());
+        try {
+            String reason;
+            try (JsonParser parser = objectMapper.createParser(body)) {
+                parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+                if (parser.nextToken() == JsonToken.START_OBJECT) {
+                    transcoder.write(parser, messageContext.getResponse().getPayloadResult());
+                    return true;
+                }
+                reason = "not a JSON object";
+            } catch (JsonSoapTranscoder.OutOfOrderException e) {
+                reason = e.getMessage() + " out of schema order";
+            } catch (XMLStreamException | JAXBException e) {
+                throw new IOException(e);
+            }
+            messageContext.clearResponse();
+            return bind(operation, reason, transcoder, ordsType, body, messageContext);
+        } finally {
+            body.discard();
+        }
+    }
+
+    /** Binds the bytes read so far and the rest of the body, and marshals the bound model. */
+    private boolean bind(
+            String operation,
+            String reason,
+            JsonSoapTranscoder transcoder,
+            Class<?> ordsType,
+            ReplayableInputStream body,
+            MessageContext messageContext)
+            throws IOException {
+        log.warn("Streaming {} fell back to the bound model: {}", operation, reason);
+        Counter.builder(FALLBACK_METRIC_NAME)
+                .description("Streamed ORDS responses that had to be bound and marshalled")
+                .tag("operation", operation)
+                .tag("replay", body.isSpooled() ? "file" : "memory")
+                .register(meterRegistry)
+                .increment();
+        boolean empty = body.isEmpty();
+        Object ords;
+        try (InputStream replay = body.replay()) {
+            // an empty body binds to null, as it does through the RestTemplate converters
+            ords = empty ? null : objectMapper.readValue(replay, ordsType);
+        }
+        try {
+            transcoder.writeBound(ords, messageContext.getResponse().getPayloadResult());
+            return true;
+        } catch (ReflectiveOperationException | JAXBException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private void aborted(String operation, Class<?> responseType, Exception e) {
+        Counter.builder(ABORTED_METRIC_NAME)
+                .description("Streamed SOAP responses cut short while the ORDS body was read")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .increment();
+        if (e instanceof JsonSoapTranscoder.OutOfOrderException) {
+            log.warn(
+                    "{} cut short, {} arrived out of schema order; {} is no longer streamed",
+                    operation,
+                    e.getMessage(),
+                    responseType.getSimpleName());
+            transcoders.put(responseType, Optional.empty());
+        } else {
+            log.warn("{} cut short: {}", operation, e.getMessage());
+        }
+    }
+
+    private Optional<JsonSoapTranscoder> transcoder(Class<?> responseType, Class<?> ordsType) {
+        try {
+            return Optional.of(new JsonSoapTranscoder(responseType, ordsType, objectMapper));
+        } catch (Exception e) {
+            log.warn("{} cannot be streamed: {}", responseType.getSimpleName(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /** Transcodes an open ORDS body while the SOAP response is written; can be written once. */
+    private class TranscodedPayload implements StreamingPayload, Closeable {
+
+        private final String operation;
+        private final Class<?> responseType;
+        private final JsonSoapTranscoder transcoder;
+        private final JsonParser parser;
+        private final ClientHttpResponse ordsResponse;
+        private boolean closed;
+
+        TranscodedPayload(
+                String operation,
+                Class<?> responseType,
+                JsonSoapTranscoder transcoder,
+                JsonParser parser,
+                ClientHttpResponse ordsResponse) {
+            this.operation = operation;
+            this.responseType = responseType;
+            this.transcoder = transcoder;
+            this.parser = parser;
+            this.ordsResponse = ordsResponse;
+        }
+
+        @Override
+        public QName getName() {
+            return transcoder.getName();
+        }
+
+        @Override
+        public void writeTo(XMLStreamWriter writer) throws XMLStreamException {
+            if (closed) {
+                throw new XMLStreamException(operation + " was already written");
+            }
+            try {
+                transcoder.write(parser, writer);
+            } catch (IOException | JAXBException | RuntimeException e) {
+                aborted(operation, responseType, e);
+                throw new XMLStreamException(operation + " cut short: " + e.getMessage(), e);
+            } finally {
+                close();
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                parser.close();
+            } catch (IOException e) {
+                log.debug("Could not close the ORDS body of {}", operation, e);
+            }
+            ordsResponse.close();
+        }
+    }
+
+    /**
+     * Keeps the bytes read from a body so that it can be read again, up to a limit in memory and
+     * the rest in a temporary file.
+     */
+    private static class ReplayableInputStream extends FilterInputStream {
+
+        private final int limit;
+        private ByteArrayOutputStream recorded = new ByteArrayOutputStream();
+        private Path spool;
+        private OutputStream spooled;
+
+        ReplayableInputStream(InputStream in, int limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                record(new byte[] {(byte) b}, 0, 1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                record(b, off, n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            byte[] skipped = new byte[(int) Math.min(n, 8192)];
+            return Math.max(0, read(skipped, 0, skipped.length));
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        boolean isSpooled() {
+            return spool != null;
+        }
+
+        boolean isEmpty() {
+            return recorded.size() == 0 && spool == null;
+        }
+
+        /** Stops recording once the body is known to be transcoded as it is read. */
+        void stopRecording() {
+            recorded = null;
+        }
+
+        /** The bytes read so far followed by the rest of the body. */
+        InputStream replay() throws IOException {
+            List<InputStream> parts = new ArrayList<>(3);
+            parts.add(new ByteArrayInputStream(recorded.toByteArray()));
+            if (spool != null) {
+                spooled.close();
+                parts.add(Files.newInputStream(spool));
+            }
+            parts.add(in);
+            recorded = null;
+            return new SequenceInputStream(Collections.enumeration(parts));
+        }
+
+        /** Deletes the temporary file, if any. */
+        void discard() throws IOException {
+            if (spool == null) {
+                return;
+            }
+            spooled.close();
+            Files.deleteIfExists(spool);
+        }
+
+        private void record(byte[] b, int off, int len) throws IOException {
+            if (recorded == null) {
+                return;
+            }
+            if (spool == null && recorded.size() + len <= limit) {
+                recorded.write(b, off, len);
+                return;
+            }
+            if (spool == null) {
+                spool = Files.createTempFile("ords-replay-", ".json");
+                spooled = new BufferedOutputStream(Files.newOutputStream(spool));
+            }
+            spooled.write(b, off, len);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package ca.bc.gov.open.pcsscriminalapplication.streaming;
+
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.MimeHeader;
+import jakarta.xml.soap.MimeHeaders;
+import jakarta.xml.soap.SOAPBody;
+import jakarta.xml.soap.SOAPElement;
+import jakarta.xml.soap.SOAPEnvelope;
+import jakarta.xml.soap.SOAPException;
+import jakarta.xml.soap.SOAPHeader;
+import jakarta.xml.soap.SOAPMessage;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.dom.DOMResult;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+import org.springframework.ws.soap.saaj.SaajSoapMessage;
+import org.springframework.ws.soap.saaj.SaajSoapMessageException;
+import org.springframework.ws.stream.StreamingPayload;
+import org.springframework.ws.stream.StreamingWebServiceMessage;
+import org.springframework.ws.transport.TransportConstants;
+import org.springframework.ws.transport.TransportOutputStream;
+import org.w3c.dom.Attr;
+import org.w3c.dom.NamedNodeMap;
+
+/**
+ * A SAAJ message that keeps a streaming payload out of the DOM. Spring-WS hands JAXB responses to
+ * {@link #setStreamingPayload} instead of marshalling them into the body, and {@link #writeTo}
+ * marshals the payload straight to the output stream between the envelope tags.
+ *
+ * <p>Anything written to the SAAJ body after the payload was set, such as a fault, replaces it.
+ * Messages with header entries or attachments are written by SAAJ with the payload copied into the
+ * body first. The payload cannot be read back through {@link #getPayloadSource}. A payload that is
+ * {@link Closeable} is closed when it is replaced or dropped without being written.
+ */
+public class StreamingSoapMessage extends SaajSoapMessage implements StreamingWebServiceMessage {
+
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    private static final String DEFAULT_ENCODING = "utf-8";
+
+    private StreamingPayload payload;
+
+    public StreamingSoapMessage(SOAPMessage soapMessage, MessageFactory messageFactory) {
+        super(soapMessage, messageFactory);
+    }
+
+    @Override
+    public void setStreamingPayload(StreamingPayload payload) {
+        Assert.notNull(payload, "'payload' must not be null");
+        try {
+            getSaajMessage().getSOAPBody().removeContents();
+        } catch (SOAPException e) {
+            throw new SaajSoapMessageException("Could not clear body: " + e.getMessage(), e);
+        }
+        try {
+            release();
+        } catch (IOException e) {
+            throw new SaajSoapMessageException("Could not release payload: " + e.getMessage(), e);
+        }
+        this.payload = payload;
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        if (payload == null) {
+            super.writeTo(outputStream);
+            return;
+        }
+        try {
+            SOAPMessage saajMessage = getSaajMessage();
+            SOAPEnvelope envelope = saajMessage.getSOAPPart().getEnvelope();
+            SOAPHeader header = envelope.getHeader();
+            SOAPBody body = envelope.getBody();
+            if (body.hasChildNodes()) {
+                // written after the payload, e.g. a fault
+                release();
+                super.writeTo(outputStream);
+                return;
+            }
+            if ((header != null && header.hasChildNodes()) || saajMessage.countAttachments() > 0) {
+                writeToBody(body);
+                super.writeTo(outputStream);
+                return;
+            }
+            stream(saajMessage, envelope, header, body, outputStream);
+        } catch (SOAPException e) {
+            throw new SaajSoapMessageException("Could not write message: " + e.getMessage(), e);
+        } catch (XMLStreamException e) {
+            throw new IOException("Could not write payload: " + e.getMessage(), e);
+        }
+    }
+
+    private void stream(
+            SOAPMessage saajMessage,
+            SOAPEnvelope envelope,
+            SOAPHeader header,
+            SOAPBody body,
+            OutputStream outputStream)
+            throws SOAPException, XMLStreamException, IOException {
+        Object characterSet = saajMessage.getProperty(SOAPMessage.CHARACTER_SET_ENCODING);
+        String encoding = characterSet != null ? characterSet.toString() : DEFAULT_ENCODING;
+        writeHeaders(saajMessage.getMimeHeaders(), encoding, outputStream);
+
+        if ("true".equals(saajMessage.getProperty(SOAPMessage.WRITE_XML_DECLARATION))) {
+            // the same declaration SAAJ writes
+            outputStream.write(
+                    ("<?xml version=\"1.0\" encoding=\"" + encoding + "\" ?>")
+                            .getBytes(Charset.forName(encoding)));
+        }
+        XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(outputStream, encoding);
+        writeStartElement(writer, envelope, false);
+        if (header != null) {
+            writeStartElement(writer, header, true);
+        }
+        writeStartElement(writer, body, false);
+        payload.writeTo(writer);
+        writer.writeEndElement();
+        writer.writeEndElement();
+        writer.flush();
+        writer.close();
+        outputStream.flush();
+    }
+
+    private void writeHeaders(MimeHeaders mimeHeaders, String encoding, OutputStream outputStream)
+            throws IOException {
+        if (ObjectUtils.isEmpty(mimeHeaders.getHeader(TransportConstants.HEADER_ACCEPT))) {
+            mimeHeaders.setHeader(TransportConstants.HEADER_ACCEPT, getVersion().getContentType());
+        }
+        if (!(outputStream instanceof TransportOutputStream transportOutputStream)) {
+            return;
+        }
+        // no Content-Length, SAAJ only knows it after buffering the whole message
+        for (Iterator<MimeHeader> iterator = mimeHeaders.getAllHeaders(); iterator.hasNext(); ) {
+            MimeHeader mimeHeader = iterator.next();
+            if (!TransportConstants.HEADER_CONTENT_TYPE.equalsIgnoreCase(mimeHeader.getName())
+                    && !TransportConstants.HEADER_CONTENT_LENGTH.equalsIgnoreCase(
+                            mimeHeader.getName())) {
+                transportOutputStream.addHeader(mimeHeader.getName(), mimeHeader.getValue());
+            }
+        }
+        String[] contentType = mimeHeaders.getHeader(TransportConstants.HEADER_CONTENT_TYPE);
+        transportOutputStream.addHeader(
+                TransportConstants.HEADER_CONTENT_TYPE,
+                ObjectUtils.isEmpty(contentType)
+                        ? getVersion().getContentType() + "; charset=" + encoding
+                        : contentType[0]);
+    }
+
+    private static void writeStartElement(
+            XMLStreamWriter writer, SOAPElement element, boolean empty) throws XMLStreamException {
+        String prefix = element.getPrefix() != null ? element.getPrefix() : "";
+        String namespaceUri = element.getNamespaceURI() != null ? element.getNamespaceURI() : "";
+        if (empty) {
+            writer.writeEmptyElement(prefix, element.getLocalName(), namespaceUri);
+        } else {
+            writer.writeStartElement(prefix, element.getLocalName(), namespaceUri);
+        }
+        NamedNodeMap attributes = element.getAttributes();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Attr attribute = (Attr) attributes.item(i);
+            if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attribute.getNamespaceURI())) {
+                if (attribute.getPrefix() == null) {
+                    writer.writeDefaultNamespace(attribute.getValue());
+                } else {
+                    writer.writeNamespace(attribute.getLocalName(), attribute.getValue());
+                }
+            } else if (attribute.getNamespaceURI() == null) {
+                writer.writeAttribute(attribute.getName(), attribute.getValue());
+            } else {
+                writer.writeAttribute(
+                        attribute.getPrefix() != null ? attribute.getPrefix() : "",
+                        attribute.getNamespaceURI(),
+                        attribute.getLocalName(),
+                        attribute.getValue());
+            }
+        }
+    }
+
+    private void release() throws IOException {
+        StreamingPayload released = payload;
+        payload = null;
+        if (released instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private void writeToBody(SOAPBody body) throws XMLStreamException {
+        XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(new DOMResult(body));
+        payload.writeTo(writer);
+        writer.flush();
+        payload = null;
+    }
+}
@@ -0,0 +1,27 @@
+package ca.bc.gov.open.pcsscriminalapplication.streaming;
+
+import jakarta.xml.soap.SOAPException;
+import jakarta.xml.soap.SOAPMessage;
+import org.springframework.ws.soap.SoapMessageCreationException;
+import org.springframework.ws.soap.saaj.SaajSoapMessageFactory;
+
+/**
+ * SAAJ message factory whose new messages are {@link StreamingSoapMessage}s, so responses are
+ * marshalled to the wire without building a DOM for the body. Requests are still parsed by SAAJ:
+ * endpoint mapping, the interceptors and the endpoint each read the payload, which needs a
+ * re-readable tree.
+ */
+public class StreamingSoapMessageFactory extends SaajSoapMessageFactory {
+
+    @Override
+    public StreamingSoapMessage createWebServiceMessage() {
+        try {
+            SOAPMessage saajMessage = getMessageFactory().createMessage();
+            postProcess(saajMessage);
+            return new StreamingSoapMessage(saajMessage, getMessageFactory());
+        } catch (SOAPException e) {
+            throw new SoapMessageCreationException(
+                    "Could not create empty message: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package ca.bc.gov.open.pcsscriminalapplication.sync;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Where a paged sync stands: the caller it belongs to and the process-time window left to sync.
+ * Pages end on a whole process second, so {@code from} is the process time of the first record not
+ * returned yet and a page never re-reads what earlier pages returned.
+ *
+ * <p>The encoded form is opaque to callers but not signed. It carries nothing a caller could not
+ * ask for directly with RequestDtm and ProcessUpToDtm.
+ */
+public record SyncCursor(String agencyId, String partId, Instant from, Instant upTo) {
+
+    private static final byte VERSION = 3;
+
+    public SyncCursor {
+        agencyId = Objects.toString(agencyId, "");
+        partId = Objects.toString(partId, "");
+    }
+
+    /** The rest of the same window, from the given process time. */
+    public SyncCursor at(Instant from) {
+        return new SyncCursor(agencyId, partId, from, upTo);
+    }
+
+    public boolean belongsTo(String agencyId, String partId) {
+        return this.agencyId.equals(Objects.toString(agencyId, ""))
+                && this.partId.equals(Objects.toString(partId, ""));
+    }
+
+    public String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeUTF(agencyId);
+            out.writeUTF(partId);
+            out.writeLong(from.getEpochSecond());
+            out.writeLong(upTo.getEpochSecond());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /** @throws IllegalArgumentException when the cursor was not issued by {@link #encode} */
+    public static SyncCursor decode(String cursor) {
+        try (DataInputStream in =
+                new DataInputStream(
+                        new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor.trim())))) {
+            if (in.readByte() != VERSION) {
+                throw new IOException("Unsupported version");
+            }
+            SyncCursor decoded =
+                    new SyncCursor(
+                            in.readUTF(),
+                            in.readUTF(),
+                            Instant.ofEpochSecond(in.readLong()),
+                            Instant.ofEpochSecond(in.readLong()));
+            if (in.available() > 0) {
+                throw new IOException("Trailing bytes");
+            }
+            return decoded;
+        } catch (IOException | IllegalArgumentException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid sync cursor", e);
+        }
+    }
+}
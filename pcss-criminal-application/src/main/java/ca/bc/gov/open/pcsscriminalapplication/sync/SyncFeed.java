@@ -0,0 +1,21 @@
+package ca.bc.gov.open.pcsscriminalapplication.sync;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * One ORDS sync resource as the pager reads it.
+ *
+ * @param endpoint the Keys.ORDS_SYNC_* endpoint, naming the journal stream
+ * @param uri the resource for a slice's requestdtm and procuptodtm
+ * @param recordsField the JSON array holding the records, e.g. "appearance"
+ * @param processTime when a record was processed, the key it is journaled under
+ */
+public record SyncFeed<T>(
+        String endpoint,
+        BiFunction<Instant, Instant, URI> uri,
+        String recordsField,
+        Class<T> recordType,
+        Function<T, Instant> processTime) {}
@@ -0,0 +1,823 @@
+package ca.bc.gov.open.pcsscriminalapplication.sync;
+
+import ca.bc.gov.open.pcsscriminalapplication.properties.SyncJournalProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Append-only local journal of ORDS sync results, keyed by process time. Each ORDS call is
+ * journaled as a batch: its records, each under the process time it carries, followed by a commit
+ * entry naming the stream and the window the call covered. Only committed batches are indexed, so a
+ * call cut short by a failure or a restart is simply made again.
+ *
+ * <p>Segments are memory-mapped files of a fixed size, written at the tail only. The index of
+ * committed batches and record locations is kept in memory and rebuilt from the segments at
+ * startup. Batches older than the retention are dropped at compaction, which also deletes and
+ * unmaps empty segments and rewrites sparse ones at the tail. Compaction runs on its own thread and
+ * takes the lock one batch at a time, so appenders and readers are not held up behind it.
+ *
+ * <p>A stream is an ORDS sync endpoint for one agency and participant. Windows never overlap within
+ * a stream, so a record is journaled once however many callers asked for it.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(SyncJournalProperties.class)
+public class SyncJournal implements AutoCloseable {
+
+    private static final byte RECORD = 1;
+    private static final byte COMMIT = 2;
+
+    /** Length, type, batch id and key (the process second or the window start). */
+    private static final int HEADER = Integer.BYTES + 1 + Long.BYTES + Long.BYTES;
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private static final MethodHandle INVOKE_CLEANER = invokeCleaner();
+    private static final String LOCK_FILE = "journal.lock";
+
+    private static final Comparator<Entry> ORDER =
+            Comparator.comparingLong(Entry::second)
+                    .thenComparingLong(Entry::batchId)
+                    .thenComparingInt(Entry::index);
+
+    private final SyncJournalProperties properties;
+    private final Clock clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, StreamIndex> streams = new HashMap<>();
+    private final Map<Long, Batch> batches = new HashMap<>();
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final ExecutorService compactor;
+
+    private boolean enabled;
+    private FileChannel lockChannel;
+    private FileLock fileLock;
+    private long nextBatchId = 1;
+    private long records;
+    private volatile Instant lastCompaction;
+
+    @Autowired
+    public SyncJournal(SyncJournalProperties properties, MeterRegistry registry) {
+        this(properties, registry, Clock.systemUTC());
+    }
+
+    SyncJournal(SyncJournalProperties properties, MeterRegistry registry, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        CustomizableThreadFactory threadFactory =
+                new CustomizableThreadFactory("sync-journal-compaction-");
+        threadFactory.setDaemon(true);
+        this.compactor = Executors.newSingleThreadExecutor(threadFactory);
+        this.hits = reads(registry, "hit");
+        this.misses = reads(registry, "miss");
+        Gauge.builder("sync.journal.records", this, journal -> journal.records)
+                .description("Sync records held in the local journal")
+                .register(registry);
+        Gauge.builder("sync.journal.segments", segments, Map::size)
+                .description("Memory-mapped segment files of the local sync journal")
+                .register(registry);
+        if (properties.isEnabled()) {
+            try {
+                open();
+                enabled = true;
+            } catch (IOException e) {
+                log.warn(
+                        "Sync journal disabled, {} could not be opened: {}",
+                        properties.getDirectory(),
+                        e.getMessage());
+                close();
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The process-time window results are journaled for: from the retention horizon to the settle
+     * horizon. Anything outside it goes to ORDS directly.
+     */
+    public Window window() {
+        Instant now = clock.instant().truncatedTo(ChronoUnit.SECONDS);
+        return new Window(now.minus(properties.getRetention()), now.minus(properties.getSettle()));
+    }
+
+    /** The parts of the window no committed batch covers yet, in order. */
+    public List<Window> gaps(String stream, Instant from, Instant to) {
+        List<Window> gaps = new ArrayList<>();
+        lock.lock();
+        try {
+            long cursor = from.getEpochSecond();
+            long end = to.getEpochSecond();
+            StreamIndex index = streams.get(stream);
+            if (index != null) {
+                Map.Entry<Long, Batch> first = index.batches.floorEntry(cursor);
+                Long start =
+                        first != null && first.getValue().to > cursor ? first.getKey() : cursor;
+                for (Batch batch : index.batches.subMap(start, true, end, false).values()) {
+                    if (batch.from > cursor) {
+                        gaps.add(window(cursor, batch.from));
+                    }
+                    cursor = Math.max(cursor, batch.to);
+                }
+            }
+            if (cursor < end) {
+                gaps.add(window(cursor, end));
+            }
+        } finally {
+            lock.unlock();
+        }
+        (gaps.isEmpty() ? hits : misses).increment();
+        return gaps;
+    }
+
+    /**
+     * Starts journaling one ORDS call for the stream and window. Starts compaction in the
+     * background when it is due.
+     */
+    public Appender begin(String stream, Instant from, Instant to) {
+        Instant now = clock.instant();
+        if ((lastCompaction == null
+                        || Duration.between(lastCompaction, now)
+                                        .compareTo(properties.getCompactionInterval())
+                                >= 0)
+                && compacting.compareAndSet(false, true)) {
+            lastCompaction = now;
+            try {
+                compactor.execute(
+                        () -> {
+                            try {
+                                compact();
+                            } finally {
+                                compacting.set(false);
+                            }
+                        });
+            } catch (RejectedExecutionException e) {
+                // closed
+                compacting.set(false);
+            }
+        }
+        lock.lock();
+        try {
+            return new Appender(nextBatchId++, stream, from.getEpochSecond(), to.getEpochSecond());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records of the stream processed in the window, in process-time order, up to {@code take}
+     * records of whole process seconds; the first second is returned whole even when it holds more.
+     * The response code and message are those of the latest batch in the window.
+     */
+    public Read read(String stream, Instant from, Instant to, int take) {
+        List<byte[]> found = new ArrayList<>();
+        lock.lock();
+        try {
+            StreamIndex index = streams.get(stream);
+            if (index == null) {
+                return new Read(found, null, null, null);
+            }
+            NavigableSet<Entry> window =
+                    index.entries.subSet(
+                            new Entry(from.getEpochSecond(), Long.MIN_VALUE, 0, null, 0, 0),
+                            true,
+                            new Entry(to.getEpochSecond(), Long.MIN_VALUE, 0, null, 0, 0),
+                            false);
+            Instant next = null;
+            long second = Long.MIN_VALUE;
+            for (Entry entry : window) {
+                if (entry.second() != second && found.size() >= take) {
+                    next = Instant.ofEpochSecond(entry.second());
+                    break;
+                }
+                second = entry.second();
+                found.add(entry.payload());
+            }
+            Map.Entry<Long, Batch> latest = index.batches.lowerEntry(to.getEpochSecond());
+            Batch batch =
+                    latest != null && latest.getValue().to > from.getEpochSecond()
+                            ? latest.getValue()
+                            : null;
+            return new Read(
+                    found,
+                    batch != null ? batch.responseCd : null,
+                    batch != null ? batch.responseMessageTxt : null,
+                    next);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops expired batches, deletes empty segments and rewrites sparse ones at the tail. The lock
+     * is taken for each step and each batch moved rather than for the whole run.
+     */
+    public void compact() {
+        List<Segment> sparse = new ArrayList<>();
+        lock.lock();
+        try {
+            lastCompaction = clock.instant();
+            if (lockChannel == null) {
+                // closed
+                return;
+            }
+            expire(window().from().getEpochSecond());
+            Segment tail = segments.isEmpty() ? null : segments.lastEntry().getValue();
+            for (Segment segment : segments.values()) {
+                if (segment != tail
+                        && segment.live > 0
+                        && segment.live
+                                < properties.getCompactionThreshold() * segment.capacity()) {
+                    sparse.add(segment);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        try {
+            for (Segment segment : sparse) {
+                relocate(segment);
+            }
+        } catch (IOException e) {
+            log.warn("Sync journal compaction stopped: {}", e.getMessage());
+        }
+        lock.lock();
+        try {
+            Segment tail = segments.isEmpty() ? null : segments.lastEntry().getValue();
+            for (Segment segment : new ArrayList<>(segments.values())) {
+                if (segment != tail && segment.live == 0) {
+                    delete(segment);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Sync journal compaction stopped: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        compactor.shutdown();
+        lock.lock();
+        try {
+            enabled = false;
+            // nothing may reach the unmapped segments any more
+            streams.clear();
+            batches.clear();
+            segments.values().forEach(Segment::close);
+            segments.clear();
+            if (fileLock != null) {
+                fileLock.release();
+                fileLock = null;
+            }
+            if (lockChannel != null) {
+                lockChannel.close();
+                lockChannel = null;
+            }
+        } catch (IOException e) {
+            log.warn("Sync journal lock could not be released: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** A process-time window, start inclusive and end exclusive. */
+    public record Window(Instant from, Instant to) {}
+
+    /** {@code next} is the process time to read on from, null once the window is exhausted. */
+    public record Read(
+            List<byte[]> records, String responseCd, String responseMessageTxt, Instant next) {}
+
+    /** Writes one ORDS call's records; nothing is visible to readers until {@link #commit}. */
+    public final class Appender {
+
+        private final long batchId;
+        private final String stream;
+        private final long from;
+        private final long to;
+        private final List<Entry> entries = new ArrayList<>();
+        private boolean failed;
+
+        private Appender(long batchId, String stream, long from, long to) {
+            this.batchId = batchId;
+            this.stream = stream;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * @param processTime when the record was processed, the key it is journaled and read under;
+         *     a record without one is keyed at the start of the window
+         * @return false once the batch cannot be journaled, such as when the record was processed
+         *     outside the window: read back under its own time it would be served for windows the
+         *     call did not cover, under any other time for the wrong windows
+         */
+        public boolean add(Instant processTime, byte[] json) {
+            if (failed) {
+                return false;
+            }
+            long second = processTime == null ? from : processTime.getEpochSecond();
+            if (second < from || second >= to) {
+                log.debug(
+                        "Sync journal batch for {} dropped: a record was processed at {}, outside"
+                                + " the window",
+                        stream,
+                        processTime);
+                failed = true;
+                return false;
+            }
+            lock.lock();
+            try {
+                Location location = append(RECORD, batchId, second, json);
+                entries.add(
+                        new Entry(
+                                second,
+                                batchId,
+                                entries.size(),
+                                location.segment(),
+                                location.offset(),
+                                location.length()));
+                return true;
+            } catch (IOException e) {
+                log.warn("Sync journal batch for {} dropped: {}", stream, e.getMessage());
+                failed = true;
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @return false when the batch was not journaled: a record failed, the response code is not
+         *     journaled, or another caller journaled part of the window first
+         */
+        public boolean commit(String responseCd, String responseMessageTxt) {
+            if (failed || !properties.getResponseCodes().contains(responseCd)) {
+                return false;
+            }
+            lock.lock();
+            try {
+                StreamIndex index = streams.get(stream);
+                if (index != null && overlaps(index, from, to)) {
+                    return false;
+                }
+                Location location =
+                        append(
+                                COMMIT,
+                                batchId,
+                                from,
+                                commitPayload(to, stream, responseCd, responseMessageTxt));
+                install(
+                        new Batch(
+                                batchId,
+                                stream,
+                                from,
+                                to,
+                                responseCd,
+                                responseMessageTxt,
+                                entries,
+                                location));
+                return true;
+            } catch (IOException e) {
+                log.warn("Sync journal batch for {} dropped: {}", stream, e.getMessage());
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void open() throws IOException {
+        Path directory = properties.getDirectory();
+        Files.createDirectories(directory);
+        lockChannel =
+                FileChannel.open(
+                        directory.resolve(LOCK_FILE),
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE);
+        try {
+            fileLock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // held by another journal in this process
+        }
+        if (fileLock == null) {
+            throw new IOException("the directory is in use by another process");
+        }
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files =
+                    listing.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                            .toList();
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            int id = Integer.parseInt(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+            segments.put(id, Segment.open(id, file, Files.size(file)));
+        }
+        Map<Long, List<Entry>> pending = new HashMap<>();
+        for (Segment segment : segments.values()) {
+            replay(segment, pending);
+        }
+        compact();
+        log.info(
+                "Sync journal opened in {}: {} records in {} segments",
+                directory,
+                records,
+                segments.size());
+    }
+
+    private void replay(Segment segment, Map<Long, List<Entry>> pending) throws IOException {
+        ByteBuffer buffer = segment.buffer;
+        int position = 0;
+        while (position + HEADER <= segment.capacity()) {
+            int length = buffer.getInt(position);
+            if (length < HEADER || position + length > segment.capacity()) {
+                break;
+            }
+            byte type = buffer.get(position + Integer.BYTES);
+            long batchId = buffer.getLong(position + Integer.BYTES + 1);
+            long key = buffer.getLong(position + Integer.BYTES + 1 + Long.BYTES);
+            if (type == RECORD) {
+                List<Entry> entries = pending.computeIfAbsent(batchId, id -> new ArrayList<>());
+                entries.add(new Entry(key, batchId, entries.size(), segment, position, length));
+            } else if (type == COMMIT) {
+                Location location = new Location(segment, position, length);
+                try (DataInputStream in =
+                        new DataInputStream(new ByteArrayInputStream(location.payload()))) {
+                    long to = in.readLong();
+                    String stream = readString(in);
+                    String responseCd = readString(in);
+                    String responseMessageTxt = readString(in);
+                    Batch previous = batches.get(batchId);
+                    if (previous != null) {
+                        // a copy written by compaction supersedes the original
+                        uninstall(previous);
+                    }
+                    install(
+                            new Batch(
+                                    batchId,
+                                    stream,
+                                    key,
+                                    to,
+                                    responseCd,
+                                    responseMessageTxt,
+                                    pending.getOrDefault(batchId, List.of()),
+                                    location));
+                }
+                pending.remove(batchId);
+            } else {
+                break;
+            }
+            nextBatchId = Math.max(nextBatchId, batchId + 1);
+            position += length;
+        }
+        segment.position = position;
+    }
+
+    private Location append(byte type, long batchId, long key, byte[] payload) throws IOException {
+        int length = HEADER + payload.length;
+        ByteBuffer entry = ByteBuffer.allocate(length);
+        entry.putInt(length).put(type).putLong(batchId).putLong(key).put(payload);
+        return appendRaw(entry.array());
+    }
+
+    private Location appendRaw(byte[] entry) throws IOException {
+        if (lockChannel == null) {
+            throw new IOException("the journal is closed");
+        }
+        long segmentSize = properties.getSegmentSize().toBytes();
+        if (entry.length > segmentSize) {
+            throw new IOException(
+                    "an entry of " + entry.length + " bytes is larger than a journal segment");
+        }
+        Segment tail = segments.isEmpty() ? null : segments.lastEntry().getValue();
+        if (tail == null || tail.position + entry.length > tail.capacity()) {
+            int id = tail == null ? 1 : tail.id + 1;
+            tail =
+                    Segment.open(
+                            id,
+                            properties.getDirectory().resolve(id + SEGMENT_SUFFIX),
+                            segmentSize);
+            segments.put(id, tail);
+        }
+        int offset = tail.position;
+        tail.buffer.put(offset, entry);
+        tail.position += entry.length;
+        return new Location(tail, offset, entry.length);
+    }
+
+    private void install(Batch batch) {
+        batches.put(batch.id, batch);
+        StreamIndex index = streams.computeIfAbsent(batch.stream, stream -> new StreamIndex());
+        index.batches.put(batch.from, batch);
+        index.entries.addAll(batch.entries);
+        for (Entry entry : batch.entries) {
+            entry.segment().live += entry.length();
+        }
+        batch.commit.segment().live += batch.commit.length();
+        records += batch.entries.size();
+    }
+
+    private void uninstall(Batch batch) {
+        batches.remove(batch.id);
+        StreamIndex index = streams.get(batch.stream);
+        index.batches.remove(batch.from);
+        batch.entries.forEach(index.entries::remove);
+        if (index.batches.isEmpty()) {
+            streams.remove(batch.stream);
+        }
+        for (Entry entry : batch.entries) {
+            entry.segment().live -= entry.length();
+        }
+        batch.commit.segment().live -= batch.commit.length();
+        records -= batch.entries.size();
+    }
+
+    private void expire(long horizon) {
+        for (Batch batch : new ArrayList<>(batches.values())) {
+            if (batch.to <= horizon) {
+                uninstall(batch);
+            }
+        }
+    }
+
+    /**
+     * Copies every batch with bytes in the segment to the tail, in the same order, one batch per
+     * lock.
+     */
+    private void relocate(Segment segment) throws IOException {
+        List<Batch> affected;
+        lock.lock();
+        try {
+            affected =
+                    batches.values().stream()
+                            .filter(batch -> batch.uses(segment))
+                            .sorted(Comparator.comparingLong(batch -> batch.id))
+                            .toList();
+        } finally {
+            lock.unlock();
+        }
+        for (Batch batch : affected) {
+            lock.lock();
+            try {
+                if (batches.get(batch.id) == batch) {
+                    move(batch);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void move(Batch batch) throws IOException {
+        List<Entry> moved = new ArrayList<>(batch.entries.size());
+        for (Entry entry : batch.entries) {
+            Location location = appendRaw(entry.bytes());
+            moved.add(
+                    new Entry(
+                            entry.second(),
+                            entry.batchId(),
+                            entry.index(),
+                            location.segment(),
+                            location.offset(),
+                            location.length()));
+        }
+        Location commit = appendRaw(batch.commit.bytes());
+        uninstall(batch);
+        install(
+                new Batch(
+                        batch.id,
+                        batch.stream,
+                        batch.from,
+                        batch.to,
+                        batch.responseCd,
+                        batch.responseMessageTxt,
+                        moved,
+                        commit));
+    }
+
+    private void delete(Segment segment) throws IOException {
+        segments.remove(segment.id);
+        segment.close();
+        Files.deleteIfExists(segment.path);
+    }
+
+    private static boolean overlaps(StreamIndex index, long from, long to) {
+        Map.Entry<Long, Batch> before = index.batches.lowerEntry(to);
+        return before != null && before.getValue().to > from;
+    }
+
+    private static Window window(long from, long to) {
+        return new Window(Instant.ofEpochSecond(from), Instant.ofEpochSecond(to));
+    }
+
+    private static byte[] commitPayload(
+            long to, String stream, String responseCd, String responseMessageTxt)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(to);
+            writeString(out, stream);
+            writeString(out, responseCd);
+            writeString(out, responseMessageTxt);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private static Counter reads(MeterRegistry registry, String result) {
+        return Counter.builder("sync.journal.reads")
+                .description(
+                        "Sync slices served from the journal (hit) or that needed ORDS first"
+                                + " (miss)")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Unmaps a buffer now instead of whenever it is collected. Java 17 has no public API for this;
+     * without the unsupported one the mapping is released by the garbage collector.
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invokeExact((ByteBuffer) buffer);
+        } catch (Throwable e) {
+            log.warn("Sync journal segment could not be unmapped: {}", e.getMessage());
+        }
+    }
+
+    private static MethodHandle invokeCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(
+                            unsafeClass,
+                            "invokeCleaner",
+                            MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(theUnsafe.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.info("Sync journal segments are unmapped when collected: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static final class Segment {
+
+        private final int id;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int position;
+        private long live;
+
+        private Segment(int id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment open(int id, Path path, long size) throws IOException {
+            FileChannel channel =
+                    FileChannel.open(
+                            path,
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.READ,
+                            StandardOpenOption.WRITE);
+            return new Segment(
+                    id, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+
+        int capacity() {
+            return buffer.capacity();
+        }
+
+        /** Closes the file and unmaps it, so a deleted segment's disk space is freed at once. */
+        void close() {
+            try {
+                buffer.force();
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Sync journal segment {} could not be closed: {}", path, e.getMessage());
+            }
+            unmap(buffer);
+        }
+    }
+
+    private record Location(Segment segment, int offset, int length) {
+
+        byte[] bytes() {
+            byte[] bytes = new byte[length];
+            segment.buffer.get(offset, bytes);
+            return bytes;
+        }
+
+        byte[] payload() {
+            byte[] payload = new byte[length - HEADER];
+            segment.buffer.get(offset + HEADER, payload);
+            return payload;
+        }
+    }
+
+    private record Entry(
+            long second, long batchId, int index, Segment segment, int offset, int length) {
+
+        byte[] bytes() {
+            return new Location(segment, offset, length).bytes();
+        }
+
+        byte[] payload() {
+            return new Location(segment, offset, length).payload();
+        }
+    }
+
+    private record Batch(
+            long id,
+            String stream,
+            long from,
+            long to,
+            String responseCd,
+            String responseMessageTxt,
+            List<Entry> entries,
+            Location commit) {
+
+        boolean uses(Segment segment) {
+            return commit.segment() == segment
+                    || entries.stream().anyMatch(entry -> entry.segment() == segment);
+        }
+    }
+
+    private static final class StreamIndex {
+        private final TreeMap<Long, Batch> batches = new TreeMap<>();
+        private final TreeSet<Entry> entries = new TreeSet<>(ORDER);
+    }
+}
@@ -0,0 +1,10 @@
+package ca.bc.gov.open.pcsscriminalapplication.sync;
+
+import java.util.List;
+
+/**
+ * One page of a sync window. The response code and message are those of the last ORDS call made for
+ * the page; {@code nextCursor} is null once the window is exhausted.
+ */
+public record SyncPage<T>(
+        List<T> records, String responseCd, String responseMessageTxt, String nextCursor) {}
@@ -0,0 +1,431 @@
+package ca.bc.gov.open.pcsscriminalapplication.sync;
+
+import ca.bc.gov.open.pcsscriminalapplication.properties.SyncPagingProperties;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Pages through a sync window by asking ORDS for one process-time slice at a time. Each slice is
+ * read as a token stream through restTemplateStreaming, which leaves out the cache and coalescing
+ * interceptors that would buffer the whole body. Only the records of the earliest process seconds
+ * that fit the page are kept, so at most one page of records is held, however large the backlog.
+ *
+ * <p>A page ends on a whole process second and the next one asks ORDS for the rest of the slice
+ * from the first second it did not return, so no page re-reads what an earlier page returned. A
+ * page holds more than the page size only when a single second does. ORDS dates have second
+ * precision, so a record processed on a slice boundary can be returned by both slices; sync
+ * consumers already apply records by id.
+ *
+ * <p>With the {@link SyncJournal} enabled, slices inside its window are served from the journal.
+ * Whatever part of such a slice the journal does not cover yet is fetched from ORDS and journaled
+ * first, so repeated and overlapping windows only send the uncovered parts to ORDS. Slices still
+ * settling, or older than the retention, go to ORDS directly.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(SyncPagingProperties.class)
+public class SyncPager {
+
+    private static final String RESPONSE_CD = "responseCd";
+    private static final String RESPONSE_MESSAGE_TXT = "responseMessageTxt";
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final SyncPagingProperties properties;
+    private final SyncJournal journal;
+
+    public SyncPager(
+            @Qualifier("restTemplateStreaming") RestTemplate restTemplate,
+            ObjectMapper objectMapper,
+            SyncPagingProperties properties,
+            SyncJournal journal) {
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.journal = journal;
+    }
+
+    /** Callers that send neither a PageSize nor a Cursor get the single-shot response. */
+    public boolean isPaged(Integer pageSize, String cursor) {
+        return pageSize != null || StringUtils.hasText(cursor);
+    }
+
+    /** Whether single-shot requests are answered through the journal too. */
+    public boolean isJournaled() {
+        return journal.isEnabled();
+    }
+
+    /**
+     * The cursor to continue from, or the start of the requested window on the first page.
+     *
+     * @throws IllegalArgumentException when the cursor is invalid or belongs to another caller, or
+     *     a first page has no window
+     */
+    public SyncCursor resume(
+            String agencyId,
+            String partId,
+            Instant requestDtm,
+            Instant processUpToDtm,
+            String cursor) {
+        if (StringUtils.hasText(cursor)) {
+            SyncCursor resumed = SyncCursor.decode(cursor);
+            if (!resumed.belongsTo(agencyId, partId)) {
+                throw new IllegalArgumentException(
+                        "Sync cursor was issued for another agency or participant");
+            }
+            return resumed;
+        }
+        if (requestDtm == null || processUpToDtm == null) {
+            throw new IllegalArgumentException(
+                    "RequestDtm and ProcessUpToDtm are required for a paged sync");
+        }
+        return new SyncCursor(
+                agencyId,
+                partId,
+                requestDtm.truncatedTo(ChronoUnit.SECONDS),
+                processUpToDtm.truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    public int pageSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return Math.min(properties.getDefaultPageSize(), properties.getMaxPageSize());
+        }
+        return Math.min(requested, properties.getMaxPageSize());
+    }
+
+    /**
+     * Fills one page from consecutive slices until it is full, the window is exhausted or the page
+     * has made maxCallsPerPage ORDS calls.
+     */
+    public <T> SyncPage<T> page(SyncFeed<T> feed, SyncCursor cursor, int pageSize) {
+        return page(feed, cursor, pageSize, properties.getMaxCallsPerPage());
+    }
+
+    /**
+     * The whole window in one response, as the single-shot operations return it. The window is not
+     * sliced: the parts before and after the journal's window are each one ORDS call, and the part
+     * inside it is read from the journal once its gaps are filled. A record an earlier part
+     * returned on or after that part's end is dropped, the next part returns it as well.
+     */
+    public <T> SyncPage<T> window(SyncFeed<T> feed, SyncCursor cursor) {
+        String stream = feed.endpoint() + ' ' + cursor.agencyId() + ' ' + cursor.partId();
+        Instant journalFrom = cursor.upTo();
+        Instant journalTo = cursor.upTo();
+        if (journal.isEnabled()) {
+            SyncJournal.Window window = journal.window();
+            journalFrom = max(cursor.from(), min(cursor.upTo(), window.from()));
+            journalTo = max(journalFrom, min(cursor.upTo(), window.to()));
+        }
+        List<T> records = new ArrayList<>();
+        String responseCd = null;
+        String responseMessageTxt = null;
+        int calls = 0;
+        List<Part> parts =
+                Stream.of(
+                                new Part(cursor.from(), journalFrom, false),
+                                new Part(journalFrom, journalTo, true),
+                                new Part(journalTo, cursor.upTo(), false))
+                        .filter(part -> part.to().isAfter(part.from()))
+                        .toList();
+        if (parts.isEmpty()) {
+            // an empty window still makes the one call the single-shot path would
+            parts = List.of(new Part(cursor.from(), cursor.upTo(), false));
+        }
+        for (Part part : parts) {
+            Slice<T> slice =
+                    part.journaled()
+                            ? fromJournal(feed, stream, part.from(), part.to(), Integer.MAX_VALUE)
+                            : fromOrds(feed, part.from(), part.to(), Integer.MAX_VALUE);
+            calls += slice.calls();
+            if (slice.responseCd() != null) {
+                responseCd = slice.responseCd();
+                responseMessageTxt = slice.responseMessageTxt();
+            }
+            if (part.to().isBefore(cursor.upTo())) {
+                long end = part.to().getEpochSecond();
+                for (T record : slice.records()) {
+                    Instant processTime = feed.processTime().apply(record);
+                    if (processTime == null || processTime.getEpochSecond() < end) {
+                        records.add(record);
+                    }
+                }
+            } else {
+                records.addAll(slice.records());
+            }
+        }
+
+        log.debug("Sync window of {} records from {} ORDS calls", records.size(), calls);
+        return new SyncPage<>(records, responseCd, responseMessageTxt, null);
+    }
+
+    private <T> SyncPage<T> page(SyncFeed<T> feed, SyncCursor cursor, int pageSize, int maxCalls) {
+        String stream = feed.endpoint() + ' ' + cursor.agencyId() + ' ' + cursor.partId();
+        List<T> records = new ArrayList<>();
+        String responseCd = null;
+        String responseMessageTxt = null;
+        Instant sliceStart = cursor.from();
+        int calls = 0;
+        // an empty window still makes the one call the single-shot path would
+        do {
+            Instant sliceEnd = min(sliceEnd(sliceStart), cursor.upTo());
+            boolean journaled = false;
+            if (journal.isEnabled() && sliceEnd.isAfter(sliceStart)) {
+                SyncJournal.Window window = journal.window();
+                if (sliceStart.isBefore(window.from())) {
+                    sliceEnd = min(sliceEnd, window.from());
+                } else if (sliceStart.isBefore(window.to())) {
+                    sliceEnd = min(sliceEnd, window.to());
+                    journaled = true;
+                }
+            }
+            int take = pageSize - records.size();
+            Slice<T> slice =
+                    journaled
+                            ? fromJournal(feed, stream, sliceStart, sliceEnd, take)
+                            : fromOrds(feed, sliceStart, sliceEnd, take);
+            calls += slice.calls();
+            if (slice.responseCd() != null) {
+                responseCd = slice.responseCd();
+                responseMessageTxt = slice.responseMessageTxt();
+            }
+            if (!records.isEmpty() && slice.records().size() > take) {
+                // a second larger than what is left of the page starts the next page
+                break;
+            }
+            records.addAll(slice.records());
+            if (slice.next() != null) {
+                sliceStart = slice.next();
+                break;
+            }
+            sliceStart = sliceEnd;
+        } while (records.size() < pageSize
+                && sliceStart.isBefore(cursor.upTo())
+                && calls < maxCalls);
+
+        log.debug("Sync page of {} records from {} ORDS calls", records.size(), calls);
+        String next = sliceStart.isBefore(cursor.upTo()) ? cursor.at(sliceStart).encode() : null;
+        return new SyncPage<>(records, responseCd, responseMessageTxt, next);
+    }
+
+    private <T> Slice<T> fromOrds(SyncFeed<T> feed, Instant from, Instant to, int take) {
+        Collector<T> collector = new Collector<>(feed, from, to, take);
+        Status status = fetch(feed, from, to, collector);
+        return new Slice<>(
+                collector.records(),
+                status.responseCd(),
+                status.responseMessageTxt(),
+                collector.next(),
+                1);
+    }
+
+    private <T> Slice<T> fromJournal(
+            SyncFeed<T> feed, String stream, Instant from, Instant to, int take) {
+        int calls = 0;
+        for (SyncJournal.Window gap : journal.gaps(stream, from, to)) {
+            calls++;
+            if (!fill(feed, stream, gap)) {
+                // not journaled, e.g. an unexpected response code: answer from ORDS as before
+                Slice<T> direct = fromOrds(feed, from, to, take);
+                return new Slice<>(
+                        direct.records(),
+                        direct.responseCd(),
+                        direct.responseMessageTxt(),
+                        direct.next(),
+                        calls + direct.calls());
+            }
+        }
+        SyncJournal.Read read = journal.read(stream, from, to, take);
+        List<T> records = new ArrayList<>(read.records().size());
+        try {
+            for (byte[] json : read.records()) {
+                records.add(objectMapper.readValue(json, feed.recordType()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Slice<>(
+                records, read.responseCd(), read.responseMessageTxt(), read.next(), calls);
+    }
+
+    /** Journals one ORDS call; false when the journal did not keep it. */
+    private <T> boolean fill(SyncFeed<T> feed, String stream, SyncJournal.Window gap) {
+        SyncJournal.Appender appender = journal.begin(stream, gap.from(), gap.to());
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        Status status =
+                fetch(
+                        feed,
+                        gap.from(),
+                        gap.to(),
+                        parser -> {
+                            buffer.reset();
+                            try (JsonGenerator generator = objectMapper.createGenerator(buffer)) {
+                                generator.copyCurrentStructure(parser);
+                            }
+                            byte[] json = buffer.toByteArray();
+                            appender.add(
+                                    feed.processTime()
+                                            .apply(objectMapper.readValue(json, feed.recordType())),
+                                    json);
+                        });
+        return appender.commit(status.responseCd(), status.responseMessageTxt());
+    }
+
+    private <T> Status fetch(SyncFeed<T> feed, Instant from, Instant to, RecordHandler handler) {
+        return restTemplate.execute(
+                feed.uri().apply(from, to),
+                HttpMethod.GET,
+                restTemplate.acceptHeaderRequestCallback(feed.recordType()),
+                response -> read(response, feed.recordsField(), handler));
+    }
+
+    private Status read(ClientHttpResponse response, String recordsField, RecordHandler handler)
+            throws IOException {
+        String responseCd = null;
+        String responseMessageTxt = null;
+        try (JsonParser parser = objectMapper.createParser(response.getBody())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("ORDS sync response is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (RESPONSE_CD.equalsIgnoreCase(field)) {
+                    responseCd = parser.getValueAsString();
+                } else if (RESPONSE_MESSAGE_TXT.equalsIgnoreCase(field)) {
+                    responseMessageTxt = parser.getValueAsString();
+                } else if (recordsField.equalsIgnoreCase(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        if (parser.currentToken() == JsonToken.START_OBJECT) {
+                            handler.record(parser);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    continue;
+                }
+                parser.skipChildren();
+            }
+        }
+        return new Status(responseCd, responseMessageTxt);
+    }
+
+    /**
+     * Slices end on multiples of the slice length, so a page resumed part-way through a slice and
+     * windows of other callers ask ORDS for, and journal, the same slices.
+     */
+    private Instant sliceEnd(Instant sliceStart) {
+        long slice = Math.max(1, properties.getSlice().getSeconds());
+        return Instant.ofEpochSecond(
+                Math.floorDiv(sliceStart.getEpochSecond(), slice) * slice + slice);
+    }
+
+    private static Instant min(Instant a, Instant b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static Instant max(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    /** Consumes one record, the parser positioned on its START_OBJECT. */
+    @FunctionalInterface
+    private interface RecordHandler {
+        void record(JsonParser parser) throws IOException;
+    }
+
+    /**
+     * Keeps the records of the earliest process seconds of a slice, up to {@code take} records of
+     * whole seconds, or the first second alone when it holds more. Records are returned in the
+     * order ORDS sent them. A record without a process time, or with one outside the slice, counts
+     * as processed at the nearest end of the slice.
+     */
+    private final class Collector<T> implements RecordHandler {
+
+        private final SyncFeed<T> feed;
+        private final long from;
+        private final long last;
+        private final int take;
+        private final TreeMap<Long, List<Held<T>>> seconds = new TreeMap<>();
+        private int held;
+        private int received;
+        private Long cut;
+
+        private Collector(SyncFeed<T> feed, Instant from, Instant to, int take) {
+            this.feed = feed;
+            this.from = from.getEpochSecond();
+            this.last = Math.max(this.from, to.getEpochSecond() - 1);
+            this.take = take;
+        }
+
+        @Override
+        public void record(JsonParser parser) throws IOException {
+            T record = objectMapper.readValue(parser, feed.recordType());
+            Instant processTime = feed.processTime().apply(record);
+            long second =
+                    processTime == null
+                            ? from
+                            : Math.max(from, Math.min(last, processTime.getEpochSecond()));
+            if (cut != null && second >= cut) {
+                return;
+            }
+            seconds.computeIfAbsent(second, key -> new ArrayList<>())
+                    .add(new Held<>(received++, record));
+            held++;
+            // the latest second is left to the next page once the earlier ones fill this one
+            while (held > take && seconds.size() > 1) {
+                Map.Entry<Long, List<Held<T>>> latest = seconds.pollLastEntry();
+                held -= latest.getValue().size();
+                cut = latest.getKey();
+            }
+        }
+
+        List<T> records() {
+            return seconds.values().stream()
+                    .flatMap(List::stream)
+                    .sorted(Comparator.comparingInt(Held::order))
+                    .map(Held::record)
+                    .toList();
+        }
+
+        /** The first process second left out, null when the whole slice was kept. */
+        Instant next() {
+            return cut != null ? Instant.ofEpochSecond(cut) : null;
+        }
+    }
+
+    private record Held<T>(int order, T record) {}
+
+    private record Status(String responseCd, String responseMessageTxt) {}
+
+    /** A part of a single-shot window, read from ORDS or through the journal. */
+    private record Part(Instant from, Instant to, boolean journaled) {}
+
+    /** {@code next} is where the slice continues, null once it was read to its end. */
+    private record Slice<T>(
+            List<T> records,
+            String responseCd,
+            String responseMessageTxt,
+            Instant next,
+            int calls) {}
+}
@@ -0,0 +1,127 @@
+package ca.bc.gov.open.pcsscriminalapplication.utils;
+
+import ca.bc.gov.open.pcsscriminalapplication.resilience.LocalRefusal;
+import ca.bc.gov.open.pcsscriminalapplication.resilience.RequestDeadline;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Splits a list into fixed size chunks and runs one upstream call per chunk on the shared fan-out
+ * executor, with at most {@code parallelism} chunks of a single request in flight. Results come
+ * back in chunk order and every chunk's latency is recorded as fanout.chunk{call}. Chunks run under
+ * the {@link RequestDeadline} of the request that fanned out. A chunk the executor refuses fails
+ * the whole call at once, as a {@link LocalRefusal}. When the call fails, the chunks still running
+ * are interrupted. A chunk failure ends the call as soon as it happens.
+ */
+@Component
+public class ChunkedFanOut {
+
+    private final ExecutorService executor;
+    private final MeterRegistry registry;
+
+    public ChunkedFanOut(
+            @Qualifier("fanOutExecutor") ExecutorService executor, MeterRegistry registry) {
+        this.executor = executor;
+        this.registry = registry;
+    }
+
+    public static <T> List<List<T>> partition(List<T> items, int chunkSize) {
+        int size = Math.max(1, chunkSize);
+        List<List<T>> chunks = new ArrayList<>((items.size() + size - 1) / size);
+        for (int from = 0; from < items.size(); from += size) {
+            chunks.add(items.subList(from, Math.min(items.size(), from + size)));
+        }
+        return chunks;
+    }
+
+    /**
+     * @return one result per chunk, in the order of the chunks
+     * @throws RuntimeException the first failure of any chunk, unwrapped
+     * @throws RejectedExecutionException when the executor is full
+     */
+    public <T, R> List<R> map(
+            String call, List<List<T>> chunks, int parallelism, Function<List<T>, R> task) {
+        Timer timer =
+                Timer.builder("fanout.chunk")
+                        .description("Latency of one chunk of a fanned out upstream call")
+                        .tag("call", call)
+                        .publishPercentileHistogram()
+                        .register(registry);
+        if (chunks.size() == 1) {
+            return List.of(timer.record(() -> task.apply(chunks.get(0))));
+        }
+
+        Semaphore permits = new Semaphore(Math.max(1, parallelism));
+        CompletionService<R> completion = new ExecutorCompletionService<>(executor);
+        List<Future<R>> futures = new ArrayList<>(chunks.size());
+        try {
+            int done = 0;
+            for (List<T> chunk : chunks) {
+                permits.acquire();
+                done += drain(completion);
+                Supplier<R> run =
+                        RequestDeadline.propagate(() -> timer.record(() -> task.apply(chunk)));
+                // FutureTasks, unlike CompletableFutures, interrupt the chunk when cancelled
+                futures.add(
+                        completion.submit(
+                                () -> {
+                                    try {
+                                        return run.get();
+                                    } finally {
+                                        permits.release();
+                                    }
+                                }));
+            }
+            // in the order they complete, so the first failure ends the call
+            for (; done < futures.size(); done++) {
+                completion.take().get();
+            }
+            List<R> results = new ArrayList<>(futures.size());
+            for (Future<R> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (RejectedExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            LocalRefusal.mark();
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Interrupted dispatching " + call, e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /** Checks the chunks completed so far; the number of them. */
+    private static <R> int drain(CompletionService<R> completion)
+            throws ExecutionException, InterruptedException {
+        int done = 0;
+        for (Future<R> future = completion.poll(); future != null; future = completion.poll()) {
+            future.get();
+            done++;
+        }
+        return done;
+    }
+}
@@ -1,11 +1,11 @@
 package ca.bc.gov.open.pcsscriminalapplication.utils;
 
+import ca.bc.gov.open.pcsscriminalcommon.utils.OrdsDateCodec;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
+import java.time.LocalDateTime;
 import java.util.Date;
-import java.util.Locale;
+import java.util.TimeZone;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
@@ -20,22 +20,24 @@ public class DateUtils {
 
         if (StringUtils.isBlank(inDate)) return null;
 
-        try {
-            SimpleDateFormat dt = new SimpleDateFormat("dd-MMM-yy hh.mm.ss.SSSSSS a", Locale.US);
-            Date date = dt.parse(inDate);
-            SimpleDateFormat dt1 = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.S");
-            return dt1.format(date);
-        } catch (Exception e) {
-            try {
-                SimpleDateFormat dt = new SimpleDateFormat("dd-MMM-yy", Locale.US);
-                Date date1 = dt.parse(inDate);
-                SimpleDateFormat dt1 = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.S");
-                return dt1.format(date1);
-            } catch (Exception e1) {
-                log.error("Invalid date returned from ords");
-            }
+        // parsed and printed in the same zone, so no conversion is needed on the fast path
+        LocalDateTime dateTime =
+                OrdsDateCodec.parse(
+                        inDate,
+                        OrdsDateCodec.Format.DATE_TIME,
+                        OrdsDateCodec.Format.DAY_MONTH_YEAR);
+        if (dateTime != null) {
+            return OrdsDateCodec.formatWithMillis(dateTime);
         }
 
+        Date date =
+                OrdsDateCodec.parseLenient(
+                        inDate, TimeZone.getDefault(), "dd-MMM-yy hh.mm.ss.SSSSSS a", "dd-MMM-yy");
+        if (date != null) {
+            return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.S").format(date);
+        }
+
+        log.error("Invalid date returned from ords");
         return inDate;
     }
 
@@ -44,10 +46,7 @@ public class DateUtils {
             return null;
         }
 
-        return DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
-                .withZone(ZoneId.of("GMT-7"))
-                .withLocale(Locale.US)
-                .format(inDate);
+        return OrdsDateCodec.ORDS_DATE_TIME.format(inDate);
     }
 
     public static String formatTo21Length(Instant inDate) {
@@ -55,9 +54,6 @@ public class DateUtils {
             return null;
         }
 
-        return DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.0")
-                .withZone(ZoneId.of("GMT-7"))
-                .withLocale(Locale.US)
-                .format(inDate);
+        return OrdsDateCodec.ORDS_DATE_TIME.format(inDate) + ".0";
     }
 }
@@ -1,24 +1,188 @@
 package ca.bc.gov.open.pcsscriminalapplication.utils;
 
 import ca.bc.gov.open.pcsscriminalapplication.model.OrdsErrorLog;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
 public class LogBuilder {
 
+    /** Characters of the serialized request kept in a log line before it is truncated. */
+    public static final int DEFAULT_MAX_REQUEST_CHARS = 16 * 1024;
+
     private final ObjectMapper objectMapper;
+    private final int maxRequestChars;
 
+    @Autowired
     public LogBuilder(ObjectMapper objectMapper) {
+        this(objectMapper, DEFAULT_MAX_REQUEST_CHARS);
+    }
+
+    public LogBuilder(ObjectMapper objectMapper, int maxRequestChars) {
         this.objectMapper = objectMapper;
+        this.maxRequestChars = maxRequestChars;
     }
 
     public String writeLogMessage(
-            String errorMessage, String method, Object requestObject, String exception)
-            throws JsonProcessingException {
+            String errorMessage, String method, Object requestObject, String exception) {
+        return render(new OrdsErrorLog(errorMessage, method, exception, requestObject));
+    }
+
+    /**
+     * Same message as {@link #writeLogMessage}, rendered only when its {@code toString} is called.
+     * Pass it as an argument, e.g. {@code log.error("{}", logBuilder.logMessage(...))}, so nothing
+     * is serialized unless the event is emitted.
+     */
+    public Object logMessage(
+            String errorMessage, String method, Object requestObject, String exception) {
+        return new LazyLogMessage(new OrdsErrorLog(errorMessage, method, exception, requestObject));
+    }
+
+    /**
+     * Writes the log as JSON. The request is written through a capped buffer, so a large request
+     * costs at most {@code maxRequestChars} before serialization stops; it is then logged as a
+     * truncated string. Never throws, a request that cannot be serialized is logged by type.
+     */
+    private String render(OrdsErrorLog errorLog) {
+        CappedWriter out = new CappedWriter(maxRequestChars);
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            writeHeader(generator, errorLog);
+            generator.flush();
+            out.startCapping();
+            objectMapper.writeValue(generator, errorLog.getRequest());
+            generator.writeEndObject();
+        } catch (IOException | RuntimeException e) {
+            // serializers wrap the cap exception, so ask the writer
+            if (out.reachedCap()) {
+                return render(errorLog, out.capped(), true);
+            }
+            return render(
+                    errorLog,
+                    "unserializable " + errorLog.getRequest().getClass().getName(),
+                    false);
+        }
+        return out.toString();
+    }
+
+    private String render(OrdsErrorLog errorLog, String request, boolean truncated) {
+        StringWriter out = new StringWriter(128 + request.length());
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            writeHeader(generator, errorLog);
+            generator.writeString(request);
+            if (truncated) {
+                generator.writeBooleanField("requestTruncated", true);
+            }
+            generator.writeEndObject();
+        } catch (IOException | RuntimeException e) {
+            // only a broken mapper gets here, keep the error line
+            return errorLog.getMessage()
+                    + " "
+                    + errorLog.getMethod()
+                    + " "
+                    + errorLog.getException();
+        }
+        return out.toString();
+    }
+
+    private static void writeHeader(JsonGenerator generator, OrdsErrorLog errorLog)
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("message", errorLog.getMessage());
+        generator.writeStringField("method", errorLog.getMethod());
+        generator.writeStringField("exception", errorLog.getException());
+        generator.writeFieldName("request");
+    }
+
+    private final class LazyLogMessage {
+
+        private final OrdsErrorLog errorLog;
+        private String rendered;
+
+        private LazyLogMessage(OrdsErrorLog errorLog) {
+            this.errorLog = errorLog;
+        }
+
+        @Override
+        public String toString() {
+            if (rendered == null) {
+                rendered = render(errorLog);
+            }
+            return rendered;
+        }
+    }
+
+    /**
+     * Collects the log line and, once capping starts, stops the serializer when the request has
+     * written {@code cap} characters, keeping what was written so far.
+     */
+    private static final class CappedWriter extends Writer {
+
+        private final StringBuilder buffer = new StringBuilder(256);
+        private final int cap;
+        private int limit = Integer.MAX_VALUE;
+        private int start;
+        private boolean reachedCap;
+
+        private CappedWriter(int cap) {
+            this.cap = cap;
+        }
+
+        private void startCapping() {
+            // the generator writes the field name separator with the value
+            start = buffer.length() + 1;
+            limit = start + cap;
+        }
+
+        private boolean reachedCap() {
+            return reachedCap;
+        }
+
+        /** @return the part of the request written before the cap was reached */
+        private String capped() {
+            return buffer.substring(start);
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            int room = limit - buffer.length();
+            if (length > room) {
+                buffer.append(chars, offset, room);
+                reachedCap = true;
+                throw new CapReachedException();
+            }
+            buffer.append(chars, offset, length);
+        }
+
+        @Override
+        public void flush() {
+            // in memory
+        }
+
+        @Override
+        public void close() {
+            // in memory
+        }
+
+        @Override
+        public String toString() {
+            return buffer.toString();
+        }
+    }
+
+    private static final class CapReachedException extends IOException {
+
+        private CapReachedException() {
+            super("Request exceeds the log size cap");
+        }
 
-        return objectMapper.writeValueAsString(
-                new OrdsErrorLog(errorMessage, method, exception, requestObject));
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
     }
 }
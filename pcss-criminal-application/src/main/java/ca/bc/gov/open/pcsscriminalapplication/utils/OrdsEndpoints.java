@@ -0,0 +1,119 @@
+package ca.bc.gov.open.pcsscriminalapplication.utils;
+
+import ca.bc.gov.open.pcsscriminalapplication.Keys;
+import java.net.URI;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/** Maps outbound ORDS request URIs back to their Keys.ORDS_* endpoint and SOAP operation. */
+public class OrdsEndpoints {
+
+    /** Longest first so "secure/appearance/method" wins over "appearance/method". */
+    private static final List<String> ENDPOINTS =
+            List.of(
+                            Keys.ORDS_APPEARANCE,
+                            Keys.ORDS_APPEARANCE_SECURE,
+                            Keys.ORDS_APPEARANCE_METHOD,
+                            Keys.ORDS_APPEARANCE_METHOD_SECURE,
+                            Keys.ORDS_APPEARANCE_COUNT,
+                            Keys.ORDS_APPEARANCE_COUNT_SECURE,
+                            Keys.ORDS_APPEARANCE_RESOURCE,
+                            Keys.ORDS_HEARING,
+                            Keys.ORDS_HEALTH,
+                            Keys.ORDS_PING,
+                            Keys.ORDS_PERSONNEL_AVAILABILITY,
+                            Keys.ORDS_PERSONNEL_DETAIL,
+                            Keys.ORDS_PERSONNEL_SEARCH,
+                            Keys.ORDS_SYNC_APPEARANCE,
+                            Keys.ORDS_SYNC_HEARING,
+                            Keys.ORDS_CROWN_FILE_DETAIL,
+                            Keys.ORDS_CROWN_ASSIGNMENT,
+                            Keys.ORDS_COUNSEL_DETAIL_CRIMINAL,
+                            Keys.ORDS_CLOSED_FILE,
+                            Keys.ORDS_FILE_DETAIL,
+                            Keys.ORDS_SECURE_FILE_DETAIL,
+                            Keys.ORDS_FILE_NOTE,
+                            Keys.ORDS_FILE_ACCESS,
+                            Keys.ORDS_FILE_DEMS_CASE_URL)
+                    .stream()
+                    .sorted(Comparator.comparingInt(String::length).reversed())
+                    .toList();
+
+    /** The ORDS GET endpoint behind each read-style SOAP operation. */
+    private static final Map<String, String> SOAP_READ_ENDPOINTS =
+            Map.ofEntries(
+                    Map.entry(Keys.SOAP_METHOD_APPEARANCE, Keys.ORDS_APPEARANCE),
+                    Map.entry(Keys.SOAP_METHOD_APPEARANCE_SECURE, Keys.ORDS_APPEARANCE_SECURE),
+                    Map.entry(Keys.SOAP_METHOD_APPEARANCE_APPR_METHOD, Keys.ORDS_APPEARANCE_METHOD),
+                    Map.entry(
+                            Keys.SOAP_METHOD_APPEARANCE_APPR_METHOD_SECURE,
+                            Keys.ORDS_APPEARANCE_METHOD_SECURE),
+                    Map.entry(Keys.SOAP_METHOD_APPEARANCE_RESOURCE, Keys.ORDS_APPEARANCE_RESOURCE),
+                    Map.entry(Keys.SOAP_METHOD_APPEARANCE_COUNT, Keys.ORDS_APPEARANCE_COUNT),
+                    Map.entry(
+                            Keys.SOAP_METHOD_APPEARANCE_COUNT_SECURE,
+                            Keys.ORDS_APPEARANCE_COUNT_SECURE),
+                    Map.entry(Keys.SOAP_METHOD_FILE_CLOSED, Keys.ORDS_CLOSED_FILE),
+                    Map.entry(Keys.SOAP_METHOD_FILE_DETAIL, Keys.ORDS_FILE_DETAIL),
+                    Map.entry(Keys.SOAP_METHOD_FILE_DETAIL_SECURE, Keys.ORDS_SECURE_FILE_DETAIL),
+                    Map.entry(Keys.SOAP_METHOD_HEALTH, Keys.ORDS_HEALTH),
+                    Map.entry(Keys.SOAP_METHOD_PING, Keys.ORDS_PING),
+                    Map.entry(
+                            Keys.SOAP_METHOD_PERSONNEL_AVAILABILITY,
+                            Keys.ORDS_PERSONNEL_AVAILABILITY),
+                    Map.entry(Keys.SOAP_METHOD_PERSONNEL_DETAIL, Keys.ORDS_PERSONNEL_DETAIL),
+                    Map.entry(Keys.SOAP_METHOD_PERSONNEL_SEARCH, Keys.ORDS_PERSONNEL_SEARCH),
+                    Map.entry(Keys.SOAP_METHOD_SYNC_APPEARANCE, Keys.ORDS_SYNC_APPEARANCE),
+                    Map.entry(Keys.SOAP_METHOD_SYNC_HEARING, Keys.ORDS_SYNC_HEARING),
+                    Map.entry(Keys.SOAP_METHOD_CROWN_ASSIGNMENT, Keys.ORDS_CROWN_ASSIGNMENT));
+
+    /** The ORDS endpoint each write-style SOAP operation POSTs to. */
+    private static final Map<String, String> SOAP_WRITE_ENDPOINTS =
+            Map.of(
+                    Keys.SOAP_METHOD_SET_APPEARANCE, Keys.ORDS_APPEARANCE,
+                    Keys.SOAP_METHOD_SET_APPEARANCE_METHOD, Keys.ORDS_APPEARANCE_METHOD,
+                    Keys.SOAP_METHOD_HEARING_RESTRICTION_CRIMINAL, Keys.ORDS_HEARING,
+                    Keys.SOAP_METHOD_SET_FILE_NOTE, Keys.ORDS_FILE_NOTE,
+                    Keys.SOAP_METHOD_SET_CROWN_ASSIGNMENT, Keys.ORDS_CROWN_ASSIGNMENT,
+                    Keys.SOAP_METHOD_CROWN_FILE_DETAIL, Keys.ORDS_CROWN_FILE_DETAIL,
+                    Keys.SOAP_METHOD_COUNSEL_DETAIL_CRIMINAL, Keys.ORDS_COUNSEL_DETAIL_CRIMINAL);
+
+    private OrdsEndpoints() {
+        // empty constructor
+    }
+
+    /**
+     * @return the Keys.ORDS_* endpoint the uri addresses, or null when it is not an ORDS endpoint
+     */
+    public static String resolve(URI uri) {
+        String path = uri.getPath();
+        if (path == null) {
+            return null;
+        }
+        if (path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        for (String endpoint : ENDPOINTS) {
+            if (path.endsWith("/" + endpoint) || path.equals(endpoint)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    /** @return the ORDS endpoint queried by a read-style SOAP operation, or null */
+    public static String readEndpoint(String soapOperation) {
+        return SOAP_READ_ENDPOINTS.get(soapOperation);
+    }
+
+    /** @return the write-style SOAP operation that POSTs to the ORDS endpoint, or null */
+    public static String writeOperation(String endpoint) {
+        for (Map.Entry<String, String> entry : SOAP_WRITE_ENDPOINTS.entrySet()) {
+            if (entry.getValue().equals(endpoint)) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+}
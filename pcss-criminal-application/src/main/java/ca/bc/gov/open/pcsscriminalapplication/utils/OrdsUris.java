@@ -0,0 +1,59 @@
+package ca.bc.gov.open.pcsscriminalapplication.utils;
+
+import ca.bc.gov.open.pcsscriminalapplication.Keys;
+import ca.bc.gov.open.pcsscriminalcommon.serializer.InstantSerializer;
+import ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalCountRequest;
+import ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalRequest;
+import ca.bc.gov.open.wsdl.pcss.one.GetCrownAssignmentRequest;
+import ca.bc.gov.open.wsdl.pcss.one.GetFileDetailCriminalRequest;
+import java.net.URI;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/** ORDS request URIs for the read operations that more than one SOAP operation sends. */
+public class OrdsUris {
+
+    private OrdsUris() {
+        // empty constructor
+    }
+
+    public static URI fileDetail(String host, GetFileDetailCriminalRequest request) {
+        return UriComponentsBuilder.fromHttpUrl(host + Keys.ORDS_FILE_DETAIL)
+                .queryParam(Keys.QUERY_AGENCY_IDENTIFIER, request.getRequestAgencyIdentifierId())
+                .queryParam(Keys.QUERY_PART_ID, request.getRequestPartId())
+                .queryParam(
+                        Keys.QUERY_REQUEST_DATE, InstantSerializer.convert(request.getRequestDtm()))
+                .queryParam(Keys.QUERY_JUSTIN_NO, request.getJustinNo())
+                .queryParam(Keys.QUERY_APPLICATION_CD, request.getApplicationCd())
+                .build()
+                .toUri();
+    }
+
+    public static URI appearance(String host, GetAppearanceCriminalRequest request) {
+        return UriComponentsBuilder.fromHttpUrl(host + Keys.ORDS_APPEARANCE)
+                .queryParam(Keys.QUERY_APPEARANCE_ID, request.getAppearanceId())
+                .queryParam(Keys.QUERY_APPLICATION_CD, request.getApplicationCd())
+                .queryParam(Keys.QUERY_JUSTIN_NO, request.getJustinNo())
+                .queryParam(Keys.QUERY_FUTURE_FLAG, request.getFutureYN())
+                .queryParam(Keys.QUERY_HISTORY_FLAG, request.getHistoryYN())
+                .build()
+                .toUri();
+    }
+
+    public static URI appearanceCount(String host, GetAppearanceCriminalCountRequest request) {
+        return UriComponentsBuilder.fromHttpUrl(host + Keys.ORDS_APPEARANCE_COUNT)
+                .queryParam(Keys.QUERY_APPEARANCE_ID, request.getAppearanceId())
+                .build()
+                .toUri();
+    }
+
+    public static URI crownAssignment(String host, GetCrownAssignmentRequest request) {
+        return UriComponentsBuilder.fromHttpUrl(host + Keys.ORDS_CROWN_ASSIGNMENT)
+                .queryParam(Keys.QUERY_PART_ID, request.getRequestPartId())
+                .queryParam(Keys.QUERY_REQUEST_DATE, request.getRequestDtm())
+                .queryParam(Keys.QUERY_AGENT_ID, request.getRequestAgencyIdentifierId())
+                .queryParam(Keys.QUERY_JUSTIN_NO, request.getJustinNo())
+                .queryParam(Keys.QUERY_SINCE_DATE, request.getSinceDt())
+                .build()
+                .toUri();
+    }
+}
@@ -0,0 +1,44 @@
+package ca.bc.gov.open.pcsscriminalapplication.utils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to the Java 21 virtual thread executor while the build still targets Java 17. The executor
+ * is looked up reflectively so the same artifact runs on either runtime.
+ */
+public class VirtualThreads {
+
+    private static final Method NEW_EXECUTOR = findExecutorFactory();
+
+    private VirtualThreads() {
+        // empty constructor
+    }
+
+    public static boolean isSupported() {
+        return NEW_EXECUTOR != null;
+    }
+
+    public static ExecutorService newThreadPerTaskExecutor() {
+        if (NEW_EXECUTOR == null) {
+            throw new IllegalStateException(
+                    "Virtual thread execution requires a Java 21 runtime, found "
+                            + Runtime.version());
+        }
+        try {
+            return (ExecutorService) NEW_EXECUTOR.invoke(null);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Unable to create virtual thread executor", e);
+        }
+    }
+
+    private static Method findExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
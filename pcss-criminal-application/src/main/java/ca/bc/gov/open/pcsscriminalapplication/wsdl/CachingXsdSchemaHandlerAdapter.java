@@ -0,0 +1,24 @@
+package ca.bc.gov.open.pcsscriminalapplication.wsdl;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.ws.transport.http.XsdSchemaHandlerAdapter;
+
+/** Serves each XSD from a {@link RenderedDocumentCache} instead of transforming it per request. */
+public class CachingXsdSchemaHandlerAdapter extends XsdSchemaHandlerAdapter {
+
+    private final RenderedDocumentCache cache = new RenderedDocumentCache();
+
+    @Override
+    public ModelAndView handle(
+            HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return super.handle(request, response, handler);
+        }
+        cache.serve(request, response, handler, capture -> super.handle(request, capture, handler));
+        return null;
+    }
+}
@@ -0,0 +1,143 @@
+package ca.bc.gov.open.pcsscriminalapplication.wsdl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * WSDL and XSD documents rendered once per bean and base URL, kept as plain and gzipped bytes. The
+ * base URL is what Spring-WS puts in the transformed locations: the scheme, host and port, taken
+ * from the X-Forwarded headers when present, and the context path.
+ *
+ * <p>Documents are served with an ETag and Last-Modified so clients revalidate with a 304. The
+ * headers and host come from the client unless a proxy overwrites them, so at most {@link
+ * #MAX_ENTRIES} documents are kept and the least used are evicted; a client sending new hosts only
+ * costs renders, not memory.
+ */
+public class RenderedDocumentCache {
+
+    static final int MAX_ENTRIES = 64;
+
+    private static final String GZIP = "gzip";
+
+    private static final Pattern NOT_ACCEPTABLE =
+            Pattern.compile("\\s*q\\s*=\\s*0(\\.0{0,3})?\\s*");
+
+    private final Cache<Key, RenderedDocument> documents =
+            Caffeine.newBuilder().maximumSize(MAX_ENTRIES).build();
+
+    // the documents only change with a deployment
+    private final long lastModified = Instant.now().truncatedTo(ChronoUnit.SECONDS).toEpochMilli();
+
+    @FunctionalInterface
+    public interface Renderer {
+        void render(HttpServletResponse response) throws Exception;
+    }
+
+    public void serve(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler,
+            Renderer renderer)
+            throws Exception {
+        Key key = new Key(handler, baseUrl(request));
+        RenderedDocument document = documents.getIfPresent(key);
+        if (document == null) {
+            document = render(response, renderer);
+            documents.put(key, document);
+        }
+        write(document, request, response);
+    }
+
+    long size() {
+        documents.cleanUp();
+        return documents.estimatedSize();
+    }
+
+    private RenderedDocument render(HttpServletResponse response, Renderer renderer)
+            throws Exception {
+        ContentCachingResponseWrapper capture = new ContentCachingResponseWrapper(response);
+        renderer.render(capture);
+        byte[] body = capture.getContentAsByteArray();
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(gzipped)) {
+            out.write(body);
+        }
+        String hash = DigestUtils.md5DigestAsHex(body);
+        return new RenderedDocument(
+                capture.getContentType(),
+                body,
+                gzipped.toByteArray(),
+                "\"" + hash + "\"",
+                "\"" + hash + "-" + GZIP + "\"");
+    }
+
+    private void write(
+            RenderedDocument document, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        if (new ServletWebRequest(request, response)
+                .checkNotModified(gzip ? document.gzipEtag() : document.etag(), lastModified)) {
+            return;
+        }
+        byte[] body = gzip ? document.gzipped() : document.body();
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(document.contentType());
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (!StringUtils.hasText(acceptEncoding)) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (!GZIP.equalsIgnoreCase(parts[0].trim())) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                if (NOT_ACCEPTABLE.matcher(parts[i]).matches()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /** The same base Spring-WS builds in LocationTransformerObjectSupport.transformLocation. */
+    private static String baseUrl(HttpServletRequest request) {
+        String proto = request.getHeader("X-Forwarded-Proto");
+        String host = request.getHeader("X-Forwarded-Host");
+        String port = request.getHeader("X-Forwarded-Port");
+        return (StringUtils.hasText(proto) ? proto : request.getScheme())
+                + "://"
+                + (StringUtils.hasText(host) ? host : request.getServerName())
+                + ':'
+                + (StringUtils.hasText(port) ? port : String.valueOf(request.getServerPort()))
+                + request.getContextPath();
+    }
+
+    private record Key(Object handler, String baseUrl) {}
+
+    private record RenderedDocument(
+            String contentType, byte[] body, byte[] gzipped, String etag, String gzipEtag) {}
+}
@@ -0,0 +1,142 @@
+package ca.bc.gov.open.pcsscriminalapplication.cache;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import ca.bc.gov.open.pcsscriminalapplication.Keys;
+import ca.bc.gov.open.pcsscriminalapplication.properties.OrdsCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("OrdsCacheInterceptor Test Suite")
+public class OrdsCacheInterceptorTest {
+
+    private static final String HOST = "http://ords/";
+    private static final String SEARCH = HOST + Keys.ORDS_PERSONNEL_SEARCH;
+
+    private RestTemplate restTemplate;
+    private MockRestServiceServer server;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    public void beforeEach() {
+        OrdsCacheProperties properties = new OrdsCacheProperties();
+        properties
+                .getOperations()
+                .put(Keys.SOAP_METHOD_PERSONNEL_SEARCH, new OrdsCacheProperties.Operation());
+        OrdsResponseCache cache = new OrdsResponseCache(properties);
+        registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        restTemplate.getInterceptors().add(new OrdsCacheInterceptor(cache));
+    }
+
+    @Test
+    @DisplayName("Success: repeated lookup is served from the cache")
+    public void testHit() {
+        server.expect(ExpectedCount.once(), requestTo(SEARCH + "?agenid=1&searchtxt=smith"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("{\"a\":1}", MediaType.APPLICATION_JSON));
+
+        String first =
+                restTemplate.getForObject(SEARCH + "?agenid=1&searchtxt=smith", String.class);
+        String second =
+                restTemplate.getForObject(SEARCH + "?agenid=1&searchtxt=smith", String.class);
+
+        server.verify();
+        Assertions.assertEquals("{\"a\":1}", first);
+        Assertions.assertEquals(first, second);
+        Assertions.assertEquals(1, hits());
+        Assertions.assertEquals(1, misses());
+    }
+
+    @Test
+    @DisplayName("Success: parameter order and request timestamp do not change the key")
+    public void testNormalisedKey() {
+        server.expect(
+                        ExpectedCount.once(),
+                        requestTo(SEARCH + "?agenid=1&searchtxt=smith&requestdtm=a"))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+
+        restTemplate.getForObject(SEARCH + "?agenid=1&searchtxt=smith&requestdtm=a", String.class);
+        restTemplate.getForObject(SEARCH + "?searchtxt=smith&requestdtm=b&agenid=1", String.class);
+
+        server.verify();
+        Assertions.assertEquals(1, hits());
+    }
+
+    @Test
+    @DisplayName("Success: a different query misses")
+    public void testDifferentQuery() {
+        server.expect(requestTo(SEARCH + "?searchtxt=smith"))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo(SEARCH + "?searchtxt=jones"))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+
+        restTemplate.getForObject(SEARCH + "?searchtxt=smith", String.class);
+        restTemplate.getForObject(SEARCH + "?searchtxt=jones", String.class);
+
+        server.verify();
+        Assertions.assertEquals(0, hits());
+        Assertions.assertEquals(2, misses());
+    }
+
+    @Test
+    @DisplayName("Success: endpoints without a cache pass through")
+    public void testUncachedEndpoint() {
+        String detail = HOST + Keys.ORDS_FILE_DETAIL + "?justinno=1";
+        server.expect(ExpectedCount.twice(), requestTo(detail))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+
+        restTemplate.getForObject(detail, String.class);
+        restTemplate.getForObject(detail, String.class);
+
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("Success: an operation switched off is not cached")
+    public void testOperationDisabled() {
+        OrdsCacheProperties properties = new OrdsCacheProperties();
+        OrdsCacheProperties.Operation detail = new OrdsCacheProperties.Operation();
+        detail.setEnabled(false);
+        properties.getOperations().put(Keys.SOAP_METHOD_FILE_DETAIL, detail);
+        OrdsResponseCache cache = new OrdsResponseCache(properties);
+
+        Assertions.assertFalse(cache.isCached(Keys.ORDS_FILE_DETAIL));
+    }
+
+    @Test
+    @DisplayName("Error: failed responses are not cached")
+    public void testErrorNotCached() {
+        server.expect(requestTo(SEARCH + "?searchtxt=smith")).andRespond(withServerError());
+        server.expect(requestTo(SEARCH + "?searchtxt=smith"))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+
+        Assertions.assertThrows(
+                HttpServerErrorException.class,
+                () -> restTemplate.getForObject(SEARCH + "?searchtxt=smith", String.class));
+        restTemplate.getForObject(SEARCH + "?searchtxt=smith", String.class);
+
+        server.verify();
+    }
+
+    private double hits() {
+        return registry.get("cache.gets").tag("result", "hit").functionCounter().count();
+    }
+
+    private double misses() {
+        return registry.get("cache.gets").tag("result", "miss").functionCounter().count();
+    }
+}
@@ -0,0 +1,204 @@
+package ca.bc.gov.open.pcsscriminalapplication.cache;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import ca.bc.gov.open.pcsscriminalapplication.Keys;
+import ca.bc.gov.open.pcsscriminalapplication.properties.OrdsCacheProperties;
+import ca.bc.gov.open.wsdl.pcss.one.Detail3;
+import ca.bc.gov.open.wsdl.pcss.one.SetAppearanceMethodCriminalRequest;
+import ca.bc.gov.open.wsdl.pcss.one.SetCrownAssignmentRequest;
+import ca.bc.gov.open.wsdl.pcss.one.SetFileNoteRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.util.List;
+import org.junit.jupiter.api.*;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("ORDS cache write-through invalidation Test Suite")
+public class OrdsCacheInvalidationTest {
+
+    private static final String HOST = "http://ords/";
+    private static final String FILE_DETAIL = HOST + Keys.ORDS_FILE_DETAIL;
+    private static final String APPEARANCE = HOST + Keys.ORDS_APPEARANCE;
+    private static final String APPEARANCE_METHOD = HOST + Keys.ORDS_APPEARANCE_METHOD;
+    private static final String CROWN_ASSIGNMENT = HOST + Keys.ORDS_CROWN_ASSIGNMENT;
+
+    private OrdsResponseCache cache;
+    private RestTemplate restTemplate;
+    private MockRestServiceServer server;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    public void beforeEach() {
+        OrdsCacheProperties properties = new OrdsCacheProperties();
+        for (String operation :
+                List.of(
+                        Keys.SOAP_METHOD_FILE_DETAIL,
+                        Keys.SOAP_METHOD_APPEARANCE,
+                        Keys.SOAP_METHOD_APPEARANCE_APPR_METHOD,
+                        Keys.SOAP_METHOD_CROWN_ASSIGNMENT)) {
+            properties.getOperations().put(operation, new OrdsCacheProperties.Operation());
+        }
+        cache = new OrdsResponseCache(properties);
+        registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        restTemplate = new RestTemplate();
+        // JSON first, as in SoapConfig, otherwise the JAXB converter would post XML
+        restTemplate.getMessageConverters().add(0, new MappingJackson2HttpMessageConverter());
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        restTemplate.getInterceptors().add(new OrdsCacheInterceptor(cache));
+    }
+
+    @Test
+    @DisplayName("Success: a file note is visible on the next file detail read")
+    public void testFileNoteReadYourWrites() {
+        expectGet(FILE_DETAIL + "?justinno=1", "{\"noteTxt\":\"before\"}");
+        expectPost(HOST + Keys.ORDS_FILE_NOTE);
+        expectGet(FILE_DETAIL + "?justinno=1", "{\"noteTxt\":\"after\"}");
+
+        Assertions.assertEquals("{\"noteTxt\":\"before\"}", get(FILE_DETAIL + "?justinno=1"));
+        Assertions.assertEquals("{\"noteTxt\":\"before\"}", get(FILE_DETAIL + "?justinno=1"));
+
+        SetFileNoteRequest note = new SetFileNoteRequest();
+        note.setJustinNo("1");
+        note.setNoteTxt("after");
+        restTemplate.postForObject(HOST + Keys.ORDS_FILE_NOTE, note, JsonNode.class);
+
+        Assertions.assertEquals("{\"noteTxt\":\"after\"}", get(FILE_DETAIL + "?justinno=1"));
+        server.verify();
+        Assertions.assertEquals(
+                1,
+                registry.get("ords.cache.invalidations")
+                        .tag("cache", "ords." + Keys.SOAP_METHOD_FILE_DETAIL)
+                        .functionCounter()
+                        .count());
+    }
+
+    @Test
+    @DisplayName("Success: reads for other files stay cached")
+    public void testOtherJustinNoKept() {
+        expectGet(FILE_DETAIL + "?justinno=2", "{}");
+        expectPost(HOST + Keys.ORDS_FILE_NOTE);
+
+        get(FILE_DETAIL + "?justinno=2");
+        SetFileNoteRequest note = new SetFileNoteRequest();
+        note.setJustinNo("1");
+        restTemplate.postForObject(HOST + Keys.ORDS_FILE_NOTE, note, JsonNode.class);
+        get(FILE_DETAIL + "?justinno=2");
+
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("Success: crown assignment evicts the assignment and file detail reads")
+    public void testCrownAssignment() {
+        expectGet(CROWN_ASSIGNMENT + "?justinno=1", "{}");
+        expectGet(FILE_DETAIL + "?justinno=1", "{}");
+        expectPost(CROWN_ASSIGNMENT);
+        expectGet(CROWN_ASSIGNMENT + "?justinno=1", "{}");
+        expectGet(FILE_DETAIL + "?justinno=1", "{}");
+
+        get(CROWN_ASSIGNMENT + "?justinno=1");
+        get(FILE_DETAIL + "?justinno=1");
+        SetCrownAssignmentRequest assignment = new SetCrownAssignmentRequest();
+        assignment.setJustinNo("1");
+        restTemplate.postForObject(CROWN_ASSIGNMENT, assignment, JsonNode.class);
+        get(CROWN_ASSIGNMENT + "?justinno=1");
+        get(FILE_DETAIL + "?justinno=1");
+
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("Success: appearance method change evicts by apprId and unmatched justinNo reads")
+    public void testAppearanceMethod() {
+        expectGet(APPEARANCE_METHOD + "?apprid=10", "{}");
+        expectGet(APPEARANCE_METHOD + "?apprid=11", "{}");
+        expectGet(APPEARANCE + "?justinno=1", "{}");
+        expectPost(APPEARANCE_METHOD);
+        expectGet(APPEARANCE_METHOD + "?apprid=10", "{}");
+        expectGet(APPEARANCE + "?justinno=1", "{}");
+
+        get(APPEARANCE_METHOD + "?apprid=10");
+        get(APPEARANCE_METHOD + "?apprid=11");
+        get(APPEARANCE + "?justinno=1");
+
+        Detail3 detail = new Detail3();
+        detail.setApprId("10");
+        SetAppearanceMethodCriminalRequest request = new SetAppearanceMethodCriminalRequest();
+        request.getDetail().add(detail);
+        restTemplate.postForObject(APPEARANCE_METHOD, request, JsonNode.class);
+
+        get(APPEARANCE_METHOD + "?apprid=10");
+        get(APPEARANCE_METHOD + "?apprid=11");
+        // the write only names the appearance, so a read by file cannot be ruled out
+        get(APPEARANCE + "?justinno=1");
+
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("Error: a failed write still evicts")
+    public void testFailedWrite() {
+        expectGet(FILE_DETAIL + "?justinno=1", "{}");
+        server.expect(requestTo(HOST + Keys.ORDS_FILE_NOTE)).andRespond(withServerError());
+        expectGet(FILE_DETAIL + "?justinno=1", "{}");
+
+        get(FILE_DETAIL + "?justinno=1");
+        SetFileNoteRequest note = new SetFileNoteRequest();
+        note.setJustinNo("1");
+        Assertions.assertThrows(
+                HttpServerErrorException.class,
+                () -> restTemplate.postForObject(HOST + Keys.ORDS_FILE_NOTE, note, JsonNode.class));
+        get(FILE_DETAIL + "?justinno=1");
+
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("Success: a read that raced a write is not cached")
+    public void testRacingRead() {
+        OrdsCacheKey key =
+                cache.key(Keys.ORDS_FILE_DETAIL, URI.create(FILE_DETAIL + "?justinno=1"));
+        long generation = cache.generation(key);
+
+        cache.invalidate(Keys.SOAP_METHOD_SET_FILE_NOTE, OrdsWriteScope.of(new byte[0]));
+        cache.put(
+                key,
+                new CachedOrdsResponse(
+                        org.springframework.http.HttpStatus.OK,
+                        "OK",
+                        new org.springframework.http.HttpHeaders(),
+                        new byte[0]),
+                generation);
+
+        Assertions.assertNull(cache.get(key));
+    }
+
+    private String get(String uri) {
+        return restTemplate.getForObject(uri, JsonNode.class).toString();
+    }
+
+    private void expectGet(String uri, String body) {
+        server.expect(requestTo(uri))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON));
+    }
+
+    private void expectPost(String uri) {
+        server.expect(requestTo(uri))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess("{\"responseCd\":\"0\"}", MediaType.APPLICATION_JSON));
+    }
+}
@@ -0,0 +1,259 @@
+package ca.bc.gov.open.pcsscriminalapplication.cache;
+
+import ca.bc.gov.open.pcsscriminalapplication.Keys;
+import ca.bc.gov.open.pcsscriminalapplication.properties.OrdsCoalescingProperties;
+import ca.bc.gov.open.pcsscriminalapplication.resilience.RequestDeadline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.*;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("OrdsSingleFlightInterceptor Test Suite")
+public class OrdsSingleFlightInterceptorTest {
+
+    private static final int CALLERS = 8;
+    private static final String DETAIL = "http://ords/" + Keys.ORDS_FILE_DETAIL;
+
+    private SimpleMeterRegistry registry;
+    private OrdsSingleFlightInterceptor sut;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void beforeEach() {
+        registry = new SimpleMeterRegistry();
+        sut = new OrdsSingleFlightInterceptor(new OrdsCoalescingProperties(), registry);
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    public void afterEach() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Success: concurrent identical GETs share one ORDS call")
+    public void testCoalesced() throws Exception {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ClientHttpRequestExecution execution =
+                (request, body) -> {
+                    upstreamCalls.incrementAndGet();
+                    await(release);
+                    return new MockClientHttpResponse(
+                            "{\"justinNo\":\"1\"}".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+                };
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            // only the request timestamp differs between callers
+            String uri = DETAIL + "?justinno=1&requestdtm=" + i;
+            results.add(executor.submit(() -> call(uri, execution)));
+        }
+        while (waiting() < CALLERS - 1) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        for (Future<String> result : results) {
+            Assertions.assertEquals("{\"justinNo\":\"1\"}", result.get(5, TimeUnit.SECONDS));
+        }
+        Assertions.assertEquals(1, upstreamCalls.get());
+        Assertions.assertEquals(CALLERS - 1, followers());
+    }
+
+    @Test
+    @DisplayName("Success: different queries are not coalesced")
+    public void testDifferentQueries() throws Exception {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        ClientHttpRequestExecution execution =
+                (request, body) -> {
+                    upstreamCalls.incrementAndGet();
+                    return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+                };
+
+        call(DETAIL + "?justinno=1", execution);
+        call(DETAIL + "?justinno=2", execution);
+        call(DETAIL + "?justinno=1", execution);
+
+        Assertions.assertEquals(3, upstreamCalls.get());
+        Assertions.assertEquals(0, followers());
+    }
+
+    @Test
+    @DisplayName("Success: sync windows with different starts are not coalesced")
+    public void testSyncWindows() throws Exception {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ClientHttpRequestExecution execution =
+                (request, body) -> {
+                    upstreamCalls.incrementAndGet();
+                    await(release);
+                    return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+                };
+
+        String sync = "http://ords/" + Keys.ORDS_SYNC_APPEARANCE + "?procuptodtm=2&requestdtm=";
+        Future<String> first = executor.submit(() -> call(sync + "0", execution));
+        Future<String> second = executor.submit(() -> call(sync + "1", execution));
+        for (int i = 0; i < 1000 && upstreamCalls.get() < 2; i++) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+
+        Assertions.assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    @DisplayName("Error: followers receive the leader's failure")
+    public void testSharedFailure() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ClientHttpRequestExecution execution =
+                (request, body) -> {
+                    await(release);
+                    throw new IOException("ORDS unavailable");
+                };
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> call(DETAIL + "?justinno=1", execution)));
+        }
+        while (waiting() < CALLERS - 1) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        for (Future<String> result : results) {
+            var ex =
+                    Assertions.assertThrows(
+                            java.util.concurrent.ExecutionException.class,
+                            () -> result.get(5, TimeUnit.SECONDS));
+            Assertions.assertInstanceOf(IOException.class, ex.getCause());
+        }
+    }
+
+    @Test
+    @DisplayName("Success: a follower with time left outlives a leader whose deadline passed")
+    public void testLeaderDeadline() throws Exception {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        ClientHttpRequestExecution execution =
+                (request, body) -> {
+                    if (upstreamCalls.incrementAndGet() == 1) {
+                        // the leader's timeouts are cut to its own deadline
+                        while (waiting() < 1 || !RequestDeadline.isExpired()) {
+                            sleep();
+                        }
+                        throw new SocketTimeoutException("Read timed out");
+                    }
+                    return new MockClientHttpResponse(
+                            "{\"justinNo\":\"1\"}".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+                };
+
+        Future<String> leader =
+                executor.submit(
+                        () -> call(DETAIL + "?justinno=1", Duration.ofMillis(100), execution));
+        while (upstreamCalls.get() < 1) {
+            Thread.sleep(5);
+        }
+        Future<String> follower =
+                executor.submit(
+                        () -> call(DETAIL + "?justinno=1", Duration.ofSeconds(5), execution));
+
+        var ex =
+                Assertions.assertThrows(
+                        java.util.concurrent.ExecutionException.class,
+                        () -> leader.get(5, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(SocketTimeoutException.class, ex.getCause());
+        Assertions.assertEquals("{\"justinNo\":\"1\"}", follower.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, upstreamCalls.get());
+        // the follower went upstream itself once the leader failed
+        Assertions.assertEquals(0, followers());
+        Assertions.assertEquals(2, leaders(Keys.ORDS_FILE_DETAIL));
+    }
+
+    @Test
+    @DisplayName("Success: paths that are not ORDS endpoints are counted under one tag")
+    public void testOtherEndpoint() throws Exception {
+        ClientHttpRequestExecution execution =
+                (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+
+        call("http://ords/unknown/1", execution);
+        call("http://ords/unknown/2", execution);
+
+        Assertions.assertEquals(2, leaders("other"));
+        Assertions.assertNull(
+                registry.find("ords.requests.coalesced").tag("endpoint", "/unknown/1").counter());
+    }
+
+    private String call(String uri, Duration deadline, ClientHttpRequestExecution execution)
+            throws IOException {
+        RequestDeadline.set(deadline);
+        try {
+            return call(uri, execution);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    private String call(String uri, ClientHttpRequestExecution execution) throws IOException {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create(uri));
+        try (ClientHttpResponse response = sut.intercept(request, new byte[0], execution)) {
+            return StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private double followers() {
+        var counter =
+                registry.find("ords.requests.coalesced")
+                        .tags("endpoint", Keys.ORDS_FILE_DETAIL, "role", "follower")
+                        .counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private double leaders(String endpoint) {
+        var counter =
+                registry.find("ords.requests.coalesced")
+                        .tags("endpoint", endpoint, "role", "leader")
+                        .counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private double waiting() {
+        return registry.get("ords.requests.coalescing.waiting").gauge().value();
+    }
+
+    private static void sleep() throws IOException {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) throws IOException {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new IOException(e);
+        }
+    }
+}
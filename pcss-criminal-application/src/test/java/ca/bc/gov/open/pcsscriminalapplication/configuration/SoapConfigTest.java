@@ -0,0 +1,71 @@
+package ca.bc.gov.open.pcsscriminalapplication.configuration;
+
+import ca.bc.gov.open.pcsscriminalapplication.properties.CaseLookupProperties;
+import ca.bc.gov.open.pcsscriminalapplication.properties.DemsProperties;
+import ca.bc.gov.open.pcsscriminalapplication.properties.PcssProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("SoapConfig Test Suite")
+public class SoapConfigTest {
+
+    private SoapConfig sut;
+
+    @BeforeAll
+    public void beforeAll() {
+        PcssProperties pcssProperties = new PcssProperties();
+        pcssProperties.setOrdsReadTimeout("120");
+        pcssProperties.getPool().setMaxTotal(40);
+        pcssProperties.getPool().setMaxPerRoute(30);
+
+        DemsProperties demsProperties = new DemsProperties();
+        demsProperties.setOrdsReadTimeout("60");
+        demsProperties.getPool().setMaxTotal(10);
+        demsProperties.getPool().setMaxPerRoute(5);
+
+        CaseLookupProperties caseLookupProperties = new CaseLookupProperties();
+        caseLookupProperties.setOrdsReadTimeout("30");
+
+        sut = new SoapConfig();
+        ReflectionTestUtils.setField(sut, "pcssProperties", pcssProperties);
+        ReflectionTestUtils.setField(sut, "demsProperties", demsProperties);
+        ReflectionTestUtils.setField(sut, "caseLookupProperties", caseLookupProperties);
+    }
+
+    @Test
+    @DisplayName("Test connection pools are sized per upstream")
+    public void testPoolSizes() {
+        PoolingHttpClientConnectionManager pcss = sut.pcssConnectionManager();
+        PoolingHttpClientConnectionManager dems = sut.demsConnectionManager();
+
+        Assertions.assertEquals(40, pcss.getMaxTotal());
+        Assertions.assertEquals(30, pcss.getDefaultMaxPerRoute());
+        Assertions.assertEquals(10, dems.getMaxTotal());
+        Assertions.assertEquals(5, dems.getDefaultMaxPerRoute());
+
+        pcss.close();
+        dems.close();
+    }
+
+    @Test
+    @DisplayName("Test pool metrics are bound for every upstream")
+    public void testPoolMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        sut.httpClientPoolMetrics(
+                        sut.pcssConnectionManager(),
+                        sut.demsConnectionManager(),
+                        sut.caseLookupConnectionManager())
+                .bindTo(registry);
+
+        for (String pool : new String[] {"pcss", "dems", "caselookup"}) {
+            Assertions.assertNotNull(
+                    registry.find("httpcomponents.httpclient.pool.total.max")
+                            .tag("httpclient", pool)
+                            .gauge());
+        }
+    }
+}
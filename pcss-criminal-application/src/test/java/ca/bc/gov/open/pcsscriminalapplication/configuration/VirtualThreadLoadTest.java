@@ -0,0 +1,184 @@
+package ca.bc.gov.open.pcsscriminalapplication.configuration;
+
+import ca.bc.gov.open.pcsscriminalapplication.utils.VirtualThreads;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Holds a fixed number of SOAP requests in flight against a slow ORDS stand-in and reports the heap
+ * needed to sustain them with virtual thread dispatch. Run on a Java 21 runtime with
+ *
+ * <pre>mvn test -Dtest=VirtualThreadLoadTest -Dloadtest=true -Dloadtest.concurrency=2000</pre>
+ *
+ * <p>The build and CI run on Java 17, where this test is skipped, so virtual thread mode has no
+ * recorded measurements yet.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+            "execution.mode=virtual",
+            "security.basic-auth.username=load",
+            "security.basic-auth.password=load",
+            "pcss.username=ords",
+            "pcss.password=ords"
+        })
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Virtual thread load test")
+public class VirtualThreadLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 2000);
+    private static final long ORDS_LATENCY_MS = Long.getLong("loadtest.latencyMs", 3000);
+
+    private static final String PING_ENVELOPE =
+            "<soap:Envelope xmlns:soap=\"http://www.w3.org/2003/05/soap-envelope\">"
+                    + "<soap:Body>"
+                    + "<getPing xmlns=\"http://courts.gov.bc.ca/xml/ns/pcss/criminal/v1\"/>"
+                    + "</soap:Body>"
+                    + "</soap:Envelope>";
+
+    private static final String AUTHORIZATION =
+            "Basic "
+                    + Base64.getEncoder()
+                            .encodeToString("load:load".getBytes(StandardCharsets.UTF_8));
+
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static final AtomicInteger peakInFlight = new AtomicInteger();
+    private static HttpServer ordsStub;
+    private static ExecutorService ordsStubExecutor;
+
+    @LocalServerPort private int port;
+
+    @DynamicPropertySource
+    static void ordsStubProperties(DynamicPropertyRegistry registry) throws IOException {
+        Assumptions.assumeTrue(VirtualThreads.isSupported(), "requires a Java 21 runtime");
+
+        ordsStub = HttpServer.create(new InetSocketAddress("localhost", 0), CONCURRENCY);
+        ordsStubExecutor = VirtualThreads.newThreadPerTaskExecutor();
+        ordsStub.setExecutor(ordsStubExecutor);
+        ordsStub.createContext(
+                "/ping",
+                exchange -> {
+                    peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(ORDS_LATENCY_MS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                    byte[] body = "{\"status\":\"OK\"}".getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().add("Content-Type", "application/json");
+                    exchange.sendResponseHeaders(200, body.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                });
+        ordsStub.start();
+
+        registry.add(
+                "pcss.host", () -> "http://localhost:" + ordsStub.getAddress().getPort() + "/");
+        registry.add("pcss.pool.maxTotal", () -> CONCURRENCY);
+        registry.add("pcss.pool.maxPerRoute", () -> CONCURRENCY);
+        registry.add("server.tomcat.max-connections", () -> CONCURRENCY * 2);
+    }
+
+    @AfterAll
+    public void afterAll() {
+        if (ordsStub != null) {
+            ordsStub.stop(0);
+        }
+        if (ordsStubExecutor != null) {
+            ordsStubExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Sustain concurrent in-flight ORDS calls on a fixed heap")
+    public void sustainInFlightOrdsCalls() throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        memory.gc();
+        long baselineHeap = memory.getHeapMemoryUsage().getUsed();
+
+        ExecutorService clientExecutor = VirtualThreads.newThreadPerTaskExecutor();
+        try {
+            HttpClient client =
+                    HttpClient.newBuilder()
+                            .executor(clientExecutor)
+                            .connectTimeout(Duration.ofSeconds(30))
+                            .build();
+            HttpRequest request =
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/criminal"))
+                            .header("Content-Type", "application/soap+xml; charset=utf-8")
+                            .header("Authorization", AUTHORIZATION)
+                            .POST(HttpRequest.BodyPublishers.ofString(PING_ENVELOPE))
+                            .build();
+
+            // warm up the SOAP stack so lazy initialisation does not stagger the burst
+            client.send(request, HttpResponse.BodyHandlers.ofString());
+            peakInFlight.set(0);
+
+            long start = System.nanoTime();
+            List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>(CONCURRENCY);
+            for (int i = 0; i < CONCURRENCY; i++) {
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+            }
+
+            long deadline = System.nanoTime() + Duration.ofMillis(ORDS_LATENCY_MS).toNanos();
+            while (inFlight.get() < CONCURRENCY && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            memory.gc();
+            long heapAtPeak = memory.getHeapMemoryUsage().getUsed();
+
+            int ok = 0;
+            for (CompletableFuture<HttpResponse<String>> response : responses) {
+                if (response.get().statusCode() == 200) {
+                    ok++;
+                }
+            }
+            long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+            long retained = Math.max(0, heapAtPeak - baselineHeap);
+            log.info(
+                    "{} requests, peak {} in-flight ORDS calls, {} ok in {} ms, heap {} MB at peak"
+                            + " ({} KB retained per in-flight call, max heap {} MB)",
+                    CONCURRENCY,
+                    peakInFlight.get(),
+                    ok,
+                    elapsedMs,
+                    heapAtPeak >> 20,
+                    (retained / Math.max(1, peakInFlight.get())) >> 10,
+                    memory.getHeapMemoryUsage().getMax() >> 20);
+
+            Assertions.assertEquals(CONCURRENCY, ok);
+            Assertions.assertTrue(peakInFlight.get() >= CONCURRENCY * 0.95);
+        } finally {
+            clientExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package ca.bc.gov.open.pcsscriminalapplication.controller.appearancecontroller;
+
+import static org.mockito.ArgumentMatchers.any;
+
+import ca.bc.gov.open.pcsscriminalapplication.Keys;
+import ca.bc.gov.open.pcsscriminalapplication.controller.AppearanceController;
+import ca.bc.gov.open.pcsscriminalapplication.properties.PcssProperties;
+import ca.bc.gov.open.pcsscriminalapplication.streaming.OrdsResponseStreamer;
+import ca.bc.gov.open.pcsscriminalapplication.utils.ChunkedFanOut;
+import ca.bc.gov.open.pcsscriminalapplication.utils.LogBuilder;
+import ca.bc.gov.open.wsdl.pcss.two.GetAppearanceCriminalBatch;
+import ca.bc.gov.open.wsdl.pcss.two.GetAppearanceCriminalBatchResponse;
+import ca.bc.gov.open.wsdl.pcss.two.GetAppearanceCriminalBatchResult;
+import ca.bc.gov.open.wsdl.pcss.two.GetAppearanceCriminalRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.xml.ws.http.HTTPException;
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.*;
+import org.mockito.Mockito;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("GetAppearanceCriminalBatch Test")
+public class GetAppearanceCriminalBatchTest {
+
+    private RestTemplate restTemplateMock;
+    private PcssProperties pcssProperties;
+    private ExecutorService executor;
+    private AppearanceController sut;
+
+    @BeforeEach
+    public void beforeEach() {
+        restTemplateMock = Mockito.mock(RestTemplate.class);
+        pcssProperties = new PcssProperties();
+        pcssProperties.setHost("http://localhost/");
+        executor = Executors.newFixedThreadPool(8);
+
+        sut =
+                new AppearanceController(
+                        restTemplateMock,
+                        pcssProperties,
+                        new LogBuilder(Mockito.mock(ObjectMapper.class)),
+                        Mockito.mock(OrdsResponseStreamer.class),
+                        new ChunkedFanOut(executor, new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    public void afterEach() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Success: every item gets its own result or fault, in request order")
+    public void successTestReturns() {
+        Mockito.when(restTemplateMock.exchange(any(URI.class), any(), any(), any(Class.class)))
+                .thenAnswer(
+                        invocation -> {
+                            String query = invocation.getArgument(0, URI.class).getQuery();
+                            if (query.contains(Keys.QUERY_JUSTIN_NO + "=BAD")) {
+                                throw new HTTPException(400);
+                            }
+                            ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalResponse response =
+                                    new ca.bc.gov.open.wsdl.pcss.one
+                                            .GetAppearanceCriminalResponse();
+                            response.setResponseCd(
+                                    query.replaceAll(
+                                            ".*" + Keys.QUERY_JUSTIN_NO + "=([^&]*).*", "$1"));
+                            return ResponseEntity.ok(response);
+                        });
+
+        GetAppearanceCriminalBatchResponse result =
+                sut.getAppearanceCriminalBatch(createTestRequest("1", "BAD", "3"));
+
+        List<GetAppearanceCriminalBatchResult> results =
+                result.getGetAppearanceCriminalBatchResult();
+        Assertions.assertEquals(3, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            Assertions.assertEquals(i, results.get(i).getIndex());
+        }
+        Assertions.assertEquals(
+                "1", results.get(0).getGetAppearanceCriminalResponse().getResponseCd());
+        Assertions.assertNull(results.get(0).getFault());
+        Assertions.assertNull(results.get(1).getGetAppearanceCriminalResponse());
+        Assertions.assertEquals("Server", results.get(1).getFault().getFaultcode());
+        Assertions.assertNotNull(results.get(1).getFault().getFaultstring());
+        Assertions.assertEquals(
+                "3", results.get(2).getGetAppearanceCriminalResponse().getResponseCd());
+    }
+
+    @Test
+    @DisplayName("Success: no more than parallelism items are sent to ORDS at once")
+    public void successTestParallelism() {
+        pcssProperties.getBatch().setParallelism(2);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Mockito.when(restTemplateMock.exchange(any(URI.class), any(), any(), any(Class.class)))
+                .thenAnswer(
+                        invocation -> {
+                            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                            Thread.sleep(20);
+                            inFlight.decrementAndGet();
+                            return ResponseEntity.ok(
+                                    new ca.bc.gov.open.wsdl.pcss.one
+                                            .GetAppearanceCriminalResponse());
+                        });
+
+        GetAppearanceCriminalBatchResponse result =
+                sut.getAppearanceCriminalBatch(
+                        createTestRequest("1", "2", "3", "4", "5", "6", "7", "8"));
+
+        Assertions.assertEquals(8, result.getGetAppearanceCriminalBatchResult().size());
+        Assertions.assertEquals(2, maxInFlight.get());
+    }
+
+    @Test
+    @DisplayName("Error: batches over maxItems are refused")
+    public void errorTooManyItems() {
+        pcssProperties.getBatch().setMaxItems(2);
+
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> sut.getAppearanceCriminalBatch(createTestRequest("1", "2", "3")));
+        Mockito.verifyNoInteractions(restTemplateMock);
+    }
+
+    private GetAppearanceCriminalBatch createTestRequest(String... justinNos) {
+
+        GetAppearanceCriminalBatch getAppearanceCriminalBatch = new GetAppearanceCriminalBatch();
+        for (String justinNo : justinNos) {
+            ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalRequest getAppearanceCriminalRequest =
+                    new ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalRequest();
+            getAppearanceCriminalRequest.setJustinNo(justinNo);
+            getAppearanceCriminalRequest.setRequestAgencyIdentifierId("TEST");
+            getAppearanceCriminalRequest.setRequestDtm(Instant.now());
+            getAppearanceCriminalRequest.setRequestPartId("TEST");
+
+            GetAppearanceCriminalRequest item = new GetAppearanceCriminalRequest();
+            item.setGetAppearanceCriminalRequest(getAppearanceCriminalRequest);
+            getAppearanceCriminalBatch.getGetAppearanceCriminalRequest().add(item);
+        }
+        return getAppearanceCriminalBatch;
+    }
+}
@@ -5,6 +5,8 @@ import static org.mockito.ArgumentMatchers.any;
 import ca.bc.gov.open.pcsscriminalapplication.controller.AppearanceController;
 import ca.bc.gov.open.pcsscriminalapplication.exception.ORDSException;
 import ca.bc.gov.open.pcsscriminalapplication.properties.PcssProperties;
+import ca.bc.gov.open.pcsscriminalapplication.streaming.OrdsResponseStreamer;
+import ca.bc.gov.open.pcsscriminalapplication.utils.ChunkedFanOut;
 import ca.bc.gov.open.pcsscriminalapplication.utils.LogBuilder;
 import ca.bc.gov.open.wsdl.pcss.one.Resource;
 import ca.bc.gov.open.wsdl.pcss.two.*;
@@ -41,7 +43,11 @@ public class GetAppearanceCriminalResourceTest {
 
         sut =
                 new AppearanceController(
-                        restTemplateMock, pcssPropertiesMock, new LogBuilder(objectMapperMock));
+                        restTemplateMock,
+                        pcssPropertiesMock,
+                        new LogBuilder(objectMapperMock),
+                        Mockito.mock(OrdsResponseStreamer.class),
+                        Mockito.mock(ChunkedFanOut.class));
     }
 
     @Test
@@ -5,6 +5,8 @@ import static org.mockito.ArgumentMatchers.any;
 import ca.bc.gov.open.pcsscriminalapplication.controller.AppearanceController;
 import ca.bc.gov.open.pcsscriminalapplication.exception.ORDSException;
 import ca.bc.gov.open.pcsscriminalapplication.properties.PcssProperties;
+import ca.bc.gov.open.pcsscriminalapplication.streaming.OrdsResponseStreamer;
+import ca.bc.gov.open.pcsscriminalapplication.utils.ChunkedFanOut;
 import ca.bc.gov.open.pcsscriminalapplication.utils.LogBuilder;
 import ca.bc.gov.open.wsdl.pcss.one.ApprDetail;
 import ca.bc.gov.open.wsdl.pcss.three.YesNoType;
@@ -22,6 +24,7 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.ws.context.MessageContext;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @DisplayName("GetAppearanceCriminal Test")
@@ -44,7 +47,11 @@ public class GetAppearanceCriminalTest {
 
         sut =
                 new AppearanceController(
-                        restTemplateMock, pcssPropertiesMock, new LogBuilder(objectMapperMock));
+                        restTemplateMock,
+                        pcssPropertiesMock,
+                        new LogBuilder(objectMapperMock),
+                        Mockito.mock(OrdsResponseStreamer.class),
+                        Mockito.mock(ChunkedFanOut.class));
     }
 
     @Test
@@ -62,7 +69,8 @@ public class GetAppearanceCriminalTest {
         Mockito.when(restTemplateMock.exchange(any(URI.class), any(), any(), any(Class.class)))
                 .thenReturn(ResponseEntity.ok(response));
 
-        GetAppearanceCriminalResponse result = sut.getAppearanceCriminal(createTestRequest());
+        GetAppearanceCriminalResponse result =
+                sut.getAppearanceCriminal(createTestRequest(), Mockito.mock(MessageContext.class));
 
         Assertions.assertNotNull(result);
         Assertions.assertEquals(
@@ -101,7 +109,10 @@ public class GetAppearanceCriminalTest {
                 .thenThrow(new HTTPException(400));
 
         Assertions.assertThrows(
-                ORDSException.class, () -> sut.getAppearanceCriminal(createTestRequest()));
+                ORDSException.class,
+                () ->
+                        sut.getAppearanceCriminal(
+                                createTestRequest(), Mockito.mock(MessageContext.class)));
     }
 
     private GetAppearanceCriminal createTestRequest() {
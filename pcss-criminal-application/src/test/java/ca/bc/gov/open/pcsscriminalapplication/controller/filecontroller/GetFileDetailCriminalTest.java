@@ -5,6 +5,7 @@ import static org.mockito.ArgumentMatchers.any;
 import ca.bc.gov.open.pcsscriminalapplication.controller.FileController;
 import ca.bc.gov.open.pcsscriminalapplication.exception.ORDSException;
 import ca.bc.gov.open.pcsscriminalapplication.properties.PcssProperties;
+import ca.bc.gov.open.pcsscriminalapplication.streaming.OrdsResponseStreamer;
 import ca.bc.gov.open.pcsscriminalapplication.utils.LogBuilder;
 import ca.bc.gov.open.wsdl.pcss.two.*;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -18,6 +19,7 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.ws.context.MessageContext;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @DisplayName("GetFileDetailCriminalTest Test")
@@ -40,7 +42,10 @@ public class GetFileDetailCriminalTest {
 
         sut =
                 new FileController(
-                        restTemplateMock, pcssPropertiesMock, new LogBuilder(objectMapperMock));
+                        restTemplateMock,
+                        pcssPropertiesMock,
+                        new LogBuilder(objectMapperMock),
+                        Mockito.mock(OrdsResponseStreamer.class));
     }
 
     @Test
@@ -55,7 +60,8 @@ public class GetFileDetailCriminalTest {
         Mockito.when(restTemplateMock.exchange(any(URI.class), any(), any(), any(Class.class)))
                 .thenReturn(ResponseEntity.ok(response));
 
-        GetFileDetailCriminalResponse result = sut.getFileDetailCriminal(createTestRequest());
+        GetFileDetailCriminalResponse result =
+                sut.getFileDetailCriminal(createTestRequest(), Mockito.mock(MessageContext.class));
 
         Assertions.assertNotNull(result);
         Assertions.assertEquals(
@@ -78,7 +84,10 @@ public class GetFileDetailCriminalTest {
                 .thenThrow(new HTTPException(400));
 
         Assertions.assertThrows(
-                ORDSException.class, () -> sut.getFileDetailCriminal(createTestRequest()));
+                ORDSException.class,
+                () ->
+                        sut.getFileDetailCriminal(
+                                createTestRequest(), Mockito.mock(MessageContext.class)));
     }
 
     private GetFileDetailCriminal createTestRequest() {
@@ -2,21 +2,31 @@ package ca.bc.gov.open.pcsscriminalapplication.controller.filecontroller.demsCas
 
 import static org.mockito.ArgumentMatchers.any;
 
+import ca.bc.gov.open.pcsscriminalapplication.cache.CaseHyperlinkCache;
 import ca.bc.gov.open.pcsscriminalapplication.controller.DemsCasesController;
+import ca.bc.gov.open.pcsscriminalapplication.model.CaseHyperLinkerLookupRequest;
 import ca.bc.gov.open.pcsscriminalapplication.model.CaseHyperLinkerLookupResponse;
 import ca.bc.gov.open.pcsscriminalapplication.model.JustinRCCs;
 import ca.bc.gov.open.pcsscriminalapplication.model.JustinRcc;
 import ca.bc.gov.open.pcsscriminalapplication.properties.CaseLookupProperties;
 import ca.bc.gov.open.pcsscriminalapplication.properties.DemsProperties;
+import ca.bc.gov.open.pcsscriminalapplication.properties.FanOutProperties;
+import ca.bc.gov.open.pcsscriminalapplication.utils.ChunkedFanOut;
 import ca.bc.gov.open.pcsscriminalapplication.utils.LogBuilder;
+import ca.bc.gov.open.wsdl.pcss.demsCaseUrl.DemsCaseType;
 import ca.bc.gov.open.wsdl.pcss.demsCaseUrl.GetDemsCasesRequest;
 import ca.bc.gov.open.wsdl.pcss.demsCaseUrl.GetDemsCasesResponse;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.net.URI;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -24,6 +34,7 @@ import org.junit.jupiter.api.TestInstance;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpEntity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 
@@ -36,6 +47,8 @@ public class GetDemsCaseMappingTest {
     @Mock private ObjectMapper objectMapperMock;
 
     private DemsCasesController sut;
+    private ExecutorService executor;
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
 
     @BeforeAll
     public void beforeAll() throws JsonProcessingException {
@@ -45,13 +58,27 @@ public class GetDemsCaseMappingTest {
         Mockito.when(demsPropertiesMock.getHost()).thenReturn("http://localhost/");
         Mockito.when(caseLookupProperties.getHost()).thenReturn("http://localhost/");
 
+        FanOutProperties fanOutProperties = new FanOutProperties();
+        fanOutProperties.setChunkSize(2);
+        fanOutProperties.setParallelism(2);
+        Mockito.when(demsPropertiesMock.getFanOut()).thenReturn(fanOutProperties);
+        Mockito.when(caseLookupProperties.getFanOut()).thenReturn(fanOutProperties);
+        executor = Executors.newFixedThreadPool(2);
+
         sut =
                 new DemsCasesController(
                         restTemplateMock,
                         restTemplateCaseLookupMock,
                         demsPropertiesMock,
                         caseLookupProperties,
-                        new LogBuilder(objectMapperMock));
+                        new LogBuilder(objectMapperMock),
+                        new ChunkedFanOut(executor, registry),
+                        new CaseHyperlinkCache(new CaseLookupProperties()));
+    }
+
+    @AfterAll
+    public void afterAll() {
+        executor.shutdown();
     }
 
     @Test
@@ -94,4 +121,125 @@ public class GetDemsCaseMappingTest {
 
         Assertions.assertEquals("137489", result.getDemsCase().get(0).getJustinNo());
     }
+
+    @Test
+    public void successTestChunksKeepRequestOrder() throws JsonProcessingException {
+
+        GetDemsCasesRequest getDemsCasesRequest = new GetDemsCasesRequest();
+        getDemsCasesRequest.setApplicationCd("A");
+        getDemsCasesRequest.getJustinNo().addAll(List.of("5", "4", "3", "2", "1"));
+        getDemsCasesRequest.setRequestAgencyIdentifierId("A");
+        getDemsCasesRequest.setRequestDtm(Instant.now());
+        getDemsCasesRequest.setRequestPartId("A");
+
+        Mockito.when(restTemplateMock.exchange(any(URI.class), any(), any(), any(Class.class)))
+                .thenAnswer(
+                        invocation -> {
+                            // answer each chunk in reverse to show ORDS order does not leak out
+                            String query = invocation.getArgument(0, URI.class).getQuery();
+                            String justinNos =
+                                    query.substring(query.indexOf("justinNo=") + 9).split("&")[0];
+                            JustinRCCs rccs = new JustinRCCs();
+                            List<String> chunk = new ArrayList<>(List.of(justinNos.split(",")));
+                            Collections.reverse(chunk);
+                            for (String justinNo : chunk) {
+                                JustinRcc justinRcc = new JustinRcc();
+                                justinRcc.setJustinNo(justinNo);
+                                justinRcc.setRccId("1".equals(justinNo) ? "0" : "rcc" + justinNo);
+                                rccs.getJustins().add(justinRcc);
+                            }
+                            return ResponseEntity.ok(rccs);
+                        });
+
+        Mockito.when(
+                        restTemplateCaseLookupMock.exchange(
+                                any(URI.class), any(), any(), any(Class.class)))
+                .thenAnswer(
+                        invocation -> {
+                            HttpEntity<CaseHyperLinkerLookupRequest> body =
+                                    invocation.getArgument(2);
+                            Assertions.assertTrue(body.getBody().getRcc_ids().size() <= 2);
+                            CaseHyperLinkerLookupResponse response =
+                                    new CaseHyperLinkerLookupResponse();
+                            List<CaseHyperLinkerLookupResponse.CaseHyperlinks> links =
+                                    new ArrayList<>();
+                            for (String rccId : body.getBody().getRcc_ids()) {
+                                CaseHyperLinkerLookupResponse.CaseHyperlinks link =
+                                        new CaseHyperLinkerLookupResponse.CaseHyperlinks();
+                                link.setRcc_id(rccId);
+                                link.setHyperlink("https://dems/" + rccId);
+                                links.add(link);
+                            }
+                            response.setCase_hyperlinks(links);
+                            return ResponseEntity.ok(response);
+                        });
+
+        GetDemsCasesResponse result = sut.getDemsCaseMapping(getDemsCasesRequest);
+
+        Assertions.assertEquals(
+                List.of("5", "4", "3", "2", "1"),
+                result.getDemsCase().stream().map(DemsCaseType::getJustinNo).toList());
+        Assertions.assertEquals("https://dems/rcc5", result.getDemsCase().get(0).getDemsUrl());
+        Assertions.assertEquals("", result.getDemsCase().get(4).getDemsUrl());
+        Assertions.assertEquals(
+                3, registry.get("fanout.chunk").tag("call", "getJustinRCCs").timer().count());
+    }
+
+    @Test
+    public void successTestHyperlinksAreCached() throws JsonProcessingException {
+
+        RestTemplate restTemplate = Mockito.mock(RestTemplate.class);
+        RestTemplate restTemplateCaseLookup = Mockito.mock(RestTemplate.class);
+        DemsCasesController controller =
+                new DemsCasesController(
+                        restTemplate,
+                        restTemplateCaseLookup,
+                        demsPropertiesMock,
+                        caseLookupProperties,
+                        new LogBuilder(objectMapperMock),
+                        new ChunkedFanOut(executor, new SimpleMeterRegistry()),
+                        new CaseHyperlinkCache(new CaseLookupProperties()));
+
+        GetDemsCasesRequest getDemsCasesRequest = new GetDemsCasesRequest();
+        getDemsCasesRequest.getJustinNo().addAll(List.of("1", "2"));
+        getDemsCasesRequest.setRequestDtm(Instant.now());
+
+        JustinRCCs justinRccsResponse = new JustinRCCs();
+        for (String[] pair : new String[][] {{"1", "rcc1"}, {"2", "rcc2"}}) {
+            JustinRcc justinRcc = new JustinRcc();
+            justinRcc.setJustinNo(pair[0]);
+            justinRcc.setRccId(pair[1]);
+            justinRccsResponse.getJustins().add(justinRcc);
+        }
+        Mockito.when(restTemplate.exchange(any(URI.class), any(), any(), any(Class.class)))
+                .thenReturn(ResponseEntity.ok(justinRccsResponse));
+
+        // rcc1 is found, rcc2 is unknown to DEMS
+        CaseHyperLinkerLookupResponse.CaseHyperlinks found =
+                new CaseHyperLinkerLookupResponse.CaseHyperlinks();
+        found.setRcc_id("rcc1");
+        found.setHyperlink("https://dems/rcc1");
+        CaseHyperLinkerLookupResponse.CaseHyperlinks notFound =
+                new CaseHyperLinkerLookupResponse.CaseHyperlinks();
+        notFound.setRcc_id("rcc2");
+        notFound.setMessage("Case not found.");
+        CaseHyperLinkerLookupResponse caseHyperLinkerLookupResponse =
+                new CaseHyperLinkerLookupResponse();
+        caseHyperLinkerLookupResponse.setCase_hyperlinks(List.of(found, notFound));
+        Mockito.when(
+                        restTemplateCaseLookup.exchange(
+                                any(URI.class), any(), any(), any(Class.class)))
+                .thenReturn(ResponseEntity.ok(caseHyperLinkerLookupResponse));
+
+        GetDemsCasesResponse first = controller.getDemsCaseMapping(getDemsCasesRequest);
+        GetDemsCasesResponse second = controller.getDemsCaseMapping(getDemsCasesRequest);
+
+        Mockito.verify(restTemplateCaseLookup, Mockito.times(1))
+                .exchange(any(URI.class), any(), any(), any(Class.class));
+        for (GetDemsCasesResponse result : List.of(first, second)) {
+            Assertions.assertEquals(
+                    List.of("https://dems/rcc1", ""),
+                    result.getDemsCase().stream().map(DemsCaseType::getDemsUrl).toList());
+        }
+    }
 }
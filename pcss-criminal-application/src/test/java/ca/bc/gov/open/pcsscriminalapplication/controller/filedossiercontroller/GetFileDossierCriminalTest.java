@@ -0,0 +1,275 @@
+package ca.bc.gov.open.pcsscriminalapplication.controller.filedossiercontroller;
+
+import static org.mockito.ArgumentMatchers.any;
+
+import ca.bc.gov.open.pcsscriminalapplication.Keys;
+import ca.bc.gov.open.pcsscriminalapplication.controller.FileDossierController;
+import ca.bc.gov.open.pcsscriminalapplication.exception.InvalidRequestException;
+import ca.bc.gov.open.pcsscriminalapplication.properties.PcssProperties;
+import ca.bc.gov.open.pcsscriminalapplication.resilience.RequestDeadline;
+import ca.bc.gov.open.pcsscriminalapplication.utils.LogBuilder;
+import ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalCountRequest;
+import ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalCountResponse;
+import ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalRequest;
+import ca.bc.gov.open.wsdl.pcss.one.GetCrownAssignmentRequest;
+import ca.bc.gov.open.wsdl.pcss.one.GetCrownAssignmentResponse;
+import ca.bc.gov.open.wsdl.pcss.one.GetFileDetailCriminalRequest;
+import ca.bc.gov.open.wsdl.pcss.two.GetFileDossierCriminal;
+import ca.bc.gov.open.wsdl.pcss.two.GetFileDossierCriminalResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.xml.ws.http.HTTPException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.*;
+import org.mockito.Mockito;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("GetFileDossierCriminal Test")
+public class GetFileDossierCriminalTest {
+
+    private RestTemplate restTemplateMock;
+    private PcssProperties pcssProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+    private FileDossierController sut;
+
+    @BeforeEach
+    public void beforeEach() {
+        restTemplateMock = Mockito.mock(RestTemplate.class);
+        pcssProperties = new PcssProperties();
+        pcssProperties.setHost("http://localhost/");
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(4);
+
+        sut =
+                new FileDossierController(
+                        restTemplateMock,
+                        pcssProperties,
+                        new LogBuilder(Mockito.mock(ObjectMapper.class)),
+                        executor,
+                        meterRegistry);
+    }
+
+    @AfterEach
+    public void afterEach() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Success: all four parts are sent to ORDS at the same time")
+    public void successTestReturns() {
+        CountDownLatch allSent = new CountDownLatch(4);
+        Mockito.when(restTemplateMock.exchange(any(URI.class), any(), any(), any(Class.class)))
+                .thenAnswer(
+                        invocation -> {
+                            allSent.countDown();
+                            // only returns once every part is in flight
+                            if (!allSent.await(5, TimeUnit.SECONDS)) {
+                                throw new IllegalStateException("Parts were sent one by one");
+                            }
+                            return ResponseEntity.ok(response(invocation.getArgument(3)));
+                        });
+
+        GetFileDossierCriminalResponse result = sut.getFileDossierCriminal(createTestRequest());
+
+        Assertions.assertEquals("OK", result.getGetFileDetailCriminalResponse().getResponseCd());
+        Assertions.assertEquals("OK", result.getGetAppearanceCriminalResponse().getResponseCd());
+        Assertions.assertEquals(
+                "OK", result.getGetAppearanceCriminalCountResponse().getResponseCd());
+        Assertions.assertEquals("OK", result.getGetCrownAssignmentResponse().getResponseCd());
+        Assertions.assertTrue(result.getFault().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Success: failed and late parts are reported as faults next to the others")
+    public void successTestPartial() {
+        pcssProperties.getDossier().setDeadline(Duration.ofMillis(200));
+        Mockito.when(restTemplateMock.exchange(any(URI.class), any(), any(), any(Class.class)))
+                .thenAnswer(
+                        invocation -> {
+                            Class<?> responseType = invocation.getArgument(3);
+                            if (responseType == GetAppearanceCriminalCountResponse.class) {
+                                throw new HTTPException(400);
+                            }
+                            if (responseType == GetCrownAssignmentResponse.class) {
+                                Thread.sleep(5000);
+                            }
+                            return ResponseEntity.ok(response(responseType));
+                        });
+
+        long start = System.nanoTime();
+        GetFileDossierCriminalResponse result = sut.getFileDossierCriminal(createTestRequest());
+
+        Assertions.assertTrue(System.nanoTime() - start < Duration.ofSeconds(2).toNanos());
+        Assertions.assertNotNull(result.getGetFileDetailCriminalResponse());
+        Assertions.assertNotNull(result.getGetAppearanceCriminalResponse());
+        Assertions.assertNull(result.getGetAppearanceCriminalCountResponse());
+        Assertions.assertNull(result.getGetCrownAssignmentResponse());
+        Assertions.assertEquals(2, result.getFault().size());
+        Assertions.assertEquals(
+                Keys.SOAP_METHOD_APPEARANCE_COUNT, result.getFault().get(0).getPart());
+        Assertions.assertEquals("Server", result.getFault().get(0).getFaultcode());
+        Assertions.assertEquals(
+                Keys.SOAP_METHOD_CROWN_ASSIGNMENT, result.getFault().get(1).getPart());
+        Assertions.assertEquals(
+                1.0,
+                meterRegistry
+                        .get(FileDossierController.TIMEOUT_METRIC_NAME)
+                        .tag("operation", Keys.SOAP_METHOD_CROWN_ASSIGNMENT)
+                        .counter()
+                        .count());
+    }
+
+    @Test
+    @DisplayName("Success: every part runs under the dossier deadline")
+    public void successTestDeadline() {
+        pcssProperties.getDossier().setDeadline(Duration.ofSeconds(2));
+        Mockito.when(restTemplateMock.exchange(any(URI.class), any(), any(), any(Class.class)))
+                .thenAnswer(
+                        invocation -> {
+                            Duration remaining = RequestDeadline.remaining().orElseThrow();
+                            if (remaining.compareTo(Duration.ofSeconds(2)) > 0) {
+                                throw new IllegalStateException("Part ran past the deadline");
+                            }
+                            return ResponseEntity.ok(response(invocation.getArgument(3)));
+                        });
+
+        GetFileDossierCriminalResponse result = sut.getFileDossierCriminal(createTestRequest());
+
+        Assertions.assertTrue(result.getFault().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Success: a part still running at the deadline is interrupted")
+    public void successTestInterrupted() throws Exception {
+        pcssProperties.getDossier().setDeadline(Duration.ofMillis(200));
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Mockito.when(restTemplateMock.exchange(any(URI.class), any(), any(), any(Class.class)))
+                .thenAnswer(
+                        invocation -> {
+                            Class<?> responseType = invocation.getArgument(3);
+                            if (responseType == GetCrownAssignmentResponse.class) {
+                                try {
+                                    Thread.sleep(5000);
+                                } catch (InterruptedException ex) {
+                                    interrupted.countDown();
+                                    throw ex;
+                                }
+                            }
+                            return ResponseEntity.ok(response(responseType));
+                        });
+
+        GetFileDossierCriminalResponse result = sut.getFileDossierCriminal(createTestRequest());
+
+        Assertions.assertEquals(1, result.getFault().size());
+        Assertions.assertTrue(interrupted.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Error: parts a full fan-out executor refuses are faults, not run on the caller")
+    public void errorTestSaturated() {
+        pcssProperties.getDossier().setDeadline(Duration.ofMillis(300));
+        ExecutorService saturated =
+                new ThreadPoolExecutor(
+                        0, 1, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), new AbortPolicy());
+        Thread caller = Thread.currentThread();
+        Mockito.when(restTemplateMock.exchange(any(URI.class), any(), any(), any(Class.class)))
+                .thenAnswer(
+                        invocation -> {
+                            if (Thread.currentThread() == caller) {
+                                throw new IllegalStateException("Part ran on the caller");
+                            }
+                            // holds the only thread past the deadline
+                            Thread.sleep(5000);
+                            return ResponseEntity.ok(response(invocation.getArgument(3)));
+                        });
+        sut =
+                new FileDossierController(
+                        restTemplateMock,
+                        pcssProperties,
+                        new LogBuilder(Mockito.mock(ObjectMapper.class)),
+                        saturated,
+                        meterRegistry);
+
+        try {
+            GetFileDossierCriminalResponse result = sut.getFileDossierCriminal(createTestRequest());
+
+            Assertions.assertEquals(4, result.getFault().size());
+            Assertions.assertEquals(
+                    Keys.SOAP_METHOD_FILE_DETAIL, result.getFault().get(0).getPart());
+            result.getFault().stream()
+                    .skip(1)
+                    .forEach(
+                            fault ->
+                                    Assertions.assertEquals(
+                                            "Refused, the service is overloaded",
+                                            fault.getFaultstring()));
+            Mockito.verify(restTemplateMock)
+                    .exchange(any(URI.class), any(), any(), any(Class.class));
+        } finally {
+            saturated.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Error: a dossier without any request is refused")
+    public void errorTestEmpty() {
+        Assertions.assertThrows(
+                InvalidRequestException.class,
+                () -> sut.getFileDossierCriminal(new GetFileDossierCriminal()));
+        Mockito.verifyNoInteractions(restTemplateMock);
+    }
+
+    private static Object response(Class<?> responseType) throws Exception {
+        Object response = responseType.getConstructor().newInstance();
+        responseType.getMethod("setResponseCd", String.class).invoke(response, "OK");
+        return response;
+    }
+
+    private GetFileDossierCriminal createTestRequest() {
+
+        GetFileDetailCriminalRequest getFileDetailCriminalRequest =
+                new GetFileDetailCriminalRequest();
+        getFileDetailCriminalRequest.setRequestAgencyIdentifierId("TEST");
+        getFileDetailCriminalRequest.setRequestPartId("TEST");
+        getFileDetailCriminalRequest.setRequestDtm(Instant.now());
+        getFileDetailCriminalRequest.setJustinNo("TEST");
+        getFileDetailCriminalRequest.setApplicationCd("TEST");
+
+        GetAppearanceCriminalRequest getAppearanceCriminalRequest =
+                new GetAppearanceCriminalRequest();
+        getAppearanceCriminalRequest.setRequestAgencyIdentifierId("TEST");
+        getAppearanceCriminalRequest.setRequestPartId("TEST");
+        getAppearanceCriminalRequest.setRequestDtm(Instant.now());
+        getAppearanceCriminalRequest.setJustinNo("TEST");
+
+        GetAppearanceCriminalCountRequest getAppearanceCriminalCountRequest =
+                new GetAppearanceCriminalCountRequest();
+        getAppearanceCriminalCountRequest.setAppearanceId("TEST");
+
+        GetCrownAssignmentRequest getCrownAssignmentRequest = new GetCrownAssignmentRequest();
+        getCrownAssignmentRequest.setRequestAgencyIdentifierId("TEST");
+        getCrownAssignmentRequest.setRequestPartId("TEST");
+        getCrownAssignmentRequest.setRequestDtm(Instant.now());
+        getCrownAssignmentRequest.setJustinNo("TEST");
+
+        GetFileDossierCriminal getFileDossierCriminal = new GetFileDossierCriminal();
+        getFileDossierCriminal.setGetFileDetailCriminalRequest(getFileDetailCriminalRequest);
+        getFileDossierCriminal.setGetAppearanceCriminalRequest(getAppearanceCriminalRequest);
+        getFileDossierCriminal.setGetAppearanceCriminalCountRequest(
+                getAppearanceCriminalCountRequest);
+        getFileDossierCriminal.setGetCrownAssignmentRequest(getCrownAssignmentRequest);
+        return getFileDossierCriminal;
+    }
+}
@@ -2,23 +2,40 @@ package ca.bc.gov.open.pcsscriminalapplication.controller.synccontroller;
 
 import static org.mockito.ArgumentMatchers.any;
 
+import ca.bc.gov.open.pcsscriminalapplication.Keys;
+import ca.bc.gov.open.pcsscriminalapplication.configuration.SoapConfig;
 import ca.bc.gov.open.pcsscriminalapplication.controller.SyncController;
+import ca.bc.gov.open.pcsscriminalapplication.exception.InvalidRequestException;
 import ca.bc.gov.open.pcsscriminalapplication.exception.ORDSException;
 import ca.bc.gov.open.pcsscriminalapplication.properties.PcssProperties;
+import ca.bc.gov.open.pcsscriminalapplication.properties.SyncJournalProperties;
+import ca.bc.gov.open.pcsscriminalapplication.properties.SyncPagingProperties;
+import ca.bc.gov.open.pcsscriminalapplication.sync.SyncJournal;
+import ca.bc.gov.open.pcsscriminalapplication.sync.SyncPager;
 import ca.bc.gov.open.pcsscriminalapplication.utils.LogBuilder;
+import ca.bc.gov.open.pcsscriminalcommon.utils.OrdsDateCodec;
 import ca.bc.gov.open.wsdl.pcss.one.Appearance;
 import ca.bc.gov.open.wsdl.pcss.two.*;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.xml.ws.http.HTTPException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.StringJoiner;
 import org.junit.jupiter.api.*;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @DisplayName("GetSyncCriminalAppearance Test")
@@ -41,7 +58,15 @@ public class GetSyncCriminalAppearanceTest {
 
         sut =
                 new SyncController(
-                        restTemplateMock, pcssPropertiesMock, new LogBuilder(objectMapperMock));
+                        restTemplateMock,
+                        pcssPropertiesMock,
+                        new LogBuilder(objectMapperMock),
+                        new SyncPager(
+                                restTemplateMock,
+                                new SoapConfig().objectMapper(),
+                                new SyncPagingProperties(),
+                                new SyncJournal(
+                                        new SyncJournalProperties(), new SimpleMeterRegistry())));
     }
 
     @Test
@@ -78,6 +103,88 @@ public class GetSyncCriminalAppearanceTest {
                         .size());
     }
 
+    @Test
+    @DisplayName("Success: a paged request continues from its cursor")
+    public void successTestPaged() throws JsonProcessingException {
+
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        DateTimeFormatter transactionDtm =
+                DateTimeFormatter.ofPattern("dd-MMM-yy hh.mm.ss.SSSSSS a", Locale.US)
+                        .withZone(OrdsDateCodec.ORDS_ZONE);
+        Mockito.when(
+                        restTemplateMock.execute(
+                                any(URI.class), any(), any(), any(ResponseExtractor.class)))
+                .thenAnswer(
+                        invocation -> {
+                            // ORDS returns the records processed from requestdtm on
+                            Instant from =
+                                    OrdsDateCodec.ORDS_DATE_TIME.parse(
+                                            UriComponentsBuilder.fromUri(
+                                                            invocation.getArgument(0, URI.class))
+                                                    .build()
+                                                    .getQueryParams()
+                                                    .getFirst(Keys.QUERY_REQUEST_DATE)
+                                                    .replace("%20", " "),
+                                            Instant::from);
+                            StringJoiner records = new StringJoiner(",");
+                            for (int i = 1; i <= 3; i++) {
+                                Instant processed = start.plusSeconds(i);
+                                if (!processed.isBefore(from)) {
+                                    records.add(
+                                            "{\"apprId\":\""
+                                                    + i
+                                                    + "\",\"transactionDtm\":\""
+                                                    + transactionDtm.format(processed)
+                                                    + "\"}");
+                                }
+                            }
+                            return invocation
+                                    .<ResponseExtractor<?>>getArgument(3)
+                                    .extractData(
+                                            new MockClientHttpResponse(
+                                                    ("{\"responseCd\":\"0\",\"appearance\":["
+                                                                    + records
+                                                                    + "]}")
+                                                            .getBytes(StandardCharsets.UTF_8),
+                                                    HttpStatus.OK));
+                        });
+        GetSyncCriminalAppearance request = createTestRequest();
+        ca.bc.gov.open.wsdl.pcss.one.GetSyncCriminalAppearanceRequest inner =
+                request.getGetSyncCriminalAppearanceRequest().getGetSyncCriminalAppearanceRequest();
+        inner.setRequestDtm(start);
+        inner.setProcessUpToDtm(start.plusSeconds(60));
+        inner.setPageSize(2);
+
+        ca.bc.gov.open.wsdl.pcss.one.GetSyncCriminalAppearanceResponse first =
+                sut.getSyncCriminalAppearance(request)
+                        .getGetSyncCriminalAppearanceResponse()
+                        .getGetSyncCriminalAppearanceResponse();
+        inner.setCursor(first.getNextCursor());
+        ca.bc.gov.open.wsdl.pcss.one.GetSyncCriminalAppearanceResponse second =
+                sut.getSyncCriminalAppearance(request)
+                        .getGetSyncCriminalAppearanceResponse()
+                        .getGetSyncCriminalAppearanceResponse();
+
+        Assertions.assertEquals("0", first.getResponseCd());
+        Assertions.assertEquals(2, first.getAppearance().size());
+        Assertions.assertNotNull(first.getNextCursor());
+        Assertions.assertEquals(1, second.getAppearance().size());
+        Assertions.assertEquals("3", second.getAppearance().get(0).getApprId());
+        Assertions.assertNull(second.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Error: a malformed cursor is rejected as an invalid request")
+    public void errorInvalidCursor() {
+        GetSyncCriminalAppearance request = createTestRequest();
+        request.getGetSyncCriminalAppearanceRequest()
+                .getGetSyncCriminalAppearanceRequest()
+                .setCursor("not-a-cursor");
+
+        Assertions.assertThrows(
+                InvalidRequestException.class, () -> sut.getSyncCriminalAppearance(request));
+    }
+
     @Test
     @DisplayName("Error: ords throws exception")
     public void errorOrdsException() {
@@ -2,14 +2,21 @@ package ca.bc.gov.open.pcsscriminalapplication.controller.synccontroller;
 
 import static org.mockito.ArgumentMatchers.any;
 
+import ca.bc.gov.open.pcsscriminalapplication.configuration.SoapConfig;
 import ca.bc.gov.open.pcsscriminalapplication.controller.SyncController;
+import ca.bc.gov.open.pcsscriminalapplication.exception.InvalidRequestException;
 import ca.bc.gov.open.pcsscriminalapplication.exception.ORDSException;
 import ca.bc.gov.open.pcsscriminalapplication.properties.PcssProperties;
+import ca.bc.gov.open.pcsscriminalapplication.properties.SyncJournalProperties;
+import ca.bc.gov.open.pcsscriminalapplication.properties.SyncPagingProperties;
+import ca.bc.gov.open.pcsscriminalapplication.sync.SyncJournal;
+import ca.bc.gov.open.pcsscriminalapplication.sync.SyncPager;
 import ca.bc.gov.open.pcsscriminalapplication.utils.LogBuilder;
 import ca.bc.gov.open.wsdl.pcss.one.HearingRestriction;
 import ca.bc.gov.open.wsdl.pcss.two.*;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.xml.ws.http.HTTPException;
 import java.net.URI;
 import java.time.Instant;
@@ -41,7 +48,15 @@ public class GetSyncCriminalHearingRestrictionTest {
 
         sut =
                 new SyncController(
-                        restTemplateMock, pcssPropertiesMock, new LogBuilder(objectMapperMock));
+                        restTemplateMock,
+                        pcssPropertiesMock,
+                        new LogBuilder(objectMapperMock),
+                        new SyncPager(
+                                restTemplateMock,
+                                new SoapConfig().objectMapper(),
+                                new SyncPagingProperties(),
+                                new SyncJournal(
+                                        new SyncJournalProperties(), new SimpleMeterRegistry())));
     }
 
     @Test
@@ -79,6 +94,19 @@ public class GetSyncCriminalHearingRestrictionTest {
                         .size());
     }
 
+    @Test
+    @DisplayName("Error: a malformed cursor is rejected as an invalid request")
+    public void errorInvalidCursor() {
+        GetSyncCriminalHearingRestriction request = createTestRequest();
+        request.getGetSyncCriminalHearingRestrictionRequest()
+                .getGetSyncCriminalHearingRestrictionRequest()
+                .setCursor("not-a-cursor");
+
+        Assertions.assertThrows(
+                InvalidRequestException.class,
+                () -> sut.getSyncCriminalHearingRestriction(request));
+    }
+
     @Test
     @DisplayName("Error: ords throws exception")
     public void errorOrdsException() {
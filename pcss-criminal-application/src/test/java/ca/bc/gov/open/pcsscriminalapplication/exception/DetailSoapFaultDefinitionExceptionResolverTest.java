@@ -0,0 +1,86 @@
+package ca.bc.gov.open.pcsscriminalapplication.exception;
+
+import ca.bc.gov.open.wsdl.pcss.demsCaseUrl.Error;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import org.junit.jupiter.api.*;
+import org.springframework.ws.soap.SoapFault;
+import org.springframework.ws.soap.SoapMessage;
+import org.springframework.ws.soap.SoapVersion;
+import org.springframework.ws.soap.saaj.SaajSoapMessageFactory;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("DetailSoapFaultDefinitionExceptionResolver Test Suite")
+public class DetailSoapFaultDefinitionExceptionResolverTest {
+
+    private SaajSoapMessageFactory messageFactory;
+    private TestResolver sut;
+
+    @BeforeAll
+    public void beforeAll() {
+        messageFactory = new SaajSoapMessageFactory();
+        messageFactory.setSoapVersion(SoapVersion.SOAP_12);
+        messageFactory.afterPropertiesSet();
+        sut = new TestResolver();
+    }
+
+    @Test
+    @DisplayName("Success: service fault error is marshalled into the fault detail")
+    public void testServiceFaultDetail() throws Exception {
+        Assertions.assertTrue(faultXml(serviceFault("ISL down")).contains("ISL down"));
+    }
+
+    @Test
+    @DisplayName("Success: concurrent faults reuse the cached context safely")
+    public void testConcurrentFaults() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                String reason = "reason " + i;
+                results.add(executor.submit(() -> faultXml(serviceFault(reason))));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                Assertions.assertTrue(results.get(i).get().contains("reason " + i + "<"));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Success: other exceptions produce a fault without detail")
+    public void testOtherException() throws Exception {
+        Assertions.assertFalse(faultXml(new ORDSException()).contains("Detail"));
+    }
+
+    private ServiceFaultException serviceFault(String reason) {
+        Error error = new Error();
+        error.setReason(reason);
+        return new ServiceFaultException(error);
+    }
+
+    private String faultXml(Exception ex) throws Exception {
+        SoapMessage message = messageFactory.createWebServiceMessage();
+        SoapFault fault = message.getSoapBody().addServerOrReceiverFault(ex.getMessage(), null);
+        sut.customize(ex, fault);
+
+        StringWriter writer = new StringWriter();
+        TransformerFactory.newInstance()
+                .newTransformer()
+                .transform(message.getEnvelope().getSource(), new StreamResult(writer));
+        return writer.toString();
+    }
+
+    private static class TestResolver extends DetailSoapFaultDefinitionExceptionResolver {
+        void customize(Exception ex, SoapFault fault) {
+            customizeFault(null, ex, fault);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package ca.bc.gov.open.pcsscriminalapplication.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("BoundedAsyncAppender Test Suite")
+public class BoundedAsyncAppenderTest {
+
+    private static final int QUEUE_SIZE = 100;
+
+    private HttpServer splunk;
+    private CountDownLatch release;
+    private CountDownLatch stalled;
+    private AtomicInteger received;
+    private LoggerContext context;
+    private BoundedAsyncAppender sut;
+    private Logger logger;
+
+    @BeforeEach
+    public void beforeEach() throws Exception {
+        release = new CountDownLatch(1);
+        stalled = new CountDownLatch(1);
+        received = new AtomicInteger();
+        // stands in for the Splunk HEC and holds every request until released
+        splunk = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        splunk.createContext(
+                "/services/collector",
+                exchange -> {
+                    try (InputStream body = exchange.getRequestBody()) {
+                        body.readAllBytes();
+                    }
+                    stalled.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    received.incrementAndGet();
+                    exchange.sendResponseHeaders(200, -1);
+                    exchange.close();
+                });
+        splunk.start();
+
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        HttpPostAppender downstream = new HttpPostAppender();
+        downstream.setContext(context);
+        downstream.uri =
+                URI.create(
+                        "http://localhost:"
+                                + splunk.getAddress().getPort()
+                                + "/services/collector");
+        downstream.start();
+
+        sut = new BoundedAsyncAppender();
+        sut.setContext(context);
+        sut.setName("ASYNC_SPLUNK");
+        sut.setQueueSize(QUEUE_SIZE);
+        sut.addAppender(downstream);
+        sut.start();
+
+        logger = context.getLogger(BoundedAsyncAppenderTest.class);
+        logger.setAdditive(false);
+        logger.setLevel(Level.INFO);
+        logger.addAppender(sut);
+    }
+
+    @AfterEach
+    public void afterEach() {
+        release.countDown();
+        sut.stop();
+        context.stop();
+        splunk.stop(0);
+    }
+
+    @Test
+    @DisplayName("Success: a stalled Splunk does not block the logging thread")
+    public void testStalledSplunkDoesNotBlock() {
+        long start = System.nanoTime();
+        for (int i = 0; i < 10_000; i++) {
+            logger.info("event {}", i);
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        Assertions.assertTrue(elapsedMs < 2_000, "logging took " + elapsedMs + " ms");
+        Assertions.assertTrue(sut.getDiscardedCount() > 0);
+        Assertions.assertEquals(0, received.get());
+    }
+
+    @Test
+    @DisplayName("Success: warnings are kept while the queue is past the discarding threshold")
+    public void testWarningsKeptPastThreshold() throws InterruptedException {
+        // wait for the worker to block on Splunk so the queue cannot drain
+        logger.info("first");
+        Assertions.assertTrue(stalled.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < QUEUE_SIZE; i++) {
+            logger.info("event {}", i);
+        }
+        long discarded = sut.getDiscardedCount();
+        logger.warn("still delivered");
+
+        Assertions.assertTrue(discarded > 0);
+        Assertions.assertEquals(discarded, sut.getDiscardedCount());
+        Assertions.assertEquals(0, sut.getOverflowCount());
+    }
+
+    @Test
+    @DisplayName("Success: every event is delivered once Splunk responds")
+    public void testDeliveredWhenSplunkResponds() throws InterruptedException {
+        release.countDown();
+        for (int i = 0; i < 10; i++) {
+            logger.info("event {}", i);
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (received.get() < 10 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        Assertions.assertEquals(10, received.get());
+        Assertions.assertEquals(0, sut.getDiscardedCount() + sut.getOverflowCount());
+    }
+
+    @Test
+    @DisplayName("Success: queue depth and drops are published as metrics")
+    public void testMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LogPipelineMetrics.bind(registry, sut);
+
+        for (int i = 0; i < QUEUE_SIZE; i++) {
+            logger.info("event {}", i);
+        }
+
+        Assertions.assertEquals(
+                sut.getDiscardedCount(),
+                registry.get("logging.async.dropped")
+                        .tags("appender", "ASYNC_SPLUNK", "reason", "discarded")
+                        .functionCounter()
+                        .count());
+        Assertions.assertTrue(
+                registry.get("logging.async.queue").tag("appender", "ASYNC_SPLUNK").gauge().value()
+                        > 0);
+    }
+
+    /** Posts every event synchronously, as a Splunk appender with a batch size of one would. */
+    private static class HttpPostAppender extends AppenderBase<ILoggingEvent> {
+
+        private final HttpClient client = HttpClient.newHttpClient();
+        private URI uri;
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            try {
+                client.send(
+                        HttpRequest.newBuilder(uri)
+                                .POST(
+                                        HttpRequest.BodyPublishers.ofString(
+                                                event.getFormattedMessage()))
+                                .build(),
+                        HttpResponse.BodyHandlers.discarding());
+            } catch (Exception e) {
+                addError("Cannot post to Splunk", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package ca.bc.gov.open.pcsscriminalapplication.metrics;
+
+import ca.bc.gov.open.pcsscriminalapplication.Keys;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.*;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("OrdsMetricsInterceptor Test Suite")
+public class OrdsMetricsInterceptorTest {
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    public void beforeEach() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Success: calls are timed per endpoint and status")
+    public void testTaggedByEndpointAndStatus() throws IOException {
+        OrdsMetricsInterceptor sut = new OrdsMetricsInterceptor("pcss", registry);
+
+        call(sut, "http://ords/" + Keys.ORDS_FILE_DETAIL + "?justinno=1", HttpStatus.OK);
+        call(sut, "http://ords/" + Keys.ORDS_FILE_DETAIL + "?justinno=2", HttpStatus.OK);
+        call(sut, "http://ords/" + Keys.ORDS_SECURE_FILE_DETAIL, HttpStatus.BAD_GATEWAY);
+
+        Assertions.assertEquals(2, timer("endpoint", Keys.ORDS_FILE_DETAIL).count());
+        Timer failed = timer("endpoint", Keys.ORDS_SECURE_FILE_DETAIL);
+        Assertions.assertEquals(1, failed.count());
+        Assertions.assertEquals("502", failed.getId().getTag("status"));
+        Assertions.assertEquals("SERVER_ERROR", failed.getId().getTag("outcome"));
+        Assertions.assertEquals("pcss", failed.getId().getTag("upstream"));
+    }
+
+    @Test
+    @DisplayName("Error: failed calls are timed with their exception")
+    public void testTaggedByException() {
+        OrdsMetricsInterceptor sut = new OrdsMetricsInterceptor("dems", registry);
+        MockClientHttpRequest request =
+                new MockClientHttpRequest(
+                        HttpMethod.GET, URI.create("http://dems/" + Keys.ORDS_FILE_DEMS_CASE_URL));
+
+        Assertions.assertThrows(
+                SocketTimeoutException.class,
+                () ->
+                        sut.intercept(
+                                request,
+                                new byte[0],
+                                (r, b) -> {
+                                    throw new SocketTimeoutException("Read timed out");
+                                }));
+
+        Timer timer = timer("exception", "SocketTimeoutException");
+        Assertions.assertEquals(1, timer.count());
+        Assertions.assertEquals(Keys.ORDS_FILE_DEMS_CASE_URL, timer.getId().getTag("endpoint"));
+        Assertions.assertEquals(OrdsMetricsInterceptor.IO_ERROR, timer.getId().getTag("status"));
+        Assertions.assertEquals("UNKNOWN", timer.getId().getTag("outcome"));
+    }
+
+    @Test
+    @DisplayName("Success: calls outside ORDS are tagged with the upstream name")
+    public void testUnknownEndpoint() throws IOException {
+        OrdsMetricsInterceptor sut = new OrdsMetricsInterceptor("caselookup", registry);
+
+        call(sut, "http://isl/case-hyperlinks", HttpStatus.OK);
+
+        Assertions.assertEquals(1, timer("endpoint", "caselookup").count());
+    }
+
+    private void call(OrdsMetricsInterceptor sut, String uri, HttpStatus status)
+            throws IOException {
+        sut.intercept(
+                new MockClientHttpRequest(HttpMethod.GET, URI.create(uri)),
+                new byte[0],
+                (r, b) ->
+                        new MockClientHttpResponse("{}".getBytes(StandardCharsets.UTF_8), status));
+    }
+
+    private Timer timer(String tag, String value) {
+        return registry.get(OrdsMetricsInterceptor.METRIC_NAME).tag(tag, value).timer();
+    }
+}
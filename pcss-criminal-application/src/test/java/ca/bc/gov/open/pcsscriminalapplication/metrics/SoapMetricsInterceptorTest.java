@@ -0,0 +1,82 @@
+package ca.bc.gov.open.pcsscriminalapplication.metrics;
+
+import ca.bc.gov.open.pcsscriminalapplication.Keys;
+import ca.bc.gov.open.pcsscriminalapplication.controller.HealthController;
+import ca.bc.gov.open.pcsscriminalapplication.exception.ORDSException;
+import ca.bc.gov.open.wsdl.pcss.two.GetHealth;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.mockito.Mockito;
+import org.springframework.ws.context.DefaultMessageContext;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.server.endpoint.MethodEndpoint;
+import org.springframework.ws.soap.SoapMessage;
+import org.springframework.ws.soap.SoapVersion;
+import org.springframework.ws.soap.saaj.SaajSoapMessageFactory;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("SoapMetricsInterceptor Test Suite")
+public class SoapMetricsInterceptorTest {
+
+    private SimpleMeterRegistry registry;
+    private SoapMetricsInterceptor sut;
+    private SaajSoapMessageFactory messageFactory;
+    private MethodEndpoint getHealth;
+
+    @BeforeAll
+    public void beforeAll() throws Exception {
+        messageFactory = new SaajSoapMessageFactory();
+        messageFactory.setSoapVersion(SoapVersion.SOAP_12);
+        messageFactory.afterPropertiesSet();
+        getHealth =
+                new MethodEndpoint(
+                        Mockito.mock(HealthController.class),
+                        HealthController.class.getMethod("getHealth", GetHealth.class));
+    }
+
+    @BeforeEach
+    public void beforeEach() {
+        registry = new SimpleMeterRegistry();
+        sut = new SoapMetricsInterceptor(registry);
+    }
+
+    @Test
+    @DisplayName("Success: operations are timed by their PayloadRoot local part")
+    public void testSuccess() {
+        MessageContext messageContext = new DefaultMessageContext(messageFactory);
+
+        sut.handleRequest(messageContext, getHealth);
+        messageContext.getResponse();
+        sut.handleResponse(messageContext, getHealth);
+        sut.afterCompletion(messageContext, getHealth, null);
+
+        Timer timer = timer("SUCCESS");
+        Assertions.assertEquals(1, timer.count());
+        Assertions.assertEquals("none", timer.getId().getTag("exception"));
+    }
+
+    @Test
+    @DisplayName("Error: faults are timed with the exception that caused them")
+    public void testFault() {
+        MessageContext messageContext = new DefaultMessageContext(messageFactory);
+
+        sut.handleRequest(messageContext, getHealth);
+        ((SoapMessage) messageContext.getResponse())
+                .getSoapBody()
+                .addServerOrReceiverFault("Error received from ORDS", null);
+        sut.handleFault(messageContext, getHealth);
+        sut.afterCompletion(messageContext, getHealth, new ORDSException());
+
+        Timer timer = timer("FAULT");
+        Assertions.assertEquals(1, timer.count());
+        Assertions.assertEquals("ORDSException", timer.getId().getTag("exception"));
+    }
+
+    private Timer timer(String outcome) {
+        return registry.get(SoapMetricsInterceptor.METRIC_NAME)
+                .tag("operation", Keys.SOAP_METHOD_HEALTH)
+                .tag("outcome", outcome)
+                .timer();
+    }
+}
@@ -0,0 +1,332 @@
+package ca.bc.gov.open.pcsscriminalapplication.resilience;
+
+import ca.bc.gov.open.pcsscriminalapplication.Keys;
+import ca.bc.gov.open.pcsscriminalapplication.properties.LoadSheddingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("AdaptiveConcurrencyFilter Test Suite")
+public class AdaptiveConcurrencyFilterTest {
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    public void beforeEach() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Success: set* operations are recognised as writes")
+    public void testIsWrite() {
+        Assertions.assertTrue(
+                AdaptiveConcurrencyFilter.isWrite(envelope(Keys.SOAP_METHOD_SET_APPEARANCE)));
+        Assertions.assertFalse(
+                AdaptiveConcurrencyFilter.isWrite(envelope(Keys.SOAP_METHOD_APPEARANCE)));
+        Assertions.assertTrue(
+                AdaptiveConcurrencyFilter.isWrite(
+                        "<Envelope><Header/><Body >\n  <setFileNote xmlns=\"urn:x\">"));
+        Assertions.assertFalse(AdaptiveConcurrencyFilter.isWrite("<soap:Envelope><soap:Hea"));
+    }
+
+    @Test
+    @DisplayName("Success: the body is passed on intact after the operation was read")
+    public void testBodyReplayed() throws Exception {
+        String body = envelope(Keys.SOAP_METHOD_SET_FILE_NOTE) + "x".repeat(10_000);
+        AdaptiveConcurrencyFilter sut = new AdaptiveConcurrencyFilter(properties(), registry);
+        MockFilterChain chain =
+                new MockFilterChain() {
+                    @Override
+                    public void doFilter(
+                            jakarta.servlet.ServletRequest request,
+                            jakarta.servlet.ServletResponse response) {
+                        try {
+                            Assertions.assertEquals(
+                                    body,
+                                    new String(
+                                            request.getInputStream().readAllBytes(),
+                                            StandardCharsets.UTF_8));
+                        } catch (java.io.IOException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    }
+                };
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        sut.doFilter(request(body), response, chain);
+
+        Assertions.assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    @DisplayName("Error: reads are shed with a SOAP fault while writes are still admitted")
+    public void testReadsShedFirst() throws Exception {
+        LoadSheddingProperties properties = properties();
+        properties.setInitialLimit(10);
+        properties.setWriteReserve(0.2);
+        AdaptiveConcurrencyFilter sut = new AdaptiveConcurrencyFilter(properties, registry);
+        CountDownLatch started = new CountDownLatch(8);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> reads = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                reads.add(
+                        executor.submit(
+                                () -> {
+                                    sut.doFilter(
+                                            request(envelope(Keys.SOAP_METHOD_APPEARANCE)),
+                                            new MockHttpServletResponse(),
+                                            (req, res) -> {
+                                                started.countDown();
+                                                await(release);
+                                            });
+                                    return null;
+                                }));
+            }
+            Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            MockHttpServletResponse shed = new MockHttpServletResponse();
+            sut.doFilter(
+                    request(envelope(Keys.SOAP_METHOD_APPEARANCE)), shed, new MockFilterChain());
+            MockHttpServletResponse write = new MockHttpServletResponse();
+            sut.doFilter(
+                    request(envelope(Keys.SOAP_METHOD_SET_APPEARANCE)),
+                    write,
+                    new MockFilterChain());
+
+            Assertions.assertEquals(500, shed.getStatus());
+            Assertions.assertArrayEquals(
+                    AdaptiveConcurrencyFilter.OVERLOADED_FAULT, shed.getContentAsByteArray());
+            Assertions.assertEquals(200, write.getStatus());
+            Assertions.assertEquals(
+                    1,
+                    registry.get(AdaptiveConcurrencyFilter.SHED_METRIC_NAME)
+                            .tag("priority", "read")
+                            .counter()
+                            .count());
+
+            release.countDown();
+            for (Future<?> read : reads) {
+                read.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Success: the limit backs off when upstream latency rises")
+    public void testBacksOffOnLatency() throws Exception {
+        LoadSheddingProperties properties = properties();
+        properties.setAlgorithm(LoadSheddingProperties.Algorithm.AIMD);
+        properties.setInitialLimit(10);
+        properties.setMinLimit(1);
+        properties.setAimdTimeout(Duration.ofMillis(20));
+        AdaptiveConcurrencyFilter sut = new AdaptiveConcurrencyFilter(properties, registry);
+
+        for (int i = 0; i < 5; i++) {
+            sut.doFilter(
+                    request(envelope(Keys.SOAP_METHOD_APPEARANCE)),
+                    new MockHttpServletResponse(),
+                    (req, res) -> sleep(30));
+        }
+
+        Assertions.assertTrue(sut.getLimit() < 10, "limit " + sut.getLimit());
+        Assertions.assertEquals(
+                sut.getLimit(), registry.get("soap.concurrency.limit").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Error: upstream faults back the limit off")
+    public void testBacksOffOnFaults() throws Exception {
+        AdaptiveConcurrencyFilter sut = new AdaptiveConcurrencyFilter(aimd(), registry);
+
+        for (int i = 0; i < 5; i++) {
+            sut.doFilter(
+                    request(envelope(Keys.SOAP_METHOD_APPEARANCE)),
+                    new MockHttpServletResponse(),
+                    (req, res) -> ((HttpServletResponse) res).setStatus(500));
+        }
+
+        Assertions.assertTrue(sut.getLimit() < 10, "limit " + sut.getLimit());
+    }
+
+    @Test
+    @DisplayName("Success: local refusals do not move the limit")
+    public void testLocalRefusalsIgnored() throws Exception {
+        AdaptiveConcurrencyFilter sut = new AdaptiveConcurrencyFilter(aimd(), registry);
+
+        for (int i = 0; i < 5; i++) {
+            sut.doFilter(
+                    request(envelope(Keys.SOAP_METHOD_APPEARANCE)),
+                    new MockHttpServletResponse(),
+                    (req, res) -> {
+                        req.setAttribute(LocalRefusal.ATTRIBUTE, Boolean.TRUE);
+                        ((HttpServletResponse) res).setStatus(500);
+                    });
+        }
+
+        Assertions.assertEquals(10, sut.getLimit());
+    }
+
+    @Test
+    @DisplayName("Success: a non-blocking reader gets the whole body")
+    public void testReadListener() throws Exception {
+        String body = envelope(Keys.SOAP_METHOD_APPEARANCE);
+        MockHttpServletRequest request =
+                new MockHttpServletRequest("POST", "/criminal") {
+                    private final ServletInputStream in =
+                            new ListenerInputStream(body.getBytes(StandardCharsets.UTF_8));
+
+                    @Override
+                    public ServletInputStream getInputStream() {
+                        return in;
+                    }
+                };
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicBoolean done = new AtomicBoolean();
+        AdaptiveConcurrencyFilter sut = new AdaptiveConcurrencyFilter(properties(), registry);
+
+        sut.doFilter(
+                request,
+                new MockHttpServletResponse(),
+                (req, res) -> {
+                    ServletInputStream in = req.getInputStream();
+                    in.setReadListener(
+                            new ReadListener() {
+                                @Override
+                                public void onDataAvailable() throws IOException {
+                                    while (in.isReady() && !in.isFinished()) {
+                                        int b = in.read();
+                                        if (b < 0) {
+                                            break;
+                                        }
+                                        read.write(b);
+                                    }
+                                }
+
+                                @Override
+                                public void onAllDataRead() {
+                                    done.set(true);
+                                }
+
+                                @Override
+                                public void onError(Throwable t) {
+                                    Assertions.fail(t);
+                                }
+                            });
+                });
+
+        Assertions.assertTrue(done.get());
+        Assertions.assertEquals(body, read.toString(StandardCharsets.UTF_8));
+    }
+
+    private static LoadSheddingProperties aimd() {
+        LoadSheddingProperties properties = properties();
+        properties.setAlgorithm(LoadSheddingProperties.Algorithm.AIMD);
+        properties.setInitialLimit(10);
+        properties.setMinLimit(1);
+        properties.setAimdTimeout(Duration.ofSeconds(10));
+        return properties;
+    }
+
+    private static LoadSheddingProperties properties() {
+        LoadSheddingProperties properties = new LoadSheddingProperties();
+        properties.setMaxLimit(100);
+        return properties;
+    }
+
+    private static MockHttpServletRequest request(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/criminal");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        request.setContentType("application/soap+xml;charset=UTF-8");
+        return request;
+    }
+
+    private static String envelope(String operation) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<soap:Envelope xmlns:soap=\"http://www.w3.org/2003/05/soap-envelope\">"
+                + "<soap:Header/>"
+                + "<soap:Body>"
+                + "<ns:"
+                + operation
+                + " xmlns:ns=\""
+                + Keys.SOAP_NAMESPACE
+                + "\"/>"
+                + "</soap:Body></soap:Envelope>";
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Container stream that reports its data to a read listener as soon as one is set. */
+    private static class ListenerInputStream extends ServletInputStream {
+
+        private final ByteArrayInputStream in;
+
+        ListenerInputStream(byte[] body) {
+            this.in = new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public int read() {
+            return in.read();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return in.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            try {
+                if (!isFinished()) {
+                    readListener.onDataAvailable();
+                }
+                readListener.onAllDataRead();
+            } catch (IOException e) {
+                readListener.onError(e);
+            }
+        }
+    }
+}
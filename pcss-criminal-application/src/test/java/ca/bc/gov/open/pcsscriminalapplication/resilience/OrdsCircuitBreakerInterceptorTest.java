@@ -0,0 +1,119 @@
+package ca.bc.gov.open.pcsscriminalapplication.resilience;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.*;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("OrdsCircuitBreakerInterceptor Test Suite")
+public class OrdsCircuitBreakerInterceptorTest {
+
+    private CircuitBreaker circuitBreaker;
+    private OrdsCircuitBreakerInterceptor sut;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    public void beforeEach() {
+        circuitBreaker =
+                CircuitBreaker.of(
+                        "pcss",
+                        CircuitBreakerConfig.custom()
+                                .slidingWindowType(
+                                        CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                                .slidingWindowSize(4)
+                                .minimumNumberOfCalls(4)
+                                .failureRateThreshold(50)
+                                .slowCallRateThreshold(50)
+                                .slowCallDurationThreshold(Duration.ofMillis(50))
+                                .waitDurationInOpenState(Duration.ofMinutes(1))
+                                .build());
+        sut = new OrdsCircuitBreakerInterceptor(circuitBreaker);
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Error: timeouts open the circuit and later calls fail fast")
+    public void testOpensOnFailures() {
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertThrows(
+                    SocketTimeoutException.class,
+                    () ->
+                            call(
+                                    (r, b) -> {
+                                        calls.incrementAndGet();
+                                        throw new SocketTimeoutException("Read timed out");
+                                    }));
+        }
+
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        Assertions.assertThrows(
+                CallNotPermittedException.class, () -> call(respond(HttpStatus.OK)));
+        Assertions.assertEquals(4, calls.get());
+    }
+
+    @Test
+    @DisplayName("Error: server errors count as failures")
+    public void testServerErrors() throws IOException {
+        for (int i = 0; i < 4; i++) {
+            call(respond(HttpStatus.BAD_GATEWAY));
+        }
+
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("Success: client errors do not open the circuit")
+    public void testClientErrors() throws IOException {
+        for (int i = 0; i < 4; i++) {
+            call(respond(HttpStatus.NOT_FOUND));
+        }
+
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        Assertions.assertEquals(4, calls.get());
+    }
+
+    @Test
+    @DisplayName("Error: slow calls open the circuit")
+    public void testSlowCalls() throws IOException {
+        for (int i = 0; i < 4; i++) {
+            call(
+                    (r, b) -> {
+                        try {
+                            Thread.sleep(60);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return respond(HttpStatus.OK).execute(r, b);
+                    });
+        }
+
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        Assertions.assertEquals(4, circuitBreaker.getMetrics().getNumberOfSlowCalls());
+    }
+
+    private void call(ClientHttpRequestExecution execution) throws IOException {
+        sut.intercept(
+                new MockClientHttpRequest(HttpMethod.GET, URI.create("http://ords/filedetail")),
+                new byte[0],
+                execution);
+    }
+
+    private ClientHttpRequestExecution respond(HttpStatus status) {
+        return (r, b) -> {
+            calls.incrementAndGet();
+            return new MockClientHttpResponse("{}".getBytes(StandardCharsets.UTF_8), status);
+        };
+    }
+}
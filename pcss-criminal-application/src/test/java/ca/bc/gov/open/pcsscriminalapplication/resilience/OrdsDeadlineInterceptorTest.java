@@ -0,0 +1,179 @@
+package ca.bc.gov.open.pcsscriminalapplication.resilience;
+
+import ca.bc.gov.open.pcsscriminalapplication.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.*;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("OrdsDeadlineInterceptor Test Suite")
+public class OrdsDeadlineInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrdsDeadlineInterceptor sut;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    public void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new OrdsDeadlineInterceptor("pcss", meterRegistry);
+        calls = new AtomicInteger();
+    }
+
+    @AfterEach
+    public void afterEach() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    @DisplayName("Success: calls without a deadline pass straight through")
+    public void testNoDeadline() throws IOException {
+        call(respond());
+
+        Assertions.assertEquals(1, calls.get());
+        Assertions.assertEquals(0, abandoned("before") + abandoned("in_flight"));
+    }
+
+    @Test
+    @DisplayName("Error: a call after the deadline is refused before it is sent")
+    public void testBefore() throws InterruptedException {
+        RequestDeadline.set(Duration.ofMillis(1));
+        Thread.sleep(5);
+
+        Assertions.assertThrows(DeadlineExceededException.class, () -> call(respond()));
+        Assertions.assertEquals(0, calls.get());
+        Assertions.assertEquals(1, abandoned("before"));
+    }
+
+    @Test
+    @DisplayName("Error: a call that fails once the deadline has passed is abandoned")
+    public void testInFlight() {
+        RequestDeadline.set(Duration.ofMillis(20));
+
+        DeadlineExceededException ex =
+                Assertions.assertThrows(
+                        DeadlineExceededException.class,
+                        () ->
+                                call(
+                                        (r, b) -> {
+                                            sleep(40);
+                                            throw new SocketTimeoutException("Read timed out");
+                                        }));
+        Assertions.assertInstanceOf(SocketTimeoutException.class, ex.getCause());
+        Assertions.assertEquals(1, abandoned("in_flight"));
+    }
+
+    @Test
+    @DisplayName("Error: failures before the deadline are passed on unchanged")
+    public void testFailureInTime() {
+        RequestDeadline.set(Duration.ofSeconds(30));
+
+        Assertions.assertThrows(
+                SocketTimeoutException.class,
+                () ->
+                        call(
+                                (r, b) -> {
+                                    throw new SocketTimeoutException("Read timed out");
+                                }));
+        Assertions.assertEquals(0, abandoned("in_flight"));
+    }
+
+    @Test
+    @DisplayName("Success: request timeouts are capped at the time left")
+    public void testRequestConfig() {
+        DeadlineRequestFactory factory =
+                new DeadlineRequestFactory(HttpClients.createDefault(), Duration.ofSeconds(5));
+        RequestConfig clientConfig =
+                RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofSeconds(10))
+                        .setResponseTimeout(Timeout.ofMilliseconds(500))
+                        .build();
+
+        Assertions.assertSame(clientConfig, factory.mergeRequestConfig(clientConfig));
+        Assertions.assertEquals(5000, factory.connectTimeout().toMilliseconds());
+
+        RequestDeadline.set(Duration.ofSeconds(2));
+        RequestConfig config = factory.mergeRequestConfig(clientConfig);
+
+        Assertions.assertTrue(config.getConnectionRequestTimeout().toMilliseconds() <= 2000);
+        Assertions.assertTrue(config.getConnectionRequestTimeout().toMilliseconds() > 1000);
+        Assertions.assertTrue(factory.connectTimeout().toMilliseconds() <= 2000);
+        Assertions.assertTrue(factory.connectTimeout().toMilliseconds() > 1000);
+        Assertions.assertEquals(500, config.getResponseTimeout().toMilliseconds());
+    }
+
+    @Test
+    @DisplayName("Success: fan-out tasks run under the caller's deadline")
+    public void testPropagate() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Assertions.assertTrue(
+                    CompletableFuture.supplyAsync(
+                                    RequestDeadline.propagate(RequestDeadline::remaining), executor)
+                            .get()
+                            .isEmpty());
+
+            RequestDeadline.set(Duration.ofSeconds(30));
+            Optional<Duration> remaining =
+                    CompletableFuture.supplyAsync(
+                                    RequestDeadline.propagate(RequestDeadline::remaining), executor)
+                            .get();
+            Assertions.assertTrue(remaining.orElseThrow().compareTo(Duration.ofSeconds(25)) > 0);
+
+            // the fan-out thread does not keep it
+            Assertions.assertTrue(
+                    CompletableFuture.supplyAsync(RequestDeadline::remaining, executor)
+                            .get()
+                            .isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void call(ClientHttpRequestExecution execution) throws IOException {
+        sut.intercept(
+                new MockClientHttpRequest(HttpMethod.GET, URI.create("http://ords/filedetail")),
+                new byte[0],
+                execution);
+    }
+
+    private ClientHttpRequestExecution respond() {
+        return (r, b) -> {
+            calls.incrementAndGet();
+            return new MockClientHttpResponse("{}".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        };
+    }
+
+    private double abandoned(String stage) {
+        return meterRegistry
+                .get(OrdsDeadlineInterceptor.METRIC_NAME)
+                .tags("upstream", "pcss", "stage", stage)
+                .counter()
+                .count();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package ca.bc.gov.open.pcsscriminalapplication.resilience;
+
+import ca.bc.gov.open.pcsscriminalapplication.Keys;
+import ca.bc.gov.open.pcsscriminalapplication.controller.HealthController;
+import ca.bc.gov.open.pcsscriminalapplication.controller.PersonnelController;
+import ca.bc.gov.open.pcsscriminalapplication.properties.SoapBulkheadProperties;
+import ca.bc.gov.open.wsdl.pcss.two.GetPersonnelAvailability;
+import ca.bc.gov.open.wsdl.pcss.two.GetPersonnelSearch;
+import ca.bc.gov.open.wsdl.pcss.two.GetPing;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.*;
+import org.mockito.Mockito;
+import org.springframework.ws.context.DefaultMessageContext;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.server.endpoint.MethodEndpoint;
+import org.springframework.ws.soap.SoapVersion;
+import org.springframework.ws.soap.saaj.SaajSoapMessageFactory;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("SoapBulkheadInterceptor Test Suite")
+public class SoapBulkheadInterceptorTest {
+
+    private SaajSoapMessageFactory messageFactory;
+    private MethodEndpoint getPersonnelAvailability;
+    private MethodEndpoint getPersonnelSearch;
+    private MethodEndpoint getPing;
+    private SoapBulkheadProperties properties;
+    private BulkheadRegistry bulkheadRegistry;
+    private SimpleMeterRegistry meterRegistry;
+    private SoapBulkheadInterceptor sut;
+
+    @BeforeAll
+    public void beforeAll() throws Exception {
+        messageFactory = new SaajSoapMessageFactory();
+        messageFactory.setSoapVersion(SoapVersion.SOAP_12);
+        messageFactory.afterPropertiesSet();
+        PersonnelController personnelController = Mockito.mock(PersonnelController.class);
+        getPersonnelAvailability =
+                new MethodEndpoint(
+                        personnelController,
+                        PersonnelController.class.getMethod(
+                                "getPersonnelAvailability", GetPersonnelAvailability.class));
+        getPersonnelSearch =
+                new MethodEndpoint(
+                        personnelController,
+                        PersonnelController.class.getMethod(
+                                "getPersonnelSearch", GetPersonnelSearch.class));
+        getPing =
+                new MethodEndpoint(
+                        Mockito.mock(HealthController.class),
+                        HealthController.class.getMethod("getPing", GetPing.class));
+    }
+
+    @BeforeEach
+    public void beforeEach() {
+        properties = new SoapBulkheadProperties();
+        properties.getControllers().put("PersonnelController", "personnel");
+        bulkheadRegistry =
+                BulkheadRegistry.of(
+                        BulkheadConfig.custom()
+                                .maxConcurrentCalls(2)
+                                .maxWaitDuration(Duration.ZERO)
+                                .build());
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new SoapBulkheadInterceptor(properties, bulkheadRegistry, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Error: a full bulkhead refuses the request and counts the rejection")
+    public void testRejected() {
+        MessageContext first = handle(getPersonnelAvailability);
+        handle(getPersonnelSearch);
+
+        Assertions.assertThrows(
+                BulkheadFullException.class, () -> handle(getPersonnelAvailability));
+        Assertions.assertEquals(
+                1,
+                meterRegistry
+                        .get(SoapBulkheadInterceptor.REJECTED_METRIC_NAME)
+                        .tags(
+                                "bulkhead",
+                                "personnel",
+                                "operation",
+                                Keys.SOAP_METHOD_PERSONNEL_AVAILABILITY)
+                        .counter()
+                        .count());
+
+        sut.afterCompletion(first, getPersonnelAvailability, null);
+        Assertions.assertDoesNotThrow(() -> handle(getPersonnelAvailability));
+    }
+
+    @Test
+    @DisplayName("Success: operations without a bulkhead are never limited")
+    public void testUnlimited() {
+        handle(getPersonnelAvailability);
+        handle(getPersonnelAvailability);
+
+        for (int i = 0; i < 10; i++) {
+            handle(getPing);
+        }
+        Assertions.assertEquals(
+                0,
+                bulkheadRegistry.bulkhead("personnel").getMetrics().getAvailableConcurrentCalls());
+    }
+
+    @Test
+    @DisplayName("Success: an operation can be given a bulkhead of its own")
+    public void testOperationOverride() {
+        properties
+                .getOperations()
+                .put(Keys.SOAP_METHOD_PERSONNEL_AVAILABILITY, "personnelAvailability");
+
+        handle(getPersonnelAvailability);
+        handle(getPersonnelAvailability);
+        handle(getPersonnelSearch);
+
+        Assertions.assertEquals(
+                1,
+                bulkheadRegistry.bulkhead("personnel").getMetrics().getAvailableConcurrentCalls());
+    }
+
+    private MessageContext handle(MethodEndpoint endpoint) {
+        MessageContext messageContext = new DefaultMessageContext(messageFactory);
+        Assertions.assertTrue(sut.handleRequest(messageContext, endpoint));
+        return messageContext;
+    }
+}
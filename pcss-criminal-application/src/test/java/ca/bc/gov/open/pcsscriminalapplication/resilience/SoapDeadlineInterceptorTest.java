@@ -0,0 +1,157 @@
+package ca.bc.gov.open.pcsscriminalapplication.resilience;
+
+import ca.bc.gov.open.pcsscriminalapplication.Keys;
+import ca.bc.gov.open.pcsscriminalapplication.controller.PersonnelController;
+import ca.bc.gov.open.pcsscriminalapplication.exception.DeadlineExceededException;
+import ca.bc.gov.open.pcsscriminalapplication.properties.SoapDeadlineProperties;
+import ca.bc.gov.open.wsdl.pcss.two.GetPersonnelSearch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.*;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.ws.context.DefaultMessageContext;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.server.endpoint.MethodEndpoint;
+import org.springframework.ws.soap.SoapVersion;
+import org.springframework.ws.soap.saaj.SaajSoapMessageFactory;
+import org.springframework.ws.transport.context.DefaultTransportContext;
+import org.springframework.ws.transport.context.TransportContextHolder;
+import org.springframework.ws.transport.http.HttpServletConnection;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("SoapDeadlineInterceptor Test Suite")
+public class SoapDeadlineInterceptorTest {
+
+    private SaajSoapMessageFactory messageFactory;
+    private MethodEndpoint getPersonnelSearch;
+    private SoapDeadlineProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private SoapDeadlineInterceptor sut;
+
+    @BeforeAll
+    public void beforeAll() throws Exception {
+        messageFactory = new SaajSoapMessageFactory();
+        messageFactory.setSoapVersion(SoapVersion.SOAP_12);
+        messageFactory.afterPropertiesSet();
+        getPersonnelSearch =
+                new MethodEndpoint(
+                        Mockito.mock(PersonnelController.class),
+                        PersonnelController.class.getMethod(
+                                "getPersonnelSearch", GetPersonnelSearch.class));
+    }
+
+    @BeforeEach
+    public void beforeEach() {
+        properties = new SoapDeadlineProperties();
+        properties.setDefaultTimeout(Duration.ofSeconds(30));
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new SoapDeadlineInterceptor(properties, meterRegistry);
+    }
+
+    @AfterEach
+    public void afterEach() {
+        TransportContextHolder.setTransportContext(null);
+        RequestDeadline.clear();
+    }
+
+    @Test
+    @DisplayName("Success: the default timeout is bound and cleared after completion")
+    public void testDefault() throws DeadlineExceededException {
+        MessageContext messageContext = handle();
+
+        assertRemaining(Duration.ofSeconds(25), Duration.ofSeconds(30));
+
+        sut.afterCompletion(messageContext, getPersonnelSearch, null);
+        Assertions.assertTrue(RequestDeadline.remaining().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Success: an operation can be given a timeout of its own")
+    public void testOperationOverride() throws DeadlineExceededException {
+        properties.getOperations().put(Keys.SOAP_METHOD_PERSONNEL_SEARCH, Duration.ofMinutes(10));
+
+        handle();
+
+        assertRemaining(Duration.ofMinutes(9), Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("Success: the caller's header shortens the timeout but never extends it")
+    public void testHeader() throws DeadlineExceededException {
+        header("2s");
+        handle();
+        assertRemaining(Duration.ofSeconds(1), Duration.ofSeconds(2));
+
+        header("600000");
+        handle();
+        assertRemaining(Duration.ofSeconds(25), Duration.ofSeconds(30));
+
+        header("soon");
+        handle();
+        assertRemaining(Duration.ofSeconds(25), Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("Error: a request with no time left is refused and counted")
+    public void testRefused() {
+        header("0");
+
+        Assertions.assertThrows(DeadlineExceededException.class, this::handle);
+        Assertions.assertTrue(RequestDeadline.remaining().isEmpty());
+        Assertions.assertEquals(1, exceeded("refused"));
+    }
+
+    @Test
+    @DisplayName("Error: a request that outlives its caller is counted on completion")
+    public void testCompletedLate() throws Exception {
+        header("20");
+        MessageContext messageContext = handle();
+
+        Thread.sleep(40);
+        sut.afterCompletion(messageContext, getPersonnelSearch, null);
+
+        Assertions.assertEquals(1, exceeded("completed"));
+        Assertions.assertTrue(RequestDeadline.remaining().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Success: nothing is bound when disabled")
+    public void testDisabled() throws DeadlineExceededException {
+        properties.setEnabled(false);
+        header("0");
+
+        handle();
+
+        Assertions.assertTrue(RequestDeadline.remaining().isEmpty());
+    }
+
+    private MessageContext handle() throws DeadlineExceededException {
+        MessageContext messageContext = new DefaultMessageContext(messageFactory);
+        Assertions.assertTrue(sut.handleRequest(messageContext, getPersonnelSearch));
+        return messageContext;
+    }
+
+    private void header(String value) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(properties.getHeader(), value);
+        TransportContextHolder.setTransportContext(
+                new DefaultTransportContext(
+                        new HttpServletConnection(request, new MockHttpServletResponse()) {}));
+    }
+
+    private void assertRemaining(Duration atLeast, Duration atMost) {
+        Duration remaining = RequestDeadline.remaining().orElseThrow();
+        Assertions.assertTrue(remaining.compareTo(atLeast) > 0, remaining::toString);
+        Assertions.assertTrue(remaining.compareTo(atMost) <= 0, remaining::toString);
+    }
+
+    private double exceeded(String stage) {
+        return meterRegistry
+                .get(SoapDeadlineInterceptor.EXCEEDED_METRIC_NAME)
+                .tags("operation", Keys.SOAP_METHOD_PERSONNEL_SEARCH, "stage", stage)
+                .counter()
+                .count();
+    }
+}
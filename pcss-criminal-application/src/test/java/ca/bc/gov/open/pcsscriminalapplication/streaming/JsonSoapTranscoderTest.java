@@ -0,0 +1,279 @@
+package ca.bc.gov.open.pcsscriminalapplication.streaming;
+
+import ca.bc.gov.open.pcsscriminalapplication.configuration.SoapConfig;
+import ca.bc.gov.open.wsdl.pcss.two.GetAppearanceCriminalResponse;
+import ca.bc.gov.open.wsdl.pcss.two.GetAppearanceCriminalResponse2;
+import ca.bc.gov.open.wsdl.pcss.two.GetFileDetailCriminalResponse;
+import ca.bc.gov.open.wsdl.pcss.two.GetFileDetailCriminalResponse2;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.soap.SOAPMessage;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.junit.jupiter.api.*;
+import org.springframework.ws.soap.SoapMessage;
+import org.springframework.ws.soap.SoapVersion;
+import org.springframework.ws.soap.saaj.SaajSoapMessageFactory;
+import org.springframework.ws.stream.StreamingPayload;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("JsonSoapTranscoder Test Suite")
+public class JsonSoapTranscoderTest {
+
+    private static final String APPEARANCE_JSON =
+            "{\"responseCd\":0,\"ResponseMessageTxt\":\"<ok> & \\\"done\\\"\","
+                    + "\"futureRecCount\":\"1\",\"historyRecCount\":\"2\",\"unknown\":{\"a\":[1]},"
+                    + "\"apprDetail\":[{\"historyYN\":\"Y\",\"appearanceId\":\"A&<1\","
+                    + "\"appearanceDt\":\"26-NOV-01 12.00.00.000000 PM\",\"judgeFullNm\":\"\","
+                    + "\"appearanceStatusCd\":\"SCHD\",\"lastNm\":null,\"GIVENNM\":\"Zoë\"},"
+                    + "{},null,{\"appearanceTm\":\"2001-11-26 13:30:00.0\",\"partId\":7}]}";
+
+    private ObjectMapper objectMapper;
+    private SaajSoapMessageFactory messageFactory;
+    private StreamingSoapMessageFactory streamingFactory;
+
+    @BeforeAll
+    public void beforeAll() throws Exception {
+        objectMapper = new SoapConfig().objectMapper();
+        messageFactory =
+                new SaajSoapMessageFactory() {
+                    {
+                        setSoapVersion(SoapVersion.SOAP_12);
+                        setMessageProperties(Map.of(SOAPMessage.WRITE_XML_DECLARATION, "true"));
+                    }
+                };
+        messageFactory.afterPropertiesSet();
+        streamingFactory =
+                new StreamingSoapMessageFactory() {
+                    {
+                        setSoapVersion(SoapVersion.SOAP_12);
+                        setMessageProperties(Map.of(SOAPMessage.WRITE_XML_DECLARATION, "true"));
+                    }
+                };
+        streamingFactory.afterPropertiesSet();
+    }
+
+    @Test
+    @DisplayName("Success: getAppearanceCriminal is byte identical to the bound path")
+    public void testAppearanceIdentical() throws Exception {
+        ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalResponse ords =
+                objectMapper.readValue(
+                        APPEARANCE_JSON,
+                        ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalResponse.class);
+        GetAppearanceCriminalResponse2 response2 = new GetAppearanceCriminalResponse2();
+        response2.setGetAppearanceCriminalResponse(ords);
+        GetAppearanceCriminalResponse response = new GetAppearanceCriminalResponse();
+        response.setGetAppearanceCriminalResponse(response2);
+
+        String streamed =
+                streamed(
+                        GetAppearanceCriminalResponse.class,
+                        ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalResponse.class,
+                        APPEARANCE_JSON);
+
+        Assertions.assertEquals(bound(response), streamed);
+        Assertions.assertTrue(streamed.contains("A&amp;&lt;1"), streamed);
+    }
+
+    @Test
+    @DisplayName("Success: getFileDetailCriminal with nested lists is byte identical")
+    public void testFileDetailIdentical() throws Exception {
+        String json =
+                objectMapper.writeValueAsString(
+                        populate(
+                                ca.bc.gov.open.wsdl.pcss.one.GetFileDetailCriminalResponse.class,
+                                0));
+        ca.bc.gov.open.wsdl.pcss.one.GetFileDetailCriminalResponse ords =
+                objectMapper.readValue(
+                        json, ca.bc.gov.open.wsdl.pcss.one.GetFileDetailCriminalResponse.class);
+        GetFileDetailCriminalResponse2 response2 = new GetFileDetailCriminalResponse2();
+        response2.setGetFileDetailCriminalResponse(ords);
+        GetFileDetailCriminalResponse response = new GetFileDetailCriminalResponse();
+        response.setGetFileDetailCriminalResponse(response2);
+
+        Assertions.assertEquals(
+                bound(response),
+                streamed(
+                        GetFileDetailCriminalResponse.class,
+                        ca.bc.gov.open.wsdl.pcss.one.GetFileDetailCriminalResponse.class,
+                        json));
+    }
+
+    @Test
+    @DisplayName("Success: scalars that arrive early wait for the elements before them")
+    public void testEarlyScalars() throws Exception {
+        String json =
+                "{\"apprDetail\":[{\"givenNm\":\"G\",\"appearanceId\":\"A\"}],"
+                        + "\"historyRecCount\":\"2\"}";
+        String reordered =
+                "{\"historyRecCount\":\"2\","
+                        + "\"apprDetail\":[{\"appearanceId\":\"A\",\"givenNm\":\"G\"}]}";
+
+        Assertions.assertThrows(
+                JsonSoapTranscoder.OutOfOrderException.class,
+                () ->
+                        streamed(
+                                GetAppearanceCriminalResponse.class,
+                                ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalResponse.class,
+                                json));
+        Assertions.assertTrue(
+                streamed(
+                                GetAppearanceCriminalResponse.class,
+                                ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalResponse.class,
+                                reordered)
+                        .contains(
+                                "<ns2:HistoryRecCount>2</ns2:HistoryRecCount><ns2:ApprDetail>"
+                                        + "<ns2:AppearanceId>A</ns2:AppearanceId>"
+                                        + "<ns2:GivenNm>G</ns2:GivenNm></ns2:ApprDetail>"));
+    }
+
+    @Test
+    @DisplayName("Success: a streaming payload is byte identical to a marshalled one")
+    public void testStreamingPayloadIdentical() throws Exception {
+        String json =
+                objectMapper.writeValueAsString(
+                        populate(
+                                ca.bc.gov.open.wsdl.pcss.one.GetFileDetailCriminalResponse.class,
+                                0));
+        ca.bc.gov.open.wsdl.pcss.one.GetFileDetailCriminalResponse ords =
+                objectMapper.readValue(
+                        json, ca.bc.gov.open.wsdl.pcss.one.GetFileDetailCriminalResponse.class);
+        GetFileDetailCriminalResponse2 response2 = new GetFileDetailCriminalResponse2();
+        response2.setGetFileDetailCriminalResponse(ords);
+        GetFileDetailCriminalResponse response = new GetFileDetailCriminalResponse();
+        response.setGetFileDetailCriminalResponse(response2);
+        JsonSoapTranscoder sut =
+                new JsonSoapTranscoder(
+                        GetFileDetailCriminalResponse.class,
+                        ca.bc.gov.open.wsdl.pcss.one.GetFileDetailCriminalResponse.class,
+                        objectMapper);
+
+        StreamingSoapMessage marshalled = streamingFactory.createWebServiceMessage();
+        marshalled.setStreamingPayload(
+                payload(
+                        sut.getName(),
+                        writer -> {
+                            Marshaller marshaller =
+                                    JAXBContext.newInstance(GetFileDetailCriminalResponse.class)
+                                            .createMarshaller();
+                            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+                            marshaller.marshal(response, writer);
+                        }));
+        StreamingSoapMessage transcoded = streamingFactory.createWebServiceMessage();
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            parser.nextToken();
+            transcoded.setStreamingPayload(
+                    payload(sut.getName(), writer -> sut.write(parser, writer)));
+            Assertions.assertEquals(serialize(marshalled), serialize(transcoded));
+        }
+    }
+
+    @Test
+    @DisplayName("Error: a scalar after a later element cannot be placed")
+    public void testOutOfOrder() {
+        String json = "{\"apprDetail\":[],\"responseCd\":\"0\"}";
+
+        Assertions.assertThrows(
+                JsonSoapTranscoder.OutOfOrderException.class,
+                () ->
+                        streamed(
+                                GetAppearanceCriminalResponse.class,
+                                ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalResponse.class,
+                                json));
+    }
+
+    private static StreamingPayload payload(QName name, PayloadWriter payloadWriter) {
+        return new StreamingPayload() {
+            @Override
+            public QName getName() {
+                return name;
+            }
+
+            @Override
+            public void writeTo(XMLStreamWriter writer) throws XMLStreamException {
+                try {
+                    payloadWriter.write(writer);
+                } catch (Exception e) {
+                    throw new XMLStreamException(e);
+                }
+            }
+        };
+    }
+
+    private interface PayloadWriter {
+        void write(XMLStreamWriter writer) throws Exception;
+    }
+
+    private String bound(Object response) throws Exception {
+        SoapMessage message = messageFactory.createWebServiceMessage();
+        JAXBContext.newInstance(response.getClass())
+                .createMarshaller()
+                .marshal(response, message.getPayloadResult());
+        return serialize(message);
+    }
+
+    private String streamed(Class<?> responseType, Class<?> ordsType, String json)
+            throws Exception {
+        JsonSoapTranscoder sut = new JsonSoapTranscoder(responseType, ordsType, objectMapper);
+        SoapMessage message = messageFactory.createWebServiceMessage();
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            parser.nextToken();
+            sut.write(parser, message.getPayloadResult());
+        }
+        return serialize(message);
+    }
+
+    private static String serialize(SoapMessage message) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        message.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /** Fills every field, with markup characters in the strings and two records per list. */
+    private ObjectNode populate(Class<?> type, int depth) {
+        ObjectNode node = objectMapper.createObjectNode();
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            String name = field.getName();
+            if (field.getType() == List.class) {
+                Class<?> element =
+                        (Class<?>)
+                                ((ParameterizedType) field.getGenericType())
+                                        .getActualTypeArguments()[0];
+                ArrayNode array = node.putArray(name);
+                for (int i = 0; i < 2 && depth < 4; i++) {
+                    if (element == String.class) {
+                        array.add(name + " <" + i + ">");
+                    } else {
+                        array.add(populate(element, depth + 1));
+                    }
+                }
+            } else if (field.getType() == String.class) {
+                node.put(name, name + " & \"" + depth + "\"");
+            } else if (field.getType() == Instant.class) {
+                node.put(name, "26-NOV-01 12.00.00.000000 PM");
+            } else if (field.getType().isEnum()) {
+                Object[] constants = field.getType().getEnumConstants();
+                node.put(name, ((Enum<?>) constants[constants.length - 1]).name());
+            } else if (depth < 4) {
+                node.set(name, populate(field.getType(), depth + 1));
+            }
+        }
+        return node;
+    }
+}
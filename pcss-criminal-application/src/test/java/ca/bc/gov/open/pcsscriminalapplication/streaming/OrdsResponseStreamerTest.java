@@ -0,0 +1,226 @@
+package ca.bc.gov.open.pcsscriminalapplication.streaming;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import ca.bc.gov.open.pcsscriminalapplication.Keys;
+import ca.bc.gov.open.pcsscriminalapplication.configuration.SoapConfig;
+import ca.bc.gov.open.pcsscriminalapplication.properties.SoapStreamingProperties;
+import ca.bc.gov.open.wsdl.pcss.two.GetAppearanceCriminalResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.*;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.ws.context.DefaultMessageContext;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.soap.SoapVersion;
+import org.springframework.ws.soap.saaj.SaajSoapMessageFactory;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("OrdsResponseStreamer Test Suite")
+public class OrdsResponseStreamerTest {
+
+    private static final URI URI_APPEARANCE = URI.create("http://ords/appearance");
+
+    private SaajSoapMessageFactory messageFactory;
+    private StreamingSoapMessageFactory streamingFactory;
+    private SoapStreamingProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private MockRestServiceServer server;
+    private OrdsResponseStreamer sut;
+
+    @BeforeAll
+    public void beforeAll() throws Exception {
+        messageFactory = new SaajSoapMessageFactory();
+        messageFactory.setSoapVersion(SoapVersion.SOAP_12);
+        messageFactory.afterPropertiesSet();
+        streamingFactory = new StreamingSoapMessageFactory();
+        streamingFactory.setSoapVersion(SoapVersion.SOAP_12);
+        streamingFactory.afterPropertiesSet();
+    }
+
+    @BeforeEach
+    public void beforeEach() {
+        properties = new SoapStreamingProperties();
+        properties.setEnabled(true);
+        properties.getOperations().add(Keys.SOAP_METHOD_APPEARANCE);
+        meterRegistry = new SimpleMeterRegistry();
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        sut =
+                new OrdsResponseStreamer(
+                        restTemplate, new SoapConfig().objectMapper(), properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Success: the ORDS response is written to the SOAP response")
+    public void testStreamed() throws Exception {
+        server.expect(requestTo(URI_APPEARANCE))
+                .andRespond(
+                        withSuccess(
+                                "{\"responseCd\":\"0\",\"apprDetail\":[{\"appearanceId\":\"1\"}]}",
+                                MediaType.APPLICATION_JSON));
+        MessageContext messageContext = new DefaultMessageContext(messageFactory);
+
+        Assertions.assertTrue(stream(Keys.SOAP_METHOD_APPEARANCE, messageContext));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        messageContext.getResponse().writeTo(out);
+        Assertions.assertTrue(
+                out.toString(StandardCharsets.UTF_8)
+                        .contains(
+                                "<ns2:ResponseCd>0</ns2:ResponseCd><ns2:ApprDetail>"
+                                        + "<ns2:AppearanceId>1</ns2:AppearanceId>"));
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("Success: out of order responses are bound from the bytes already read")
+    public void testFallback() throws Exception {
+        server.expect(ExpectedCount.once(), requestTo(URI_APPEARANCE))
+                .andRespond(
+                        withSuccess(
+                                "{\"apprDetail\":[{\"appearanceId\":\"1\"}],\"responseCd\":\"0\"}",
+                                MediaType.APPLICATION_JSON));
+        MessageContext messageContext = new DefaultMessageContext(messageFactory);
+
+        Assertions.assertTrue(stream(Keys.SOAP_METHOD_APPEARANCE, messageContext));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        messageContext.getResponse().writeTo(out);
+        Assertions.assertTrue(
+                out.toString(StandardCharsets.UTF_8)
+                        .contains(
+                                "<ns2:ResponseCd>0</ns2:ResponseCd><ns2:ApprDetail>"
+                                        + "<ns2:AppearanceId>1</ns2:AppearanceId>"));
+        Assertions.assertEquals(1, fallbacks());
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("Success: out of order responses over the replay limit are bound from a file")
+    public void testFallbackOverReplayLimit() throws Exception {
+        properties.setReplayLimit(DataSize.ofBytes(16));
+        server.expect(ExpectedCount.once(), requestTo(URI_APPEARANCE))
+                .andRespond(
+                        withSuccess(
+                                "{\"apprDetail\":[{\"appearanceId\":\"1\"}],\"responseCd\":\"0\"}",
+                                MediaType.APPLICATION_JSON));
+        MessageContext messageContext = new DefaultMessageContext(messageFactory);
+        long spooled = spooled();
+
+        Assertions.assertTrue(stream(Keys.SOAP_METHOD_APPEARANCE, messageContext));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        messageContext.getResponse().writeTo(out);
+        Assertions.assertTrue(
+                out.toString(StandardCharsets.UTF_8)
+                        .contains(
+                                "<ns2:ResponseCd>0</ns2:ResponseCd><ns2:ApprDetail>"
+                                        + "<ns2:AppearanceId>1</ns2:AppearanceId>"));
+        Assertions.assertEquals(
+                1,
+                meterRegistry
+                        .get(OrdsResponseStreamer.FALLBACK_METRIC_NAME)
+                        .tag("replay", "file")
+                        .counter()
+                        .count());
+        Assertions.assertEquals(spooled, spooled());
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("Success: a streaming message transcodes the ORDS body as it is written")
+    public void testStreamingMessage() throws Exception {
+        server.expect(ExpectedCount.once(), requestTo(URI_APPEARANCE))
+                .andRespond(
+                        withSuccess(
+                                "{\"responseCd\":\"0\",\"apprDetail\":[{\"appearanceId\":\"1\"}]}",
+                                MediaType.APPLICATION_JSON));
+        MessageContext messageContext = new DefaultMessageContext(streamingFactory);
+
+        Assertions.assertTrue(stream(Keys.SOAP_METHOD_APPEARANCE, messageContext));
+        server.verify();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        messageContext.getResponse().writeTo(out);
+        Assertions.assertTrue(
+                out.toString(StandardCharsets.UTF_8)
+                        .contains(
+                                "<ns2:ResponseCd>0</ns2:ResponseCd><ns2:ApprDetail>"
+                                        + "<ns2:AppearanceId>1</ns2:AppearanceId>"));
+    }
+
+    @Test
+    @DisplayName("Error: an out of order body cuts a streaming message short and stops streaming")
+    public void testStreamingMessageAborted() {
+        server.expect(ExpectedCount.once(), requestTo(URI_APPEARANCE))
+                .andRespond(
+                        withSuccess(
+                                "{\"apprDetail\":[{\"appearanceId\":\"1\"}],\"responseCd\":\"0\"}",
+                                MediaType.APPLICATION_JSON));
+        MessageContext messageContext = new DefaultMessageContext(streamingFactory);
+
+        Assertions.assertTrue(stream(Keys.SOAP_METHOD_APPEARANCE, messageContext));
+        Assertions.assertThrows(
+                IOException.class,
+                () -> messageContext.getResponse().writeTo(new ByteArrayOutputStream()));
+
+        Assertions.assertEquals(
+                1,
+                meterRegistry
+                        .get(OrdsResponseStreamer.ABORTED_METRIC_NAME)
+                        .tag("operation", Keys.SOAP_METHOD_APPEARANCE)
+                        .counter()
+                        .count());
+        Assertions.assertFalse(
+                stream(Keys.SOAP_METHOD_APPEARANCE, new DefaultMessageContext(streamingFactory)));
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("Success: operations that are not streamed make no call")
+    public void testNotStreamed() {
+        Assertions.assertFalse(
+                stream(Keys.SOAP_METHOD_FILE_DETAIL, new DefaultMessageContext(messageFactory)));
+
+        properties.setEnabled(false);
+        Assertions.assertFalse(
+                stream(Keys.SOAP_METHOD_APPEARANCE, new DefaultMessageContext(messageFactory)));
+        server.verify();
+    }
+
+    private double fallbacks() {
+        return meterRegistry
+                .get(OrdsResponseStreamer.FALLBACK_METRIC_NAME)
+                .tag("operation", Keys.SOAP_METHOD_APPEARANCE)
+                .counter()
+                .count();
+    }
+
+    private static long spooled() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(file -> file.getFileName().toString().startsWith("ords-replay-"))
+                    .count();
+        }
+    }
+
+    private boolean stream(String operation, MessageContext messageContext) {
+        return sut.stream(
+                operation,
+                URI_APPEARANCE,
+                GetAppearanceCriminalResponse.class,
+                ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalResponse.class,
+                messageContext);
+    }
+}
@@ -0,0 +1,349 @@
+package ca.bc.gov.open.pcsscriminalapplication.streaming;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlSchema;
+import jakarta.xml.soap.SOAPMessage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.wsdl.Definition;
+import javax.wsdl.Operation;
+import javax.wsdl.Part;
+import javax.wsdl.PortType;
+import javax.wsdl.factory.WSDLFactory;
+import javax.wsdl.xml.WSDLReader;
+import javax.xml.namespace.QName;
+import org.junit.jupiter.api.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.ws.context.DefaultMessageContext;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.server.endpoint.adapter.method.jaxb.XmlRootElementPayloadMethodProcessor;
+import org.springframework.ws.soap.SoapMessage;
+import org.springframework.ws.soap.SoapVersion;
+import org.springframework.ws.soap.saaj.SaajSoapMessage;
+import org.springframework.ws.soap.saaj.SaajSoapMessageFactory;
+import org.springframework.ws.transport.TransportOutputStream;
+import org.xmlunit.builder.DiffBuilder;
+import org.xmlunit.diff.Diff;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("StreamingSoapMessageFactory Test Suite")
+public class StreamingSoapMessageFactoryTest {
+
+    private static final String[] WSDLS = {
+        "xsdSchemas/pcssCriminal.wsdl",
+        "xsdSchemas/pcssCriminalSecure.wsdl",
+        "xsdSchemas/demsCase.wsdl"
+    };
+
+    private static final String[] MODEL_PACKAGES = {
+        "ca.bc.gov.open.wsdl.pcss.two",
+        "ca.bc.gov.open.wsdl.pcss.secure.two",
+        "ca.bc.gov.open.wsdl.pcss.demsCaseUrl"
+    };
+
+    private SaajSoapMessageFactory saajFactory;
+    private StreamingSoapMessageFactory sut;
+    private Processor processor;
+    private Map<String, Operation> operations;
+    private Map<QName, Class<?>> elements;
+
+    @BeforeAll
+    public void beforeAll() throws Exception {
+        saajFactory = configure(new SaajSoapMessageFactory());
+        sut = configure(new StreamingSoapMessageFactory());
+        processor = new Processor();
+
+        operations = new LinkedHashMap<>();
+        WSDLReader reader = WSDLFactory.newInstance().newWSDLReader();
+        reader.setFeature("javax.wsdl.verbose", false);
+        for (String wsdl : WSDLS) {
+            Definition definition =
+                    reader.readWSDL(new ClassPathResource(wsdl).getURL().toString());
+            for (Object portType : definition.getAllPortTypes().values()) {
+                for (Object operation : ((PortType) portType).getOperations()) {
+                    operations.put(
+                            wsdl + "#" + ((Operation) operation).getName(), (Operation) operation);
+                }
+            }
+        }
+
+        elements = new HashMap<>();
+        for (String modelPackage : MODEL_PACKAGES) {
+            Class<?> objectFactory = Class.forName(modelPackage + ".ObjectFactory");
+            String namespace =
+                    objectFactory.getPackage().getAnnotation(XmlSchema.class).namespace();
+            for (Method method : objectFactory.getDeclaredMethods()) {
+                XmlRootElement root = method.getReturnType().getAnnotation(XmlRootElement.class);
+                if (root != null) {
+                    String elementNamespace =
+                            "##default".equals(root.namespace()) ? namespace : root.namespace();
+                    elements.put(new QName(elementNamespace, root.name()), method.getReturnType());
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Success: every operation of the three WSDLs is covered")
+    public void testOperationsCovered() {
+        Assertions.assertEquals(27, operations.size(), operations.keySet().toString());
+        assertAllOperations(
+                (name, operation) -> {
+                    Assertions.assertNotNull(element(operation, true), name + " input");
+                    Assertions.assertNotNull(element(operation, false), name + " output");
+                });
+    }
+
+    @Test
+    @DisplayName("Success: every response is equivalent to the SAAJ response")
+    public void testResponsesEquivalent() {
+        assertAllOperations(
+                (name, operation) -> {
+                    Object response = populate(element(operation, false), 0);
+                    String saaj = respond(saajFactory, response);
+                    String streamed = respond(sut, response);
+
+                    assertSimilar(name, saaj, streamed);
+                    // and SAAJ reads it back unchanged
+                    Assertions.assertEquals(
+                            marshal(response),
+                            marshal(read(saajFactory, streamed, response.getClass())),
+                            name);
+                });
+    }
+
+    @Test
+    @DisplayName("Success: every request is read as with SAAJ")
+    public void testRequestsEquivalent() {
+        assertAllOperations(
+                (name, operation) -> {
+                    Object request = populate(element(operation, true), 0);
+                    String envelope = respond(saajFactory, request);
+
+                    Assertions.assertEquals(
+                            marshal(read(saajFactory, envelope, request.getClass())),
+                            marshal(read(sut, envelope, request.getClass())),
+                            name);
+                });
+    }
+
+    @Test
+    @DisplayName("Success: the payload is not copied into the SAAJ body")
+    public void testPayloadStreamed() throws Exception {
+        MessageContext messageContext = new DefaultMessageContext(sut);
+        processor.write(
+                messageContext, populate(ca.bc.gov.open.wsdl.pcss.two.GetHealthResponse.class, 0));
+
+        SaajSoapMessage response = (SaajSoapMessage) messageContext.getResponse();
+        Assertions.assertFalse(response.getSaajMessage().getSOAPBody().hasChildNodes());
+        Assertions.assertFalse(response.hasFault());
+    }
+
+    @Test
+    @DisplayName("Success: transport headers match SAAJ apart from Content-Length")
+    public void testTransportHeaders() throws Exception {
+        Object response = populate(ca.bc.gov.open.wsdl.pcss.two.GetHealthResponse.class, 0);
+
+        Map<String, String> saaj = transportHeaders(saajFactory, response);
+        Map<String, String> streamed = transportHeaders(sut, response);
+
+        Assertions.assertNotNull(saaj.remove("Content-Length"));
+        Assertions.assertEquals(saaj, streamed);
+    }
+
+    @Test
+    @DisplayName("Success: a fault written after the payload replaces it")
+    public void testFault() throws Exception {
+        MessageContext messageContext = new DefaultMessageContext(sut);
+        processor.write(
+                messageContext, populate(ca.bc.gov.open.wsdl.pcss.two.GetHealthResponse.class, 0));
+        SoapMessage response = (SoapMessage) messageContext.getResponse();
+        response.getSoapBody().addServerOrReceiverFault("failed", null);
+
+        String written = serialize(response);
+
+        Assertions.assertTrue(written.contains("failed"), written);
+        Assertions.assertFalse(written.contains("getHealthResponse"), written);
+    }
+
+    @Test
+    @DisplayName("Success: header entries are written with the payload in the body")
+    public void testHeaderEntries() throws Exception {
+        Object response = populate(ca.bc.gov.open.wsdl.pcss.two.GetHealthResponse.class, 0);
+        MessageContext messageContext = new DefaultMessageContext(sut);
+        processor.write(messageContext, response);
+        SoapMessage message = (SoapMessage) messageContext.getResponse();
+        message.getSoapHeader().addHeaderElement(new QName("urn:test", "trace", "t"));
+
+        String written = serialize(message);
+
+        Assertions.assertTrue(written.contains("<t:trace xmlns:t=\"urn:test\"/>"), written);
+        Assertions.assertEquals(
+                marshal(response), marshal(read(saajFactory, written, response.getClass())));
+    }
+
+    private static <T extends SaajSoapMessageFactory> T configure(T messageFactory)
+            throws Exception {
+        messageFactory.setSoapVersion(SoapVersion.SOAP_12);
+        messageFactory.setMessageProperties(Map.of(SOAPMessage.WRITE_XML_DECLARATION, "true"));
+        messageFactory.afterPropertiesSet();
+        return messageFactory;
+    }
+
+    private void assertAllOperations(OperationAssertion assertion) {
+        Assertions.assertAll(
+                operations.entrySet().stream()
+                        .map(entry -> () -> assertion.check(entry.getKey(), entry.getValue())));
+    }
+
+    private Class<?> element(Operation operation, boolean input) {
+        Map<?, ?> parts =
+                input
+                        ? operation.getInput().getMessage().getParts()
+                        : operation.getOutput().getMessage().getParts();
+        Part part = (Part) parts.values().iterator().next();
+        return elements.get(part.getElementName());
+    }
+
+    private String respond(SaajSoapMessageFactory messageFactory, Object payload) throws Exception {
+        MessageContext messageContext = new DefaultMessageContext(messageFactory);
+        processor.write(messageContext, payload);
+        return serialize(messageContext.getResponse());
+    }
+
+    private Object read(SaajSoapMessageFactory messageFactory, String envelope, Class<?> type)
+            throws Exception {
+        MessageContext messageContext =
+                new DefaultMessageContext(
+                        messageFactory.createWebServiceMessage(
+                                new ByteArrayInputStream(
+                                        envelope.getBytes(StandardCharsets.UTF_8))),
+                        messageFactory);
+        return processor.read(messageContext, type);
+    }
+
+    private Map<String, String> transportHeaders(
+            SaajSoapMessageFactory messageFactory, Object payload) throws Exception {
+        MessageContext messageContext = new DefaultMessageContext(messageFactory);
+        processor.write(messageContext, payload);
+        Map<String, String> headers = new HashMap<>();
+        messageContext
+                .getResponse()
+                .writeTo(
+                        new TransportOutputStream() {
+                            @Override
+                            public void addHeader(String name, String value) {
+                                headers.put(name, value);
+                            }
+
+                            @Override
+                            protected OutputStream createOutputStream() {
+                                return OutputStream.nullOutputStream();
+                            }
+                        });
+        return headers;
+    }
+
+    private static String serialize(org.springframework.ws.WebServiceMessage message)
+            throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        message.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String marshal(Object value) throws Exception {
+        StringWriter writer = new StringWriter();
+        JAXBContext.newInstance(value.getClass()).createMarshaller().marshal(value, writer);
+        return writer.toString();
+    }
+
+    /** Prefixes may be numbered differently; the elements, namespaces and text may not. */
+    private static void assertSimilar(String operation, String expected, String actual) {
+        Diff diff = DiffBuilder.compare(expected).withTest(actual).checkForSimilar().build();
+        Assertions.assertFalse(diff.hasDifferences(), operation + ": " + diff);
+        Assertions.assertTrue(actual.startsWith("<?xml version=\"1.0\" encoding=\"utf-8\" ?>"));
+    }
+
+    /**
+     * Fills every field, with markup and non-ASCII characters in the strings and two records per
+     * list.
+     */
+    private static Object populate(Class<?> type, int depth) throws Exception {
+        Object value = type.getDeclaredConstructor().newInstance();
+        for (Class<?> current = type; current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                field.setAccessible(true);
+                if (field.getType() == List.class) {
+                    Class<?> element =
+                            (Class<?>)
+                                    ((ParameterizedType) field.getGenericType())
+                                            .getActualTypeArguments()[0];
+                    List<Object> list = new ArrayList<>();
+                    for (int i = 0; i < 2 && depth < 4; i++) {
+                        Object item = simple(element, field.getName() + i);
+                        list.add(item != null ? item : populate(element, depth + 1));
+                    }
+                    field.set(value, list);
+                } else {
+                    Object item = simple(field.getType(), field.getName());
+                    if (item != null) {
+                        field.set(value, item);
+                    } else if (depth < 4) {
+                        field.set(value, populate(field.getType(), depth + 1));
+                    }
+                }
+            }
+        }
+        return value;
+    }
+
+    private static Object simple(Class<?> type, String name) {
+        if (type == String.class) {
+            return name + " <&> \"Zoë\"";
+        }
+        if (type == Instant.class) {
+            return Instant.parse("2001-11-26T20:00:00Z");
+        }
+        if (type == Integer.class || type == int.class) {
+            return name.length();
+        }
+        if (type.isEnum()) {
+            Object[] constants = type.getEnumConstants();
+            return constants[constants.length - 1];
+        }
+        return null;
+    }
+
+    private interface OperationAssertion {
+        void check(String name, Operation operation) throws Throwable;
+    }
+
+    /** Reads and writes payloads the way the endpoint adapter does for the model classes. */
+    private static class Processor extends XmlRootElementPayloadMethodProcessor {
+
+        void write(MessageContext messageContext, Object payload) throws Exception {
+            marshalToResponsePayload(messageContext, payload.getClass(), payload);
+        }
+
+        Object read(MessageContext messageContext, Class<?> type) throws Exception {
+            return unmarshalFromRequestPayload(messageContext, type);
+        }
+    }
+}
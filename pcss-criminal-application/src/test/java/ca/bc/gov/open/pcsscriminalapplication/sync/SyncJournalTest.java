@@ -0,0 +1,281 @@
+package ca.bc.gov.open.pcsscriminalapplication.sync;
+
+import ca.bc.gov.open.pcsscriminalapplication.properties.SyncJournalProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("SyncJournal Test Suite")
+public class SyncJournalTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+    private static final String STREAM = "s";
+
+    private SyncJournalProperties properties;
+    private MovableClock clock;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    public void beforeEach(@TempDir Path directory) {
+        properties = new SyncJournalProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory);
+        properties.setSegmentSize(DataSize.ofBytes(1024));
+        properties.setRetention(Duration.ofDays(1));
+        clock = new MovableClock(START.plus(Duration.ofHours(12)));
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Success: committed batches are read back in process-time order after reopening")
+    public void testReplay() {
+        try (SyncJournal sut = open()) {
+            SyncJournal.Appender appender = sut.begin(STREAM, START, hours(1));
+            appender.add(START.plusSeconds(30), json("b"));
+            appender.add(START.plusSeconds(10), json("a"));
+            appender.add(null, json("c"));
+            Assertions.assertTrue(appender.commit("0", "ok"));
+        }
+
+        try (SyncJournal sut = open()) {
+            Assertions.assertTrue(sut.gaps(STREAM, START, hours(1)).isEmpty());
+            Assertions.assertEquals(
+                    List.of(new SyncJournal.Window(hours(1), hours(2))),
+                    sut.gaps(STREAM, START, hours(2)));
+
+            SyncJournal.Read read = sut.read(STREAM, START, hours(1), 10);
+            // without a process time at the start of the window
+            Assertions.assertEquals(List.of("c", "a", "b"), ids(read));
+            Assertions.assertNull(read.next());
+            Assertions.assertEquals("0", read.responseCd());
+            Assertions.assertEquals("ok", read.responseMessageTxt());
+            Assertions.assertEquals(
+                    List.of("b"), ids(sut.read(STREAM, START.plusSeconds(20), hours(1), 10)));
+            Assertions.assertEquals(
+                    1.0, registry.get("sync.journal.reads").tag("result", "hit").counter().count());
+        }
+    }
+
+    @Test
+    @DisplayName("Success: reads end on a whole process second")
+    public void testReadWholeSeconds() {
+        try (SyncJournal sut = open()) {
+            SyncJournal.Appender appender = sut.begin(STREAM, START, hours(1));
+            appender.add(START.plusSeconds(10), json("a"));
+            appender.add(START.plusSeconds(10), json("b"));
+            appender.add(START.plusSeconds(20), json("c"));
+            Assertions.assertTrue(appender.commit("0", "ok"));
+
+            SyncJournal.Read first = sut.read(STREAM, START, hours(1), 1);
+            SyncJournal.Read rest = sut.read(STREAM, first.next(), hours(1), 1);
+
+            Assertions.assertEquals(List.of("a", "b"), ids(first));
+            Assertions.assertEquals(START.plusSeconds(20), first.next());
+            Assertions.assertEquals(List.of("c"), ids(rest));
+            Assertions.assertNull(rest.next());
+        }
+    }
+
+    @Test
+    @DisplayName("Success: uncommitted, overlapping and non-journaled batches are not kept")
+    public void testNotKept() {
+        try (SyncJournal sut = open()) {
+            SyncJournal.Appender abandoned = sut.begin(STREAM, START, hours(1));
+            abandoned.add(START, json("lost"));
+
+            SyncJournal.Appender failed = sut.begin(STREAM, START, hours(1));
+            failed.add(START, json("failed"));
+            Assertions.assertFalse(failed.commit("1", "ORDS error"));
+
+            SyncJournal.Appender first = sut.begin(STREAM, START, hours(2));
+            first.add(START, json("first"));
+            SyncJournal.Appender second = sut.begin(STREAM, hours(1), hours(3));
+            second.add(hours(1), json("second"));
+            Assertions.assertTrue(first.commit("0", null));
+            Assertions.assertFalse(second.commit("0", null));
+
+            Assertions.assertEquals(List.of("first"), ids(sut.read(STREAM, START, hours(3), 10)));
+        }
+
+        try (SyncJournal sut = open()) {
+            Assertions.assertEquals(List.of("first"), ids(sut.read(STREAM, START, hours(3), 10)));
+            Assertions.assertEquals(
+                    List.of(new SyncJournal.Window(hours(2), hours(3))),
+                    sut.gaps(STREAM, START, hours(3)));
+        }
+    }
+
+    @Test
+    @DisplayName("Success: compaction drops expired batches and rewrites sparse segments")
+    public void testCompaction() {
+        try (SyncJournal sut = open()) {
+            // 6 records of 121 bytes and the commits fill most of the first 1KB segment
+            SyncJournal.Appender expiring = sut.begin(STREAM, START, hours(1));
+            for (int i = 0; i < 6; i++) {
+                expiring.add(START, json("old-" + i));
+            }
+            Assertions.assertTrue(expiring.commit("0", null));
+            SyncJournal.Appender kept = sut.begin(STREAM, hours(2), hours(3));
+            kept.add(hours(2), json("kept"));
+            Assertions.assertTrue(kept.commit("0", null));
+            SyncJournal.Appender tail = sut.begin(STREAM, hours(3), hours(4));
+            tail.add(hours(3), json("tail"));
+            Assertions.assertTrue(tail.commit("0", null));
+            Assertions.assertEquals(2.0, registry.get("sync.journal.segments").gauge().value());
+
+            clock.set(hours(1).plus(properties.getRetention()));
+            sut.compact();
+
+            Assertions.assertFalse(Files.exists(properties.getDirectory().resolve("1.journal")));
+            Assertions.assertEquals(1.0, registry.get("sync.journal.segments").gauge().value());
+            Assertions.assertEquals(2.0, registry.get("sync.journal.records").gauge().value());
+            Assertions.assertEquals(
+                    List.of("kept", "tail"), ids(sut.read(STREAM, START, hours(4), 10)));
+        }
+
+        try (SyncJournal sut = open()) {
+            Assertions.assertEquals(
+                    List.of("kept", "tail"), ids(sut.read(STREAM, START, hours(4), 10)));
+            Assertions.assertEquals(
+                    List.of(new SyncJournal.Window(START, hours(2))),
+                    sut.gaps(STREAM, START, hours(4)));
+        }
+    }
+
+    @Test
+    @DisplayName("Error: a batch with a record processed outside its window is not journaled")
+    public void testOutsideWindow() {
+        try (SyncJournal sut = open()) {
+            SyncJournal.Appender appender = sut.begin(STREAM, START, hours(1));
+            Assertions.assertTrue(appender.add(START, json("a")));
+            Assertions.assertFalse(appender.add(hours(2), json("late")));
+
+            Assertions.assertFalse(appender.commit("0", null));
+            Assertions.assertTrue(sut.read(STREAM, START, hours(3), 10).records().isEmpty());
+            Assertions.assertEquals(
+                    List.of(new SyncJournal.Window(START, hours(1))),
+                    sut.gaps(STREAM, START, hours(1)));
+        }
+    }
+
+    @Test
+    @DisplayName("Success: compaction that is due runs in the background")
+    public void testBackgroundCompaction() throws Exception {
+        try (SyncJournal sut = open()) {
+            SyncJournal.Appender expiring = sut.begin(STREAM, START, hours(1));
+            for (int i = 0; i < 8; i++) {
+                expiring.add(START, json("old-" + i));
+            }
+            Assertions.assertTrue(expiring.commit("0", null));
+            SyncJournal.Appender kept = sut.begin(STREAM, hours(2), hours(3));
+            kept.add(hours(2), json("kept"));
+            Assertions.assertTrue(kept.commit("0", null));
+
+            clock.set(hours(1).plus(properties.getRetention()));
+            SyncJournal.Appender appender = sut.begin(STREAM, hours(3), hours(4));
+
+            Path first = properties.getDirectory().resolve("1.journal");
+            for (int i = 0; i < 100 && Files.exists(first); i++) {
+                Thread.sleep(50);
+            }
+            Assertions.assertFalse(Files.exists(first));
+            appender.add(hours(3), json("tail"));
+            Assertions.assertTrue(appender.commit("0", null));
+            Assertions.assertEquals(
+                    List.of("kept", "tail"), ids(sut.read(STREAM, START, hours(4), 10)));
+        }
+    }
+
+    @Test
+    @DisplayName("Success: a closed journal no longer reads or writes its segments")
+    public void testClosed() {
+        SyncJournal sut = open();
+        SyncJournal.Appender appender = sut.begin(STREAM, START, hours(1));
+        appender.add(START, json("a"));
+        Assertions.assertTrue(appender.commit("0", null));
+        SyncJournal.Appender late = sut.begin(STREAM, hours(1), hours(2));
+
+        sut.close();
+
+        Assertions.assertTrue(sut.read(STREAM, START, hours(1), 10).records().isEmpty());
+        Assertions.assertFalse(late.add(hours(1), json("b")));
+        Assertions.assertFalse(late.commit("0", null));
+    }
+
+    @Test
+    @DisplayName("Error: a journal that cannot be opened is disabled")
+    public void testDisabled() throws Exception {
+        try (SyncJournal sut = open()) {
+            try (SyncJournal second = open()) {
+                Assertions.assertFalse(second.isEnabled());
+            }
+            Assertions.assertTrue(sut.isEnabled());
+        }
+
+        Path file = Files.createFile(properties.getDirectory().resolve("file"));
+        properties.setDirectory(file);
+        try (SyncJournal sut = open()) {
+            Assertions.assertFalse(sut.isEnabled());
+        }
+    }
+
+    private SyncJournal open() {
+        return new SyncJournal(properties, registry, clock);
+    }
+
+    private static Instant hours(int hours) {
+        return START.plus(Duration.ofHours(hours));
+    }
+
+    /** A 100 byte record carrying the id. */
+    private static byte[] json(String id) {
+        String json = "{\"apprId\":\"" + id + "\",\"pad\":\"";
+        return (json + "x".repeat(100 - json.length() - 2) + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> ids(SyncJournal.Read read) {
+        return read.records().stream()
+                .map(json -> new String(json, StandardCharsets.UTF_8).split("\"")[3])
+                .toList();
+    }
+
+    private static final class MovableClock extends Clock {
+
+        private Instant instant;
+
+        private MovableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void set(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
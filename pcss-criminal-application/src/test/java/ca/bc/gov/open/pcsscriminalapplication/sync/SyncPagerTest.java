@@ -0,0 +1,447 @@
+package ca.bc.gov.open.pcsscriminalapplication.sync;
+
+import static org.mockito.ArgumentMatchers.any;
+
+import ca.bc.gov.open.pcsscriminalapplication.Keys;
+import ca.bc.gov.open.pcsscriminalapplication.configuration.SoapConfig;
+import ca.bc.gov.open.pcsscriminalapplication.properties.SyncJournalProperties;
+import ca.bc.gov.open.pcsscriminalapplication.properties.SyncPagingProperties;
+import ca.bc.gov.open.pcsscriminalcommon.utils.OrdsDateCodec;
+import ca.bc.gov.open.wsdl.pcss.one.Appearance;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("SyncPager Test Suite")
+public class SyncPagerTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant NOW = START.plus(Duration.ofDays(10));
+
+    /** The layout ORDS returns process times in. */
+    private static final DateTimeFormatter TRANSACTION_DTM =
+            DateTimeFormatter.ofPattern("dd-MMM-yy hh.mm.ss.SSSSSS a", Locale.US)
+                    .withZone(OrdsDateCodec.ORDS_ZONE);
+
+    private RestTemplate restTemplate;
+    private SyncPagingProperties properties;
+    private SyncPager sut;
+    private AtomicInteger calls;
+    private boolean inclusiveUpTo;
+
+    @BeforeEach
+    public void beforeEach() {
+        restTemplate = Mockito.mock(RestTemplate.class);
+        properties = new SyncPagingProperties();
+        properties.setSlice(Duration.ofHours(1));
+        sut =
+                new SyncPager(
+                        restTemplate,
+                        new SoapConfig().objectMapper(),
+                        properties,
+                        new SyncJournal(new SyncJournalProperties(), new SimpleMeterRegistry()));
+        calls = new AtomicInteger();
+        inclusiveUpTo = false;
+    }
+
+    @Test
+    @DisplayName("Success: pages cover every slice of the window once and in order")
+    public void testPagesCoverWindow() {
+        // records per hour slice: 4, 0, 1, 7, 2
+        ords(Map.of(0, 4, 2, 1, 3, 7, 4, 2));
+        SyncCursor cursor =
+                sut.resume("83.0001", "1", START, START.plus(Duration.ofHours(5)), null);
+
+        List<String> ids = new ArrayList<>();
+        int pages = 0;
+        while (cursor != null) {
+            SyncPage<Appearance> page = sut.page(feed(), cursor, 3);
+            Assertions.assertTrue(page.records().size() <= 3);
+            Assertions.assertEquals("0", page.responseCd());
+            page.records().forEach(record -> ids.add(record.getApprId()));
+            cursor = page.nextCursor() != null ? SyncCursor.decode(page.nextCursor()) : null;
+            pages++;
+        }
+
+        List<String> expected = new ArrayList<>();
+        for (int[] slice : new int[][] {{0, 4}, {2, 1}, {3, 7}, {4, 2}}) {
+            for (int i = 0; i < slice[1]; i++) {
+                expected.add(slice[0] + "-" + i);
+            }
+        }
+        Assertions.assertEquals(expected, ids);
+        Assertions.assertEquals(5, pages);
+    }
+
+    @Test
+    @DisplayName("Success: a page stops after maxCallsPerPage ORDS calls")
+    public void testMaxCallsPerPage() {
+        properties.setMaxCallsPerPage(4);
+        ords(Map.of());
+        SyncCursor cursor =
+                sut.resume("83.0001", "1", START, START.plus(Duration.ofHours(24)), null);
+
+        SyncPage<Appearance> page = sut.page(feed(), cursor, 10);
+
+        Assertions.assertEquals(4, calls.get());
+        Assertions.assertTrue(page.records().isEmpty());
+        Assertions.assertEquals(
+                START.plus(Duration.ofHours(4)), SyncCursor.decode(page.nextCursor()).from());
+    }
+
+    @Test
+    @DisplayName("Success: a page resumes from the first process second it did not return")
+    public void testResumeFromProcessTime() {
+        ords(Map.of(0, 5));
+        SyncCursor cursor =
+                sut.resume("83.0001", "1", START, START.plus(Duration.ofHours(1)), null);
+
+        SyncPage<Appearance> first = sut.page(feed(), cursor, 3);
+        SyncCursor next = SyncCursor.decode(first.nextCursor());
+        SyncPage<Appearance> second = sut.page(feed(), next, 3);
+
+        Assertions.assertEquals(List.of("0-0", "0-1", "0-2"), ids(first));
+        Assertions.assertEquals(START.plusSeconds(180), next.from());
+        Assertions.assertEquals(List.of("0-3", "0-4"), ids(second));
+        Assertions.assertNull(second.nextCursor());
+        Mockito.verify(restTemplate)
+                .execute(
+                        Mockito.eq(uri(START.plusSeconds(180), START.plus(Duration.ofHours(1)))),
+                        any(),
+                        any(),
+                        any(ResponseExtractor.class));
+    }
+
+    @Test
+    @DisplayName("Success: records of one process second are never split across pages")
+    public void testWholeSeconds() {
+        String at = "\",\"transactionDtm\":\"" + TRANSACTION_DTM.format(START);
+        String later = "\",\"transactionDtm\":\"" + TRANSACTION_DTM.format(START.plusSeconds(1));
+        Mockito.when(
+                        restTemplate.execute(
+                                any(URI.class), any(), any(), any(ResponseExtractor.class)))
+                .thenAnswer(
+                        invocation ->
+                                extract(
+                                        invocation.getArgument(3),
+                                        "{\"appearance\":[{\"apprId\":\"d"
+                                                + later
+                                                + "\"},{\"apprId\":\"a"
+                                                + at
+                                                + "\"},{\"apprId\":\"b"
+                                                + at
+                                                + "\"},{\"apprId\":\"c"
+                                                + at
+                                                + "\"}],\"responseCd\":\"0\"}"));
+        SyncCursor cursor = sut.resume("83.0001", "1", START, START.plusSeconds(60), null);
+
+        SyncPage<Appearance> page = sut.page(feed(), cursor, 2);
+
+        Assertions.assertEquals(List.of("a", "b", "c"), ids(page));
+        Assertions.assertEquals(START.plusSeconds(1), SyncCursor.decode(page.nextCursor()).from());
+    }
+
+    @Test
+    @DisplayName("Success: the response code is read wherever it appears")
+    public void testResponseCdAfterRecords() {
+        Mockito.when(
+                        restTemplate.execute(
+                                any(URI.class), any(), any(), any(ResponseExtractor.class)))
+                .thenAnswer(
+                        invocation ->
+                                extract(
+                                        invocation.getArgument(3),
+                                        "{\"appearance\":[{\"apprId\":\"1\"}],"
+                                                + "\"ResponseCd\":\"1\","
+                                                + "\"responseMessageTxt\":\"partial\"}"));
+        SyncCursor cursor = sut.resume("83.0001", "1", START, START.plusSeconds(60), null);
+
+        SyncPage<Appearance> page = sut.page(feed(), cursor, 10);
+
+        Assertions.assertEquals("1", page.responseCd());
+        Assertions.assertEquals("partial", page.responseMessageTxt());
+        Assertions.assertEquals(1, page.records().size());
+        Assertions.assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Success: page sizes are bounded by configuration")
+    public void testPageSize() {
+        properties.setDefaultPageSize(100);
+        properties.setMaxPageSize(1000);
+
+        Assertions.assertEquals(100, sut.pageSize(null));
+        Assertions.assertEquals(100, sut.pageSize(0));
+        Assertions.assertEquals(10, sut.pageSize(10));
+        Assertions.assertEquals(1000, sut.pageSize(5000));
+        Assertions.assertFalse(sut.isPaged(null, " "));
+        Assertions.assertTrue(sut.isPaged(null, "abc"));
+        Assertions.assertTrue(sut.isPaged(10, null));
+    }
+
+    @Test
+    @DisplayName("Success: a cursor survives encoding")
+    public void testCursorRoundTrip() {
+        SyncCursor cursor = new SyncCursor("83.0001", "1", START, START.plusSeconds(3600));
+
+        SyncCursor resumed = sut.resume("83.0001", "1", null, null, cursor.encode());
+
+        Assertions.assertEquals(cursor, resumed);
+    }
+
+    @Test
+    @DisplayName("Error: invalid or foreign cursors and windowless first pages are rejected")
+    public void testRejected() {
+        String cursor = new SyncCursor("83.0001", "1", START, START.plusSeconds(60)).encode();
+
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> sut.resume("83.0002", "1", START, START, cursor));
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> sut.resume("83.0001", "1", START, START, "not-a-cursor"));
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> sut.resume("83.0001", "1", START, START, cursor.substring(2)));
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> sut.resume("83.0001", "1", null, START, null));
+    }
+
+    @Test
+    @DisplayName("Success: repeated windows are served from the journal")
+    public void testJournalServesRepeatedWindows(@TempDir Path directory) {
+        ords(Map.of(0, 4, 2, 1, 3, 7, 4, 2));
+        try (SyncJournal journal = journal(directory)) {
+            sut = new SyncPager(restTemplate, new SoapConfig().objectMapper(), properties, journal);
+
+            List<String> first = sync(START, START.plus(Duration.ofHours(5)), 3);
+            Assertions.assertEquals(5, calls.get());
+
+            List<String> second = sync(START, START.plus(Duration.ofHours(5)), 5);
+            Assertions.assertEquals(5, calls.get());
+            Assertions.assertEquals(first, second);
+            Assertions.assertEquals(14, second.size());
+
+            SyncPage<Appearance> window =
+                    sut.window(
+                            feed(),
+                            sut.resume(
+                                    "83.0001", "1", START, START.plus(Duration.ofHours(5)), null));
+            Assertions.assertEquals(5, calls.get());
+            Assertions.assertEquals(first, ids(window));
+            Assertions.assertEquals("0", window.responseCd());
+            Assertions.assertNull(window.nextCursor());
+        }
+    }
+
+    @Test
+    @DisplayName("Success: only the part of a window the journal does not cover goes to ORDS")
+    public void testJournalFetchesGaps(@TempDir Path directory) {
+        ords(Map.of(0, 2, 1, 3, 2, 1));
+        try (SyncJournal journal = journal(directory)) {
+            sut = new SyncPager(restTemplate, new SoapConfig().objectMapper(), properties, journal);
+
+            sync(START.plus(Duration.ofHours(1)), START.plus(Duration.ofHours(2)), 10);
+            Assertions.assertEquals(1, calls.get());
+
+            SyncPage<Appearance> window =
+                    sut.window(
+                            feed(),
+                            sut.resume(
+                                    "83.0001", "1", START, START.plus(Duration.ofHours(3)), null));
+
+            Assertions.assertEquals(3, calls.get());
+            Assertions.assertEquals(List.of("0-0", "0-1", "1-0", "1-1", "1-2", "2-0"), ids(window));
+        }
+    }
+
+    @Test
+    @DisplayName("Success: windows the journal does not keep go to ORDS every time")
+    public void testJournalOutsideWindow(@TempDir Path directory) {
+        ords(Map.of(0, 2));
+        try (SyncJournal journal = journal(directory)) {
+            sut = new SyncPager(restTemplate, new SoapConfig().objectMapper(), properties, journal);
+            Instant settling = NOW.minus(Duration.ofMinutes(2));
+
+            sync(settling, NOW, 10);
+            sync(settling, NOW, 10);
+            sync(
+                    START.minus(Duration.ofDays(40)),
+                    START.minus(Duration.ofDays(40)).plusSeconds(60),
+                    10);
+            sync(
+                    START.minus(Duration.ofDays(40)),
+                    START.minus(Duration.ofDays(40)).plusSeconds(60),
+                    10);
+
+            Assertions.assertEquals(4, calls.get());
+        }
+    }
+
+    @Test
+    @DisplayName("Success: a single-shot window is not sliced")
+    public void testWindowNotSliced(@TempDir Path directory) {
+        ords(Map.of(0, 2, 5, 1, 23, 3));
+        try (SyncJournal journal = journal(directory)) {
+            sut = new SyncPager(restTemplate, new SoapConfig().objectMapper(), properties, journal);
+            SyncCursor cursor =
+                    sut.resume(
+                            "83.0001",
+                            "1",
+                            START.minus(Duration.ofDays(25)),
+                            START.plus(Duration.ofDays(1)),
+                            null);
+
+            SyncPage<Appearance> first = sut.window(feed(), cursor);
+            Assertions.assertEquals(2, calls.get());
+            SyncPage<Appearance> second = sut.window(feed(), cursor);
+            Assertions.assertEquals(3, calls.get());
+
+            Assertions.assertEquals(
+                    List.of("0-0", "0-1", "5-0", "23-0", "23-1", "23-2"), ids(first));
+            Assertions.assertEquals(ids(first), ids(second));
+            Assertions.assertEquals("0", second.responseCd());
+            Assertions.assertNull(second.nextCursor());
+        }
+    }
+
+    @Test
+    @DisplayName("Success: a single-shot window returns a record on a part boundary once")
+    public void testWindowBoundary(@TempDir Path directory) {
+        ords(Map.of(0, 2, 1, 1, 2, 2));
+        inclusiveUpTo = true;
+        try (SyncJournal journal =
+                journal(directory, START.plus(Duration.ofHours(2)).plus(Duration.ofMinutes(5)))) {
+            sut = new SyncPager(restTemplate, new SoapConfig().objectMapper(), properties, journal);
+
+            SyncPage<Appearance> window =
+                    sut.window(
+                            feed(),
+                            sut.resume(
+                                    "83.0001", "1", START, START.plus(Duration.ofHours(3)), null));
+
+            Assertions.assertEquals(List.of("0-0", "0-1", "1-0", "2-0", "2-1"), ids(window));
+        }
+    }
+
+    private List<String> sync(Instant from, Instant upTo, int pageSize) {
+        SyncCursor cursor = sut.resume("83.0001", "1", from, upTo, null);
+        List<String> ids = new ArrayList<>();
+        while (cursor != null) {
+            SyncPage<Appearance> page = sut.page(feed(), cursor, pageSize);
+            Assertions.assertTrue(page.records().size() <= pageSize);
+            ids.addAll(ids(page));
+            cursor = page.nextCursor() != null ? SyncCursor.decode(page.nextCursor()) : null;
+        }
+        return ids;
+    }
+
+    private static List<String> ids(SyncPage<Appearance> page) {
+        return page.records().stream().map(Appearance::getApprId).toList();
+    }
+
+    private SyncJournal journal(Path directory) {
+        return journal(directory, NOW);
+    }
+
+    private SyncJournal journal(Path directory, Instant now) {
+        SyncJournalProperties journalProperties = new SyncJournalProperties();
+        journalProperties.setEnabled(true);
+        journalProperties.setDirectory(directory);
+        journalProperties.setSegmentSize(DataSize.ofKilobytes(64));
+        journalProperties.setRetention(Duration.ofDays(30));
+        SyncJournal journal =
+                new SyncJournal(
+                        journalProperties,
+                        new SimpleMeterRegistry(),
+                        Clock.fixed(now, ZoneOffset.UTC));
+        Assertions.assertTrue(journal.isEnabled());
+        return journal;
+    }
+
+    private SyncFeed<Appearance> feed() {
+        return new SyncFeed<>(
+                Keys.ORDS_SYNC_APPEARANCE,
+                this::uri,
+                "appearance",
+                Appearance.class,
+                Appearance::getTransactionDtm);
+    }
+
+    /**
+     * ORDS answering with the records processed in the requested window, given as a count per hour
+     * from START, ids "hour-index", one minute apart.
+     */
+    private void ords(Map<Integer, Integer> recordsPerHour) {
+        Mockito.when(
+                        restTemplate.execute(
+                                any(URI.class), any(), any(), any(ResponseExtractor.class)))
+                .thenAnswer(
+                        invocation -> {
+                            calls.incrementAndGet();
+                            URI uri = invocation.getArgument(0);
+                            String[] query = uri.getQuery().split("[=&]");
+                            long from = Long.parseLong(query[1]);
+                            long upTo = Long.parseLong(query[3]);
+                            StringBuilder json = new StringBuilder("{\"appearance\":[");
+                            String separator = "";
+                            for (int hour = 0; hour < 24; hour++) {
+                                for (int i = 0; i < recordsPerHour.getOrDefault(hour, 0); i++) {
+                                    Instant processed =
+                                            START.plus(Duration.ofHours(hour)).plusSeconds(i * 60L);
+                                    if (processed.getEpochSecond() < from
+                                            || processed.getEpochSecond() > upTo
+                                            || (processed.getEpochSecond() == upTo
+                                                    && !inclusiveUpTo)) {
+                                        continue;
+                                    }
+                                    json.append(separator)
+                                            .append("{\"apprId\":\"")
+                                            .append(hour)
+                                            .append('-')
+                                            .append(i)
+                                            .append("\",\"transactionDtm\":\"")
+                                            .append(TRANSACTION_DTM.format(processed))
+                                            .append("\",\"extra\":{\"nested\":[1,2]}}");
+                                    separator = ",";
+                                }
+                            }
+                            json.append("],\"responseCd\":\"0\"}");
+                            return extract(invocation.getArgument(3), json.toString());
+                        });
+    }
+
+    private URI uri(Instant from, Instant upTo) {
+        return URI.create(
+                "http://ords/sync/appearance?from="
+                        + from.getEpochSecond()
+                        + "&upTo="
+                        + upTo.getEpochSecond());
+    }
+
+    private static Object extract(ResponseExtractor<?> extractor, String json) throws Exception {
+        return extractor.extractData(
+                new MockClientHttpResponse(json.getBytes(StandardCharsets.UTF_8), HttpStatus.OK));
+    }
+}
@@ -0,0 +1,81 @@
+package ca.bc.gov.open.pcsscriminalapplication.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("ChunkedFanOut Test Suite")
+public class ChunkedFanOutTest {
+
+    private ExecutorService executor;
+    private ChunkedFanOut sut;
+
+    @BeforeEach
+    public void beforeEach() {
+        executor = Executors.newCachedThreadPool();
+        sut = new ChunkedFanOut(executor, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    public void afterEach() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Success: results come back in chunk order")
+    public void testOrder() {
+        List<Integer> results =
+                sut.map(
+                        "test",
+                        ChunkedFanOut.partition(List.of(1, 2, 3, 4, 5), 2),
+                        2,
+                        chunk -> chunk.stream().mapToInt(Integer::intValue).sum());
+
+        Assertions.assertEquals(List.of(3, 7, 5), results);
+    }
+
+    @Test
+    @DisplayName("Error: a failed chunk fails the call and interrupts the chunks still running")
+    public void testFailureInterrupts() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        IllegalStateException ex =
+                Assertions.assertThrows(
+                        IllegalStateException.class,
+                        () ->
+                                sut.map(
+                                        "test",
+                                        List.of(List.of(1), List.of(2)),
+                                        2,
+                                        chunk -> {
+                                            if (chunk.get(0) == 2) {
+                                                await(running);
+                                                throw new IllegalStateException("ORDS failed");
+                                            }
+                                            running.countDown();
+                                            try {
+                                                Thread.sleep(5000);
+                                            } catch (InterruptedException e) {
+                                                interrupted.countDown();
+                                            }
+                                            return 1;
+                                        }));
+
+        Assertions.assertEquals("ORDS failed", ex.getMessage());
+        Assertions.assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
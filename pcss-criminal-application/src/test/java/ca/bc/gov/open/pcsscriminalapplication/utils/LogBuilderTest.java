@@ -1,7 +1,9 @@
 package ca.bc.gov.open.pcsscriminalapplication.utils;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.*;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -18,7 +20,7 @@ public class LogBuilderTest {
 
     @Test
     @DisplayName("Test data elements converted to string")
-    public void testElementsConvertedToString() throws JsonProcessingException {
+    public void testElementsConvertedToString() {
 
         String result = sut.writeLogMessage("TEST", "TEST", null, "TEST");
 
@@ -26,4 +28,59 @@ public class LogBuilderTest {
                 "{\"message\":\"TEST\",\"method\":\"TEST\",\"exception\":\"TEST\",\"request\":null}",
                 result);
     }
+
+    @Test
+    @DisplayName("Test request is only serialized when the message is rendered")
+    public void testLazy() {
+        AtomicInteger serialized = new AtomicInteger();
+        Request request = new Request(serialized);
+
+        Object message = sut.logMessage("TEST", "TEST", request, "TEST");
+        Assertions.assertEquals(0, serialized.get());
+
+        Assertions.assertEquals(
+                "{\"message\":\"TEST\",\"method\":\"TEST\",\"exception\":\"TEST\",\"request\":{\"justinNo\":\"1\"}}",
+                message.toString());
+        message.toString();
+        Assertions.assertEquals(1, serialized.get());
+    }
+
+    @Test
+    @DisplayName("Test large requests are truncated")
+    public void testTruncated() throws Exception {
+        LogBuilder capped = new LogBuilder(new ObjectMapper(), 100);
+
+        String result =
+                capped.writeLogMessage(
+                        "TEST", "TEST", Collections.nCopies(10_000, "justinNo"), "TEST");
+
+        JsonNode log = new ObjectMapper().readTree(result);
+        Assertions.assertTrue(log.get("requestTruncated").asBoolean());
+        Assertions.assertEquals(100, log.get("request").asText().length());
+        Assertions.assertTrue(log.get("request").asText().startsWith("[\"justinNo\",\"justinNo\""));
+    }
+
+    @Test
+    @DisplayName("Test an unserializable request does not break the error path")
+    public void testUnserializable() throws Exception {
+        String result = sut.writeLogMessage("TEST", "TEST", new Object(), "TEST");
+
+        JsonNode log = new ObjectMapper().readTree(result);
+        Assertions.assertEquals("unserializable java.lang.Object", log.get("request").asText());
+        Assertions.assertEquals("TEST", log.get("message").asText());
+    }
+
+    public static class Request {
+
+        private final AtomicInteger serialized;
+
+        Request(AtomicInteger serialized) {
+            this.serialized = serialized;
+        }
+
+        public String getJustinNo() {
+            serialized.incrementAndGet();
+            return "1";
+        }
+    }
 }
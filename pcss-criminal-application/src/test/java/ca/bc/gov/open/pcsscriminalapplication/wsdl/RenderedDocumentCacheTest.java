@@ -0,0 +1,200 @@
+package ca.bc.gov.open.pcsscriminalapplication.wsdl;
+
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.ws.transport.http.WsdlDefinitionHandlerAdapter;
+import org.springframework.ws.wsdl.wsdl11.SimpleWsdl11Definition;
+import org.springframework.xml.xsd.SimpleXsdSchema;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("RenderedDocumentCache Test Suite")
+public class RenderedDocumentCacheTest {
+
+    private SimpleWsdl11Definition wsdl;
+
+    @BeforeAll
+    public void beforeAll() throws Exception {
+        wsdl = new SimpleWsdl11Definition(new ClassPathResource("xsdSchemas/demsCase.wsdl"));
+        wsdl.afterPropertiesSet();
+    }
+
+    @Test
+    @DisplayName("Success: the WSDL is the one Spring-WS renders, rendered once per host")
+    public void testRenderedOnce() throws Exception {
+        WsdlDefinitionHandlerAdapter spring = new WsdlDefinitionHandlerAdapter();
+        spring.setTransformLocations(true);
+        spring.afterPropertiesSet();
+        CachingWsdlDefinitionHandlerAdapter sut = new CachingWsdlDefinitionHandlerAdapter();
+        sut.setTransformLocations(true);
+        sut.afterPropertiesSet();
+
+        MockHttpServletResponse expected = new MockHttpServletResponse();
+        spring.handle(request("pcss.example.com"), expected, wsdl);
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        sut.handle(request("pcss.example.com"), first, wsdl);
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        sut.handle(request("pcss.example.com"), second, wsdl);
+        MockHttpServletResponse other = new MockHttpServletResponse();
+        sut.handle(request("other.example.com"), other, wsdl);
+
+        Assertions.assertArrayEquals(
+                expected.getContentAsByteArray(), first.getContentAsByteArray());
+        Assertions.assertEquals("text/xml", first.getContentType());
+        Assertions.assertEquals(first.getContentLength(), first.getContentAsByteArray().length);
+        Assertions.assertArrayEquals(first.getContentAsByteArray(), second.getContentAsByteArray());
+        Assertions.assertTrue(
+                first.getContentAsString().contains("https://pcss.example.com:443/criminal"));
+        Assertions.assertTrue(
+                other.getContentAsString().contains("https://other.example.com:443/criminal"));
+        Assertions.assertNotEquals(
+                first.getHeader(HttpHeaders.ETAG), other.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("Success: revalidation with the ETag or Last-Modified answers 304")
+    public void testNotModified() throws Exception {
+        RenderedDocumentCache sut = new RenderedDocumentCache();
+        MockHttpServletResponse first =
+                serve(sut, request("pcss.example.com"), new AtomicInteger());
+
+        MockHttpServletRequest byEtag = request("pcss.example.com");
+        byEtag.addHeader(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG));
+        MockHttpServletResponse etagResponse = serve(sut, byEtag, new AtomicInteger());
+
+        MockHttpServletRequest byDate = request("pcss.example.com");
+        byDate.addHeader(HttpHeaders.IF_MODIFIED_SINCE, first.getHeader(HttpHeaders.LAST_MODIFIED));
+        MockHttpServletResponse dateResponse = serve(sut, byDate, new AtomicInteger());
+
+        MockHttpServletRequest stale = request("pcss.example.com");
+        stale.addHeader(HttpHeaders.IF_NONE_MATCH, "\"stale\"");
+        MockHttpServletResponse staleResponse = serve(sut, stale, new AtomicInteger());
+
+        Assertions.assertEquals(HttpServletResponse.SC_OK, first.getStatus());
+        Assertions.assertNotNull(first.getHeader(HttpHeaders.LAST_MODIFIED));
+        Assertions.assertEquals(HttpServletResponse.SC_NOT_MODIFIED, etagResponse.getStatus());
+        Assertions.assertEquals(0, etagResponse.getContentAsByteArray().length);
+        Assertions.assertEquals(HttpServletResponse.SC_NOT_MODIFIED, dateResponse.getStatus());
+        Assertions.assertEquals(HttpServletResponse.SC_OK, staleResponse.getStatus());
+        Assertions.assertArrayEquals(
+                first.getContentAsByteArray(), staleResponse.getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("Success: clients that accept gzip get the compressed document")
+    public void testGzip() throws Exception {
+        RenderedDocumentCache sut = new RenderedDocumentCache();
+        MockHttpServletResponse plain =
+                serve(sut, request("pcss.example.com"), new AtomicInteger());
+        MockHttpServletRequest request = request("pcss.example.com");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0.8");
+
+        MockHttpServletResponse gzipped = serve(sut, request, new AtomicInteger());
+
+        Assertions.assertEquals("gzip", gzipped.getHeader(HttpHeaders.CONTENT_ENCODING));
+        Assertions.assertEquals(HttpHeaders.ACCEPT_ENCODING, gzipped.getHeader(HttpHeaders.VARY));
+        Assertions.assertNull(plain.getHeader(HttpHeaders.CONTENT_ENCODING));
+        Assertions.assertNotEquals(
+                plain.getHeader(HttpHeaders.ETAG), gzipped.getHeader(HttpHeaders.ETAG));
+        try (GZIPInputStream in =
+                new GZIPInputStream(new ByteArrayInputStream(gzipped.getContentAsByteArray()))) {
+            Assertions.assertArrayEquals(plain.getContentAsByteArray(), in.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Success: Accept-Encoding is parsed with quality values")
+    public void testAcceptsGzip() {
+        Assertions.assertTrue(RenderedDocumentCache.acceptsGzip("gzip, deflate, br"));
+        Assertions.assertTrue(RenderedDocumentCache.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        Assertions.assertFalse(RenderedDocumentCache.acceptsGzip("gzip;q=0, deflate"));
+        Assertions.assertFalse(RenderedDocumentCache.acceptsGzip("gzip; q=0.000"));
+        Assertions.assertFalse(RenderedDocumentCache.acceptsGzip("identity"));
+        Assertions.assertFalse(RenderedDocumentCache.acceptsGzip(null));
+    }
+
+    @Test
+    @DisplayName("Success: spoofed hosts evict documents instead of growing the cache")
+    public void testBounded() throws Exception {
+        RenderedDocumentCache sut = new RenderedDocumentCache();
+        AtomicInteger renders = new AtomicInteger();
+
+        for (int i = 0; i < RenderedDocumentCache.MAX_ENTRIES * 4; i++) {
+            MockHttpServletRequest request = request("pcss.example.com");
+            request.addHeader("X-Forwarded-Host", "host" + i);
+            serve(sut, request, renders);
+        }
+        int rendered = renders.get();
+        serve(sut, request("pcss.example.com"), renders);
+        serve(sut, request("pcss.example.com"), renders);
+
+        Assertions.assertEquals(RenderedDocumentCache.MAX_ENTRIES * 4, rendered);
+        Assertions.assertEquals(rendered + 1, renders.get());
+        Assertions.assertEquals(RenderedDocumentCache.MAX_ENTRIES, sut.size());
+    }
+
+    @Test
+    @DisplayName("Success: the XSD is served from the cache")
+    public void testXsd() throws Exception {
+        SimpleXsdSchema schema =
+                new SimpleXsdSchema(new ClassPathResource("xsdSchemas/demsCase.xsd"));
+        schema.afterPropertiesSet();
+        CachingXsdSchemaHandlerAdapter sut = new CachingXsdSchemaHandlerAdapter();
+        sut.afterPropertiesSet();
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        sut.handle(request("pcss.example.com"), first, schema);
+        MockHttpServletRequest revalidate = request("pcss.example.com");
+        revalidate.addHeader(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG));
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        sut.handle(revalidate, second, schema);
+
+        Assertions.assertTrue(first.getContentAsString().contains("getDemsCasesRequest"));
+        Assertions.assertEquals(HttpServletResponse.SC_NOT_MODIFIED, second.getStatus());
+    }
+
+    @Test
+    @DisplayName("Error: other methods are refused as before")
+    public void testPost() throws Exception {
+        CachingWsdlDefinitionHandlerAdapter sut = new CachingWsdlDefinitionHandlerAdapter();
+        sut.afterPropertiesSet();
+        MockHttpServletRequest request = request("pcss.example.com");
+        request.setMethod("POST");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        sut.handle(request, response, wsdl);
+
+        Assertions.assertEquals(HttpServletResponse.SC_METHOD_NOT_ALLOWED, response.getStatus());
+    }
+
+    private MockHttpServletResponse serve(
+            RenderedDocumentCache sut, MockHttpServletRequest request, AtomicInteger renders)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        sut.serve(
+                request,
+                response,
+                wsdl,
+                capture -> {
+                    renders.incrementAndGet();
+                    capture.setContentType("text/xml");
+                    capture.getOutputStream().write("<definitions/>".getBytes());
+                });
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String host) {
+        MockHttpServletRequest request =
+                new MockHttpServletRequest("GET", "/pcss/criminal/demsCase.wsdl");
+        request.setScheme("https");
+        request.setServerName(host);
+        request.setServerPort(443);
+        return request;
+    }
+}
@@ -0,0 +1,57 @@
+package ca.bc.gov.open.pcsscriminalbenchmarks;
+
+import ca.bc.gov.open.pcsscriminalcommon.utils.OrdsDateCodec;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Cost of reading one ORDS date field: a {@link SimpleDateFormat} built per value with exceptions
+ * driving the format fallback, as the deserializer used to, against the {@link OrdsDateCodec} fast
+ * path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateCodecBenchmark {
+
+    private static final TimeZone ORDS_TIME_ZONE = TimeZone.getTimeZone("GMT-7");
+
+    @Param({"26-NOV-01 12.00.00.000000 PM -08:00", "2013-Mar-25", "25-Mar-13"})
+    public String ordsDate;
+
+    @Benchmark
+    public Instant simpleDateFormatPerValue() {
+        try {
+            if (ordsDate.split("-")[0].length() < 4) {
+                var sfd = new SimpleDateFormat("dd-MMM-yy hh.mm.ss.SSSSSS a", Locale.US);
+                sfd.setTimeZone(ORDS_TIME_ZONE);
+                return sfd.parse(ordsDate).toInstant();
+            } else {
+                var sfd = new SimpleDateFormat("yyyy-MMM-dd", Locale.US);
+                sfd.setTimeZone(ORDS_TIME_ZONE);
+                return sfd.parse(ordsDate).toInstant();
+            }
+        } catch (ParseException e) {
+            try {
+                var sfd = new SimpleDateFormat("dd-MMM-yy", Locale.US);
+                sfd.setTimeZone(ORDS_TIME_ZONE);
+                return sfd.parse(ordsDate).toInstant();
+            } catch (ParseException e2) {
+                return null;
+            }
+        }
+    }
+
+    @Benchmark
+    public Instant ordsDateCodec() {
+        return OrdsDateCodec.parseInstant(ordsDate);
+    }
+}
@@ -0,0 +1,55 @@
+package ca.bc.gov.open.pcsscriminalbenchmarks;
+
+import ca.bc.gov.open.pcsscriminalapplication.exception.FaultMarshaller;
+import ca.bc.gov.open.wsdl.pcss.demsCaseUrl.Error;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import java.util.concurrent.TimeUnit;
+import javax.xml.transform.dom.DOMResult;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Cost of writing one SOAP fault detail: a JAXBContext built per fault, as the fault resolver used
+ * to, against the cached context and pooled marshallers of {@link FaultMarshaller}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FaultMarshallingBenchmark {
+
+    private FaultMarshaller faultMarshaller;
+    private Error error;
+
+    @Setup
+    public void setup() throws JAXBException {
+        faultMarshaller = new FaultMarshaller();
+        faultMarshaller.warmUp(Error.class);
+        error = new Error();
+        error.setReason("Connection refused: ISL case hyperlink service unavailable");
+    }
+
+    @Benchmark
+    public DOMResult newContextPerFault() throws JAXBException {
+        DOMResult result = new DOMResult();
+        JAXBContext.newInstance(error.getClass()).createMarshaller().marshal(error, result);
+        return result;
+    }
+
+    @Benchmark
+    public DOMResult cachedFaultMarshaller() throws JAXBException {
+        DOMResult result = new DOMResult();
+        faultMarshaller.marshal(error, result);
+        return result;
+    }
+
+    @Benchmark
+    @Threads(8)
+    public DOMResult cachedFaultMarshallerContended() throws JAXBException {
+        DOMResult result = new DOMResult();
+        faultMarshaller.marshal(error, result);
+        return result;
+    }
+}
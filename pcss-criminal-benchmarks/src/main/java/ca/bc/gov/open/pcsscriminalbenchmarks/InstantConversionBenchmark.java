@@ -0,0 +1,66 @@
+package ca.bc.gov.open.pcsscriminalbenchmarks;
+
+import ca.bc.gov.open.pcsscriminalapplication.configuration.SoapConfig;
+import ca.bc.gov.open.pcsscriminalapplication.utils.DateUtils;
+import ca.bc.gov.open.pcsscriminalcommon.utils.InstantSoapConverter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Cost of the date conversions run for every date field: the Jackson {@code InstantSerializer} and
+ * {@code InstantDeserializer} registered on {@link SoapConfig#objectMapper()}, the JAXB {@link
+ * InstantSoapConverter} adapter and the {@link DateUtils} helpers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InstantConversionBenchmark {
+
+    private static final String ORDS_DATE = "26-NOV-01 12.00.00.000000 PM";
+    private static final String ORDS_DATE_JSON = "\"" + ORDS_DATE + "\"";
+    private static final String SOAP_DATE_TIME = "2001-11-26 12:00:00.0";
+
+    private ObjectMapper objectMapper;
+    private final Instant instant = Instant.parse("2001-11-26T19:00:00Z");
+
+    @Setup
+    public void setup() {
+        objectMapper = new SoapConfig().objectMapper();
+    }
+
+    @Benchmark
+    public String instantSerializer() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(instant);
+    }
+
+    @Benchmark
+    public Instant instantDeserializer() throws JsonProcessingException {
+        return objectMapper.readValue(ORDS_DATE_JSON, Instant.class);
+    }
+
+    @Benchmark
+    public Instant soapConverterParse() {
+        return InstantSoapConverter.parse(SOAP_DATE_TIME);
+    }
+
+    @Benchmark
+    public String soapConverterPrint() {
+        return InstantSoapConverter.print(instant);
+    }
+
+    @Benchmark
+    public String dateUtilsFormatDate() {
+        return DateUtils.formatDate(ORDS_DATE);
+    }
+
+    @Benchmark
+    public String dateUtilsFormatTo21Length() {
+        return DateUtils.formatTo21Length(instant);
+    }
+}
@@ -0,0 +1,58 @@
+package ca.bc.gov.open.pcsscriminalbenchmarks;
+
+import ca.bc.gov.open.pcsscriminalapplication.Keys;
+import ca.bc.gov.open.pcsscriminalapplication.configuration.SoapConfig;
+import ca.bc.gov.open.pcsscriminalapplication.utils.LogBuilder;
+import ca.bc.gov.open.wsdl.pcss.two.SetAppearanceCriminal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Cost of building the JSON log line written for every SOAP request, by number of appearance
+ * details in a {@code setAppearanceCriminal} request. {@code logMessageNotEmitted} is what a caller
+ * pays when the event is filtered out.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LogBuilderBenchmark {
+
+    @Param({"1", "100"})
+    public int records;
+
+    private LogBuilder logBuilder;
+    private SetAppearanceCriminal request;
+
+    @Setup
+    public void setup() throws IOException {
+        ObjectMapper objectMapper = new SoapConfig().objectMapper();
+        logBuilder = new LogBuilder(objectMapper);
+        request =
+                objectMapper.readValue(
+                        OrdsPayloads.json(objectMapper, SetAppearanceCriminal.class, records),
+                        SetAppearanceCriminal.class);
+    }
+
+    @Benchmark
+    public String writeLogMessage() {
+        return logBuilder.writeLogMessage(
+                Keys.ORDS_ERROR_MESSAGE,
+                Keys.SOAP_METHOD_SET_APPEARANCE,
+                request,
+                "500 Internal Server Error: upstream unavailable");
+    }
+
+    @Benchmark
+    public Object logMessageNotEmitted() {
+        return logBuilder.logMessage(
+                Keys.ORDS_ERROR_MESSAGE,
+                Keys.SOAP_METHOD_SET_APPEARANCE,
+                request,
+                "500 Internal Server Error: upstream unavailable");
+    }
+}
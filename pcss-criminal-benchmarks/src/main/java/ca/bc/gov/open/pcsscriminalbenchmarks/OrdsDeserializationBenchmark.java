@@ -0,0 +1,48 @@
+package ca.bc.gov.open.pcsscriminalbenchmarks;
+
+import ca.bc.gov.open.pcsscriminalapplication.configuration.SoapConfig;
+import ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalResponse;
+import ca.bc.gov.open.wsdl.pcss.one.GetFileDetailCriminalResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Cost of reading the largest ORDS responses into the model with the application {@link
+ * SoapConfig#objectMapper()}, by number of appearance records or file participants.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrdsDeserializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int records;
+
+    private ObjectMapper objectMapper;
+    private byte[] appearanceJson;
+    private byte[] fileDetailJson;
+
+    @Setup
+    public void setup() {
+        objectMapper = new SoapConfig().objectMapper();
+        appearanceJson =
+                OrdsPayloads.json(objectMapper, GetAppearanceCriminalResponse.class, records);
+        fileDetailJson =
+                OrdsPayloads.json(objectMapper, GetFileDetailCriminalResponse.class, records);
+    }
+
+    @Benchmark
+    public GetAppearanceCriminalResponse getAppearanceCriminalResponse() throws IOException {
+        return objectMapper.readValue(appearanceJson, GetAppearanceCriminalResponse.class);
+    }
+
+    @Benchmark
+    public GetFileDetailCriminalResponse getFileDetailCriminalResponse() throws IOException {
+        return objectMapper.readValue(fileDetailJson, GetFileDetailCriminalResponse.class);
+    }
+}
@@ -0,0 +1,70 @@
+package ca.bc.gov.open.pcsscriminalbenchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Builds ORDS style JSON documents for the generated model classes. Every field is filled, dates
+ * use the ORDS {@code dd-MMM-yy hh.mm.ss.SSSSSS a} layout, the outermost lists hold the requested
+ * number of records and the lists inside each record hold a few each.
+ */
+final class OrdsPayloads {
+
+    private static final String ORDS_DATE = "26-NOV-01 12.00.00.000000 PM";
+    private static final int NESTED_RECORDS = 3;
+    private static final int MAX_DEPTH = 4;
+
+    private OrdsPayloads() {
+        // empty constructor
+    }
+
+    static byte[] json(ObjectMapper objectMapper, Class<?> type, int records) {
+        try {
+            return objectMapper.writeValueAsBytes(object(objectMapper, type, records, 0));
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot build payload for " + type.getName(), e);
+        }
+    }
+
+    private static ObjectNode object(
+            ObjectMapper objectMapper, Class<?> type, int records, int depth) {
+        ObjectNode node = objectMapper.createObjectNode();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                Class<?> fieldType = field.getType();
+                if (fieldType == List.class) {
+                    Class<?> element =
+                            (Class<?>)
+                                    ((ParameterizedType) field.getGenericType())
+                                            .getActualTypeArguments()[0];
+                    ArrayNode array = node.putArray(field.getName());
+                    for (int i = 0; i < records; i++) {
+                        if (element == String.class) {
+                            array.add(field.getName() + i);
+                        } else if (depth < MAX_DEPTH) {
+                            array.add(object(objectMapper, element, NESTED_RECORDS, depth + 1));
+                        }
+                    }
+                } else if (fieldType == String.class) {
+                    node.put(field.getName(), field.getName() + "-" + depth);
+                } else if (fieldType == Instant.class) {
+                    node.put(field.getName(), ORDS_DATE);
+                } else if (fieldType.isEnum()) {
+                    node.put(field.getName(), ((Enum<?>) fieldType.getEnumConstants()[0]).name());
+                } else if (!fieldType.isPrimitive() && depth < MAX_DEPTH) {
+                    node.set(field.getName(), object(objectMapper, fieldType, records, depth + 1));
+                }
+            }
+        }
+        return node;
+    }
+}
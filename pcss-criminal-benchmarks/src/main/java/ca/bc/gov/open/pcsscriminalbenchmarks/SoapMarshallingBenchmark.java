@@ -0,0 +1,76 @@
+package ca.bc.gov.open.pcsscriminalbenchmarks;
+
+import ca.bc.gov.open.pcsscriminalapplication.configuration.SoapConfig;
+import ca.bc.gov.open.wsdl.pcss.two.GetAppearanceCriminalResponse;
+import ca.bc.gov.open.wsdl.pcss.two.GetAppearanceCriminalResponse2;
+import ca.bc.gov.open.wsdl.pcss.two.GetFileDetailCriminalResponse;
+import ca.bc.gov.open.wsdl.pcss.two.GetFileDetailCriminalResponse2;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Cost of writing the {@code pcss.two} wrapper responses the endpoints return, marshalled with a
+ * cached JAXBContext and a marshaller per message as Spring-WS does, by number of appearance
+ * records or file participants.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SoapMarshallingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int records;
+
+    private JAXBContext appearanceContext;
+    private JAXBContext fileDetailContext;
+    private GetAppearanceCriminalResponse appearance;
+    private GetFileDetailCriminalResponse fileDetail;
+
+    @Setup
+    public void setup() throws IOException, JAXBException {
+        ObjectMapper objectMapper = new SoapConfig().objectMapper();
+
+        GetAppearanceCriminalResponse2 appearance2 = new GetAppearanceCriminalResponse2();
+        appearance2.setGetAppearanceCriminalResponse(
+                objectMapper.readValue(
+                        OrdsPayloads.json(
+                                objectMapper,
+                                ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalResponse.class,
+                                records),
+                        ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalResponse.class));
+        appearance = new GetAppearanceCriminalResponse();
+        appearance.setGetAppearanceCriminalResponse(appearance2);
+
+        GetFileDetailCriminalResponse2 fileDetail2 = new GetFileDetailCriminalResponse2();
+        fileDetail2.setGetFileDetailCriminalResponse(
+                objectMapper.readValue(
+                        OrdsPayloads.json(
+                                objectMapper,
+                                ca.bc.gov.open.wsdl.pcss.one.GetFileDetailCriminalResponse.class,
+                                records),
+                        ca.bc.gov.open.wsdl.pcss.one.GetFileDetailCriminalResponse.class));
+        fileDetail = new GetFileDetailCriminalResponse();
+        fileDetail.setGetFileDetailCriminalResponse(fileDetail2);
+
+        appearanceContext = JAXBContext.newInstance(GetAppearanceCriminalResponse.class);
+        fileDetailContext = JAXBContext.newInstance(GetFileDetailCriminalResponse.class);
+    }
+
+    @Benchmark
+    public void getAppearanceCriminalResponse() throws JAXBException {
+        appearanceContext.createMarshaller().marshal(appearance, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void getFileDetailCriminalResponse() throws JAXBException {
+        fileDetailContext.createMarshaller().marshal(fileDetail, OutputStream.nullOutputStream());
+    }
+}
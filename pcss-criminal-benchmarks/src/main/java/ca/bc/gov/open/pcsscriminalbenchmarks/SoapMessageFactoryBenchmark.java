@@ -0,0 +1,97 @@
+package ca.bc.gov.open.pcsscriminalbenchmarks;
+
+import ca.bc.gov.open.pcsscriminalapplication.configuration.SoapConfig;
+import ca.bc.gov.open.pcsscriminalapplication.properties.SoapStreamingProperties;
+import ca.bc.gov.open.wsdl.pcss.two.GetAppearanceCriminalResponse;
+import ca.bc.gov.open.wsdl.pcss.two.GetAppearanceCriminalResponse2;
+import ca.bc.gov.open.wsdl.pcss.two.GetFileDetailCriminalResponse;
+import ca.bc.gov.open.wsdl.pcss.two.GetFileDetailCriminalResponse2;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.xml.bind.JAXBException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.ws.context.DefaultMessageContext;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.server.endpoint.adapter.method.jaxb.XmlRootElementPayloadMethodProcessor;
+import org.springframework.ws.soap.saaj.SaajSoapMessageFactory;
+
+/**
+ * Cost of answering with the {@code pcss.two} wrapper responses through the configured message
+ * factory: creating the response, handing it the payload as the endpoint adapter does and writing
+ * the envelope. Run with {@code -prof gc} for the allocation rate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SoapMessageFactoryBenchmark {
+
+    @Param({"SAAJ", "STREAMING"})
+    public SoapStreamingProperties.MessageFactoryType messageFactory;
+
+    @Param({"10", "100", "1000"})
+    public int records;
+
+    private SaajSoapMessageFactory factory;
+    private Processor processor;
+    private GetAppearanceCriminalResponse appearance;
+    private GetFileDetailCriminalResponse fileDetail;
+
+    @Setup
+    public void setup() throws Exception {
+        ObjectMapper objectMapper = new SoapConfig().objectMapper();
+
+        GetAppearanceCriminalResponse2 appearance2 = new GetAppearanceCriminalResponse2();
+        appearance2.setGetAppearanceCriminalResponse(
+                objectMapper.readValue(
+                        OrdsPayloads.json(
+                                objectMapper,
+                                ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalResponse.class,
+                                records),
+                        ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalResponse.class));
+        appearance = new GetAppearanceCriminalResponse();
+        appearance.setGetAppearanceCriminalResponse(appearance2);
+
+        GetFileDetailCriminalResponse2 fileDetail2 = new GetFileDetailCriminalResponse2();
+        fileDetail2.setGetFileDetailCriminalResponse(
+                objectMapper.readValue(
+                        OrdsPayloads.json(
+                                objectMapper,
+                                ca.bc.gov.open.wsdl.pcss.one.GetFileDetailCriminalResponse.class,
+                                records),
+                        ca.bc.gov.open.wsdl.pcss.one.GetFileDetailCriminalResponse.class));
+        fileDetail = new GetFileDetailCriminalResponse();
+        fileDetail.setGetFileDetailCriminalResponse(fileDetail2);
+
+        SoapStreamingProperties properties = new SoapStreamingProperties();
+        properties.setMessageFactory(messageFactory);
+        factory = new SoapConfig().messageFactory(properties);
+        factory.afterPropertiesSet();
+        processor = new Processor();
+    }
+
+    @Benchmark
+    public void getAppearanceCriminalResponse() throws IOException, JAXBException {
+        processor.respond(factory, appearance);
+    }
+
+    @Benchmark
+    public void getFileDetailCriminalResponse() throws IOException, JAXBException {
+        processor.respond(factory, fileDetail);
+    }
+
+    /** Writes the payload the way the endpoint adapter does for the model classes. */
+    private static class Processor extends XmlRootElementPayloadMethodProcessor {
+
+        void respond(SaajSoapMessageFactory factory, Object payload)
+                throws IOException, JAXBException {
+            MessageContext messageContext = new DefaultMessageContext(factory);
+            marshalToResponsePayload(messageContext, payload.getClass(), payload);
+            messageContext.getResponse().writeTo(OutputStream.nullOutputStream());
+        }
+    }
+}
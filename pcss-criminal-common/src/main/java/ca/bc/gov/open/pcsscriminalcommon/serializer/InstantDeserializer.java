@@ -1,40 +1,42 @@
 package ca.bc.gov.open.pcsscriminalcommon.serializer;
 
+import ca.bc.gov.open.pcsscriminalcommon.utils.OrdsDateCodec;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import java.io.IOException;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.time.Instant;
-import java.util.Locale;
+import java.util.Date;
 import java.util.TimeZone;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class InstantDeserializer extends JsonDeserializer<Instant> {
+
+    private static final TimeZone ORDS_TIME_ZONE = TimeZone.getTimeZone(OrdsDateCodec.ORDS_ZONE);
+
     @Override
     public Instant deserialize(JsonParser jsonParser, DeserializationContext deserializationContext)
             throws IOException {
-        try {
-            if (jsonParser.getText().split("-")[0].length() < 4) {
-                var sfd = new SimpleDateFormat("dd-MMM-yy hh.mm.ss.SSSSSS a", Locale.US);
-                sfd.setTimeZone(TimeZone.getTimeZone("GMT-7"));
-                return sfd.parse(jsonParser.getText()).toInstant();
-            } else {
-                var sfd = new SimpleDateFormat("yyyy-MMM-dd", Locale.US);
-                sfd.setTimeZone(TimeZone.getTimeZone("GMT-7"));
-                return sfd.parse(jsonParser.getText()).toInstant();
-            }
-        } catch (ParseException e) {
-            try {
-                var sfd = new SimpleDateFormat("dd-MMM-yy", Locale.US);
-                sfd.setTimeZone(TimeZone.getTimeZone("GMT-7"));
-                return sfd.parse(jsonParser.getText()).toInstant();
-            } catch (ParseException e2) {
-                log.error(e2.getLocalizedMessage());
-            }
+        String text = jsonParser.getText();
+        Instant instant = OrdsDateCodec.parseInstant(text);
+        if (instant != null) {
+            return instant;
+        }
+
+        // not one of the fixed ORDS layouts, give the lenient parsers a chance
+        Date date =
+                OrdsDateCodec.parseLenient(
+                        text,
+                        ORDS_TIME_ZONE,
+                        text.split("-")[0].length() < 4
+                                ? "dd-MMM-yy hh.mm.ss.SSSSSS a"
+                                : "yyyy-MMM-dd",
+                        "dd-MMM-yy");
+        if (date == null) {
+            log.error("Unparseable date: \"" + text + "\"");
+            return null;
         }
-        return null;
+        return date.toInstant();
     }
 }
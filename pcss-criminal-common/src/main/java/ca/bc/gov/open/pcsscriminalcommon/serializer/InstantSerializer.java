@@ -1,24 +1,17 @@
 package ca.bc.gov.open.pcsscriminalcommon.serializer;
 
+import ca.bc.gov.open.pcsscriminalcommon.utils.OrdsDateCodec;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import java.io.IOException;
 import java.time.Instant;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
-import java.util.Locale;
 
 public class InstantSerializer extends JsonSerializer<Instant> {
     @Override
     public void serialize(Instant value, JsonGenerator gen, SerializerProvider serializers)
             throws IOException {
-        String out =
-                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
-                        .withZone(ZoneId.of("GMT-7"))
-                        .withLocale(Locale.US)
-                        .format(value);
-        gen.writeString(out);
+        gen.writeString(OrdsDateCodec.ORDS_DATE_TIME.format(value));
     }
 
     public static String convert(Instant value) {
@@ -26,9 +19,6 @@ public class InstantSerializer extends JsonSerializer<Instant> {
             return null;
         }
 
-        return DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
-                .withZone(ZoneId.of("GMT-7"))
-                .withLocale(Locale.US)
-                .format(value);
+        return OrdsDateCodec.ORDS_DATE_TIME.format(value);
     }
 }
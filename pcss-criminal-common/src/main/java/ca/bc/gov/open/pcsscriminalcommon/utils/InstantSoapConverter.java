@@ -3,8 +3,6 @@ package ca.bc.gov.open.pcsscriminalcommon.utils;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
 import java.util.Date;
 import java.util.Locale;
 import java.util.TimeZone;
@@ -17,18 +15,11 @@ public class InstantSoapConverter {
             return null;
         }
 
-        return DateTimeFormatter.ofPattern("dd-MMM-yyyy")
-                .withZone(ZoneId.of("GMT-7"))
-                .withLocale(Locale.US)
-                .format(value);
+        return OrdsDateCodec.SOAP_DATE.format(value);
     }
 
     public static String print(Instant value) {
-        String out =
-                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
-                        .withZone(ZoneId.of("GMT-7"))
-                        .format(value);
-        return out + ".0";
+        return OrdsDateCodec.ORDS_DATE_TIME.format(value) + ".0";
     }
 
     public static Instant parse(String value) {
@@ -0,0 +1,249 @@
+package ca.bc.gov.open.pcsscriminalcommon.utils;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Shared parser and formatters for the date formats exchanged with ORDS. The formatters are
+ * immutable and thread safe. The parsers read the fixed ORDS layouts character by character and
+ * return {@code null} instead of throwing when the text does not match, so callers can try the next
+ * format (or the lenient {@link SimpleDateFormat} fallback) without paying for an exception.
+ */
+public final class OrdsDateCodec {
+
+    /** Zone ORDS dates are expressed in. */
+    public static final ZoneId ORDS_ZONE = ZoneId.of("GMT-7");
+
+    /** {@code yyyy-MM-dd HH:mm:ss} in the ORDS zone, as sent to ORDS in query parameters. */
+    public static final DateTimeFormatter ORDS_DATE_TIME =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss", Locale.US).withZone(ORDS_ZONE);
+
+    /** {@code dd-MMM-yyyy} in the ORDS zone, as returned in SOAP responses. */
+    public static final DateTimeFormatter SOAP_DATE =
+            DateTimeFormatter.ofPattern("dd-MMM-yyyy", Locale.US).withZone(ORDS_ZONE);
+
+    private static final DateTimeFormatter LOCAL_DATE_TIME =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss", Locale.US);
+
+    private static final String[] MONTHS = {
+        "jan", "feb", "mar", "apr", "may", "jun", "jul", "aug", "sep", "oct", "nov", "dec"
+    };
+
+    // SimpleDateFormat resolves two digit years into the century starting 80 years ago
+    private static final int CENTURY_START = Year.now().getValue() - 80;
+
+    /** ORDS date layouts. */
+    public enum Format {
+        /** {@code dd-MMM-yy hh.mm.ss.SSSSSS a}, trailing text such as a zone offset is ignored. */
+        DATE_TIME {
+            @Override
+            LocalDateTime parse(String text) {
+                if (text.length() < 23
+                        || text.charAt(9) != ' '
+                        || text.charAt(12) != '.'
+                        || text.charAt(15) != '.'
+                        || text.charAt(18) != '.') {
+                    return null;
+                }
+                int day = digits(text, 0, 2);
+                int month = month(text, 2);
+                int year = twoDigitYear(digits(text, 7, 2));
+                int hour = digits(text, 10, 2);
+                int minute = digits(text, 13, 2);
+                int second = digits(text, 16, 2);
+
+                int end = 19;
+                int nanos = 0;
+                while (end < text.length() && isDigit(text.charAt(end))) {
+                    if (end - 19 < 9) {
+                        nanos = nanos * 10 + text.charAt(end) - '0';
+                    }
+                    end++;
+                }
+                int fractionDigits = end - 19;
+                if (fractionDigits == 0
+                        || end + 3 > text.length()
+                        || text.charAt(end) != ' '
+                        || Character.toLowerCase(text.charAt(end + 2)) != 'm') {
+                    return null;
+                }
+                for (int i = fractionDigits; i < 9; i++) {
+                    nanos *= 10;
+                }
+
+                char meridiem = Character.toLowerCase(text.charAt(end + 1));
+                if (hour < 0 || hour > 12 || (meridiem != 'a' && meridiem != 'p')) {
+                    return null;
+                }
+                hour = hour % 12 + (meridiem == 'p' ? 12 : 0);
+                return of(year, month, day, hour, minute, second, nanos);
+            }
+        },
+        /** {@code yyyy-MMM-dd}. */
+        YEAR_MONTH_DAY {
+            @Override
+            LocalDateTime parse(String text) {
+                if (text.length() < 11 || text.charAt(4) != '-') {
+                    return null;
+                }
+                int year = digits(text, 0, 4);
+                int month = month(text, 4);
+                int day = digits(text, 9, 2);
+                if (text.length() > 11 && isDigit(text.charAt(11))) {
+                    return null;
+                }
+                return of(year, month, day, 0, 0, 0, 0);
+            }
+        },
+        /** {@code dd-MMM-yy}, a four digit year is taken literally. */
+        DAY_MONTH_YEAR {
+            @Override
+            LocalDateTime parse(String text) {
+                if (text.length() < 9) {
+                    return null;
+                }
+                int day = digits(text, 0, 2);
+                int month = month(text, 2);
+                int end = 7;
+                while (end < text.length() && isDigit(text.charAt(end))) {
+                    end++;
+                }
+                int year;
+                if (end - 7 == 2) {
+                    year = twoDigitYear(digits(text, 7, 2));
+                } else if (end - 7 == 4) {
+                    year = digits(text, 7, 4);
+                } else {
+                    return null;
+                }
+                return of(year, month, day, 0, 0, 0, 0);
+            }
+        };
+
+        abstract LocalDateTime parse(String text);
+    }
+
+    private OrdsDateCodec() {
+        // empty constructor
+    }
+
+    /**
+     * Parses the text with the first of the given formats that matches.
+     *
+     * @return the local date time or {@code null} when none of the formats match
+     */
+    public static LocalDateTime parse(String text, Format... formats) {
+        if (text == null) {
+            return null;
+        }
+        for (Format format : formats) {
+            LocalDateTime result = format.parse(text);
+            if (result != null) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses an ORDS date, sniffing the leading field to choose between {@link Format#DATE_TIME}
+     * and {@link Format#YEAR_MONTH_DAY} before falling back to {@link Format#DAY_MONTH_YEAR}.
+     *
+     * @return the instant in the ORDS zone or {@code null} when the text is not an ORDS date
+     */
+    public static Instant parseInstant(String text) {
+        if (text == null) {
+            return null;
+        }
+        int dash = text.indexOf('-');
+        Format first =
+                (dash < 0 ? text.length() : dash) < 4 ? Format.DATE_TIME : Format.YEAR_MONTH_DAY;
+        LocalDateTime result = parse(text, first, Format.DAY_MONTH_YEAR);
+        return result == null ? null : result.atZone(ORDS_ZONE).toInstant();
+    }
+
+    /** Formats as {@code yyyy-MM-dd HH:mm:ss.S}, where the fraction is the millisecond count. */
+    public static String formatWithMillis(LocalDateTime value) {
+        return LOCAL_DATE_TIME.format(value) + "." + value.getNano() / 1_000_000;
+    }
+
+    /**
+     * Parses with {@link SimpleDateFormat} in lenient mode, for text the fixed layouts reject.
+     *
+     * @return the date or {@code null} when none of the patterns match
+     */
+    public static Date parseLenient(String text, TimeZone zone, String... patterns) {
+        for (String pattern : patterns) {
+            SimpleDateFormat format = new SimpleDateFormat(pattern, Locale.US);
+            format.setTimeZone(zone);
+            try {
+                return format.parse(text);
+            } catch (ParseException e) {
+                // try the next pattern
+            }
+        }
+        return null;
+    }
+
+    private static LocalDateTime of(
+            int year, int month, int day, int hour, int minute, int second, int nanos) {
+        if (year < 0
+                || month < 1
+                || day < 1
+                || day > Month.of(month).length(Year.isLeap(year))
+                || minute < 0
+                || minute > 59
+                || second < 0
+                || second > 59) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second, nanos);
+    }
+
+    private static int twoDigitYear(int value) {
+        if (value < 0) {
+            return -1;
+        }
+        int year = CENTURY_START / 100 * 100 + value;
+        return year < CENTURY_START ? year + 100 : year;
+    }
+
+    /** Month from {@code -MMM-} at the given index, or -1. */
+    private static int month(String text, int index) {
+        if (text.charAt(index) != '-' || text.charAt(index + 4) != '-') {
+            return -1;
+        }
+        for (int i = 0; i < MONTHS.length; i++) {
+            if (text.regionMatches(true, index + 1, MONTHS[i], 0, 3)) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    /** Unsigned decimal of exactly {@code length} digits at the given index, or -1. */
+    private static int digits(String text, int index, int length) {
+        int value = 0;
+        for (int i = index; i < index + length; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + c - '0';
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
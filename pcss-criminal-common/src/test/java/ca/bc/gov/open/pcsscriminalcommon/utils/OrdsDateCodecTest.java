@@ -0,0 +1,78 @@
+package ca.bc.gov.open.pcsscriminalcommon.utils;
+
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.TimeZone;
+import org.junit.jupiter.api.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Ords Date Codec Test Suite")
+public class OrdsDateCodecTest {
+
+    private static final TimeZone ORDS_TIME_ZONE = TimeZone.getTimeZone("GMT-7");
+
+    @Test
+    @DisplayName("Success date time parsed")
+    public void dateTimeParsed() {
+
+        Assertions.assertEquals(
+                LocalDateTime.of(2001, 11, 26, 12, 0),
+                OrdsDateCodec.parse(
+                        "26-NOV-01 12.00.00.000000 PM -08:00", OrdsDateCodec.Format.DATE_TIME));
+        Assertions.assertEquals(
+                LocalDateTime.of(1999, 3, 5, 0, 15, 30, 250_000_000),
+                OrdsDateCodec.parse("05-mar-99 12.15.30.25 am", OrdsDateCodec.Format.DATE_TIME));
+    }
+
+    @Test
+    @DisplayName("Success instants match the lenient parsers")
+    public void instantsMatchLenientParsers() throws Exception {
+
+        String[][] samples = {
+            {"26-NOV-01 12.00.00.000000 PM", "dd-MMM-yy hh.mm.ss.SSSSSS a"},
+            {"01-JAN-70 01.02.03.000000 AM -07:00", "dd-MMM-yy hh.mm.ss.SSSSSS a"},
+            {"29-Feb-24 11.59.59.000000 PM", "dd-MMM-yy hh.mm.ss.SSSSSS a"},
+            {"2013-Mar-25", "yyyy-MMM-dd"},
+            {"25-Mar-13", "dd-MMM-yy"},
+            {"25-Mar-2013", "dd-MMM-yy"}
+        };
+
+        for (String[] sample : samples) {
+            SimpleDateFormat format = new SimpleDateFormat(sample[1], Locale.US);
+            format.setTimeZone(ORDS_TIME_ZONE);
+            Assertions.assertEquals(
+                    format.parse(sample[0]).toInstant(),
+                    OrdsDateCodec.parseInstant(sample[0]),
+                    sample[0]);
+        }
+    }
+
+    @Test
+    @DisplayName("Error text that is not an ORDS date is rejected without throwing")
+    public void notOrdsDateRejected() {
+
+        for (String text :
+                new String[] {
+                    "GARBAGE", "", "31-FEB-01", "26-XYZ-01", "2013-03-25", "26-NOV-1"
+                }) {
+            Assertions.assertNull(OrdsDateCodec.parseInstant(text), text);
+        }
+        Assertions.assertNull(OrdsDateCodec.parseInstant(null));
+    }
+
+    @Test
+    @DisplayName("Success formatted in the ORDS zone")
+    public void formatted() {
+
+        Instant instant = Instant.parse("2021-04-17T00:00:00Z");
+
+        Assertions.assertEquals(
+                "2021-04-16 17:00:00", OrdsDateCodec.ORDS_DATE_TIME.format(instant));
+        Assertions.assertEquals("16-Apr-2021", OrdsDateCodec.SOAP_DATE.format(instant));
+        Assertions.assertEquals(
+                "2021-04-16 17:00:00.0",
+                OrdsDateCodec.formatWithMillis(LocalDateTime.of(2021, 4, 16, 17, 0)));
+    }
+}
@@ -0,0 +1,87 @@
+package ca.bc.gov.open.pcsscriminalloadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Builds ORDS style JSON documents for the generated model classes. Every field is filled, dates
+ * use the ORDS {@code dd-MMM-yy hh.mm.ss.SSSSSS a} layout, the outermost lists hold the requested
+ * number of records and the lists inside each record hold a few each. String values carry the
+ * variant number so distinct requests can be generated for one operation.
+ */
+final class CannedPayloads {
+
+    private static final String ORDS_DATE = "26-NOV-01 12.00.00.000000 PM";
+    private static final int NESTED_RECORDS = 3;
+    private static final int MAX_DEPTH = 4;
+
+    /** Sync cursors are minted by the service, a canned one would be rejected. */
+    private static final Set<String> SKIPPED_FIELDS = Set.of("cursor", "nextCursor");
+
+    private CannedPayloads() {
+        // empty constructor
+    }
+
+    static ObjectNode tree(ObjectMapper objectMapper, Class<?> type, int records, int variant) {
+        return object(objectMapper, type, records, variant, 0);
+    }
+
+    static byte[] json(ObjectMapper objectMapper, Class<?> type, int records) {
+        try {
+            return objectMapper.writeValueAsBytes(tree(objectMapper, type, records, 0));
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot build payload for " + type.getName(), e);
+        }
+    }
+
+    private static ObjectNode object(
+            ObjectMapper objectMapper, Class<?> type, int records, int variant, int depth) {
+        ObjectNode node = objectMapper.createObjectNode();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())
+                        || SKIPPED_FIELDS.contains(field.getName())) {
+                    continue;
+                }
+                String name = field.getName();
+                Class<?> fieldType = field.getType();
+                if (fieldType == List.class) {
+                    Class<?> element =
+                            (Class<?>)
+                                    ((ParameterizedType) field.getGenericType())
+                                            .getActualTypeArguments()[0];
+                    ArrayNode array = node.putArray(name);
+                    for (int i = 0; i < records; i++) {
+                        if (element == String.class) {
+                            array.add(name + "-" + variant + "-" + i);
+                        } else if (depth < MAX_DEPTH) {
+                            array.add(
+                                    object(
+                                            objectMapper,
+                                            element,
+                                            NESTED_RECORDS,
+                                            variant,
+                                            depth + 1));
+                        }
+                    }
+                } else if (fieldType == String.class) {
+                    node.put(name, name + "-" + variant);
+                } else if (fieldType == Instant.class) {
+                    node.put(name, ORDS_DATE);
+                } else if (fieldType.isEnum()) {
+                    node.put(name, ((Enum<?>) fieldType.getEnumConstants()[0]).name());
+                } else if (fieldType.getName().startsWith("ca.bc.gov.open.") && depth < MAX_DEPTH) {
+                    node.set(name, object(objectMapper, fieldType, records, variant, depth + 1));
+                }
+            }
+        }
+        return node;
+    }
+}
@@ -0,0 +1,92 @@
+package ca.bc.gov.open.pcsscriminalloadtest;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Response delay of a stubbed upstream. Parsed from one of
+ *
+ * <ul>
+ *   <li>{@code none}
+ *   <li>{@code fixed:20ms}
+ *   <li>{@code uniform:10ms..50ms}
+ *   <li>{@code lognormal:20ms,0.5}, a median and the sigma of the underlying normal distribution,
+ *       which gives the long tail seen from ORDS
+ * </ul>
+ */
+abstract class LatencyDistribution {
+
+    static final LatencyDistribution NONE =
+            new LatencyDistribution("none") {
+                @Override
+                long sampleNanos() {
+                    return 0;
+                }
+            };
+
+    private final String spec;
+
+    private LatencyDistribution(String spec) {
+        this.spec = spec;
+    }
+
+    /** @return the delay to apply to one response, in nanoseconds */
+    abstract long sampleNanos();
+
+    static LatencyDistribution parse(String spec) {
+        String value = spec.trim();
+        int colon = value.indexOf(':');
+        String type = colon < 0 ? value : value.substring(0, colon);
+        String args = colon < 0 ? "" : value.substring(colon + 1);
+
+        switch (type) {
+            case "none":
+                return NONE;
+            case "fixed":
+                long fixed = nanos(args);
+                return new LatencyDistribution(value) {
+                    @Override
+                    long sampleNanos() {
+                        return fixed;
+                    }
+                };
+            case "uniform":
+                String[] range = args.split("\\.\\.");
+                long min = nanos(range[0]);
+                long max = nanos(range[1]);
+                if (max < min) {
+                    throw new IllegalArgumentException("Invalid latency range: " + spec);
+                }
+                return new LatencyDistribution(value) {
+                    @Override
+                    long sampleNanos() {
+                        return ThreadLocalRandom.current().nextLong(min, max + 1);
+                    }
+                };
+            case "lognormal":
+                String[] params = args.split(",");
+                double mu = Math.log(nanos(params[0]));
+                double sigma = Double.parseDouble(params[1].trim());
+                return new LatencyDistribution(value) {
+                    @Override
+                    long sampleNanos() {
+                        return (long)
+                                Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian());
+                    }
+                };
+            default:
+                throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+        }
+    }
+
+    private static long nanos(String duration) {
+        Duration parsed = DurationStyle.detectAndParse(duration.trim());
+        return parsed.toNanos();
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+}
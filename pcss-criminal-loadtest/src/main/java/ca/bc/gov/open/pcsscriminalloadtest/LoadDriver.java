@@ -0,0 +1,164 @@
+package ca.bc.gov.open.pcsscriminalloadtest;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Closed-loop SOAP client: a fixed number of workers each send the next request as soon as the
+ * previous one completes, for a set time. Latency is recorded per worker and merged at the end.
+ */
+class LoadDriver implements AutoCloseable {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final URI endpoint;
+    private final String authorization;
+    private final int concurrency;
+    private final HttpClient client;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService heapSampler =
+            Executors.newSingleThreadScheduledExecutor();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    LoadDriver(URI endpoint, String username, String password, int concurrency) {
+        this.endpoint = endpoint;
+        this.authorization =
+                "Basic "
+                        + Base64.getEncoder()
+                                .encodeToString(
+                                        (username + ":" + password)
+                                                .getBytes(StandardCharsets.UTF_8));
+        this.concurrency = concurrency;
+        this.workers = Executors.newFixedThreadPool(concurrency);
+        this.client =
+                HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(10))
+                        .build();
+    }
+
+    /** Sends the operation's requests for the given time and discards the results. */
+    void warmUp(List<byte[]> envelopes, Duration duration) throws Exception {
+        run(envelopes, duration);
+    }
+
+    /** Sends the operation's requests for the given time and measures them. */
+    Measurement measure(List<byte[]> envelopes, Duration duration) throws Exception {
+        memory.gc();
+        long gcCount = gcCount();
+        long gcTime = gcTimeMs();
+        AtomicLong peakHeap = new AtomicLong();
+        var sampling =
+                heapSampler.scheduleAtFixedRate(
+                        () ->
+                                peakHeap.accumulateAndGet(
+                                        memory.getHeapMemoryUsage().getUsed(), Math::max),
+                        0,
+                        100,
+                        TimeUnit.MILLISECONDS);
+
+        long start = System.nanoTime();
+        Measurement measurement = run(envelopes, duration);
+        long elapsed = System.nanoTime() - start;
+        sampling.cancel(false);
+
+        measurement.elapsedNanos = elapsed;
+        measurement.peakHeapBytes = peakHeap.get();
+        measurement.gcCount = gcCount() - gcCount;
+        measurement.gcTimeMs = gcTimeMs() - gcTime;
+        return measurement;
+    }
+
+    private Measurement run(List<byte[]> envelopes, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Measurement>> results = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            int offset = i;
+            results.add(workers.submit(() -> worker(envelopes, offset, deadline)));
+        }
+        Measurement total = new Measurement();
+        for (Future<Measurement> result : results) {
+            Measurement worker = result.get();
+            total.latency.add(worker.latency);
+            total.errors += worker.errors;
+        }
+        return total;
+    }
+
+    private Measurement worker(List<byte[]> envelopes, int offset, long deadline) {
+        Measurement measurement = new Measurement();
+        int next = offset;
+        while (System.nanoTime() < deadline) {
+            HttpRequest request =
+                    HttpRequest.newBuilder(endpoint)
+                            .header("Content-Type", "application/soap+xml; charset=utf-8")
+                            .header("Authorization", authorization)
+                            .POST(
+                                    HttpRequest.BodyPublishers.ofByteArray(
+                                            envelopes.get(next++ % envelopes.size())))
+                            .build();
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (Exception e) {
+                status = -1;
+            }
+            measurement.latency.recordValue(
+                    Math.min(System.nanoTime() - start, HIGHEST_TRACKABLE_NANOS));
+            if (status != 200) {
+                measurement.errors++;
+            }
+        }
+        return measurement;
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+                .filter(count -> count > 0)
+                .sum();
+    }
+
+    private static long gcTimeMs() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .filter(time -> time > 0)
+                .sum();
+    }
+
+    @Override
+    public void close() {
+        workers.shutdownNow();
+        heapSampler.shutdownNow();
+    }
+
+    /** Requests sent by one or all workers during a run. */
+    static class Measurement {
+        final Histogram latency = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+        long errors;
+        long elapsedNanos;
+        long peakHeapBytes;
+        long gcCount;
+        long gcTimeMs;
+        Map<String, Long> upstreamCalls;
+    }
+}
@@ -0,0 +1,180 @@
+package ca.bc.gov.open.pcsscriminalloadtest;
+
+import ca.bc.gov.open.pcsscriminalapplication.PcssCriminalApplication;
+import ca.bc.gov.open.pcsscriminalapplication.configuration.SoapConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the service against an {@link OrdsStub} and drives every SOAP operation in turn with a
+ * closed-loop {@link LoadDriver}, then reports throughput, latency percentiles and heap use per
+ * operation on stdout and as JSON.
+ */
+public class LoadTest {
+
+    private static final String USERNAME = "loadtest";
+    private static final String PASSWORD = "loadtest";
+
+    public static void main(String[] args) throws Exception {
+        // keep the application's Splunk appender out of the run from the very first log line
+        System.setProperty("logback.configurationFile", "logback-loadtest.xml");
+
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        ObjectMapper objectMapper = new SoapConfig().objectMapper();
+
+        try (OrdsStub stub = new OrdsStub(settings, objectMapper)) {
+            stub.start();
+            ConfigurableApplicationContext application = start(settings, stub);
+            try {
+                String port = application.getEnvironment().getProperty("local.server.port");
+                ObjectNode report = run(settings, stub, objectMapper, port);
+                Files.createDirectories(settings.getResultFile().toAbsolutePath().getParent());
+                objectMapper
+                        .copy()
+                        .enable(SerializationFeature.INDENT_OUTPUT)
+                        .writeValue(settings.getResultFile().toFile(), report);
+                System.out.printf("%nResults written to %s%n", settings.getResultFile());
+            } finally {
+                SpringApplication.exit(application);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(LoadTestSettings settings, OrdsStub stub) {
+        // passed as arguments so they win over application.yml, the caller's arguments come last
+        List<String> args = new ArrayList<>();
+        args.add("--server.port=0");
+        args.add("--logging.config=classpath:logback-loadtest.xml");
+        args.add("--security.basic-auth.username=" + USERNAME);
+        args.add("--security.basic-auth.password=" + PASSWORD);
+        args.add("--pcss.host=" + stub.pcssHost());
+        args.add("--pcss.username=ords");
+        args.add("--pcss.password=ords");
+        args.add("--pcss.pool.maxTotal=" + Math.max(100, settings.getConcurrency() * 2));
+        args.add("--pcss.pool.maxPerRoute=" + Math.max(100, settings.getConcurrency() * 2));
+        args.add("--dems.host=" + stub.demsHost());
+        args.add("--dems.username=dems");
+        args.add("--dems.password=dems");
+        args.add("--caselookup.host=" + stub.islHost());
+        args.add("--caselookup.token=isl");
+        args.addAll(settings.getApplicationArgs());
+
+        return SpringApplication.run(PcssCriminalApplication.class, args.toArray(new String[0]));
+    }
+
+    private static ObjectNode run(
+            LoadTestSettings settings, OrdsStub stub, ObjectMapper objectMapper, String port)
+            throws Exception {
+        ObjectNode report = objectMapper.createObjectNode();
+        report.put("startedAt", Instant.now().toString());
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put(
+                "maxHeapMb",
+                ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getMax() >> 20);
+        ObjectNode reportSettings = report.putObject("settings");
+        reportSettings.put("warmup", settings.getWarmup().toString());
+        reportSettings.put("duration", settings.getDuration().toString());
+        reportSettings.put("concurrency", settings.getConcurrency());
+        reportSettings.put("records", settings.getRecords());
+        reportSettings.put("variants", settings.getVariants());
+        reportSettings.put("latency", settings.getLatency().toString());
+        reportSettings.put("errorRate", settings.getErrorRate());
+        reportSettings.putPOJO("applicationArgs", settings.getApplicationArgs());
+        ArrayNode operations = report.putArray("operations");
+
+        System.out.printf(
+                "%-40s %10s %8s %10s %9s %9s %9s %9s %10s %6s%n",
+                "operation",
+                "requests",
+                "errors",
+                "req/s",
+                "p50 ms",
+                "p99 ms",
+                "p999 ms",
+                "max ms",
+                "heap MB",
+                "gcs");
+
+        try (LoadDriver driver =
+                new LoadDriver(
+                        URI.create("http://localhost:" + port + "/criminal"),
+                        USERNAME,
+                        PASSWORD,
+                        settings.getConcurrency())) {
+            for (Map.Entry<String, Class<?>> operation :
+                    SoapOperations.discover(settings.getOperations()).entrySet()) {
+                List<byte[]> envelopes =
+                        SoapOperations.envelopes(
+                                objectMapper, operation.getValue(), settings.getVariants());
+
+                driver.warmUp(envelopes, settings.getWarmup());
+                Map<String, Long> callsBefore = stub.calls();
+                LoadDriver.Measurement measurement =
+                        driver.measure(envelopes, settings.getDuration());
+                Map<String, Long> upstreamCalls = stub.calls();
+                upstreamCalls.replaceAll(
+                        (endpoint, count) -> count - callsBefore.getOrDefault(endpoint, 0L));
+                upstreamCalls.values().removeIf(count -> count == 0);
+                measurement.upstreamCalls = upstreamCalls;
+
+                operations.add(print(objectMapper, operation.getKey(), measurement));
+            }
+        }
+        return report;
+    }
+
+    private static ObjectNode print(
+            ObjectMapper objectMapper, String operation, LoadDriver.Measurement measurement) {
+        long requests = measurement.latency.getTotalCount();
+        double throughput = requests / (measurement.elapsedNanos / 1e9);
+        double p50 = millis(measurement.latency.getValueAtPercentile(50));
+        double p99 = millis(measurement.latency.getValueAtPercentile(99));
+        double p999 = millis(measurement.latency.getValueAtPercentile(99.9));
+        double max = millis(measurement.latency.getMaxValue());
+        long heapMb = measurement.peakHeapBytes >> 20;
+
+        System.out.printf(
+                "%-40s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %10d %6d%n",
+                operation,
+                requests,
+                measurement.errors,
+                throughput,
+                p50,
+                p99,
+                p999,
+                max,
+                heapMb,
+                measurement.gcCount);
+
+        ObjectNode result = objectMapper.createObjectNode();
+        result.put("operation", operation);
+        result.put("requests", requests);
+        result.put("errors", measurement.errors);
+        result.put("throughputPerSecond", throughput);
+        result.put("p50Ms", p50);
+        result.put("p99Ms", p99);
+        result.put("p999Ms", p999);
+        result.put("maxMs", max);
+        result.put("peakHeapMb", heapMb);
+        result.put("gcCount", measurement.gcCount);
+        result.put("gcTimeMs", measurement.gcTimeMs);
+        result.putPOJO("upstreamCalls", measurement.upstreamCalls);
+        return result;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,112 @@
+package ca.bc.gov.open.pcsscriminalloadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import lombok.Getter;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Load test settings, read from {@code --loadtest.*} arguments. Every other argument is passed to
+ * the application, so any application property can be overridden for a run, e.g. {@code
+ * --ords-cache.enabled=false}.
+ */
+@Getter
+class LoadTestSettings {
+
+    private static final String PREFIX = "--loadtest.";
+
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(30);
+    private int concurrency = 32;
+    private Pattern operations = Pattern.compile(".*");
+    private int records = 20;
+    private int variants = 100;
+    private Path resultFile = Path.of("target", "loadtest-result.json");
+    private LatencyDistribution latency = LatencyDistribution.parse("lognormal:20ms,0.5");
+    private double errorRate = 0;
+    private final Map<String, LatencyDistribution> endpointLatency = new HashMap<>();
+    private final Map<String, Double> endpointErrorRate = new HashMap<>();
+    private final List<String> applicationArgs = new ArrayList<>();
+
+    static LoadTestSettings parse(String... args) {
+        LoadTestSettings settings = new LoadTestSettings();
+        for (String arg : args) {
+            if (!arg.startsWith(PREFIX)) {
+                settings.applicationArgs.add(arg);
+                continue;
+            }
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                throw new IllegalArgumentException("Expected --loadtest.<name>=<value>: " + arg);
+            }
+            settings.set(arg.substring(PREFIX.length(), equals), arg.substring(equals + 1));
+        }
+        return settings;
+    }
+
+    private void set(String name, String value) {
+        if (name.startsWith("latency.")) {
+            endpointLatency.put(
+                    name.substring("latency.".length()), LatencyDistribution.parse(value));
+            return;
+        }
+        if (name.startsWith("errorRate.")) {
+            endpointErrorRate.put(name.substring("errorRate.".length()), rate(value));
+            return;
+        }
+        switch (name) {
+            case "warmup":
+                warmup = DurationStyle.detectAndParse(value);
+                break;
+            case "duration":
+                duration = DurationStyle.detectAndParse(value);
+                break;
+            case "concurrency":
+                concurrency = Integer.parseInt(value);
+                break;
+            case "operations":
+                operations = Pattern.compile(value);
+                break;
+            case "records":
+                records = Integer.parseInt(value);
+                break;
+            case "variants":
+                variants = Integer.parseInt(value);
+                break;
+            case "resultFile":
+                resultFile = Path.of(value);
+                break;
+            case "latency":
+                latency = LatencyDistribution.parse(value);
+                break;
+            case "errorRate":
+                errorRate = rate(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown load test setting: " + name);
+        }
+    }
+
+    /** @return the latency distribution of the Keys.ORDS_* endpoint, "rccids" or "isl" */
+    LatencyDistribution latencyOf(String endpoint) {
+        return endpointLatency.getOrDefault(endpoint, latency);
+    }
+
+    /** @return the share of calls to the endpoint that fail with a 500 */
+    double errorRateOf(String endpoint) {
+        return endpointErrorRate.getOrDefault(endpoint, errorRate);
+    }
+
+    private static double rate(String value) {
+        double rate = Double.parseDouble(value);
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("Error rate must be between 0 and 1: " + value);
+        }
+        return rate;
+    }
+}
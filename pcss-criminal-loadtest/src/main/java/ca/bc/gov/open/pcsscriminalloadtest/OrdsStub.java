@@ -0,0 +1,282 @@
+package ca.bc.gov.open.pcsscriminalloadtest;
+
+import ca.bc.gov.open.pcsscriminalapplication.Keys;
+import ca.bc.gov.open.pcsscriminalapplication.model.CaseHyperLinkerLookupRequest;
+import ca.bc.gov.open.pcsscriminalapplication.model.CaseHyperLinkerLookupResponse;
+import ca.bc.gov.open.pcsscriminalapplication.model.JustinRCCs;
+import ca.bc.gov.open.pcsscriminalapplication.model.JustinRcc;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * In-process stand-in for the PCSS ORDS, DEMS ORDS and ISL case lookup services. PCSS endpoints
+ * answer with canned payloads built from the response model, DEMS and ISL echo the ids they are
+ * asked for. Every response is delayed and failed as configured per endpoint.
+ */
+class OrdsStub implements AutoCloseable {
+
+    /** Latency and error rate key of the ISL case hyperlink lookup. */
+    static final String ISL = "isl";
+
+    private static final String PCSS_PATH = "/pcss/";
+    private static final String DEMS_PATH = "/dems/";
+    private static final String ISL_PATH = "/isl/";
+    private static final byte[] ERROR_BODY =
+            "{\"message\":\"stubbed upstream failure\"}".getBytes(StandardCharsets.UTF_8);
+
+    /** The response model of every ORDS call the application makes, keyed by method and path. */
+    static final Map<String, Class<?>> PCSS_ROUTES = new LinkedHashMap<>();
+
+    static {
+        get(Keys.ORDS_APPEARANCE, ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalResponse.class);
+        post(
+                Keys.ORDS_APPEARANCE,
+                ca.bc.gov.open.wsdl.pcss.one.SetAppearanceCriminalResponse.class);
+        get(
+                Keys.ORDS_APPEARANCE_SECURE,
+                ca.bc.gov.open.wsdl.pcss.secure.one.GetAppearanceCriminalResponse.class);
+        get(
+                Keys.ORDS_APPEARANCE_METHOD,
+                ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalApprMethodResponse.class);
+        post(
+                Keys.ORDS_APPEARANCE_METHOD,
+                ca.bc.gov.open.wsdl.pcss.one.SetAppearanceMethodCriminalResponse.class);
+        get(
+                Keys.ORDS_APPEARANCE_METHOD_SECURE,
+                ca.bc.gov.open.wsdl.pcss.secure.one.GetAppearanceCriminalApprMethodResponse.class);
+        get(
+                Keys.ORDS_APPEARANCE_COUNT,
+                ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalCountResponse.class);
+        get(
+                Keys.ORDS_APPEARANCE_COUNT_SECURE,
+                ca.bc.gov.open.wsdl.pcss.secure.one.GetAppearanceCriminalCountResponse.class);
+        get(
+                Keys.ORDS_APPEARANCE_RESOURCE,
+                ca.bc.gov.open.wsdl.pcss.one.GetAppearanceCriminalResourceResponse.class);
+        post(
+                Keys.ORDS_HEARING,
+                ca.bc.gov.open.wsdl.pcss.one.SetHearingRestrictionCriminalResponse.class);
+        get(Keys.ORDS_HEALTH, ca.bc.gov.open.wsdl.pcss.two.GetHealthResponse.class);
+        get(Keys.ORDS_PING, ca.bc.gov.open.wsdl.pcss.two.GetPingResponse.class);
+        get(
+                Keys.ORDS_PERSONNEL_AVAILABILITY,
+                ca.bc.gov.open.wsdl.pcss.one.GetPersonnelAvailabilityResponse.class);
+        get(
+                Keys.ORDS_PERSONNEL_DETAIL,
+                ca.bc.gov.open.wsdl.pcss.one.GetPersonnelAvailDetailResponse.class);
+        get(
+                Keys.ORDS_PERSONNEL_SEARCH,
+                ca.bc.gov.open.wsdl.pcss.one.GetPersonnelSearchResponse.class);
+        get(
+                Keys.ORDS_SYNC_APPEARANCE,
+                ca.bc.gov.open.wsdl.pcss.one.GetSyncCriminalAppearanceResponse.class);
+        get(
+                Keys.ORDS_SYNC_HEARING,
+                ca.bc.gov.open.wsdl.pcss.one.GetSyncCriminalHearingRestrictionResponse.class);
+        post(
+                Keys.ORDS_CROWN_FILE_DETAIL,
+                ca.bc.gov.open.wsdl.pcss.one.SetCrownFileDetailResponse.class);
+        get(
+                Keys.ORDS_CROWN_ASSIGNMENT,
+                ca.bc.gov.open.wsdl.pcss.one.GetCrownAssignmentResponse.class);
+        post(
+                Keys.ORDS_CROWN_ASSIGNMENT,
+                ca.bc.gov.open.wsdl.pcss.one.SetCrownAssignmentResponse.class);
+        post(
+                Keys.ORDS_COUNSEL_DETAIL_CRIMINAL,
+                ca.bc.gov.open.wsdl.pcss.one.SetCounselDetailCriminalResponse.class);
+        get(Keys.ORDS_CLOSED_FILE, ca.bc.gov.open.wsdl.pcss.one.GetClosedFileResponse.class);
+        get(
+                Keys.ORDS_FILE_DETAIL,
+                ca.bc.gov.open.wsdl.pcss.one.GetFileDetailCriminalResponse.class);
+        get(
+                Keys.ORDS_SECURE_FILE_DETAIL,
+                ca.bc.gov.open.wsdl.pcss.secure.one.GetFileDetailCriminalResponse.class);
+        post(Keys.ORDS_FILE_NOTE, ca.bc.gov.open.wsdl.pcss.one.SetFileNoteResponse.class);
+        post(Keys.ORDS_FILE_ACCESS, ca.bc.gov.open.wsdl.pcss.one.GetFileAccessResponse.class);
+    }
+
+    private final LoadTestSettings settings;
+    private final ObjectMapper objectMapper;
+    private final Map<String, byte[]> payloads = new LinkedHashMap<>();
+    private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private HttpServer server;
+
+    OrdsStub(LoadTestSettings settings, ObjectMapper objectMapper) {
+        this.settings = settings;
+        this.objectMapper = objectMapper;
+        PCSS_ROUTES.forEach(
+                (route, type) ->
+                        payloads.put(
+                                route,
+                                CannedPayloads.json(objectMapper, type, settings.getRecords())));
+    }
+
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.setExecutor(executor);
+        server.createContext(PCSS_PATH, this::pcss);
+        server.createContext(DEMS_PATH, this::dems);
+        server.createContext(ISL_PATH, this::isl);
+        server.start();
+    }
+
+    String pcssHost() {
+        return baseUrl() + PCSS_PATH;
+    }
+
+    String demsHost() {
+        return baseUrl() + DEMS_PATH;
+    }
+
+    String islHost() {
+        return baseUrl() + ISL_PATH;
+    }
+
+    /** @return calls served so far per upstream endpoint, sorted by endpoint */
+    Map<String, Long> calls() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        calls.forEach((endpoint, count) -> snapshot.put(endpoint, count.sum()));
+        return snapshot;
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+        }
+        executor.shutdownNow();
+    }
+
+    private void pcss(HttpExchange exchange) throws IOException {
+        String endpoint = exchange.getRequestURI().getPath().substring(PCSS_PATH.length());
+        if (endpoint.endsWith("/")) {
+            endpoint = endpoint.substring(0, endpoint.length() - 1);
+        }
+        drain(exchange);
+        byte[] payload = payloads.get(exchange.getRequestMethod() + " " + endpoint);
+        if (payload == null) {
+            respond(exchange, 404, ERROR_BODY);
+            return;
+        }
+        serve(exchange, endpoint, () -> payload);
+    }
+
+    private void dems(HttpExchange exchange) throws IOException {
+        drain(exchange);
+        List<String> justinNos =
+                UriComponentsBuilder.fromUri(exchange.getRequestURI())
+                        .build()
+                        .getQueryParams()
+                        .getOrDefault("justinNo", List.of());
+        serve(
+                exchange,
+                Keys.ORDS_FILE_DEMS_CASE_URL,
+                () -> {
+                    JustinRCCs response = new JustinRCCs();
+                    for (String value : justinNos) {
+                        for (String justinNo : value.split(",")) {
+                            if (justinNo.isBlank()) {
+                                continue;
+                            }
+                            JustinRcc rcc = new JustinRcc();
+                            rcc.setJustinNo(justinNo);
+                            rcc.setRccId("rcc-" + justinNo);
+                            response.getJustins().add(rcc);
+                        }
+                    }
+                    return objectMapper.writeValueAsBytes(response);
+                });
+    }
+
+    private void isl(HttpExchange exchange) throws IOException {
+        CaseHyperLinkerLookupRequest request;
+        try (InputStream body = exchange.getRequestBody()) {
+            request = objectMapper.readValue(body, CaseHyperLinkerLookupRequest.class);
+        }
+        serve(
+                exchange,
+                ISL,
+                () -> {
+                    CaseHyperLinkerLookupResponse response = new CaseHyperLinkerLookupResponse();
+                    List<CaseHyperLinkerLookupResponse.CaseHyperlinks> links = new ArrayList<>();
+                    for (String rccId : request.getRcc_ids()) {
+                        CaseHyperLinkerLookupResponse.CaseHyperlinks link =
+                                new CaseHyperLinkerLookupResponse.CaseHyperlinks();
+                        link.setRcc_id(rccId);
+                        link.setHyperlink("https://dems.example/cases/" + rccId);
+                        link.setMessage("Case found");
+                        links.add(link);
+                    }
+                    response.setCase_hyperlinks(links);
+                    return objectMapper.writeValueAsBytes(response);
+                });
+    }
+
+    private void serve(HttpExchange exchange, String endpoint, Body body) throws IOException {
+        calls.computeIfAbsent(endpoint, k -> new LongAdder()).increment();
+        long delay = settings.latencyOf(endpoint).sampleNanos();
+        if (delay > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (ThreadLocalRandom.current().nextDouble() < settings.errorRateOf(endpoint)) {
+            respond(exchange, 500, ERROR_BODY);
+            return;
+        }
+        respond(exchange, 200, body.get());
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void drain(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            body.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private static void get(String endpoint, Class<?> response) {
+        PCSS_ROUTES.put("GET " + endpoint, response);
+    }
+
+    private static void post(String endpoint, Class<?> response) {
+        PCSS_ROUTES.put("POST " + endpoint, response);
+    }
+
+    @FunctionalInterface
+    private interface Body {
+        byte[] get() throws IOException;
+    }
+}
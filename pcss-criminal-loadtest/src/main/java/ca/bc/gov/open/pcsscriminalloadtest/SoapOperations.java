@@ -0,0 +1,99 @@
+package ca.bc.gov.open.pcsscriminalloadtest;
+
+import ca.bc.gov.open.pcsscriminalapplication.Keys;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SOAP 1.2 request envelopes for every operation the service exposes. The operations are read from
+ * the {@code Keys.SOAP_METHOD_*} constants, so a new operation is picked up, or fails the run if
+ * its request class cannot be found, without touching the load test.
+ */
+final class SoapOperations {
+
+    private static final String[] REQUEST_PACKAGES = {
+        "ca.bc.gov.open.wsdl.pcss.two.",
+        "ca.bc.gov.open.wsdl.pcss.secure.two.",
+        "ca.bc.gov.open.wsdl.pcss.demsCaseUrl."
+    };
+
+    /** Records in the lists of a request, such as justinNos or appearance details. */
+    private static final int REQUEST_RECORDS = 5;
+
+    private static final String ENVELOPE_START =
+            "<soap:Envelope xmlns:soap=\"http://www.w3.org/2003/05/soap-envelope\"><soap:Body>";
+    private static final String ENVELOPE_END = "</soap:Body></soap:Envelope>";
+
+    private SoapOperations() {
+        // empty constructor
+    }
+
+    /** @return every SOAP operation matching the pattern and its request class */
+    static Map<String, Class<?>> discover(Pattern operations) {
+        Map<String, Class<?>> discovered = new LinkedHashMap<>();
+        for (Field field : Keys.class.getFields()) {
+            if (!Modifier.isStatic(field.getModifiers())
+                    || !(field.getName().startsWith("SOAP_METHOD_"))) {
+                continue;
+            }
+            String operation;
+            try {
+                operation = (String) field.get(null);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+            if (operations.matcher(operation).matches()) {
+                discovered.put(operation, requestClass(operation));
+            }
+        }
+        return discovered;
+    }
+
+    /** @return distinct request envelopes for the operation */
+    static List<byte[]> envelopes(ObjectMapper objectMapper, Class<?> requestClass, int variants)
+            throws Exception {
+        Marshaller marshaller = JAXBContext.newInstance(requestClass).createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+
+        List<byte[]> envelopes = new ArrayList<>(variants);
+        for (int variant = 0; variant < variants; variant++) {
+            Object request =
+                    objectMapper.treeToValue(
+                            CannedPayloads.tree(
+                                    objectMapper, requestClass, REQUEST_RECORDS, variant),
+                            requestClass);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            out.write(ENVELOPE_START.getBytes(StandardCharsets.UTF_8));
+            marshaller.marshal(request, out);
+            out.write(ENVELOPE_END.getBytes(StandardCharsets.UTF_8));
+            envelopes.add(out.toByteArray());
+        }
+        return envelopes;
+    }
+
+    private static Class<?> requestClass(String operation) {
+        String simpleName = Character.toUpperCase(operation.charAt(0)) + operation.substring(1);
+        for (String requestPackage : REQUEST_PACKAGES) {
+            try {
+                Class<?> candidate = Class.forName(requestPackage + simpleName);
+                if (candidate.isAnnotationPresent(XmlRootElement.class)) {
+                    return candidate;
+                }
+            } catch (ClassNotFoundException e) {
+                // try the next package
+            }
+        }
+        throw new IllegalStateException("No request class found for SOAP operation " + operation);
+    }
+}
@@ -0,0 +1,95 @@
+package ca.bc.gov.open.pcsscriminalloadtest;
+
+import ca.bc.gov.open.pcsscriminalapplication.Keys;
+import ca.bc.gov.open.pcsscriminalapplication.configuration.SoapConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.lang.reflect.Field;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("OrdsStub Test Suite")
+public class OrdsStubTest {
+
+    private final ObjectMapper objectMapper = new SoapConfig().objectMapper();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private OrdsStub sut;
+
+    @BeforeAll
+    public void beforeAll() throws Exception {
+        sut =
+                new OrdsStub(
+                        LoadTestSettings.parse(
+                                "--loadtest.latency=none",
+                                "--loadtest.records=2",
+                                "--loadtest.errorRate.ping=1"),
+                        objectMapper);
+        sut.start();
+    }
+
+    @AfterAll
+    public void afterAll() {
+        sut.close();
+    }
+
+    @Test
+    @DisplayName("Test every ORDS endpoint has a canned response")
+    public void testEveryEndpointIsStubbed() throws Exception {
+        for (Field field : Keys.class.getFields()) {
+            if (!field.getName().startsWith("ORDS_") || field.getName().endsWith("_MESSAGE")) {
+                continue;
+            }
+            String endpoint = (String) field.get(null);
+            if (endpoint.equals(Keys.ORDS_FILE_DEMS_CASE_URL)) {
+                continue;
+            }
+            Assertions.assertTrue(
+                    OrdsStub.PCSS_ROUTES.containsKey("GET " + endpoint)
+                            || OrdsStub.PCSS_ROUTES.containsKey("POST " + endpoint),
+                    endpoint);
+        }
+    }
+
+    @Test
+    @DisplayName("Test every SOAP operation has a request envelope")
+    public void testEveryOperationHasARequest() throws Exception {
+        Map<String, Class<?>> operations = SoapOperations.discover(Pattern.compile(".*"));
+
+        Assertions.assertTrue(operations.containsKey(Keys.SOAP_METHOD_APPEARANCE));
+        Assertions.assertTrue(operations.containsKey(Keys.SOAP_METHOD_DEMSCASE_REQUEST));
+        for (Class<?> requestClass : operations.values()) {
+            Assertions.assertEquals(
+                    2, SoapOperations.envelopes(objectMapper, requestClass, 2).size());
+        }
+    }
+
+    @Test
+    @DisplayName("Test canned payloads, echoed DEMS ids and injected errors")
+    public void testResponses() throws Exception {
+        JsonNode appearance =
+                objectMapper.readTree(get(sut.pcssHost() + Keys.ORDS_APPEARANCE).body());
+        Assertions.assertEquals(2, appearance.get("apprDetail").size());
+
+        JsonNode rccs =
+                objectMapper.readTree(
+                        get(sut.demsHost() + Keys.ORDS_FILE_DEMS_CASE_URL + "?justinNo=1,2")
+                                .body());
+        Assertions.assertEquals("rcc-2", rccs.get("justins").get(1).get("rccId").asText());
+
+        Assertions.assertEquals(500, get(sut.pcssHost() + Keys.ORDS_PING).statusCode());
+        Assertions.assertEquals(404, get(sut.pcssHost() + "unknown").statusCode());
+        Assertions.assertEquals(1L, sut.calls().get(Keys.ORDS_APPEARANCE));
+    }
+
+    private HttpResponse<String> get(String url) throws Exception {
+        return client.send(
+                HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}